@@ -173,6 +173,7 @@ public class BeneratorErrorIds {
 
   public static final String SYN_MEMSTORE_ILLEGAL_ATTR = "BEN-0285";
   public static final String SYN_MEMSTORE_ID           = "BEN-0286";
+  public static final String SYN_MEMSTORE_INDEXES      = "BEN-0287";
 
   // Syntax Errors regarding <run-task> ------------------------------------------------------------------------------
 
@@ -299,6 +300,7 @@ public class BeneratorErrorIds {
   public static final String SYN_GENERATE_ON_ERROR     = "BEN-0421";
   public static final String SYN_GENERATE_TEMPLATE     = "BEN-0422";
   public static final String SYN_GENERATE_CONSUMER     = "BEN-0423";
+  public static final String SYN_GENERATE_SCHEDULING   = "BEN-0424";
 
   // Syntax Errors regarding <iterate> -------------------------------------------------------------------------------
 
@@ -339,6 +341,7 @@ public class BeneratorErrorIds {
   public static final String SYN_ITERATE_ON_ERROR        = "BEN-0484";
   public static final String SYN_ITERATE_TEMPLATE        = "BEN-0485";
   public static final String SYN_ITERATE_CONSUMER        = "BEN-0486";
+  public static final String SYN_ITERATE_SCHEDULING      = "BEN-0487";
 
   // Syntax Errors regarding <variable> -----------------------------------------------------------------------------
 
@@ -473,6 +476,8 @@ public class BeneratorErrorIds {
   public static final String SYN_DB_ENV_GROUP_INCOMPLETE = "BEN-1022";
   public static final String SYN_DB_URL_AND_ENV_GROUP    = "BEN-1023";
   public static final String SYN_DB_NO_URL_AND_ENV_GROUP = "BEN-1024";
+  public static final String SYN_DB_BATCH_SIZE           = "BEN-1025";
+  public static final String SYN_DB_INSERT_MODE          = "BEN-1026";
 
 
   public static final String DB_CONNECT_FAILED = "BEN-1100";
@@ -486,6 +491,7 @@ public class BeneratorErrorIds {
   public static final String SYN_TRANSCODING_TASK_TARGET         = "BEN-1203";
   public static final String SYN_TRANSCODING_TASK_PAGE_SIZE      = "BEN-1204";
   public static final String SYN_TRANSCODING_TASK_ON_ERROR       = "BEN-1205";
+  public static final String SYN_TRANSCODING_TASK_KEY_MAPPER     = "BEN-1206";
 
   public static final String SYN_TRANSCODE_ILLEGAL_ATTR = "BEN-1210";
   public static final String SYN_TRANSCODE_SOURCE       = "BEN-1211";
@@ -496,6 +502,7 @@ public class BeneratorErrorIds {
 
   public static final String SYN_CASCADE_ILLEGAL_ATTR   = "BEN-1220";
   public static final String SYN_CASCADE_REF            = "BEN-1221";
+  public static final String SYN_CASCADE_PAGE_SIZE      = "BEN-1222";
 
   // BEN-0600...0699 JMS issues ======================================================================================
 
@@ -644,6 +651,7 @@ public class BeneratorErrorIds {
   public static final String SYN_MONGO_SYS = "BEN-2409";
   public static final String SYN_MONGO_AUTH_DB = "BEN-2410";
   public static final String SYN_MONGO_AUTH_MECHANISM = "BEN-2411";
+  public static final String SYN_MONGO_BATCH_SIZE = "BEN-2412";
 
   // Syntax Errors regarding <meta-model> ------------------------------------------------------------------------------
 
@@ -52,6 +52,7 @@
 import com.rapiddweller.platform.xml.XMLModule;
 
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Abstract factory class for extending Benerator.<br/><br/>
@@ -136,8 +137,24 @@ public abstract VarLengthStringGenerator createVarLengthStringGenerator(
   public abstract VarLengthStringGenerator createVarLengthStringGenerator(
       Set<Character> charSet, int minLength, int maxLength, int lengthGranularity, Distribution lengthDistribution);
 
+  /** Provides the random provider for generators. While {@link #createWithRandomStream(String, Supplier)} runs,
+   *  this is the provider derived for the created object. */
   public abstract RandomProvider getRandomProvider();
 
+  /** Provides the random provider of the run, independent of {@link #createWithRandomStream(String, Supplier)}.
+   *  Static fields must use this one, since a class may be initialized while a derived provider is in use. */
+  public RandomProvider getSharedRandomProvider() {
+    return getRandomProvider();
+  }
+
+  /** Creates an object, e.g. the generator of a component, which draws its random values from streams of its own:
+   *  While the creator runs, {@link #getRandomProvider()} returns the provider derived with the key,
+   *  see {@link RandomProvider#derive(String)}. The key must be stable across runs,
+   *  e.g. the descriptor path and component name. */
+  public <T> T createWithRandomStream(String key, Supplier<T> creator) {
+    return creator.get();
+  }
+
   public abstract XMLModule getXMLModule();
 
   public abstract ComponentDescriptor getComponent(
@@ -43,4 +43,39 @@ public interface RandomProvider {
   Date randomDate(Date min, Date max);
   Object randomFromWeightLiteral(String literal);
 
+  /** Fills the array with random, uniformly distributed long values between minInclusive and maxInclusive.
+   *  Generators which need many values at once should use this instead of calling
+   *  {@link #randomLong(long, long)} for each value. */
+  default void fillLongs(long[] target, long minInclusive, long maxInclusive) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = randomLong(minInclusive, maxInclusive);
+    }
+  }
+
+  /** Fills the array with random, uniformly distributed double values
+   *  between 0.0 (inclusive) and 1.0 (exclusive). */
+  default void fillDoubles(double[] target) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = randomDouble();
+    }
+  }
+
+  /** Makes the current thread draw its random values from the stream with the given key.
+   *  Implementations which do not support seeded streams ignore the call. */
+  default void bindStream(String key) {
+    // no streams by default
+  }
+
+  /** Forgets the stream bindings of a previous run. It is called at the start of each run,
+   *  so that a seeded run yields the same values when it is repeated in the same JVM. */
+  default void resetStreams() {
+    // no streams by default
+  }
+
+  /** Provides a random provider with streams of its own which are derived from this provider's seed and the key.
+   *  Implementations which do not support seeded streams return themselves. */
+  default RandomProvider derive(String key) {
+    return this;
+  }
+
 }
@@ -26,6 +26,7 @@
 
 package com.rapiddweller.benerator.composite;
 
+import com.rapiddweller.benerator.engine.BeneratorOpts;
 import com.rapiddweller.benerator.util.ThreadSafeGenerator;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.Assert;
@@ -33,18 +34,22 @@
 import com.rapiddweller.model.data.Entity;
 
 /**
- * Instantiates an entity without initializing any components.<br/><br/>
+ * Instantiates an entity without initializing any components.
+ * If the system property <code>benerator.compactEntities</code> is set to true,
+ * the entities are created in the compact representation of the type's {@link com.rapiddweller.model.data.EntitySchema}.<br/><br/>
  * Created: 01.09.2007 07:39:52
  * @author Volker Bergmann
  */
 public class BlankEntityGenerator extends ThreadSafeGenerator<Entity> {
 
   private final ComplexTypeDescriptor descriptor;
+  private final boolean compact;
 
 
   public BlankEntityGenerator(ComplexTypeDescriptor descriptor) {
     Assert.notNull(descriptor, "descriptor");
     this.descriptor = descriptor;
+    this.compact = BeneratorOpts.isCompactEntities();
   }
 
   @Override
@@ -54,7 +59,7 @@ public Class<Entity> getGeneratedType() {
 
   @Override
   public ProductWrapper<Entity> generate(ProductWrapper<Entity> wrapper) {
-    return wrapper.wrap(new Entity(descriptor));
+    return wrapper.wrap(compact ? new Entity(descriptor.getSchema()) : new Entity(descriptor));
   }
 
   @Override
@@ -27,7 +27,9 @@
 package com.rapiddweller.benerator.composite;
 
 import com.rapiddweller.benerator.Generator;
+import com.rapiddweller.benerator.engine.AbstractBeneratorSubContext;
 import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.SlotLayout;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 
 /**
@@ -40,10 +42,25 @@
 public class Variable<E> extends SourcedGenerationStep<E> {
 
   private final String name;
+  private SlotLayout slotLayout;
+  private int slot;
 
   public Variable(String name, Generator<?> source, String scope) {
     super(source, scope);
     this.name = name;
+    this.slotLayout = null;
+    this.slot = -1;
+  }
+
+  @Override
+  public void init(BeneratorContext context) {
+    super.init(context);
+    // resolve the variable's slot once instead of looking up its name for each product
+    if (context instanceof AbstractBeneratorSubContext) {
+      AbstractBeneratorSubContext subContext = (AbstractBeneratorSubContext) context;
+      this.slotLayout = subContext.getSlotLayout();
+      this.slot = subContext.declare(name);
+    }
   }
 
   @Override
@@ -55,7 +72,12 @@ public boolean execute(BeneratorContext context) {
       context.remove(name);
       return false;
     }
-    context.set(name, productWrapper.unwrap());
+    if (slot >= 0 && context instanceof AbstractBeneratorSubContext
+        && ((AbstractBeneratorSubContext) context).getSlotLayout() == slotLayout) {
+      ((AbstractBeneratorSubContext) context).setSlotValue(slot, productWrapper.unwrap());
+    } else {
+      context.set(name, productWrapper.unwrap());
+    }
     return true;
   }
 
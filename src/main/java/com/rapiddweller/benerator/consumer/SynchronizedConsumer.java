@@ -0,0 +1,52 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.consumer;
+
+import com.rapiddweller.benerator.Consumer;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+
+/**
+ * {@link ConsumerProxy} that makes an arbitrary {@link Consumer} thread-safe
+ * by serializing all invocations on the proxy instance.
+ * It is used for fanning in the products of multithreaded generation.<br/><br/>
+ * Created: 14.03.2023 10:21:37
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class SynchronizedConsumer extends ConsumerProxy {
+
+  public SynchronizedConsumer(Consumer target) {
+    super(target);
+  }
+
+  @Override
+  public boolean isThreadSafe() {
+    return true;
+  }
+
+  @Override
+  public synchronized void startConsuming(ProductWrapper<?> wrapper) {
+    super.startConsuming(wrapper);
+  }
+
+  @Override
+  public synchronized void finishConsuming(ProductWrapper<?> wrapper) {
+    super.finishConsuming(wrapper);
+  }
+
+  @Override
+  public synchronized void flush() {
+    super.flush();
+  }
+
+  @Override
+  public synchronized void close() {
+    super.close();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + target + ']';
+  }
+
+}
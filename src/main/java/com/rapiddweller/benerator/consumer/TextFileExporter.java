@@ -177,10 +177,16 @@ protected void initPrinter(Object data) {
       }
     }
 
-    printer = IOUtil.getPrinterForURI(uri, encoding, append, lineSeparator, true);
+    printer = createPrinter();
     postInitPrinter(data);
   }
 
+  /** Creates the printer for writing the file.
+   *  Overwrite this in child classes which need a special kind of output stream. */
+  protected PrintWriter createPrinter() {
+    return IOUtil.getPrinterForURI(uri, encoding, append, lineSeparator, true);
+  }
+
   protected void println() {
     printer.print(lineSeparator);
   }
@@ -0,0 +1,345 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.dataset;
+
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.csv.CSVLineIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled binary representation of a CSV dataset file, which can be loaded much faster than the CSV file
+ * can be parsed. Each distinct cell text is stored only once in a string table and the cells are stored
+ * column by column as int arrays of string table indexes. A snapshot file is memory-mapped on load,
+ * so only the string table is decoded to the heap, the cell arrays are read directly from the mapped file.<br/>
+ * Snapshots are compiled on first use of a CSV file and stored in the directory configured by
+ * {@link BeneratorOpts#getSnapshotDir()} under a name derived from the hash of the CSV file's location.
+ * Each snapshot carries the size and modification time of the CSV file it has been compiled from,
+ * so it is recompiled automatically when the CSV file changes.<br/><br/>
+ * Created: 31.03.2023 09:12:44
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class DatasetSnapshot {
+
+  private static final Logger logger = LoggerFactory.getLogger(DatasetSnapshot.class);
+
+  private static final int MAGIC = 0x42534E50; // 'BSNP'
+  private static final int VERSION = 2;
+  private static final int NULL_INDEX = -1;
+
+  private final String[] strings;
+  private final String[] columnNames;
+  private final int rowCount;
+  private final IntBuffer cellCounts;
+  private final IntBuffer[] columns;
+
+  private DatasetSnapshot(String[] strings, String[] columnNames, int rowCount,
+                          IntBuffer cellCounts, IntBuffer[] columns) {
+    this.strings = strings;
+    this.columnNames = columnNames;
+    this.rowCount = rowCount;
+    this.cellCounts = cellCounts;
+    this.columns = columns;
+  }
+
+  // snapshot access -------------------------------------------------------------------------------------------------
+
+  /** @return the cells of the first line of the CSV file */
+  public String[] getColumnNames() {
+    return columnNames;
+  }
+
+  /** @return the index of the column with the given name or -1 if there is no such column */
+  public int columnIndex(String columnName) {
+    for (int i = 0; i < columnNames.length; i++) {
+      if (columnNames[i].equals(columnName)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** @return the number of rows, not counting the header line */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /** @return the number of cells the CSV file provides in the given row */
+  public int getCellCount(int row) {
+    return cellCounts.get(row);
+  }
+
+  /** @return the text of a cell or null if the cell does not exist or the column index is negative */
+  public String get(int row, int column) {
+    if (column < 0 || column >= columns.length) {
+      return null;
+    }
+    int index = columns[column].get(row);
+    return (index != NULL_INDEX ? strings[index] : null);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + rowCount + " rows]";
+  }
+
+  // loading and compilation -----------------------------------------------------------------------------------------
+
+  /** Provides the snapshot of a CSV file, compiling it if it does not exist yet or is outdated.
+   *  @return the snapshot or null if snapshots are disabled or could not be created,
+   *      in which case the caller is expected to parse the CSV file itself */
+  public static DatasetSnapshot load(String csvUri, char separator, String encoding) {
+    if (!BeneratorOpts.isDatasetSnapshots()) {
+      return null;
+    }
+    try {
+      Source source = Source.of(csvUri);
+      if (source == null) {
+        return null;
+      }
+      String format = separator + encoding;
+      File file = snapshotFile(source);
+      if (file.exists()) {
+        DatasetSnapshot snapshot = map(file, source.size, source.lastModified, format);
+        if (snapshot != null) {
+          return snapshot;
+        }
+      }
+      logger.debug("Compiling snapshot of {} to {}", csvUri, file);
+      compile(csvUri, separator, encoding, source, file);
+      return map(file, source.size, source.lastModified, format);
+    } catch (IOException | RuntimeException e) {
+      logger.warn("Unable to use a snapshot of {}, parsing the CSV file instead: {}", csvUri, e.toString());
+      return null;
+    }
+  }
+
+  /** Parses a CSV file and writes its snapshot to the given file. */
+  static void compile(String csvUri, char separator, String encoding, Source source, File file) throws IOException {
+    Map<String, Integer> stringIndexes = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+    int[] header;
+    List<int[]> rows = new ArrayList<>();
+    int columnCount;
+    try (CSVLineIterator iterator = new CSVLineIterator(csvUri, separator, encoding)) {
+      DataContainer<String[]> container = iterator.next(new DataContainer<>());
+      header = (container != null ? indexes(container.getData(), stringIndexes, strings) : new int[0]);
+      columnCount = header.length;
+      while ((container = iterator.next(container)) != null) {
+        int[] row = indexes(container.getData(), stringIndexes, strings);
+        columnCount = Math.max(columnCount, row.length);
+        rows.add(row);
+      }
+    }
+    File dir = file.getAbsoluteFile().getParentFile();
+    Files.createDirectories(dir.toPath());
+    Path tempFile = Files.createTempFile(dir.toPath(), file.getName(), ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(source.size);
+        out.writeLong(source.lastModified);
+        writeString(separator + encoding, out);
+        out.writeInt(strings.size());
+        for (String s : strings) {
+          writeString(s, out);
+        }
+        out.writeInt(header.length);
+        for (int index : header) {
+          out.writeInt(index);
+        }
+        out.writeInt(columnCount);
+        out.writeInt(rows.size());
+        for (int[] row : rows) {
+          out.writeInt(row.length);
+        }
+        for (int column = 0; column < columnCount; column++) {
+          for (int[] row : rows) {
+            out.writeInt(column < row.length ? row[column] : NULL_INDEX);
+          }
+        }
+      }
+      moveInto(tempFile, file.toPath());
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /** Maps a snapshot file into memory.
+   *  @return the snapshot or null if the file has an unsupported format or was compiled from a different source
+   *      file version or with a different separator or encoding */
+  static DatasetSnapshot map(File file, long size, long lastModified, String format) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // the mapping outlives the channel
+    }
+    if (buffer.capacity() < 28 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+        || buffer.getLong() != size || buffer.getLong() != lastModified || !format.equals(readString(buffer))) {
+      return null;
+    }
+    String[] strings = new String[buffer.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = readString(buffer);
+    }
+    String[] columnNames = new String[buffer.getInt()];
+    for (int i = 0; i < columnNames.length; i++) {
+      columnNames[i] = strings[buffer.getInt()];
+    }
+    int columnCount = buffer.getInt();
+    int rowCount = buffer.getInt();
+    IntBuffer cellCounts = intView(buffer, rowCount);
+    IntBuffer[] columns = new IntBuffer[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      columns[i] = intView(buffer, rowCount);
+    }
+    return new DatasetSnapshot(strings, columnNames, rowCount, cellCounts, columns);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static int[] indexes(String[] cells, Map<String, Integer> stringIndexes, List<String> strings) {
+    int[] result = new int[cells.length];
+    for (int i = 0; i < cells.length; i++) {
+      String cell = cells[i];
+      if (cell == null) {
+        result[i] = NULL_INDEX;
+      } else {
+        result[i] = stringIndexes.computeIfAbsent(cell, k -> {
+          strings.add(k);
+          return strings.size() - 1;
+        });
+      }
+    }
+    return result;
+  }
+
+  private static void writeString(String s, DataOutputStream out) throws IOException {
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static IntBuffer intView(ByteBuffer buffer, int length) {
+    ByteBuffer slice = buffer.slice();
+    slice.limit(length * 4);
+    buffer.position(buffer.position() + length * 4);
+    return slice.asIntBuffer();
+  }
+
+  /** Names the snapshot file by the CSV file name and a hash of the CSV file's canonical location. */
+  static File snapshotFile(Source source) {
+    String location = source.location;
+    int nameStart = Math.max(location.lastIndexOf('/'), location.lastIndexOf(File.separatorChar)) + 1;
+    String simpleName = location.substring(nameStart).replaceAll("[^A-Za-z0-9._-]", "_");
+    return new File(BeneratorOpts.getSnapshotDir(), simpleName + '-' + hash(location) + ".snapshot");
+  }
+
+  private static String hash(String text) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < 16; i++) {
+        builder.append(String.format("%02x", digest[i]));
+      }
+      return builder.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw ExceptionFactory.getInstance().internalError("SHA-256 is not supported", e);
+    }
+  }
+
+  private static void moveInto(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /** Identifies the version of a CSV file by its canonical location, size and modification time,
+   *  which can be checked without reading the file. */
+  static class Source {
+
+    final String location;
+    final long size;
+    final long lastModified;
+
+    Source(String location, long size, long lastModified) {
+      this.location = location;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+
+    /** @return the source description of a file path, file URL or class path resource
+     *      or null if the CSV file cannot be found or its size or modification time is unknown */
+    static Source of(String csvUri) throws IOException {
+      File file = new File(csvUri);
+      if (file.isFile()) {
+        return of(file);
+      }
+      URL url;
+      if (csvUri.indexOf(':') > 1) {
+        url = new URL(csvUri);
+      } else {
+        String resourceName = (csvUri.startsWith("/") ? csvUri.substring(1) : csvUri);
+        url = Thread.currentThread().getContextClassLoader().getResource(resourceName);
+        if (url == null) {
+          url = DatasetSnapshot.class.getClassLoader().getResource(resourceName);
+        }
+      }
+      if (url == null) {
+        return null;
+      }
+      if ("file".equals(url.getProtocol())) {
+        try {
+          return of(Paths.get(url.toURI()).toFile());
+        } catch (URISyntaxException e) {
+          return null;
+        }
+      }
+      URLConnection connection = url.openConnection();
+      long size = connection.getContentLengthLong();
+      long lastModified = connection.getLastModified();
+      return (size >= 0 && lastModified > 0 ? new Source(url.toExternalForm(), size, lastModified) : null);
+    }
+
+    private static Source of(File file) throws IOException {
+      return (file.isFile() ? new Source(file.getCanonicalPath(), file.length(), file.lastModified()) : null);
+    }
+  }
+
+}
@@ -0,0 +1,119 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+import java.util.Random;
+
+/**
+ * Walker's alias table in the numerically stable construction of Michael Vose:
+ * Draws an index from a discrete weight distribution in constant time,
+ * using one uniform index and one uniform double per draw.<br/><br/>
+ * Created: 22.03.2023 08:17:41
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public final class AliasTable {
+
+  private final double[] probability;
+  private final int[] alias;
+
+  /** Builds the table for the given weights. Weights do not need to be normalized.
+   *  If all weights are zero, the indices are uniformly distributed. */
+  public AliasTable(double[] weights) {
+    int n = weights.length;
+    if (n == 0) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Alias table needs at least one weight");
+    }
+    this.probability = new double[n];
+    this.alias = new int[n];
+    double sum = 0;
+    for (double weight : weights) {
+      if (weight < 0 || Double.isNaN(weight)) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument("Illegal weight: " + weight);
+      }
+      sum += weight;
+    }
+    if (sum == 0 || Double.isInfinite(sum)) {
+      // uniform distribution
+      for (int i = 0; i < n; i++) {
+        probability[i] = 1;
+        alias[i] = i;
+      }
+      return;
+    }
+    // scale the weights to an average of 1 and partition them in small and large ones
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / sum;
+      if (scaled[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+    // fill each small entry's column with a large entry's excess
+    while (smallCount > 0 && largeCount > 0) {
+      int s = small[--smallCount];
+      int l = large[--largeCount];
+      probability[s] = scaled[s];
+      alias[s] = l;
+      scaled[l] = (scaled[l] + scaled[s]) - 1;
+      if (scaled[l] < 1) {
+        small[smallCount++] = l;
+      } else {
+        large[largeCount++] = l;
+      }
+    }
+    // remaining entries are 1 up to rounding errors
+    while (largeCount > 0) {
+      int l = large[--largeCount];
+      probability[l] = 1;
+      alias[l] = l;
+    }
+    while (smallCount > 0) {
+      int s = small[--smallCount];
+      probability[s] = 1;
+      alias[s] = s;
+    }
+  }
+
+  public int size() {
+    return probability.length;
+  }
+
+  /** Draws a random index. */
+  public int sample(Random random) {
+    int column = random.nextInt(probability.length);
+    return (random.nextDouble() < probability[column] ? column : alias[column]);
+  }
+
+  /** Maps a uniformly distributed value between 0.0 (inclusive) and 1.0 (exclusive) to an index:
+   *  Its integral part selects the column and its fractional part decides between column and alias. */
+  public int sample(double uniform) {
+    double x = uniform * probability.length;
+    int column = Math.min((int) x, probability.length - 1);
+    return (x - column < probability[column] ? column : alias[column]);
+  }
+
+  /** Calculates the probability of an index from the table, for testing purposes. */
+  double probabilityOf(int index) {
+    double result = 0;
+    int n = probability.length;
+    for (int column = 0; column < n; column++) {
+      if (column == index) {
+        result += probability[column];
+      }
+      if (alias[column] == index) {
+        result += 1 - probability[column];
+      }
+    }
+    return result / n;
+  }
+
+}
@@ -30,6 +30,7 @@
 import com.rapiddweller.benerator.distribution.sequence.CumulatedSequence;
 import com.rapiddweller.benerator.distribution.sequence.ExpandSequence;
 import com.rapiddweller.benerator.distribution.sequence.HeadSequence;
+import com.rapiddweller.benerator.distribution.sequence.PermutationSequence;
 import com.rapiddweller.benerator.distribution.sequence.RandomSequence;
 import com.rapiddweller.benerator.distribution.sequence.RandomWalkSequence;
 import com.rapiddweller.benerator.distribution.sequence.ShuffleSequence;
@@ -63,6 +64,7 @@ public class SequenceManager {
   public static final Sequence WEDGE_SEQUENCE = register("wedge", new WedgeSequence());
   public static final Sequence BIT_REVERSE_SEQUENCE = register("bitreverse", new BitReverseSequence());
   public static final Sequence EXPAND_SEQUENCE = register("expand", new ExpandSequence());
+  public static final Sequence PERMUTE_SEQUENCE = register("permute", new PermutationSequence());
   public static final Sequence FIBONACCI_SEQUENCE = register("fibonacci", new FibonacciSequence());
   public static final Sequence PADOVAN_SEQUENCE = register("padovan", new PadovanSequence());
   public static final Sequence SINGLE_SEQUENCE = register("head", new HeadSequence());
@@ -26,14 +26,15 @@
 
 package com.rapiddweller.benerator.distribution;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.distribution.function.ConstantFunction;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
 
 import java.util.Arrays;
-import java.util.Random;
 
 /**
  * Double Generator that supports a weight function.<br/><br/>
@@ -44,7 +45,7 @@
 public class WeightedDoubleGenerator extends AbstractNonNullNumberGenerator<Double> {
 
   private final WeightFunction function;
-  private final Random random;
+  private final RandomProvider random;
 
   private double[] value;
   private double[] probSum;
@@ -58,7 +59,7 @@ public WeightedDoubleGenerator() {
   public WeightedDoubleGenerator(double min, double max, double granularity, WeightFunction function) {
     super(Double.class, min, max, granularity);
     this.function = function;
-    this.random = new Random();
+    this.random = BeneratorFactory.getInstance().getRandomProvider();
   }
 
   public Distribution getDistribution() {
@@ -106,7 +107,7 @@ public void init(GeneratorContext context) {
   @Override
   public Double generate() {
     assertInitialized();
-    double randomValue = random.nextDouble();
+    double randomValue = random.randomDouble();
     int n = intervallNoOfRandom(randomValue);
     return value[n];
   }
@@ -26,27 +26,34 @@
 
 package com.rapiddweller.benerator.distribution;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.distribution.function.ConstantFunction;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
 
 import java.util.Arrays;
-import java.util.Random;
 
 /**
- * Long Generator that supports a weight function.<br/><br/>
+ * Long Generator that supports a weight function.
+ * Values are drawn in constant time from an {@link AliasTable},
+ * using uniform random values which are fetched from the {@link RandomProvider} in batches.<br/><br/>
  * Created: 18.06.2006 15:00:41
  * @author Volker Bergmann
  * @since 0.1
  */
 public class WeightedLongGenerator extends AbstractNonNullNumberGenerator<Long> {
 
+  private static final int BATCH_SIZE = 256;
+
   private WeightFunction function;
 
-  private final Random randomizer;
-  private float[] probSum;
+  private final RandomProvider random;
+  private final double[] uniforms;
+  private int uniformIndex;
+  private AliasTable aliasTable;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -69,7 +76,9 @@ public WeightedLongGenerator(long min, long max, WeightFunction function) {
   public WeightedLongGenerator(long min, long max, long granularity, WeightFunction function) {
     super(Long.class, min, max, granularity);
     this.function = function;
-    this.randomizer = new Random();
+    this.random = BeneratorFactory.getInstance().getRandomProvider();
+    this.uniforms = new double[BATCH_SIZE];
+    this.uniformIndex = BATCH_SIZE;
   }
 
   // properties ------------------------------------------------------------------------------------------------------
@@ -94,56 +103,45 @@ public void init(GeneratorContext context) {
   }
 
   @Override
-  public Long generate() {
+  public synchronized Long generate() {
     assertInitialized();
-    float random = randomizer.nextFloat();
-    long n = intervalNoOfRandom(random);
+    if (uniformIndex == BATCH_SIZE) {
+      random.fillDoubles(uniforms);
+      uniformIndex = 0;
+    }
+    long n = aliasTable.sample(uniforms[uniformIndex++]);
     return min + n * granularity;
   }
 
   // private helpers -------------------------------------------------------------------------------------------------
 
-  private long intervalNoOfRandom(float random) {
-    int i = Arrays.binarySearch(probSum, random);
-    if (i < 0) {
-      i = -i - 1;
-    }
-    if (i >= probSum.length) {
-      return probSum.length - 1L;
-    }
-    return i;
-  }
-
   private void normalize() {
     int sampleCount = (int) ((max - min) / granularity) + 1;
     if (sampleCount > 100000) {
       logger.warn("granularity too small, resulting in a set of {} samples", sampleCount);
     }
-    probSum = new float[sampleCount];
+    double[] weights = new double[sampleCount];
     if (sampleCount == 1) {
-      probSum[0] = 1;
+      weights[0] = 1;
     } else {
+      // the sum of the raw weights decides about rejection and uniform distribution as it always did,
+      // the alias table is built from the weights with negative values treated as zero
       double sum = 0;
+      long dx = (max - min) / (sampleCount - 1);
       for (int i = 0; i < sampleCount; i++) {
-        long dx = (max - min) / (sampleCount - 1);
         long x = min + i * dx;
-        sum += function.value(x);
-        probSum[i] = (float) sum;
+        double weight = function.value(x);
+        sum += weight;
+        weights[i] = Math.max(0, weight);
       }
-      if (sum == 0) {
-        sum = 1;
-        float avgProp = (float) 1. / sampleCount;
-        for (int i = 0; i < sampleCount; i++) {
-          probSum[i] = (i + 1) * avgProp;
-        }
-      } else if (sum < 0) {
+      if (sum < 0) {
         throw BeneratorExceptionFactory.getInstance().illegalGeneratorState(
             "Invalid WeightFunction: Sum is negative (" + sum + ") for " + function);
-      }
-      for (int i = 0; i < sampleCount; i++) {
-        probSum[i] /= (float) sum;
+      } else if (sum == 0) {
+        Arrays.fill(weights, 1);
       }
     }
+    aliasTable = new AliasTable(weights); // uses a uniform distribution if all clamped weights are zero
   }
 
 }
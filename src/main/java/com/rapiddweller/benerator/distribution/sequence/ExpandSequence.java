@@ -37,7 +37,9 @@
 
 /**
  * {@link Sequence} implementation that makes use of Benerator's {@link ExpandGeneratorProxy}
- * for distributing data of unlimited volume in a unique or non-unique manner.<br/>
+ * for distributing data of unlimited volume in a unique or non-unique manner.
+ * For integral numbers of up to 64 bits, it uses the {@link LongExpandGeneratorProxy},
+ * which caches the numbers in primitive arrays.<br/>
  * <br/>
  * Created: 13.12.2009 08:59:34
  *
@@ -99,8 +101,15 @@ public ExpandSequence(Integer cacheSize, Float duplicationQuota, Integer bucketS
   @Override
   public <T extends Number> NonNullGenerator<T> createNumberGenerator(
       Class<T> numberType, T min, T max, T granularity, boolean unique) {
-    NonNullGenerator<T> source = SequenceManager.STEP_SEQUENCE.createNumberGenerator(numberType, min, max, granularity, unique);
     int cacheSize = cacheSize(min, max, granularity);
+    if (isLongCompatible(numberType)) {
+      NonNullGenerator<Long> source = SequenceManager.STEP_SEQUENCE.createNumberGenerator(
+          Long.class, toLong(min), toLong(max), toLong(granularity), unique);
+      NonNullGenerator<Long> base = new LongExpandGeneratorProxy(
+          source, duplicationQuota(unique), cacheSize, bucketSize(cacheSize));
+      return WrapperFactory.asNonNullNumberGeneratorOfType(numberType, base, min, granularity);
+    }
+    NonNullGenerator<T> source = SequenceManager.STEP_SEQUENCE.createNumberGenerator(numberType, min, max, granularity, unique);
     return WrapperFactory.asNonNullGenerator(
         new ExpandGeneratorProxy<>(source, duplicationQuota(unique), cacheSize, bucketSize(cacheSize)));
   }
@@ -141,6 +150,11 @@ private <T extends Number> int cacheSize(T min, T max, T granularity) {
     return (int) Math.min(BeneratorOpts.getCacheSize(), volume);
   }
 
+  private static boolean isLongCompatible(Class<?> numberType) {
+    return (numberType == Long.class || numberType == Integer.class
+        || numberType == Short.class || numberType == Byte.class);
+  }
+
   private static <T extends Number> long volume(long min, long max, long granularity) {
     return (max - min + granularity - 1) / granularity;
   }
@@ -0,0 +1,120 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.wrapper.NonNullGeneratorProxy;
+
+/**
+ * Variant of the {@link ExpandGeneratorProxy} for long values: It works like its parent,
+ * but keeps the cached values in {@link LongValueBucket}s, which store them in primitive arrays
+ * instead of lists of boxed objects. This reduces the memory consumption per cached value
+ * from about 24 to 8 bytes. Buckets as well as bucket elements are removed by moving the last
+ * element into the place of the removed one, so no removal needs to shift elements.<br/><br/>
+ * Created: 04.04.2023 08:47:02
+ * @author Volker Bergmann
+ * @see ExpandSequence
+ * @since 3.2.0
+ */
+public class LongExpandGeneratorProxy extends NonNullGeneratorProxy<Long> {
+
+  private final float duplicationQuota;
+  private final int cacheSize;
+  private final int bucketSize;
+  private final RandomProvider random;
+  private LongValueBucket[] buckets;
+  private int bucketCount;
+
+  // construction ----------------------------------------------------------------------------------------------------
+
+  public LongExpandGeneratorProxy(NonNullGenerator<Long> source, float duplicationQuota, int cacheSize, int bucketSize) {
+    super(source);
+    this.duplicationQuota = duplicationQuota;
+    this.cacheSize = cacheSize;
+    this.bucketSize = bucketSize;
+    this.random = BeneratorFactory.getInstance().getRandomProvider();
+  }
+
+  // properties ------------------------------------------------------------------------------------------------------
+
+  public float getDuplicationQuota() {
+    return duplicationQuota;
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public int getBucketSize() {
+    return bucketSize;
+  }
+
+  // Generator interface implementation ------------------------------------------------------------------------------
+
+  @Override
+  public void init(GeneratorContext context) {
+    super.init(context);
+    createBuckets();
+  }
+
+  @Override
+  public synchronized Long generate() {
+    assertInitialized();
+    if (bucketCount == 0) {
+      return null;
+    }
+    int bucketIndex = random.randomInt(bucketCount);
+    LongValueBucket bucket = buckets[bucketIndex];
+    if (duplicationQuota > 0 && random.randomProbability() < duplicationQuota) {
+      return bucket.getRandomElement();
+    }
+    Long feed = generateFromNotNullSource();
+    if (feed != null) {
+      return bucket.getAndReplaceRandomElement(feed);
+    }
+    long result = bucket.getAndRemoveRandomElement();
+    if (bucket.isEmpty()) {
+      buckets[bucketIndex] = buckets[--bucketCount];
+      buckets[bucketCount] = null;
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized void reset() {
+    super.reset();
+    createBuckets();
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void createBuckets() {
+    int capacity = (cacheSize + bucketSize - 1) / bucketSize;
+    LongValueBucket[] infantry = new LongValueBucket[capacity];
+    for (int i = 0; i < capacity; i++) {
+      infantry[i] = new LongValueBucket(bucketSize, random);
+    }
+    int infantryCount = capacity;
+    buckets = new LongValueBucket[capacity];
+    bucketCount = 0;
+    Long feed;
+    for (int i = 0; i < cacheSize && (feed = generateFromNotNullSource()) != null; i++) {
+      int index = random.randomInt(infantryCount);
+      LongValueBucket bucket = infantry[index];
+      bucket.add(feed);
+      if (bucket.size() == bucketSize) {
+        infantry[index] = infantry[--infantryCount];
+        buckets[bucketCount++] = bucket;
+      }
+    }
+    for (int i = 0; i < infantryCount; i++) {
+      if (!infantry[i].isEmpty()) {
+        buckets[bucketCount++] = infantry[i];
+      }
+    }
+  }
+
+}
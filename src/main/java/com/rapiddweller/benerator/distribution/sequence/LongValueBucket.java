@@ -0,0 +1,70 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.RandomProvider;
+
+import java.util.Arrays;
+
+/**
+ * Helper class for the {@link LongExpandGeneratorProxy}: A {@link ValueBucket}
+ * for long values, which stores them in a primitive array of fixed capacity.
+ * A value is removed by moving the last value into its place,
+ * so removal from a random position does not need to shift any values.
+ * The class is not thread-safe, synchronization is left to the proxy.<br/><br/>
+ * Created: 04.04.2023 08:21:36
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+class LongValueBucket {
+
+  private final long[] buffer;
+  private int size;
+  private final RandomProvider random;
+
+  public LongValueBucket(int capacity, RandomProvider random) {
+    this.buffer = new long[capacity];
+    this.size = 0;
+    this.random = random;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  public boolean isEmpty() {
+    return (size == 0);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void add(long feed) {
+    buffer[size++] = feed;
+  }
+
+  public long getRandomElement() {
+    return buffer[random.randomInt(size)];
+  }
+
+  public long getAndReplaceRandomElement(long feed) {
+    int index = random.randomInt(size);
+    long result = buffer[index];
+    buffer[index] = feed;
+    return result;
+  }
+
+  public long getAndRemoveRandomElement() {
+    int index = random.randomInt(size);
+    long result = buffer[index];
+    buffer[index] = buffer[--size];
+    return result;
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + Arrays.toString(Arrays.copyOf(buffer, size));
+  }
+
+}
@@ -0,0 +1,173 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.GeneratorContext;
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
+
+/**
+ * Long Generator that provides each number of the range min..max (in steps of granularity)
+ * exactly once in a pseudo-random order. The n-th value is the n-th index encrypted by a
+ * balanced Feistel network over the smallest bit width with an even number of bits that covers
+ * the range, results outside the range are encrypted again until they fall into it ('cycle walking').
+ * Since encryption is a bijection, the generated numbers are unique without memorizing
+ * any of them: Memory consumption and generation time per value are constant,
+ * and the n-th value can be calculated directly by {@link #valueAt(long)},
+ * e.g. for distributing an index range over several threads or machines.
+ * The order is determined by the {@link #getKey() key}, if none is set,
+ * a random key is chosen on initialization.<br/><br/>
+ * Created: 03.04.2023 08:47:15
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class PermutationLongGenerator extends AbstractNonNullNumberGenerator<Long> {
+
+  private static final int ROUNDS = 6;
+
+  private Long key;
+
+  private long size; // number of values, unsigned, 0 stands for 2^64
+  private int halfBits;
+  private long halfMask;
+  private long[] roundKeys;
+  private long cursor;
+  private boolean exhausted;
+
+  // constructors ----------------------------------------------------------------------------------------------------
+
+  public PermutationLongGenerator() {
+    this(0, Long.MAX_VALUE);
+  }
+
+  public PermutationLongGenerator(long min, long max) {
+    this(min, max, 1);
+  }
+
+  public PermutationLongGenerator(long min, long max, long granularity) {
+    this(min, max, granularity, null);
+  }
+
+  public PermutationLongGenerator(long min, long max, long granularity, Long key) {
+    super(Long.class, min, max, granularity);
+    this.key = key;
+  }
+
+  // config properties -----------------------------------------------------------------------------------------------
+
+  public Long getKey() {
+    return key;
+  }
+
+  public void setKey(Long key) {
+    this.key = key;
+  }
+
+  /** Returns the number of values in the range. For the full long range, which has 2^64 values, it returns 0. */
+  public long getSize() {
+    return size;
+  }
+
+  // Generator interface ---------------------------------------------------------------------------------------------
+
+  @Override
+  public void init(GeneratorContext context) {
+    assertNotInitialized();
+    if (granularity <= 0) {
+      throw new InvalidGeneratorSetupException("Granularity must be greater than zero, but is " + granularity);
+    }
+    super.init(context);
+    if (key == null) {
+      key = BeneratorFactory.getInstance().getRandomProvider().randomLong(0, Long.MAX_VALUE - 1);
+    }
+    size = Long.divideUnsigned(max - min, granularity) + 1;
+    int bits = (size == 0 ? 64 : 64 - Long.numberOfLeadingZeros(size - 1));
+    halfBits = Math.max(1, (bits + 1) / 2);
+    halfMask = (1L << halfBits) - 1;
+    roundKeys = new long[ROUNDS];
+    for (int i = 0; i < ROUNDS; i++) {
+      roundKeys[i] = mix(key + (i + 1) * 0x9E3779B97F4A7C15L);
+    }
+    reset();
+  }
+
+  @Override
+  public synchronized Long generate() {
+    assertInitialized();
+    if (exhausted) {
+      return null;
+    }
+    long result = valueAt(cursor);
+    cursor++;
+    exhausted = (cursor == size);
+    return result;
+  }
+
+  @Override
+  public synchronized void reset() {
+    cursor = 0;
+    exhausted = false;
+  }
+
+  // random access ---------------------------------------------------------------------------------------------------
+
+  /** Returns the index of the value which will be generated next. */
+  public synchronized long getCursor() {
+    return cursor;
+  }
+
+  /** Makes the generator continue with the value of the given index. */
+  public synchronized void seek(long index) {
+    checkIndex(index);
+    cursor = index;
+    exhausted = false;
+  }
+
+  /** Calculates the value that is generated at the given (unsigned) index of the sequence. */
+  public long valueAt(long index) {
+    checkIndex(index);
+    return min + permute(index) * granularity;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void checkIndex(long index) {
+    if (size != 0 && Long.compareUnsigned(index, size) >= 0) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument(
+          "Index " + Long.toUnsignedString(index) + " is out of range 0.." + Long.toUnsignedString(size - 1));
+    }
+  }
+
+  private long permute(long index) {
+    long x = encrypt(index);
+    while (size != 0 && Long.compareUnsigned(x, size) >= 0) {
+      x = encrypt(x);
+    }
+    return x;
+  }
+
+  private long encrypt(long x) {
+    long left = x >>> halfBits;
+    long right = x & halfMask;
+    for (long roundKey : roundKeys) {
+      long tmp = right;
+      right = left ^ (mix(right ^ roundKey) & halfMask);
+      left = tmp;
+    }
+    return (left << halfBits) | right;
+  }
+
+  /** The finalization mix of MurmurHash3, used as Feistel round function. */
+  private static long mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+}
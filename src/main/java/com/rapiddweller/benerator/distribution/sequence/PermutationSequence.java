@@ -0,0 +1,57 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.distribution.Sequence;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.wrapper.WrapperFactory;
+import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.NumberUtil;
+
+import static com.rapiddweller.common.NumberUtil.toLong;
+
+/**
+ * {@link Sequence} implementation that provides each number of a range exactly once
+ * in a pseudo-random order, using a {@link PermutationLongGenerator}.
+ * Unlike the 'expand' sequence, it does not need to cache any values.<br/><br/>
+ * Created: 03.04.2023 09:32:40
+ * @author Volker Bergmann
+ * @see PermutationLongGenerator
+ * @since 3.2.0
+ */
+public class PermutationSequence extends DetachedSequence {
+
+  private Long key;
+
+  public PermutationSequence() {
+    this(null);
+  }
+
+  public PermutationSequence(Long key) {
+    this.key = key;
+  }
+
+  public Long getKey() {
+    return key;
+  }
+
+  public void setKey(Long key) {
+    this.key = key;
+  }
+
+  @Override
+  public <T extends Number> NonNullGenerator<T> createNumberGenerator(
+      Class<T> numberType, T min, T max, T granularity, boolean unique) {
+    if (!BeanUtil.isIntegralNumberType(numberType)) {
+      throw BeneratorExceptionFactory.getInstance().configurationError(
+          "The 'permute' sequence only supports integral number types, but not " + numberType.getName());
+    }
+    if (max == null) {
+      max = NumberUtil.maxValue(numberType);
+    }
+    NonNullGenerator<Long> base = new PermutationLongGenerator(toLong(min), toLong(max), toLong(granularity), key);
+    return WrapperFactory.asNonNullNumberGeneratorOfType(numberType, base, min, granularity);
+  }
+
+}
@@ -26,13 +26,13 @@
 
 package com.rapiddweller.benerator.distribution.sequence;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.GeneratorContext;
 import com.rapiddweller.benerator.InvalidGeneratorSetupException;
 import com.rapiddweller.benerator.PropertyMessage;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.primitive.number.AbstractNonNullNumberGenerator;
 
-import java.util.Random;
-
 /**
  * Creates random {@link Integer} values with a uniform distribution.<br/><br/>
  * Created at 24.06.2009 00:57:52
@@ -44,8 +44,14 @@ public class RandomIntegerGenerator extends AbstractNonNullNumberGenerator<Integ
   private static final int DEFAULT_MIN = Integer.MIN_VALUE / 2 + 1; // test if it works with these min/max values
   private static final int DEFAULT_MAX = Integer.MAX_VALUE / 2 - 1;
   private static final int DEFAULT_GRANULARITY = 1;
+  private static final int BATCH_SIZE = 256;
+
+  private static final RandomProvider SHARED_RANDOM = BeneratorFactory.getInstance().getSharedRandomProvider();
+
+  private final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
 
-  private static final Random random = new Random();
+  private final long[] steps = new long[BATCH_SIZE];
+  private int stepIndex = BATCH_SIZE;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -68,12 +74,18 @@ public void init(GeneratorContext context) {
     if (granularity == 0) {
       throw new InvalidGeneratorSetupException(getClass().getSimpleName() + ".granularity may not be 0");
     }
+    stepIndex = BATCH_SIZE;
     super.init(context);
   }
 
+  /** Draws the number of granularity steps from min in batches. */
   @Override
-  public Integer generate() {
-    return generate(min, max, granularity);
+  public synchronized Integer generate() {
+    if (stepIndex == BATCH_SIZE) {
+      random.fillLongs(steps, 0, ((long) max - min) / granularity);
+      stepIndex = 0;
+    }
+    return (int) (min + steps[stepIndex++] * granularity);
   }
 
   // public convenience method ---------------------------------------------------------------------------------------
@@ -82,17 +94,7 @@ public static int generate(int min, int max, int granularity) {
     if (min > max) {
       throw new InvalidGeneratorSetupException(new PropertyMessage("min", "greater than max"));
     }
-    int range = (max - min + granularity) / granularity;
-    int result;
-    if (range != 0) {
-      result = min + Math.abs(random.nextInt() % range) * granularity;
-    } else {
-      result = random.nextInt() * granularity;
-    }
-    if (result < min) {
-      result += range;
-    }
-    return result;
+    return (int) (min + SHARED_RANDOM.randomLong(0, ((long) max - min) / granularity) * granularity);
   }
 
 }
@@ -44,7 +44,13 @@ public class RandomLongGenerator extends AbstractNonNullNumberGenerator<Long> {
   public static final long DEFAULT_MIN = Long.MIN_VALUE / 2 + 1;
   public static final long DEFAULT_MAX = Long.MAX_VALUE / 2 - 1;
   private static final long DEFAULT_GRANULARITY = 1;
-  private static final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
+  private static final int BATCH_SIZE = 256;
+  private static final RandomProvider SHARED_RANDOM = BeneratorFactory.getInstance().getSharedRandomProvider();
+
+  private final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
+
+  private final long[] steps = new long[BATCH_SIZE];
+  private int stepIndex = BATCH_SIZE;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -72,12 +78,21 @@ public void init(GeneratorContext context) {
           new PropertyMessage("min", "greater than max"),
           new PropertyMessage("max", "less than min"));
     }
+    stepIndex = BATCH_SIZE;
     super.init(context);
   }
 
+  /** Draws the number of granularity steps from min in batches. */
   @Override
   public synchronized Long generate() {
-    return generate(min, max, granularity);
+    if (min.equals(max)) {
+      return min;
+    }
+    if (stepIndex == BATCH_SIZE) {
+      random.fillLongs(steps, 0, (max - min) / granularity);
+      stepIndex = 0;
+    }
+    return min + steps[stepIndex++] * granularity;
   }
 
   // public convenience method ---------------------------------------------------------------------------------------
@@ -87,7 +102,7 @@ public static long generate(long min, long max, long granularity) {
       return min;
     }
     long range = (max - min) / granularity;
-    return min + random.randomLong(0, range) * granularity;
+    return min + SHARED_RANDOM.randomLong(0, range) * granularity;
   }
 
 }
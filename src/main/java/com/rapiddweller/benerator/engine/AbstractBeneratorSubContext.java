@@ -30,34 +30,53 @@
 import com.rapiddweller.benerator.environment.SystemRef;
 import com.rapiddweller.benerator.factory.DefaultsProvider;
 import com.rapiddweller.benerator.factory.GeneratorFactory;
+import com.rapiddweller.benerator.sensor.ContextLookupCounter;
 import com.rapiddweller.common.Context;
+import com.rapiddweller.common.context.CaseInsensitiveContext;
 import com.rapiddweller.model.data.ComponentDescriptor;
 import com.rapiddweller.model.data.DataModel;
 import com.rapiddweller.model.data.DescriptorProvider;
 import com.rapiddweller.model.data.TypeDescriptor;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
 /**
- * Abstract implementation of the {@link BeneratorSubContext} interface.<br/><br/>
+ * Abstract implementation of the {@link BeneratorSubContext} interface.
+ * Local variables are stored in an array, of which the slots are assigned by a {@link SlotLayout}.
+ * Statements can declare their variables in advance with {@link #declare(String)} and
+ * write them with {@link #setSlotValue(int, Object)}, scripts can resolve a variable with {@link #resolve(String)}
+ * and read it with the resulting {@link VariableRef}, which saves the name lookups in each context level.
+ * If {@link BeneratorFactory#createGenerationContext()} provides a custom context implementation,
+ * the local variables are stored in that one by name instead.<br/><br/>
  * Created: 26.01.2013 13:14:37
  * @author Volker Bergmann
  * @since 0.8.0
  */
 public abstract class AbstractBeneratorSubContext extends AbstractBeneratorContext implements BeneratorSubContext {
 
+  private static final Object UNSET = new Object();
+
   protected final BeneratorContext parent;
   protected final String currentProductName;
-  private final Context localContext;
+  private final SlotLayout slotLayout;
+  private Object[] values;
+  private final Context customContext;
 
   protected AbstractBeneratorSubContext(String productName, BeneratorContext parent) {
     this.currentProductName = productName;
     this.parent = parent;
-    this.localContext = BeneratorFactory.getInstance().createGenerationContext();
+    this.slotLayout = parentLayout(parent).child(productName);
+    this.values = newValueArray(slotLayout.size());
+    Context generationContext = BeneratorFactory.getInstance().createGenerationContext();
+    this.customContext = (generationContext.getClass() != CaseInsensitiveContext.class ? generationContext : null);
   }
 
   @Override
@@ -279,48 +298,123 @@ public boolean hasProductNameInScope(String currentProductName) {
 
   @Override
   public boolean contains(String key) {
-    return key != null && (key.equalsIgnoreCase(currentProductName) || "this".equalsIgnoreCase(key) ||
-        localContext.contains(key) || parent.contains(key));
+    return key != null && (localValue(key) != UNSET || isCurrentProductName(key) || parent.contains(key));
   }
 
   @Override
   public Object get(String key) {
     if (key == null) {
       return null;
-    } else if (localContext.contains(key)) {
-      return localContext.get(key);
-    } else if (key.equalsIgnoreCase(currentProductName) || "this".equalsIgnoreCase(key)) {
-      return getCurrentProduct().unwrap();
-    } else {
-      return parent.get(key);
     }
+    Object value = localValue(key);
+    return (value != UNSET ? value : getNonLocal(key));
   }
 
   @Override
   public void set(String key, Object value) {
-    localContext.set(key, value);
+    if (customContext != null) {
+      customContext.set(key, value);
+    } else {
+      setSlotValue(declare(key), value);
+    }
   }
 
   @Override
   public Set<String> keySet() {
     Set<String> keySet = new HashSet<>(parent.keySet());
-    keySet.addAll(localContext.keySet());
+    if (customContext != null) {
+      keySet.addAll(customContext.keySet());
+    }
+    String[] names = slotLayout.names();
+    for (int i = 0; i < names.length && i < values.length; i++) {
+      if (values[i] != UNSET) {
+        keySet.add(names[i]);
+      }
+    }
     return keySet;
   }
 
   @Override
   public Set<Entry<String, Object>> entrySet() {
+    Map<String, Object> map = new LinkedHashMap<>();
     try {
-      Set<Entry<String, Object>> entrySet = new HashSet<>(parent.entrySet());
-      entrySet.addAll(localContext.entrySet());
-      return entrySet;
+      for (Entry<String, Object> entry : parent.entrySet()) {
+        map.put(entry.getKey(), entry.getValue());
+      }
     } catch (NullPointerException e) {
-      return localContext.entrySet();
+      // ignore entries of parent contexts which cannot be provided
+    }
+    if (customContext != null) {
+      for (Entry<String, Object> entry : customContext.entrySet()) {
+        map.put(entry.getKey(), entry.getValue());
+      }
+    }
+    String[] names = slotLayout.names();
+    for (int i = 0; i < names.length && i < values.length; i++) {
+      if (values[i] != UNSET) {
+        map.put(names[i], values[i]);
+      }
     }
+    Set<Entry<String, Object>> entrySet = new HashSet<>();
+    for (Entry<String, Object> entry : map.entrySet()) {
+      entrySet.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+    }
+    return entrySet;
+  }
+
+  // slot-based variable access --------------------------------------------------------------------------------------
+
+  public SlotLayout getSlotLayout() {
+    return slotLayout;
+  }
 
+  /** Assigns a slot to a local variable, or returns the one it already has.
+   *  @return the slot, or -1 if the variables of this context are stored by name */
+  public int declare(String name) {
+    return (customContext == null ? slotLayout.declare(name) : -1);
+  }
 
+  public void setSlotValue(int slot, Object value) {
+    if (slot >= values.length) {
+      int oldLength = values.length;
+      values = Arrays.copyOf(values, Math.max(slot + 1, slotLayout.size()));
+      Arrays.fill(values, oldLength, values.length, UNSET);
+    }
+    values[slot] = value;
   }
 
+  /** Reads the value of a slot. If the slot is not set, the name is looked up in the parent contexts,
+   *  like {@link #get(String)} would do. */
+  public Object getSlotValue(int slot, String name) {
+    if (ContextLookupCounter.isEnabled()) {
+      ContextLookupCounter.countSlotLookup();
+    }
+    Object value = (slot < values.length ? values[slot] : UNSET);
+    return (value != UNSET ? value : getNonLocal(name));
+  }
+
+  /** Resolves a variable name to the slot of the nearest context which declares it.
+   *  Returns null if the name refers to a current product or has not been declared in a sub context. */
+  public VariableRef resolve(String name) {
+    int version = SlotLayout.version();
+    BeneratorContext context = this;
+    int depth = 0;
+    while (context instanceof AbstractBeneratorSubContext) {
+      AbstractBeneratorSubContext subContext = (AbstractBeneratorSubContext) context;
+      if (subContext.customContext != null) {
+        return null;
+      }
+      int slot = subContext.slotLayout.slotOf(name);
+      if (slot >= 0) {
+        return new VariableRef(name, slotLayout, version, depth, slot);
+      } else if (subContext.isCurrentProductName(name)) {
+        return null;
+      }
+      context = subContext.parent;
+      depth++;
+    }
+    return null;
+  }
 
   // java.lang.Object overrides --------------------------------------------------------------------------------------
 
@@ -333,4 +427,46 @@ public String toString() {
   public String getCurrentProductName() {
     return currentProductName;
   }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static SlotLayout parentLayout(BeneratorContext parent) {
+    if (parent instanceof AbstractBeneratorSubContext) {
+      return ((AbstractBeneratorSubContext) parent).slotLayout;
+    } else if (parent instanceof DefaultBeneratorContext) {
+      return ((DefaultBeneratorContext) parent).getSlotLayout();
+    } else {
+      return new SlotLayout();
+    }
+  }
+
+  private static Object[] newValueArray(int length) {
+    Object[] result = new Object[length];
+    Arrays.fill(result, UNSET);
+    return result;
+  }
+
+  private Object localValue(String key) {
+    if (ContextLookupCounter.isEnabled()) {
+      ContextLookupCounter.countNameLookup();
+    }
+    if (customContext != null) {
+      return (customContext.contains(key) ? customContext.get(key) : UNSET);
+    }
+    int slot = slotLayout.slotOf(key);
+    return (slot >= 0 && slot < values.length ? values[slot] : UNSET);
+  }
+
+  private boolean isCurrentProductName(String key) {
+    return key.equalsIgnoreCase(currentProductName) || "this".equalsIgnoreCase(key);
+  }
+
+  private Object getNonLocal(String key) {
+    if (isCurrentProductName(key)) {
+      return getCurrentProduct().unwrap();
+    } else {
+      return parent.get(key);
+    }
+  }
+
 }
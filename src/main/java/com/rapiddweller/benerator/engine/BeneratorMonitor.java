@@ -27,6 +27,7 @@
 package com.rapiddweller.benerator.engine;
 
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.util.UniquenessTracker;
 import com.rapiddweller.common.ThreadUtil;
 import com.rapiddweller.jdbacl.DBUtil;
 
@@ -35,6 +36,13 @@
 import javax.management.ObjectName;
 import java.io.Closeable;
 import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
 
 /**
  * MBean implementation for monitoring Benerator.<br/><br/>
@@ -67,39 +75,80 @@ public class BeneratorMonitor implements BeneratorMonitorMBean, Closeable {
     }
   }
 
-  private boolean active;
-  long latestTimeStamp;
-  long latestGenerationCount;
-  long totalGenerationCount;
-  int currentThroughput;
+  private volatile boolean active;
+  private final GenerationCounter totalCounter;
+  private final Map<String, GenerationCounter> taskCounters;
+  private final Set<UniquenessTracker<?>> uniquenessTrackers; // weak, so trackers of discarded generators vanish
 
   private BeneratorMonitor() {
     this.active = true;
-    this.latestTimeStamp = 0;
-    this.latestGenerationCount = 0;
-    this.totalGenerationCount = 0;
-    this.currentThroughput = 0;
+    this.totalCounter = new GenerationCounter("total");
+    this.taskCounters = new ConcurrentHashMap<>();
+    this.uniquenessTrackers = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     BeneratorMonitorThread monitorThread = new BeneratorMonitorThread();
     monitorThread.setDaemon(true);
     monitorThread.start();
   }
 
-  public synchronized void countGenerations(int newGenerations) {
-    totalGenerationCount += newGenerations;
+  public void countGenerations(long newGenerations) {
+    totalCounter.add(newGenerations);
+  }
+
+  /** Counts generations for the total count as well as for the task-specific count.
+   *  Callers which count frequently should rather hold the result of {@link #getTaskCounter(String)}
+   *  and call {@link #countGenerations(GenerationCounter, long)}. */
+  public void countGenerations(String taskName, long newGenerations) {
+    countGenerations(getTaskCounter(taskName), newGenerations);
+  }
+
+  public void countGenerations(GenerationCounter taskCounter, long newGenerations) {
+    totalCounter.add(newGenerations);
+    taskCounter.add(newGenerations);
+  }
+
+  public GenerationCounter getTaskCounter(String taskName) {
+    return taskCounters.computeIfAbsent(taskName, GenerationCounter::new);
   }
 
   @Override
   public long getTotalGenerationCount() {
-    return totalGenerationCount;
+    return totalCounter.getCount();
   }
 
   @Override
   public long getCurrentThroughput() {
-    return currentThroughput;
+    return totalCounter.getCurrentThroughput();
   }
 
   public void setTotalGenerationCount(long totalGenerationCount) {
-    this.totalGenerationCount = totalGenerationCount;
+    this.totalCounter.setCount(totalGenerationCount);
+  }
+
+  @Override
+  public long getTaskGenerationCount(String taskName) {
+    GenerationCounter counter = taskCounters.get(taskName);
+    return (counter != null ? counter.getCount() : 0);
+  }
+
+  @Override
+  public long getTaskThroughput(String taskName) {
+    GenerationCounter counter = taskCounters.get(taskName);
+    return (counter != null ? counter.getCurrentThroughput() : 0);
+  }
+
+  @Override
+  public String[] getTaskGenerationCounts() {
+    return formatTaskValues(GenerationCounter::getCount);
+  }
+
+  @Override
+  public String[] getTaskThroughputs() {
+    return formatTaskValues(GenerationCounter::getCurrentThroughput);
+  }
+
+  @Override
+  public String[] getTaskAverageThroughputs() {
+    return formatTaskValues(GenerationCounter::getAverageThroughput);
   }
 
   @Override
@@ -122,12 +171,63 @@ public int getOpenPreparedStatementCount() {
     return DBUtil.getOpenPreparedStatementCount();
   }
 
+  public void register(UniquenessTracker<?> tracker) {
+    uniquenessTrackers.add(tracker);
+  }
+
+  @Override
+  public long getUniqueValueCount() {
+    long result = 0;
+    synchronized (uniquenessTrackers) {
+      for (UniquenessTracker<?> tracker : uniquenessTrackers) {
+        result += tracker.size();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public long getUniquenessMemoryUsage() {
+    long result = 0;
+    synchronized (uniquenessTrackers) {
+      for (UniquenessTracker<?> tracker : uniquenessTrackers) {
+        result += tracker.memoryUsage();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public long getUniquenessDiskUsage() {
+    long result = 0;
+    synchronized (uniquenessTrackers) {
+      for (UniquenessTracker<?> tracker : uniquenessTrackers) {
+        result += tracker.diskUsage();
+      }
+    }
+    return result;
+  }
+
+  /** @return the highest false-positive rate of all uniqueness trackers */
+  @Override
+  public double getUniquenessFalsePositiveRate() {
+    double result = 0;
+    synchronized (uniquenessTrackers) {
+      for (UniquenessTracker<?> tracker : uniquenessTrackers) {
+        result = Math.max(result, tracker.falsePositiveRate());
+      }
+    }
+    return result;
+  }
+
+  /** Resets all counters. The task counters are reset in place and stay registered,
+   *  so that references held by callers of {@link #getTaskCounter(String)} remain valid. */
   @Override
   public void reset() {
-    this.latestTimeStamp = 0;
-    this.latestGenerationCount = 0;
-    this.totalGenerationCount = 0;
-    this.currentThroughput = 0;
+    this.totalCounter.reset();
+    for (GenerationCounter counter : taskCounters.values()) {
+      counter.reset();
+    }
   }
 
   @Override
@@ -135,6 +235,25 @@ public void close() {
     this.active = false;
   }
 
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Formats a value of each task which has generated data since the last reset as 'name=value',
+   *  ordered by task name. A String array is used since it is a JMX open type which any JMX client can display. */
+  private String[] formatTaskValues(ToLongFunction<GenerationCounter> value) {
+    Map<String, Long> values = new TreeMap<>();
+    for (GenerationCounter counter : taskCounters.values()) {
+      if (counter.getCount() > 0) {
+        values.put(counter.getName(), value.applyAsLong(counter));
+      }
+    }
+    String[] result = new String[values.size()];
+    int i = 0;
+    for (Map.Entry<String, Long> entry : values.entrySet()) {
+      result[i++] = entry.getKey() + '=' + entry.getValue();
+    }
+    return result;
+  }
+
   class BeneratorMonitorThread extends Thread {
 
     protected BeneratorMonitorThread() {
@@ -144,7 +263,7 @@ protected BeneratorMonitorThread() {
     @Override
     public void run() {
       try {
-        latestTimeStamp = System.nanoTime();
+        update();
         while (active) {
           ThreadUtil.sleepWithException(500);
           update();
@@ -157,11 +276,11 @@ public void run() {
     }
 
     public void update() {
-      long currentGenerationCount = totalGenerationCount;
       long currentTime = System.nanoTime();
-      currentThroughput = (int) ((currentGenerationCount - latestGenerationCount) * 1000000000 / (currentTime - latestTimeStamp));
-      latestTimeStamp = currentTime;
-      latestGenerationCount = currentGenerationCount;
+      totalCounter.update(currentTime);
+      for (GenerationCounter counter : taskCounters.values()) {
+        counter.update(currentTime);
+      }
     }
   }
 
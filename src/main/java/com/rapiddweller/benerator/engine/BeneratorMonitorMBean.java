@@ -35,9 +35,18 @@
 public interface BeneratorMonitorMBean {
   long getTotalGenerationCount();
   long getCurrentThroughput();
+  long getTaskGenerationCount(String taskName);
+  long getTaskThroughput(String taskName);
+  String[] getTaskGenerationCounts();
+  String[] getTaskThroughputs();
+  String[] getTaskAverageThroughputs();
   int getOpenConnectionCount();
   int getOpenResultSetCount();
   int getOpenStatementCount();
   int getOpenPreparedStatementCount();
+  long getUniqueValueCount();
+  long getUniquenessMemoryUsage();
+  long getUniquenessDiskUsage();
+  double getUniquenessFalsePositiveRate();
   void reset();
 }
@@ -28,6 +28,8 @@
 
 import com.rapiddweller.common.StringUtil;
 
+import java.io.File;
+
 /**
  * Provides support for Benerator's system property settings.<br/><br/>
  * Created: 30.07.2010 18:25:01
@@ -38,6 +40,21 @@ public class BeneratorOpts {
 
   public static final String OPTS_VALIDATE = "benerator.validate";
   public static final String OPTS_CACHE_SIZE = "benerator.cacheSize";
+  public static final String OPTS_COMPILE_SCRIPTS = "benerator.compileScripts";
+  public static final String OPTS_COMPACT_ENTITIES = "benerator.compactEntities";
+  public static final String OPTS_STREAM_XLSX = "benerator.streamXlsx";
+  public static final String OPTS_DATASET_SNAPSHOTS = "benerator.datasetSnapshots";
+  public static final String OPTS_SNAPSHOT_DIR = "benerator.snapshotDir";
+  public static final String OPTS_UNIQUENESS_TRACKER = "benerator.uniquenessTracker";
+  public static final String OPTS_UNIQUENESS_MEMORY = "benerator.uniquenessMemory";
+  public static final String OPTS_UNIQUENESS_SPILL_DIR = "benerator.uniquenessSpillDir";
+  public static final String OPTS_SEED = "benerator.seed";
+  public static final String OPTS_RANDOM_PROVIDER = "benerator.randomProvider";
+
+  public static final String UNIQUENESS_TRACKER_HASHSET = "hashset";
+  public static final String UNIQUENESS_TRACKER_FINGERPRINT = "fingerprint";
+  public static final String RANDOM_PROVIDER_DEFAULT = "default";
+  public static final String RANDOM_PROVIDER_SPLITTABLE = "splittable";
 
   private static final int DEFAULT_CACHE_SIZE = 100000;
 
@@ -57,6 +74,88 @@ public static int getCacheSize() {
     return parseIntProperty(OPTS_CACHE_SIZE, DEFAULT_CACHE_SIZE);
   }
 
+  public static void setCompilingScripts(boolean compilingScripts) {
+    System.setProperty(OPTS_COMPILE_SCRIPTS, String.valueOf(compilingScripts));
+  }
+
+  public static boolean isCompilingScripts() {
+    return "true".equals(System.getProperty(OPTS_COMPILE_SCRIPTS));
+  }
+
+  public static void setCompactEntities(boolean compactEntities) {
+    System.setProperty(OPTS_COMPACT_ENTITIES, String.valueOf(compactEntities));
+  }
+
+  public static boolean isCompactEntities() {
+    return "true".equals(System.getProperty(OPTS_COMPACT_ENTITIES));
+  }
+
+  public static void setStreamingXlsx(boolean streamingXlsx) {
+    System.setProperty(OPTS_STREAM_XLSX, String.valueOf(streamingXlsx));
+  }
+
+  public static boolean isStreamingXlsx() {
+    return !("false".equals(System.getProperty(OPTS_STREAM_XLSX)));
+  }
+
+  public static void setDatasetSnapshots(boolean datasetSnapshots) {
+    System.setProperty(OPTS_DATASET_SNAPSHOTS, String.valueOf(datasetSnapshots));
+  }
+
+  public static boolean isDatasetSnapshots() {
+    return !("false".equals(System.getProperty(OPTS_DATASET_SNAPSHOTS)));
+  }
+
+  public static String getSnapshotDir() {
+    String dir = System.getProperty(OPTS_SNAPSHOT_DIR);
+    if (StringUtil.isEmpty(dir)) {
+      dir = new File(new File(System.getProperty("user.home"), ".benerator"), "snapshots").getPath();
+    }
+    return dir;
+  }
+
+  public static void setUniquenessTracker(String uniquenessTracker) {
+    System.setProperty(OPTS_UNIQUENESS_TRACKER, uniquenessTracker);
+  }
+
+  public static String getUniquenessTracker() {
+    String tracker = System.getProperty(OPTS_UNIQUENESS_TRACKER);
+    return (StringUtil.isEmpty(tracker) ? UNIQUENESS_TRACKER_HASHSET : tracker);
+  }
+
+  /** @return the maximum size of a fingerprint table in MB, 0 for no limit */
+  public static int getUniquenessMemory() {
+    return parseIntProperty(OPTS_UNIQUENESS_MEMORY, 0);
+  }
+
+  public static String getUniquenessSpillDir() {
+    return System.getProperty(OPTS_UNIQUENESS_SPILL_DIR);
+  }
+
+  public static void setSeed(Long seed) {
+    if (seed != null) {
+      System.setProperty(OPTS_SEED, String.valueOf(seed));
+    } else {
+      System.clearProperty(OPTS_SEED);
+    }
+  }
+
+  /** @return the configured global random seed or null if none has been configured */
+  public static Long getSeed() {
+    String seed = System.getProperty(OPTS_SEED);
+    return (StringUtil.isEmpty(seed) ? null : Long.parseLong(seed.trim()));
+  }
+
+  /** @return the random provider to use: {@value #RANDOM_PROVIDER_SPLITTABLE} if it has been configured
+   *  or if a seed has been configured, otherwise {@value #RANDOM_PROVIDER_DEFAULT} */
+  public static String getRandomProvider() {
+    String provider = System.getProperty(OPTS_RANDOM_PROVIDER);
+    if (StringUtil.isEmpty(provider)) {
+      provider = (getSeed() != null ? RANDOM_PROVIDER_SPLITTABLE : RANDOM_PROVIDER_DEFAULT);
+    }
+    return provider;
+  }
+
   private static int parseIntProperty(String propertyKey, int defaultValue) {
     String propertyValue = System.getProperty(propertyKey);
     return (StringUtil.isEmpty(propertyValue) ? defaultValue : Integer.parseInt(propertyValue));
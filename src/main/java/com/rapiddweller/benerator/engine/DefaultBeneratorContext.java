@@ -35,8 +35,10 @@
 import com.rapiddweller.benerator.factory.GeneratorFactory;
 import com.rapiddweller.benerator.factory.StochasticGeneratorFactory;
 import com.rapiddweller.benerator.script.BeneratorScriptFactory;
+import com.rapiddweller.benerator.script.GraalScript;
 import com.rapiddweller.benerator.script.graaljs.GraalJsScriptFactory;
 import com.rapiddweller.benerator.script.graalpy.GraalPyScriptFactory;
+import com.rapiddweller.benerator.sensor.ContextLookupCounter;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.Assert;
 import com.rapiddweller.common.BeanUtil;
@@ -112,6 +114,7 @@ public class DefaultBeneratorContext extends AbstractBeneratorContext implements
 
   private DataModel dataModel;
   private final DefaultDescriptorProvider localDescriptorProvider;
+  private final SlotLayout slotLayout = new SlotLayout();
 
 
   // construction ----------------------------------------------------------------------------------------------------
@@ -425,6 +428,11 @@ public void setCurrentProduct(ProductWrapper<?> currentProduct) {
     this.currentProduct = currentProduct;
   }
 
+  /** Returns the root of the slot layouts of this context's sub contexts. */
+  public SlotLayout getSlotLayout() {
+    return slotLayout;
+  }
+
   @Override
   public DataModel getDataModel() {
     return dataModel;
@@ -440,6 +448,9 @@ public void setDataModel(DataModel dataModel) {
 
   @Override
   public Object get(String key) {
+    if (ContextLookupCounter.isEnabled()) {
+      ContextLookupCounter.countNameLookup();
+    }
     if (contextStack.contains(key)) {
       return contextStack.get(key);
     } else if (key.equalsIgnoreCase(currentProductName) || "this".equalsIgnoreCase(key)) {
@@ -518,6 +529,7 @@ public Object getGlobal(String name) {
   @Override
   public void close() {
     executorService.shutdownNow();
+    GraalScript.closeContexts(this);
   }
 
   @Override
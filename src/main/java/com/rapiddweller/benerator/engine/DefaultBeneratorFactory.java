@@ -43,6 +43,7 @@
 import com.rapiddweller.benerator.primitive.DefaultVarLengthStringGenerator;
 import com.rapiddweller.benerator.primitive.VarLengthStringGenerator;
 import com.rapiddweller.benerator.util.DefaultRandomProvider;
+import com.rapiddweller.benerator.util.SplittableRandomProvider;
 import com.rapiddweller.common.ArrayBuilder;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.Converter;
@@ -65,6 +66,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Default implementation of the abstract {@link BeneratorFactory} class.<br/><br/>
@@ -77,11 +79,12 @@ public class DefaultBeneratorFactory extends BeneratorFactory {
   public static final String COMMUNITY_EDITION = "Community Edition";
 
   private final RandomProvider randomProvider;
+  private final ThreadLocal<RandomProvider> derivedRandomProvider = new ThreadLocal<>();
   private final XMLModule xmlModule;
   private final List<XMLStatementParser> customParsers;
 
   public DefaultBeneratorFactory() {
-    this(new DefaultRandomProvider(), new DefaultXMLModule());
+    this(createRandomProvider(), new DefaultXMLModule());
   }
 
   public DefaultBeneratorFactory(RandomProvider randomProvider, XMLModule xmlModule) {
@@ -192,9 +195,30 @@ public VarLengthStringGenerator createVarLengthStringGenerator(
 
   @Override
   public RandomProvider getRandomProvider() {
+    RandomProvider derived = derivedRandomProvider.get();
+    return (derived != null ? derived : randomProvider);
+  }
+
+  @Override
+  public RandomProvider getSharedRandomProvider() {
     return randomProvider;
   }
 
+  @Override
+  public <T> T createWithRandomStream(String key, Supplier<T> creator) {
+    RandomProvider previous = derivedRandomProvider.get();
+    derivedRandomProvider.set(randomProvider.derive(key));
+    try {
+      return creator.get();
+    } finally {
+      if (previous != null) {
+        derivedRandomProvider.set(previous);
+      } else {
+        derivedRandomProvider.remove();
+      }
+    }
+  }
+
   @Override
   public Context createGenerationContext() {
     return new CaseInsensitiveContext(true);
@@ -259,6 +283,19 @@ public void importDefaultClasses(BeneratorContext context) {
     Importer.importPlatformClasses(defaultCEPlatformNames(), true, context);
   }
 
+  private static RandomProvider createRandomProvider() {
+    String provider = BeneratorOpts.getRandomProvider();
+    if (BeneratorOpts.RANDOM_PROVIDER_SPLITTABLE.equals(provider)) {
+      return new SplittableRandomProvider();
+    } else if (BeneratorOpts.RANDOM_PROVIDER_DEFAULT.equals(provider)) {
+      return new DefaultRandomProvider();
+    } else {
+      throw BeneratorExceptionFactory.getInstance().configurationError(
+          "Illegal value for " + BeneratorOpts.OPTS_RANDOM_PROVIDER + ": '" + provider + "'. Expected '"
+              + BeneratorOpts.RANDOM_PROVIDER_DEFAULT + "' or '" + BeneratorOpts.RANDOM_PROVIDER_SPLITTABLE + "'");
+    }
+  }
+
   private String[] defaultCEPlatformNames() {
     return new String[] { "csv", "db", "dbunit", "fixedwidth",
         "memstore", "result", "template", "xls", "xml", "mongodb" };
@@ -29,6 +29,7 @@
 import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.engine.parser.xml.BeneratorParseContext;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.sensor.ContextLookupCounter;
 import com.rapiddweller.benerator.sensor.Profiler;
 import com.rapiddweller.benerator.sensor.Profiling;
 import com.rapiddweller.common.HF;
@@ -113,6 +114,7 @@ public BeneratorRootStatement parseDescriptorFile() {
       throw BeneratorExceptionFactory.getInstance().beneratorFileNotFound(uri);
     }
     Element root = document.getDocumentElement();
+    factory.getSharedRandomProvider().resetStreams();
     BeneratorParseContext parsingContext = this.factory.createParseContext(resourceManager);
     BeneratorRootStatement statement = (BeneratorRootStatement) parsingContext.parseElement(root, null,null);
     // prepare system
@@ -124,6 +126,8 @@ public void execute(BeneratorRootStatement rootStatement) {
     try {
       startTime = System.currentTimeMillis();
       long initialCount = BeneratorMonitor.INSTANCE.getTotalGenerationCount();
+      ContextLookupCounter.startRun();
+      factory.getSharedRandomProvider().resetStreams();
       // run AST
       rootStatement.execute(context);
       // calculate and print statistics
@@ -131,6 +135,7 @@ public void execute(BeneratorRootStatement rootStatement) {
       printStats(initialCount, elapsedTime);
       if (Profiling.isEnabled()) {
         Profiler.defaultInstance().printSummary();
+        ContextLookupCounter.printSummary(BeneratorMonitor.INSTANCE.getTotalGenerationCount() - initialCount);
       }
     } finally {
       context.close();
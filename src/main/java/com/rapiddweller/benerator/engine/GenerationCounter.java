@@ -0,0 +1,89 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counter of generated products, used by the {@link BeneratorMonitor}
+ * for the total count as well as for the counts of individual tasks.
+ * Counting may happen concurrently in any number of threads,
+ * while throughput calculation is done by the monitor thread only.<br/><br/>
+ * Created: 16.03.2023 08:12:45
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class GenerationCounter {
+
+  private final String name;
+  private final LongAdder count;
+  private volatile long startTime;
+  private volatile long latestTimeStamp;
+  private volatile long latestCount;
+  private volatile long currentThroughput;
+
+  public GenerationCounter(String name) {
+    this.name = name;
+    this.count = new LongAdder();
+    reset();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void add(long generations) {
+    if (startTime == 0) {
+      startTime = System.nanoTime();
+    }
+    count.add(generations);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public void setCount(long value) {
+    count.reset();
+    count.add(value);
+  }
+
+  /** @return the number of generations per second in the most recent monitoring interval */
+  public long getCurrentThroughput() {
+    return currentThroughput;
+  }
+
+  /** @return the number of generations per second since the first generation was counted */
+  public long getAverageThroughput() {
+    long start = startTime;
+    if (start == 0) {
+      return 0;
+    }
+    long dt = System.nanoTime() - start;
+    return (dt > 0 ? (long) (getCount() * 1000000000.0 / dt) : 0);
+  }
+
+  /** Calculates the current throughput. This is supposed to be called periodically by one thread. */
+  void update(long currentTime) {
+    long currentCount = getCount();
+    if (latestTimeStamp > 0 && currentTime > latestTimeStamp) {
+      currentThroughput = (long) ((currentCount - latestCount) * 1000000000.0 / (currentTime - latestTimeStamp));
+    }
+    latestTimeStamp = currentTime;
+    latestCount = currentCount;
+  }
+
+  public void reset() {
+    this.count.reset();
+    this.startTime = 0;
+    this.latestTimeStamp = 0;
+    this.latestCount = 0;
+    this.currentThroughput = 0;
+  }
+
+  @Override
+  public String toString() {
+    return name + '[' + getCount() + ']';
+  }
+
+}
@@ -0,0 +1,76 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns array slots to the local variables of an {@link AbstractBeneratorSubContext}.
+ * All sub contexts created for the same product name under the same parent layout share one layout,
+ * so a slot which was resolved once is valid for all of them. Names are case-insensitive.
+ * Slots are only added, never removed, and each declaration increments a global version,
+ * which invalidates all {@link VariableRef}s resolved before.<br/><br/>
+ * Created: 26.03.2023 08:51:14
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class SlotLayout {
+
+  private static final AtomicInteger version = new AtomicInteger();
+
+  private volatile SortedMap<String, Integer> slots;
+  private final Map<String, SlotLayout> children;
+
+  public SlotLayout() {
+    this.slots = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    this.children = new ConcurrentHashMap<>();
+  }
+
+  /** Returns the current version of all layouts. It changes whenever a slot is declared. */
+  public static int version() {
+    return version.get();
+  }
+
+  /** Returns the layout for the sub contexts of the given product. */
+  public SlotLayout child(String productName) {
+    return children.computeIfAbsent((productName != null ? productName : ""), k -> new SlotLayout());
+  }
+
+  /** Returns the slot of the given variable name or -1 if it has not been declared. */
+  public int slotOf(String name) {
+    Integer slot = slots.get(name);
+    return (slot != null ? slot : -1);
+  }
+
+  /** Returns the slot of the given variable name, assigning a new slot if necessary. */
+  public synchronized int declare(String name) {
+    Integer slot = slots.get(name);
+    if (slot == null) {
+      SortedMap<String, Integer> newSlots = new TreeMap<>(slots);
+      slot = newSlots.size();
+      newSlots.put(name, slot);
+      slots = newSlots;
+      version.incrementAndGet();
+    }
+    return slot;
+  }
+
+  public int size() {
+    return slots.size();
+  }
+
+  /** Returns the declared names in the order of their slots. */
+  public String[] names() {
+    SortedMap<String, Integer> snapshot = slots;
+    String[] result = new String[snapshot.size()];
+    for (Map.Entry<String, Integer> entry : snapshot.entrySet()) {
+      result[entry.getValue()] = entry.getKey();
+    }
+    return result;
+  }
+
+}
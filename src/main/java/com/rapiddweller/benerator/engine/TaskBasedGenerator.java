@@ -94,6 +94,7 @@ public void reset() {
 
   @Override
   public void close() {
+    task.countGenerations();
     task.close();
   }
 
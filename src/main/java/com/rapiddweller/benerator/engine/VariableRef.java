@@ -0,0 +1,61 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine;
+
+/**
+ * Variable name resolved to a slot of the sub context which is 'depth' levels above the one
+ * for which it was resolved. Use {@link AbstractBeneratorSubContext#resolve(String)} for creating one
+ * and {@link #isValidFor(AbstractBeneratorSubContext)} for checking if it can be used for a given context.<br/><br/>
+ * Created: 26.03.2023 09:20:48
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public final class VariableRef {
+
+  private final String name;
+  private final SlotLayout layout;
+  private final int version;
+  private final int depth;
+  private final int slot;
+
+  VariableRef(String name, SlotLayout layout, int version, int depth, int slot) {
+    this.name = name;
+    this.layout = layout;
+    this.version = version;
+    this.depth = depth;
+    this.slot = slot;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public int getSlot() {
+    return slot;
+  }
+
+  /** Tells if the reference has been resolved for contexts of the given one's layout
+   *  and no variable has been declared since then. */
+  public boolean isValidFor(AbstractBeneratorSubContext context) {
+    return (context.getSlotLayout() == layout && version == SlotLayout.version());
+  }
+
+  /** Reads the variable value. If the slot is not set, the variable is looked up by name. */
+  public Object get(AbstractBeneratorSubContext context) {
+    AbstractBeneratorSubContext owner = context;
+    for (int i = 0; i < depth; i++) {
+      owner = (AbstractBeneratorSubContext) owner.getParent();
+    }
+    return owner.getSlotValue(slot, name);
+  }
+
+  @Override
+  public String toString() {
+    return name + '[' + depth + ',' + slot + ']';
+  }
+
+}
@@ -0,0 +1,29 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine.parser.attr;
+
+import com.rapiddweller.benerator.engine.statement.SchedulingPolicy;
+import com.rapiddweller.common.parser.Parser;
+import com.rapiddweller.common.parser.ValuesParser;
+import com.rapiddweller.format.xml.AttrInfo;
+
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_SCHEDULING;
+
+/**
+ * {@link AttrInfo} for the {@link SchedulingPolicy} of a &lt;generate&gt; or &lt;iterate&gt;.<br/><br/>
+ * Created: 17.03.2023 14:21:08
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class SchedulingAttribute extends AttrInfo<String> {
+
+  public SchedulingAttribute(String errorId) {
+    super(ATT_SCHEDULING, false, errorId, parser(), SchedulingPolicy.DEFAULT.getName(), null);
+  }
+
+  private static Parser<String> parser() {
+    return new ValuesParser("scheduling", SchedulingPolicy.NONE.getName(),
+        SchedulingPolicy.YIELD_PER_PAGE.getName(), SchedulingPolicy.COOPERATIVE.getName());
+  }
+
+}
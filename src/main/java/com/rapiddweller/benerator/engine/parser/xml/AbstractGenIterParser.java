@@ -46,6 +46,7 @@
 import com.rapiddweller.benerator.engine.parser.attr.NameAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.NullQuotaAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.PageSizeAttribute;
+import com.rapiddweller.benerator.engine.parser.attr.SchedulingAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.ScriptableBooleanAttribute;
 import com.rapiddweller.benerator.engine.parser.attr.ThreadsAttribute;
 import com.rapiddweller.benerator.engine.parser.string.IdParser;
@@ -53,6 +54,7 @@
 import com.rapiddweller.benerator.engine.statement.GenIterStatement;
 import com.rapiddweller.benerator.engine.statement.GenIterTask;
 import com.rapiddweller.benerator.engine.statement.LazyStatement;
+import com.rapiddweller.benerator.engine.statement.SchedulingPolicy;
 import com.rapiddweller.benerator.engine.statement.ValidationStatement;
 import com.rapiddweller.benerator.factory.DescriptorUtil;
 import com.rapiddweller.benerator.factory.GenerationStepFactory;
@@ -74,6 +76,7 @@
 import com.rapiddweller.model.data.ArrayTypeDescriptor;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.ComponentDescriptor;
+import com.rapiddweller.model.data.IdDescriptor;
 import com.rapiddweller.model.data.InstanceDescriptor;
 import com.rapiddweller.model.data.TypeDescriptor;
 import com.rapiddweller.model.data.Uniqueness;
@@ -108,6 +111,9 @@ public abstract class AbstractGenIterParser extends AbstractBeneratorDescriptorP
 
   private static final Set<String> CONSUMER_EXPECTING_ELEMENTS = CollectionUtil.toSet(EL_GENERATE, EL_ITERATE);
 
+  /** Distributions which draw each value independently and thus can be used in each worker thread */
+  private static final Set<String> STATELESS_DISTRIBUTIONS = CollectionUtil.toSet("random", "cumulated");
+
   protected final AttrInfo<String> nameAttr = new NameAttribute(null, false, false);
   protected final AttrInfo<String> typeAttr = new AttrInfo<>(ATT_TYPE, false, null, new IdParser(), null);
 
@@ -118,6 +124,7 @@ public abstract class AbstractGenIterParser extends AbstractBeneratorDescriptorP
   protected final CountDistributionAttribute countDistributionAttr = new CountDistributionAttribute(null);
 
   protected final ThreadsAttribute threadsAttr = new ThreadsAttribute(null);
+  protected final SchedulingAttribute schedulingAttr = new SchedulingAttribute(null);
   protected final ScriptableBooleanAttribute statsAttr = new ScriptableBooleanAttribute(ATT_STATS, false, null, false);
   protected final AttrInfo<String> sensorAttr = new AttrInfo<>(ATT_SENSOR, false, null, null, null);
 
@@ -176,6 +183,7 @@ public GenIterStatement parseGenerate(Element element, Element[] parentXmlPath,
 
     Expression<Long> pageSize = parsePageSize(element);
     Expression<Integer> threads = threadsAttr.parse(element);
+    SchedulingPolicy scheduling = SchedulingPolicy.forName(schedulingAttr.parse(element));
     Expression<PageListener> pager = (Expression<PageListener>) DatabeneScriptParser.parseBeanSpec(
         element.getAttribute(ATT_PAGER));
     String productName = getTaskName(element);
@@ -195,7 +203,27 @@ public GenIterStatement parseGenerate(Element element, Element[] parentXmlPath,
     Statement[] statementPath = parsingContext.createSubPath(parentPath, statement);
     InstanceDescriptor descriptor = elementToInstanceDesciptorParser.parse(element, context);
     GenIterTask task = parseTask(element, parentXmlPath, statementPath, parsingContext, descriptor, infoLog, context, childContext);
+    task.setSchedulingPolicy(scheduling);
     statement.setTask(task);
+    String singleThreadReason = (iterate ? null : singleThreadReason(element, descriptor));
+    if (singleThreadReason != null) {
+      // worker task copies would each restart the stateful generators and produce duplicates
+      if (element.hasAttribute(ATT_THREADS)) {
+        logger.warn("Ignoring the 'threads' setting of '{}' and generating single-threaded, since {}",
+            productName, singleThreadReason);
+      }
+    } else if (!iterate) {
+      // for multithreaded generation, each worker thread gets its own task copy, parsed from the same XML element
+      statement.setWorkerTaskFactory(workerContext -> {
+        GenIterTask workerTask;
+        synchronized (context.getDataModel()) {
+          workerTask = parseTask(element, parentXmlPath, statementPath, parsingContext,
+              elementToInstanceDesciptorParser.parse(element, context), false, context, workerContext);
+        }
+        workerTask.setSchedulingPolicy(scheduling);
+        return workerTask;
+      });
+    }
     return statement;
   }
 
@@ -209,6 +237,28 @@ protected String getTaskName(Element element) {
     return taskName;
   }
 
+  /** Creates the generation step of a component, which draws its random values from streams of its own,
+   *  keyed by the descriptor path and the component name, see {@link BeneratorFactory#createWithRandomStream}. */
+  private static GenerationStep<?> createGenerationStep(
+      InstanceDescriptor component, String descriptorPath, boolean iterationMode, BeneratorContext context) {
+    return BeneratorFactory.getInstance().createWithRandomStream(descriptorPath + '.' + component.getName(),
+        () -> GenerationStepFactory.createGenerationStep(component, Uniqueness.NONE, iterationMode, context));
+  }
+
+  /** Joins the names of the enclosing &lt;generate&gt; and &lt;iterate&gt; elements and of the element itself,
+   *  e.g. 'customer/order'. */
+  private String descriptorPath(Element element, Element[] parentXmlPath) {
+    StringBuilder builder = new StringBuilder();
+    if (parentXmlPath != null) {
+      for (Element parent : parentXmlPath) {
+        if (parent != element && CONSUMER_EXPECTING_ELEMENTS.contains(XMLUtil.localName(parent))) {
+          builder.append(getNameOrType(parent)).append('/');
+        }
+      }
+    }
+    return builder.append(getNameOrType(element)).toString();
+  }
+
   private String getNameOrType(Element element) {
     String result = nameAttr.parse(element);
     if (StringUtil.isEmpty(result)) {
@@ -220,6 +270,82 @@ private String getNameOrType(Element element) {
     return result;
   }
 
+  /** Checks if the element, its descendants or the generated type define components whose generators have a state
+   *  which must not be restarted in each worker thread: &lt;id&gt;s, unique components, sources, custom generators
+   *  and sequences.
+   *  @return a description of the first stateful setting found, or null if the generation can be multithreaded */
+  private static String singleThreadReason(Element element, InstanceDescriptor descriptor) {
+    String reason = singleThreadReason(element);
+    if (reason != null) {
+      return reason;
+    }
+    Set<String> declaredMembers = new HashSet<>();
+    for (Element child : XMLUtil.getChildElements(element)) {
+      if (COMPONENT_TYPES.contains(XMLUtil.localName(child))) {
+        declaredMembers.add(child.getAttribute(ATT_NAME).toLowerCase());
+      }
+    }
+    TypeDescriptor type = descriptor.getTypeDescriptor();
+    if (type instanceof ComplexTypeDescriptor) {
+      for (ComponentDescriptor component : ((ComplexTypeDescriptor) type).getComponents()) {
+        if (!declaredMembers.contains(component.getName().toLowerCase())) {
+          reason = singleThreadReason(component);
+          if (reason != null) {
+            return reason;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  private static String singleThreadReason(Element element) {
+    String name = XMLUtil.localName(element);
+    String label = "<" + name
+        + (element.hasAttribute(ATT_NAME) ? " name='" + element.getAttribute(ATT_NAME) + "'" : "") + ">";
+    if (EL_ID.equals(name)) {
+      return label + " is an id";
+    }
+    String reason = statefulSettingDescription(
+        "true".equals(element.getAttribute(ATT_UNIQUE)), element.getAttribute(ATT_SOURCE),
+        element.getAttribute(ATT_GENERATOR), element.getAttribute(ATT_DISTRIBUTION));
+    if (reason != null) {
+      return label + " has " + reason;
+    }
+    for (Element child : XMLUtil.getChildElements(element)) {
+      reason = singleThreadReason(child);
+      if (reason != null) {
+        return reason;
+      }
+    }
+    return null;
+  }
+
+  private static String singleThreadReason(ComponentDescriptor component) {
+    if (component instanceof IdDescriptor) {
+      return "component '" + component.getName() + "' is an id";
+    }
+    TypeDescriptor type = component.getLocalType();
+    String reason = statefulSettingDescription(Boolean.TRUE.equals(component.isUnique()),
+        (type != null ? type.getSource() : null), (type != null ? type.getGenerator() : null),
+        (type != null ? type.getDistribution() : null));
+    return (reason != null ? "component '" + component.getName() + "' has " + reason : null);
+  }
+
+  private static String statefulSettingDescription(boolean unique, String source, String generator, String distribution) {
+    if (unique) {
+      return "a unique constraint";
+    } else if (!StringUtil.isEmpty(source)) {
+      return "a source";
+    } else if (!StringUtil.isEmpty(generator)) {
+      return "a custom generator";
+    } else if (!StringUtil.isEmpty(distribution) && !STATELESS_DISTRIBUTIONS.contains(distribution)) {
+      return "the distribution '" + distribution + "'";
+    } else {
+      return null;
+    }
+  }
+
   private static Expression<Consumer> parseConsumers(Element entityElement, boolean consumersExpected, ResourceManager resourceManager) {
     return new CachedExpression<>(new XMLConsumerExpression(entityElement, consumersExpected, resourceManager));
   }
@@ -252,6 +378,7 @@ private GenIterTask parseTask(
     descriptor.setNullable(false);
     String taskName = getTaskName(descriptor);
     String productName = getNameOrType(element);
+    String descriptorPath = descriptorPath(element, parentXmlPath);
 
     // create base generator
     GenerationInterceptor interceptor = BeneratorFactory.getInstance().getGenerationInterceptor();
@@ -287,8 +414,8 @@ private GenIterTask parseTask(
 
       // ...handle non-member/variable child elements
       if (instanceDescriptor != null) {
-        GenerationStep<?> componentGenerator = GenerationStepFactory.createGenerationStep(
-            instanceDescriptor, Uniqueness.NONE, iterationMode, childContext);
+        GenerationStep<?> componentGenerator = createGenerationStep(
+            instanceDescriptor, descriptorPath, iterationMode, childContext);
         if (componentGenerator != null) {
           statements.add(componentGenerator);
         }
@@ -329,8 +456,8 @@ private GenIterTask parseTask(
           if (handledMembers.contains(componentName.toLowerCase())) {
             continue;
           }
-          GenerationStep<?> componentGenerator = GenerationStepFactory.createGenerationStep(
-              component, Uniqueness.NONE, iterationMode, childContext);
+          GenerationStep<?> componentGenerator = createGenerationStep(
+              component, descriptorPath, iterationMode, childContext);
           statements.add(insertionIndex++, componentGenerator);
         }
       }
@@ -34,6 +34,7 @@
 import com.rapiddweller.benerator.engine.statement.TranscodeStatement;
 import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.common.Expression;
 import com.rapiddweller.common.xml.XMLUtil;
 import com.rapiddweller.format.xml.AttrInfoSupport;
 import org.w3c.dom.Element;
@@ -43,7 +44,7 @@
 import static com.rapiddweller.benerator.engine.DescriptorConstants.*;
 
 /**
- * Parses &lt;cascade ref="..."&gt; descriptors.<br/><br/>
+ * Parses &lt;cascade ref="..." pageSize="..."&gt; descriptors.<br/><br/>
  * Created: 18.04.2011 08:27:48
  * @author Volker Bergmann
  * @since 0.6.6
@@ -56,6 +57,7 @@ public class CascadeParser extends AbstractBeneratorDescriptorParser {
   static {
     ATTR_INFO = new AttrInfoSupport(BeneratorErrorIds.SYN_CASCADE_ILLEGAL_ATTR);
     ATTR_INFO.add(ATT_REF, true, BeneratorErrorIds.SYN_CASCADE_REF);
+    ATTR_INFO.add(ATT_PAGESIZE, false, BeneratorErrorIds.SYN_CASCADE_PAGE_SIZE);
   }
 
   public CascadeParser() {
@@ -67,7 +69,8 @@ public Statement doParse(
       Element element, Element[] parentXmlPath, Statement[] parentComponentPath, BeneratorParseContext context) {
     CascadeParent parent = (CascadeParent) ArrayUtil.lastElementOf(parentComponentPath);
     String ref = getRequiredAttribute("ref", element);
-    CascadeStatement result = new CascadeStatement(ref, new MutatingTypeExpression(element, null), parent);
+    Expression<Long> pageSizeEx = DescriptorParserUtil.parseLongAttribute(ATT_PAGESIZE, element, 1);
+    CascadeStatement result = new CascadeStatement(ref, new MutatingTypeExpression(element, null), parent, pageSizeEx);
     Statement[] currentPath = context.createSubPath(parentComponentPath, result);
     for (Element child : XMLUtil.getChildElements(element)) {
       String childName = child.getNodeName();
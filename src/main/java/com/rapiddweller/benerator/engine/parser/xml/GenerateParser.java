@@ -35,6 +35,7 @@ public GenerateParser() {
     this.countDistributionAttr.setErrorId(SYN_GENERATE_COUNT_DIST);
 
     this.threadsAttr.setErrorId(SYN_GENERATE_THREADS);
+    this.schedulingAttr.setErrorId(SYN_GENERATE_SCHEDULING);
     this.statsAttr.setErrorId(SYN_GENERATE_STATS);
     this.sensorAttr.setErrorId(SYN_GENERATE_SENSOR);
 
@@ -55,7 +56,7 @@ public GenerateParser() {
     this.attrSupport = new AttrInfoSupport(SYN_GENERATE_ILLEGAL_ATTR, new GenerateValidator(),
         nameAttr, typeAttr, GENERATOR,
         countAttr, minCountAttr, maxCountAttr, countGranularityAttr, countDistributionAttr,
-        threadsAttr, pagesizeAttr, statsAttr, onErrorAttr, templateAttr, consumerAttr, scopeAttr,
+        threadsAttr, schedulingAttr, pagesizeAttr, statsAttr, onErrorAttr, templateAttr, consumerAttr, scopeAttr,
         validatorAttr, converterAttr, nullQuotaAttr, uniqueAttr, distributionAttr,
         cyclicAttr, offsetAttr, sensorAttr);
   }
@@ -54,6 +54,7 @@ public IterateParser() {
     this.countDistributionAttr.setErrorId(SYN_ITERATE_COUNT_DIST);
 
     this.threadsAttr.setErrorId(SYN_ITERATE_THREADS);
+    this.schedulingAttr.setErrorId(SYN_ITERATE_SCHEDULING);
     this.statsAttr.setErrorId(SYN_ITERATE_STATS);
     this.sensorAttr.setErrorId(SYN_ITERATE_SENSOR);
 
@@ -74,7 +75,7 @@ public IterateParser() {
     this.attrSupport = new AttrInfoSupport(BeneratorErrorIds.SYN_ITERATE_ILLEGAL_ATTR,
         nameAttr, typeAttr, SOURCE,
         countAttr, minCountAttr, maxCountAttr, countGranularityAttr, countDistributionAttr,
-        threadsAttr, pagesizeAttr, onErrorAttr, statsAttr, templateAttr, consumerAttr, scopeAttr,
+        threadsAttr, schedulingAttr, pagesizeAttr, onErrorAttr, statsAttr, templateAttr, consumerAttr, scopeAttr,
         validatorAttr, converterAttr, nullQuotaAttr, uniqueAttr, distributionAttr, cyclicAttr, offsetAttr, sensorAttr,
         DATASET, NESTING, LOCALE, ENCODING, SEPARATOR, FORMAT, SOURCE_SCRIPTED,
         SEGMENT, ROW_BASED, EMPTY_MARKER, SELECTOR, SUB_SELECTOR, FILTER);
@@ -12,6 +12,7 @@
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.common.Validator;
+import com.rapiddweller.common.parser.NonNegativeIntegerParser;
 import com.rapiddweller.common.parser.PositiveIntegerParser;
 import com.rapiddweller.common.parser.StringParser;
 import com.rapiddweller.format.xml.AttrInfo;
@@ -66,10 +67,14 @@ public class MongoDBParser extends AbstractBeneratorDescriptorParser {
   private static final AttrInfo<Expression<Boolean>> CLEAN_ATT_INFO = new ScriptableBooleanAttribute(
       ATT_CLEAN, false, SYN_MONGO_CLEAN, Boolean.TRUE);
 
+  private static final AttrInfo<Expression<Integer>> BATCH_SIZE_ATT_INFO = new AttrInfo<>(
+      ATT_BATCH_SIZE, false, SYN_MONGO_BATCH_SIZE,
+      new ScriptableParser<>(new NonNegativeIntegerParser()), null);
+
   private static final AttrInfoSupport ATTR_INFO_SUPPORT =
       new AttrInfoSupport(SYN_MONGO_ILL_ATTR, new MongodbValidator(), ID_ATT_INFO, ENVIRONMENT_ATT_INFO, SYSTEM_ATT_INFO,
           HOST_ATT_INFO, PORT_ATT_INFO, DATABASE_ATT_INFO, USER_ATT_INFO, PASSWORD_ATT_INFO, CLEAN_ATT_INFO, AUTH_DB_ATT_INFO,
-          AUTH_MECHANISM_ATT_INFO);
+          AUTH_MECHANISM_ATT_INFO, BATCH_SIZE_ATT_INFO);
 
   public MongoDBParser() {
     super(EL_MONGO_DB, ATTR_INFO_SUPPORT, BeneratorRootStatement.class, IfStatement.class);
@@ -90,8 +95,10 @@ public Statement doParse(Element element, Element[] parentXmlPath, Statement[] p
     // mongo db authMechanism
     Expression<String> authMechanism = parseScriptableString(element, ATT_AUTH_MECHANISM, SYN_MONGO_AUTH_MECHANISM);
     Expression<Boolean> clean = parseBooleanExpressionAttribute(ATT_CLEAN, element);
-    return new MongoDBStatement(id, environment, system, host, port, database, user, password, authdb, authMechanism, clean,
-        context.getResourceManager());
+    MongoDBStatement statement = new MongoDBStatement(id, environment, system, host, port, database, user, password,
+        authdb, authMechanism, clean, context.getResourceManager());
+    statement.setBatchSize(BATCH_SIZE_ATT_INFO.parse(element));
+    return statement;
   }
 
   static class MongodbValidator implements Validator<Element> {
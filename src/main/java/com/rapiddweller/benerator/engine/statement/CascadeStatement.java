@@ -29,17 +29,22 @@
 import com.rapiddweller.benerator.composite.GenerationStepSupport;
 import com.rapiddweller.benerator.composite.GenerationStep;
 import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.Statement;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.benerator.factory.GenerationStepFactory;
 import com.rapiddweller.common.ArrayBuilder;
 import com.rapiddweller.common.ArrayFormat;
 import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.format.DataContainer;
 import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.jdbacl.DatabaseDialect;
 import com.rapiddweller.jdbacl.identity.IdentityModel;
 import com.rapiddweller.jdbacl.identity.IdentityProvider;
 import com.rapiddweller.jdbacl.identity.KeyMapper;
 import com.rapiddweller.jdbacl.identity.NoIdentity;
+import com.rapiddweller.jdbacl.model.DBColumn;
 import com.rapiddweller.jdbacl.model.DBForeignKeyConstraint;
 import com.rapiddweller.jdbacl.model.DBTable;
 import com.rapiddweller.jdbacl.model.Database;
@@ -49,19 +54,33 @@
 import com.rapiddweller.model.data.ReferenceDescriptor;
 import com.rapiddweller.model.data.Uniqueness;
 import com.rapiddweller.platform.db.AbstractDBSystem;
+import com.rapiddweller.platform.db.JdbcMetaTypeMapper;
+import com.rapiddweller.script.PrimitiveType;
+import com.rapiddweller.script.expression.ExpressionUtil;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.StreamTokenizer;
 import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.io.StreamTokenizer.TT_WORD;
 
 /**
  * Cascades the 'transcode' operation to all entities configured to be related
- * to the currently transcoded entity.<br/><br/>
+ * to the currently transcoded entity.
+ * With a page size of 1, the related entities are queried for each parent entity separately.
+ * With a larger page size, the parent entities are collected and the related entities of a full page
+ * are fetched with a single query and dispatched to their parents in memory.
+ * A pending page is resolved when it is full, when the parent commits a page and at the end
+ * of the parent's transcoding, see {@link #flushCascades(List, BeneratorContext)}.<br/><br/>
  * Created: 18.04.2011 07:14:34
  * @author Volker Bergmann
  * @since 0.6.6
@@ -74,39 +93,56 @@ public class CascadeStatement extends SequentialStatement implements CascadePare
 
   private final CascadeParent parent;
   private final Reference ref;
+  private final Expression<Long> pageSizeEx;
+  private final List<Entity> pendingParents;
   private Entity currentEntity;
   final MutatingTypeExpression typeExpression;
   ComplexTypeDescriptor type;
 
   public CascadeStatement(String ref, MutatingTypeExpression typeExpression, CascadeParent parent) {
+    this(ref, typeExpression, parent, null);
+  }
+
+  public CascadeStatement(String ref, MutatingTypeExpression typeExpression, CascadeParent parent,
+                          Expression<Long> pageSizeEx) {
     this.typeExpression = typeExpression;
     this.ref = Reference.parse(ref);
     this.parent = parent;
+    this.pageSizeEx = pageSizeEx;
+    this.pendingParents = new ArrayList<>();
     this.currentEntity = null;
   }
 
   @Override
   public boolean execute(BeneratorContext context) {
-    AbstractDBSystem source = getSource(context);
-    getType(source, context);
-    IdentityModel identity = parent.getIdentityProvider().getIdentity(type.getName(), false);
-    String tableName = type.getName();
-    if (logger.isDebugEnabled()) {
-      logger.debug("Cascading transcode from {} to {}", parent.currentEntity().type(), tableName);
+    long pageSize = getPageSize(context);
+    if (pageSize <= 1) {
+      transcodeRelatedEntities(parent.currentEntity(), context);
+    } else {
+      pendingParents.add(parent.currentEntity());
+      if (pendingParents.size() >= pageSize) {
+        flush(context);
+      }
     }
+    return true;
+  }
 
-    // iterate rows
-    List<GenerationStep<Entity>> generationSteps =
-        GenerationStepFactory.createMutatingGenerationSteps(type, true, Uniqueness.NONE, context);
-    try (GenerationStepSupport<Entity> support = new GenerationStepSupport<>(tableName, generationSteps)) {
-      support.init(context);
-      try (DataIterator<Entity> iterator = ref.resolveReferences(parent.currentEntity(), source, context)) {
-        DataContainer<Entity> container = new DataContainer<>();
-        while ((container = iterator.next(container)) != null) {
-          mutateAndTranscodeEntity(container.getData(), identity, support, context);
-        }
+  /** Transcodes the related entities of all pending parent entities and flushes the nested cascades. */
+  public void flush(BeneratorContext context) {
+    if (!pendingParents.isEmpty()) {
+      List<Entity> parents = new ArrayList<>(pendingParents);
+      pendingParents.clear();
+      transcodeRelatedEntities(parents, context);
+    }
+    flushCascades(subStatements, context);
+  }
+
+  /** Flushes all {@link CascadeStatement}s among the given statements. */
+  public static void flushCascades(List<Statement> statements, BeneratorContext context) {
+    for (Statement statement : statements) {
+      if (statement instanceof CascadeStatement) {
+        ((CascadeStatement) statement).flush(context);
       }
-      return true;
     }
   }
 
@@ -152,6 +188,56 @@ public ComplexTypeDescriptor getType(AbstractDBSystem db, BeneratorContext conte
 
   // implementation --------------------------------------------------------------------------------------------------
 
+  private long getPageSize(BeneratorContext context) {
+    Long pageSize = ExpressionUtil.evaluate(pageSizeEx, context);
+    return (pageSize != null ? pageSize : 1);
+  }
+
+  private void transcodeRelatedEntities(Entity parentEntity, BeneratorContext context) {
+    AbstractDBSystem source = getSource(context);
+    getType(source, context);
+    IdentityModel identity = parent.getIdentityProvider().getIdentity(type.getName(), false);
+    String tableName = type.getName();
+    if (logger.isDebugEnabled()) {
+      logger.debug("Cascading transcode from {} to {}", parentEntity.type(), tableName);
+    }
+
+    // iterate rows
+    List<GenerationStep<Entity>> generationSteps =
+        GenerationStepFactory.createMutatingGenerationSteps(type, true, Uniqueness.NONE, context);
+    try (GenerationStepSupport<Entity> support = new GenerationStepSupport<>(tableName, generationSteps)) {
+      support.init(context);
+      try (DataIterator<Entity> iterator = ref.resolveReferences(parentEntity, source, context)) {
+        DataContainer<Entity> container = new DataContainer<>();
+        while ((container = iterator.next(container)) != null) {
+          mutateAndTranscodeEntity(container.getData(), identity, support, context);
+        }
+      }
+    }
+  }
+
+  private void transcodeRelatedEntities(List<Entity> parentEntities, BeneratorContext context) {
+    AbstractDBSystem source = getSource(context);
+    getType(source, context);
+    IdentityModel identity = parent.getIdentityProvider().getIdentity(type.getName(), false);
+    String tableName = type.getName();
+    if (logger.isDebugEnabled()) {
+      logger.debug("Cascading transcode from {} {} entities to {}",
+          parentEntities.size(), parentEntities.get(0).type(), tableName);
+    }
+    List<GenerationStep<Entity>> generationSteps =
+        GenerationStepFactory.createMutatingGenerationSteps(type, true, Uniqueness.NONE, context);
+    try (GenerationStepSupport<Entity> support = new GenerationStepSupport<>(tableName, generationSteps)) {
+      support.init(context);
+      List<List<Entity>> relatedEntities = ref.resolveReferences(parentEntities, source, context);
+      for (List<Entity> entitiesOfParent : relatedEntities) {
+        for (Entity entity : entitiesOfParent) {
+          mutateAndTranscodeEntity(entity, identity, support, context);
+        }
+      }
+    }
+  }
+
   private void mutateAndTranscodeEntity(
       Entity sourceEntity, IdentityModel identity, GenerationStepSupport<Entity> support, BeneratorContext context) {
     Object sourcePK = sourceEntity.idComponentValues();
@@ -220,6 +306,9 @@ private void cascade(Entity sourceEntity, BeneratorContext context) {
 
   public static class Reference {
 
+    /** Maximum number of values in a SQL 'in' clause, respecting the most restrictive database (Oracle) */
+    static final int MAX_IN_LIST_SIZE = 1000;
+
     private final String refererTableName;
     private final String[] columnNames;
 
@@ -256,6 +345,24 @@ public DataIterator<Entity> resolveReferences(Entity currentEntity, AbstractDBSy
       }
     }
 
+    /** Resolves the related entities of several parent entities of the same type with as few queries as possible.
+     *  @return a list which contains the list of related entities for each parent entity, in the order of the parents */
+    public List<List<Entity>> resolveReferences(List<Entity> parentEntities, AbstractDBSystem db, BeneratorContext context) {
+      String parentType = parentEntities.get(0).type();
+      initIfNecessary(parentType, db);
+      DBTable parentTable = database.getTable(parentType);
+      if (parentTable.equals(refereeTable)) { // including self-recursion
+        return resolveReferences(parentEntities, fk.getRefereeColumnNames(),
+            fk.getTable().getName(), fk.getColumnNames(), db, context);
+      } else if (parentTable.equals(refererTable)) {
+        return resolveReferences(parentEntities, fk.getColumnNames(),
+            fk.getRefereeTable().getName(), fk.getRefereeColumnNames(), db, context);
+      } else {
+        throw BeneratorExceptionFactory.getInstance().configurationError("Table '" + parentTable + "' does not relate to the foreign key " +
+            refererTableName + '(' + ArrayFormat.format(columnNames) + ')');
+      }
+    }
+
     private void initIfNecessary(String parentTable, AbstractDBSystem db) {
       if (this.database != null) {
         return;
@@ -297,6 +404,120 @@ DataIterator<Entity> resolveToOneReference(
       return db.queryEntities(fk.getRefereeTable().getName(), selector.toString(), context).iterator();
     }
 
+    List<List<Entity>> resolveReferences(List<Entity> parentEntities, String[] parentColumnNames,
+        String relatedTableName, String[] relatedColumnNames, AbstractDBSystem db, BeneratorContext context) {
+      DatabaseDialect dialect = db.getDialect();
+      Class<?>[] keyTypes = keyTypes(database.getTable(relatedTableName), relatedColumnNames);
+      // collect the distinct keys of the parents
+      List<List<Object>> parentKeys = new ArrayList<>(parentEntities.size());
+      Map<List<Object>, List<Entity>> relatedEntitiesByKey = new LinkedHashMap<>();
+      for (Entity parentEntity : parentEntities) {
+        List<Object> key = normalizedKey(parentEntity, parentColumnNames, keyTypes);
+        parentKeys.add(key);
+        if (key != null) {
+          relatedEntitiesByKey.computeIfAbsent(key, k -> new ArrayList<>());
+        }
+      }
+      // query the related entities of all parents in chunks and assign them to their keys
+      List<List<Object>> keys = new ArrayList<>(relatedEntitiesByKey.keySet());
+      for (int offset = 0; offset < keys.size(); offset += MAX_IN_LIST_SIZE) {
+        List<List<Object>> chunk = keys.subList(offset, Math.min(offset + MAX_IN_LIST_SIZE, keys.size()));
+        String selector = createBatchSelector(relatedColumnNames, formatKeys(chunk, dialect));
+        try (DataIterator<Entity> iterator = db.queryEntities(relatedTableName, selector, context).iterator()) {
+          DataContainer<Entity> container = new DataContainer<>();
+          while ((container = iterator.next(container)) != null) {
+            Entity relatedEntity = container.getData();
+            List<Entity> entitiesOfKey =
+                relatedEntitiesByKey.get(normalizedKey(relatedEntity, relatedColumnNames, keyTypes));
+            if (entitiesOfKey != null) {
+              entitiesOfKey.add(relatedEntity);
+            }
+          }
+        }
+      }
+      // dispatch the related entities to the parents
+      List<List<Entity>> result = new ArrayList<>(parentEntities.size());
+      for (List<Object> key : parentKeys) {
+        result.add(key != null ? relatedEntitiesByKey.get(key) : Collections.emptyList());
+      }
+      return result;
+    }
+
+    /** @return the Java types of the key columns, with null entries for columns of unknown type */
+    private static Class<?>[] keyTypes(DBTable table, String[] columnNames) {
+      Class<?>[] result = new Class<?>[columnNames.length];
+      for (int i = 0; i < columnNames.length; i++) {
+        DBColumn column = (table != null ? table.getColumn(columnNames[i]) : null);
+        String abstractType = (column != null ? JdbcMetaTypeMapper.abstractType(column.getType(), true) : null);
+        PrimitiveType primitiveType = (abstractType != null ? PrimitiveType.getInstance(abstractType) : null);
+        result[i] = (primitiveType != null ? primitiveType.getJavaType() : null);
+      }
+      return result;
+    }
+
+    /** @return the entity's key column values converted to the key column types, so that equal keys are equal
+     *  independent of their representation (e.g. 5 and 5.0 or Date and Timestamp), or null if one of them is null */
+    private static List<Object> normalizedKey(Entity entity, String[] columnNames, Class<?>[] keyTypes) {
+      Object[] result = new Object[columnNames.length];
+      for (int i = 0; i < columnNames.length; i++) {
+        Object value = entity.get(columnNames[i]);
+        if (value == null) {
+          return null;
+        }
+        if (keyTypes[i] != null) {
+          value = AnyConverter.convert(value, keyTypes[i]);
+        }
+        if (value instanceof BigDecimal) {
+          value = ((BigDecimal) value).stripTrailingZeros();
+        }
+        result[i] = value;
+      }
+      return Arrays.asList(result);
+    }
+
+    /** @return the SQL literals of the key values */
+    private static List<List<String>> formatKeys(List<List<Object>> keys, DatabaseDialect dialect) {
+      List<List<String>> result = new ArrayList<>(keys.size());
+      for (List<Object> key : keys) {
+        String[] literals = new String[key.size()];
+        for (int i = 0; i < literals.length; i++) {
+          literals[i] = dialect.formatValue(key.get(i));
+        }
+        result.add(Arrays.asList(literals));
+      }
+      return result;
+    }
+
+    static String createBatchSelector(String[] columnNames, List<List<String>> keys) {
+      StringBuilder selector = new StringBuilder();
+      if (columnNames.length == 1) {
+        selector.append(columnNames[0]).append(" in (");
+        for (int i = 0; i < keys.size(); i++) {
+          if (i > 0) {
+            selector.append(", ");
+          }
+          selector.append(keys.get(i).get(0));
+        }
+        selector.append(')');
+      } else {
+        for (int i = 0; i < keys.size(); i++) {
+          if (i > 0) {
+            selector.append(" or ");
+          }
+          selector.append('(');
+          List<String> key = keys.get(i);
+          for (int j = 0; j < columnNames.length; j++) {
+            if (j > 0) {
+              selector.append(" and ");
+            }
+            selector.append(columnNames[j]).append('=').append(key.get(j));
+          }
+          selector.append(')');
+        }
+      }
+      return selector.toString();
+    }
+
     @SuppressWarnings("checkstyle:VariableDeclarationUsageDistance")
     static Reference parse(String refSpec) {
       StreamTokenizer tokenizer = new StreamTokenizer(new StringReader(refSpec));
@@ -26,7 +26,9 @@
 
 package com.rapiddweller.benerator.engine.statement;
 
+import com.rapiddweller.benerator.Consumer;
 import com.rapiddweller.benerator.Generator;
+import com.rapiddweller.benerator.consumer.NonClosingConsumerProxy;
 import com.rapiddweller.benerator.engine.BeneratorContext;
 import com.rapiddweller.benerator.engine.BeneratorMonitor;
 import com.rapiddweller.benerator.engine.Statement;
@@ -41,8 +43,10 @@
 import com.rapiddweller.profile.Profiler;
 import com.rapiddweller.profile.Profiling;
 import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.expression.ConstantExpression;
 import com.rapiddweller.stat.CounterRepository;
 import com.rapiddweller.task.PageListener;
+import com.rapiddweller.task.ParallelTaskExecutor;
 import com.rapiddweller.task.TaskExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +55,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * Creates a number of entities in multithreaded execution and a given page size.<br/><br/>
@@ -86,6 +91,9 @@ public class GenIterStatement extends AbstractStatement implements Closeable, Pa
 
   protected GenIterTask task;
   protected PageListener pageListener;
+  private Function<BeneratorContext, GenIterTask> workerTaskFactory;
+  private final List<GenIterTask> workerTasks;
+  private final List<BeneratorContext> workerContexts;
 
   // constructor -------------------------------------------------------------------------------------------------------
 
@@ -116,6 +124,9 @@ public GenIterStatement(
     this.childContext = childContext;
     this.task = null;
     this.pageListener = null;
+    this.workerTaskFactory = null;
+    this.workerTasks = new ArrayList<>();
+    this.workerContexts = new ArrayList<>();
     this.elapsedTimeFormatter = new ElapsedTimeFormatter(Locale.US, " ", false);
     this.profilerPath = createProfilerPath(parentPath, this);
   }
@@ -136,6 +147,12 @@ public GenIterTask getTask() {
     return task;
   }
 
+  /** Sets a factory which creates an independent copy of the task for a given worker context.
+   *  Multithreaded execution is only possible if a worker task factory is provided. */
+  public void setWorkerTaskFactory(Function<BeneratorContext, GenIterTask> workerTaskFactory) {
+    this.workerTaskFactory = workerTaskFactory;
+  }
+
   public BeneratorContext getContext() {
     return context;
   }
@@ -153,10 +170,23 @@ public boolean execute(BeneratorContext context) {
     StopWatch stopWatch = new StopWatch(sensor);
     if (!beInitialized(context)) {
       task.reset();
+      for (GenIterTask workerTask : workerTasks) {
+        workerTask.reset();
+      }
     }
     Long requestedCount = generateCount(childContext);
-    executeTask(requestedCount, minCount.evaluate(childContext), pageSize.evaluate(childContext),
-        evaluatePageListeners(childContext), getErrorHandler(childContext));
+    int threadCount = threadCount();
+    try {
+      if (threadCount > 1) {
+        executeTaskInParallel(threadCount, requestedCount, minCount.evaluate(childContext), pageSize.evaluate(childContext),
+            evaluatePageListeners(childContext), getErrorHandler(childContext));
+      } else {
+        executeTask(requestedCount, minCount.evaluate(childContext), pageSize.evaluate(childContext),
+            evaluatePageListeners(childContext), getErrorHandler(childContext));
+      }
+    } finally {
+      countGenerations();
+    }
     if (!isSubCreator) {
       close();
     }
@@ -181,6 +211,9 @@ public Long generateCount(BeneratorContext context) {
   @Override
   public void close() {
     task.close();
+    for (GenIterTask workerTask : workerTasks) {
+      workerTask.close();
+    }
     countGenerator.close();
     if (pageListener instanceof Closeable) {
       IOUtil.close((Closeable) pageListener);
@@ -227,6 +260,10 @@ protected List<PageListener> evaluatePageListeners(Context context) {
   protected boolean beInitialized(BeneratorContext context) {
     if (!countGenerator.wasInitialized()) {
       countGenerator.init(childContext);
+      task.setThreadSafeConsumer(threadCount() > 1);
+      if (!isSubCreator) {
+        task.setRandomStreamKey(randomStreamKey(1));
+      }
       task.init(childContext);
       return true;
     }
@@ -239,6 +276,62 @@ protected void executeTask(Long reqExecutions, Long minExecutions, Long pageSize
         pageListeners, pageSizeValue, false, errorHandler, infoLog);
   }
 
+  /** Reports the generations of the last page(s) which have not yet been reported by the task(s). */
+  private void countGenerations() {
+    task.countGenerations();
+    for (GenIterTask workerTask : workerTasks) {
+      workerTask.countGenerations();
+    }
+  }
+
+  /** Determines the number of threads to use. Nested generation and iteration
+   *  of a source are always performed in a single thread. */
+  protected int threadCount() {
+    if (workerTaskFactory == null || iterate || isSubCreator || threads == null) {
+      return 1;
+    }
+    Integer threadCount = threads.evaluate(childContext);
+    return (threadCount != null ? Math.max(1, threadCount) : 1);
+  }
+
+  protected void executeTaskInParallel(int threadCount, Long reqExecutions, Long minExecutions, Long pageSizeValue,
+                                       List<PageListener> pageListeners, ErrorHandler errorHandler) {
+    createWorkers(threadCount);
+    List<GenIterTask> tasks = new ArrayList<>(threadCount);
+    List<BeneratorContext> contexts = new ArrayList<>(threadCount);
+    tasks.add(task);
+    contexts.add(childContext);
+    for (int i = 0; i < threadCount - 1; i++) {
+      tasks.add(workerTasks.get(i));
+      contexts.add(workerContexts.get(i));
+    }
+    ParallelTaskExecutor.execute(tasks, contexts, reqExecutions, minExecutions,
+        pageListeners, pageSizeValue, errorHandler, infoLog);
+  }
+
+  /** Creates the worker tasks in addition to the main task, each one with its own statement tree
+   *  and sub context. All workers feed their products into the (synchronized) consumer of the main task. */
+  private void createWorkers(int threadCount) {
+    Consumer sharedConsumer = task.getConsumer();
+    while (workerTasks.size() < threadCount - 1) {
+      BeneratorContext workerContext = context.createSubContext(productName);
+      GenIterTask workerTask = workerTaskFactory.apply(workerContext);
+      workerTask.setRandomStreamKey(randomStreamKey(workerTasks.size() + 2));
+      workerTask.setConsumer(new ConstantExpression<>(
+          sharedConsumer != null ? new NonClosingConsumerProxy(sharedConsumer) : null));
+      workerTask.init(workerContext);
+      workerTasks.add(workerTask);
+      workerContexts.add(workerContext);
+    }
+  }
+
+  /** Creates the key of the random stream of a task, so that each top-level task and each of its worker threads
+   *  draws random values from a stream of its own. */
+  private String randomStreamKey(int workerNo) {
+    String taskName = task.getTaskName();
+    return (taskName != null ? taskName : productName) + '#' + workerNo;
+  }
+
   private void logPerformance(int dt, long dc) {
     String operation = (iterate ? "iterated" : "generated");
     if (dc == 0) {
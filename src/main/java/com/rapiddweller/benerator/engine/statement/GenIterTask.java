@@ -26,12 +26,16 @@
 
 package com.rapiddweller.benerator.engine.statement;
 
+import com.rapiddweller.benerator.BeneratorFactory;
 import com.rapiddweller.benerator.Consumer;
+import com.rapiddweller.benerator.RandomProvider;
 import com.rapiddweller.benerator.composite.ComponentBuilder;
 import com.rapiddweller.benerator.consumer.ConsumerChain;
+import com.rapiddweller.benerator.consumer.SynchronizedConsumer;
 import com.rapiddweller.benerator.engine.BeneratorContext;
 import com.rapiddweller.benerator.engine.BeneratorMonitor;
 import com.rapiddweller.benerator.engine.CurrentProductGeneration;
+import com.rapiddweller.benerator.engine.GenerationCounter;
 import com.rapiddweller.benerator.engine.LifeCycleHolder;
 import com.rapiddweller.benerator.engine.ResourceManager;
 import com.rapiddweller.benerator.engine.ResourceManagerSupport;
@@ -44,6 +48,7 @@
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.MessageHolder;
 import com.rapiddweller.common.Resettable;
+import com.rapiddweller.common.ThreadAware;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.expression.ExpressionUtil;
 import com.rapiddweller.task.PageListener;
@@ -62,6 +67,10 @@
  */
 public class GenIterTask implements Task, PageListener, ResourceManager, MessageHolder {
 
+  /** The maximum number of generations to count locally before reporting them to the {@link BeneratorMonitor},
+   *  so that monitoring is up-to-date for large pages and for tasks that are not paged at all */
+  private static final int MAX_PENDING_GENERATIONS = 1000;
+
   // attributes --------------------------------------------------------------------------------------------------------
 
   private final String taskName;
@@ -74,7 +83,13 @@ public class GenIterTask implements Task, PageListener, ResourceManager, Message
   private Expression<Consumer> consumerExpr;
   private final AtomicBoolean initialized;
   private Consumer consumer;
+  private boolean threadSafeConsumer;
   private String message;
+  private long pendingGenerations;
+  private GenerationCounter generationCounter;
+  private SchedulingPolicy schedulingPolicy;
+  private String randomStreamKey;
+  private Thread boundThread;
 
 
   // constructor -------------------------------------------------------------------------------------------------------
@@ -86,6 +101,7 @@ public GenIterTask(String taskName, String productName) {
     this.initialized = new AtomicBoolean(false);
     this.statements = new ArrayList<>();
     this.scopes = new ArrayList<>();
+    this.schedulingPolicy = SchedulingPolicy.DEFAULT;
   }
 
 
@@ -102,6 +118,20 @@ public void setStatements(List<Statement> statements) {
     }
   }
 
+  public SchedulingPolicy getSchedulingPolicy() {
+    return schedulingPolicy;
+  }
+
+  public void setSchedulingPolicy(SchedulingPolicy schedulingPolicy) {
+    this.schedulingPolicy = schedulingPolicy;
+  }
+
+  /** Makes the task draw its random values from a stream of its own, see {@link RandomProvider#bindStream(String)}.
+   *  The stream is bound to the thread which executes the task. */
+  public void setRandomStreamKey(String randomStreamKey) {
+    this.randomStreamKey = randomStreamKey;
+  }
+
   public ResourceManager getResourceManager() {
     return resourceManager;
   }
@@ -114,13 +144,24 @@ public Consumer getConsumer() {
     return consumer;
   }
 
+  /** Tells the task to wrap its consumer with a {@link SynchronizedConsumer}
+   *  if it is shared by several threads. Must be called before {@link #init(BeneratorContext)}. */
+  public void setThreadSafeConsumer(boolean threadSafeConsumer) {
+    this.threadSafeConsumer = threadSafeConsumer;
+  }
+
   public void init(BeneratorContext context) {
     synchronized (initialized) {
       if (!initialized.get()) {
         this.context = context;
         this.consumer = ExpressionUtil.evaluate(consumerExpr, context);
+        boolean consumersExist = consumersExist();
+        if (threadSafeConsumer && consumersExist
+            && !(consumer instanceof ThreadAware && ((ThreadAware) consumer).isThreadSafe())) {
+          this.consumer = new SynchronizedConsumer(consumer);
+        }
         resourceManager.addResource(consumer);
-        if (consumersExist()) {
+        if (consumersExist) {
           injectConsumptionStart();
           injectConsumptionEnd();
         }
@@ -162,6 +203,10 @@ public TaskResult execute(Context ctx, ErrorHandler errorHandler) {
     if (!initialized.get()) {
       init((BeneratorContext) ctx);
     }
+    if (randomStreamKey != null && boundThread != Thread.currentThread()) {
+      BeneratorFactory.getInstance().getSharedRandomProvider().bindStream(randomStreamKey);
+      boundThread = Thread.currentThread();
+    }
     try {
       boolean success = true;
       for (int i = 0; i < statements.size(); i++) {
@@ -179,11 +224,11 @@ public TaskResult execute(Context ctx, ErrorHandler errorHandler) {
           break;
         }
       }
-      if (success) {
-        BeneratorMonitor.INSTANCE.countGenerations(1);
+      if (success && ++pendingGenerations >= MAX_PENDING_GENERATIONS) {
+        countGenerations();
       }
       enqueueResets();
-      Thread.yield();
+      schedulingPolicy.entityFinished();
       return (success ? TaskResult.EXECUTING : TaskResult.UNAVAILABLE);
     } catch (Exception e) {
       errorHandler.handleError("Error in execution of task " + getTaskName(), e);
@@ -191,6 +236,18 @@ public TaskResult execute(Context ctx, ErrorHandler errorHandler) {
     }
   }
 
+  /** Reports the generations that have been counted since the last invocation to the {@link BeneratorMonitor}.
+   *  Counting is batched this way in order to avoid contention on the monitor's counters. */
+  public void countGenerations() {
+    if (pendingGenerations > 0) {
+      if (generationCounter == null) {
+        generationCounter = BeneratorMonitor.INSTANCE.getTaskCounter(taskName != null ? taskName : productName);
+      }
+      BeneratorMonitor.INSTANCE.countGenerations(generationCounter, pendingGenerations);
+      pendingGenerations = 0;
+    }
+  }
+
   public void reset() {
     for (Statement statement : statements) {
       statement = StatementUtil.getRealStatement(statement, context);
@@ -226,7 +283,9 @@ public void pageStarting() {
 
   @Override
   public void pageFinished() {
+    countGenerations();
     IOUtil.flush(consumer);
+    schedulingPolicy.pageFinished();
   }
 
 
@@ -25,6 +25,7 @@ public class MongoDBStatement implements Statement {
   private final Expression<String> password;
   private final Expression<Boolean> clean;
   private final ResourceManager resourceManager;
+  private Expression<Integer> batchSize;
 
   public MongoDBStatement(Expression<String> id, Expression<String> environment, Expression<String> system, Expression<String> host,
                           Expression<Integer> port,
@@ -43,12 +44,21 @@ public MongoDBStatement(Expression<String> id, Expression<String> environment, E
     this.authMechanism = authMechanism;
     this.clean = clean;
     this.resourceManager = resourceManager;
+    this.batchSize = null;
+  }
+
+  public void setBatchSize(Expression<Integer> batchSize) {
+    this.batchSize = batchSize;
   }
 
   @Override
   public boolean execute(BeneratorContext context) {
     logger.debug("Instantiating storage system with id '{}'", id);
     MongoDBSystem mongoDBSystem = createMongoDBSystem(context);
+    Integer batchSizeValue = ExpressionUtil.evaluate(batchSize, context);
+    if (batchSizeValue != null) {
+      mongoDBSystem.setBatchSize(batchSizeValue);
+    }
     context.setGlobal(id.evaluate(context), mongoDBSystem);
     context.getDataModel().addDescriptorProvider(mongoDBSystem, context.isValidate());
     resourceManager.addResource(mongoDBSystem);
@@ -0,0 +1,67 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.engine.statement;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+/**
+ * Enumerates the policies of a {@link GenIterTask} for giving away the processor to other threads.<br/><br/>
+ * Created: 17.03.2023 14:05:51
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public enum SchedulingPolicy {
+
+  /** Never yields. */
+  NONE("none"),
+
+  /** Yields once after each page. */
+  YIELD_PER_PAGE("yield-per-page"),
+
+  /** Yields after each generated entity, which lets nested generations interleave with other threads. */
+  COOPERATIVE("cooperative");
+
+  public static final SchedulingPolicy DEFAULT = YIELD_PER_PAGE;
+
+  private final String name;
+
+  SchedulingPolicy(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public static SchedulingPolicy forName(String name) {
+    if (name == null) {
+      return DEFAULT;
+    }
+    for (SchedulingPolicy policy : values()) {
+      if (policy.name.equals(name)) {
+        return policy;
+      }
+    }
+    throw BeneratorExceptionFactory.getInstance().illegalArgument("Not a supported scheduling policy: " + name);
+  }
+
+  /** Called by a task after processing an entity. */
+  public void entityFinished() {
+    if (this == COOPERATIVE) {
+      Thread.yield();
+    }
+  }
+
+  /** Called by a task after finishing a page. */
+  public void pageFinished() {
+    if (this == YIELD_PER_PAGE) {
+      Thread.yield();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+}
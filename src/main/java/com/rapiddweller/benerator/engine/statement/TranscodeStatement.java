@@ -181,9 +181,11 @@ private void transcodeTable(AbstractDBSystem source, AbstractDBSystem target, lo
         cascade(sourceEntity, context);
         rowCount++;
         if (rowCount % pageSize == 0) {
+          CascadeStatement.flushCascades(subStatements, context);
           target.flush();
         }
       }
+      CascadeStatement.flushCascades(subStatements, context);
       target.flush();
       logger.info("Finished transcoding {} rows of table {}", source.countEntities(tableName), tableName);
     }
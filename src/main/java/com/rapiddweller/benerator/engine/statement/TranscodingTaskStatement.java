@@ -47,11 +47,13 @@
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.ReferenceDescriptor;
 import com.rapiddweller.platform.db.AbstractDBSystem;
+import com.rapiddweller.platform.db.MappedKeyMapper;
 import com.rapiddweller.common.Expression;
 import com.rapiddweller.script.expression.ExpressionUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import java.io.Closeable;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -65,22 +67,33 @@
  */
 public class TranscodingTaskStatement extends SequentialStatement {
 
+  public static final String MEM_KEY_MAPPER = "mem";
+  public static final String MMAP_KEY_MAPPER = "mmap";
+
   final Expression<AbstractDBSystem> sourceEx;
   final Expression<AbstractDBSystem> targetEx;
   final Expression<String> identityEx;
   final Expression<Long> pageSizeEx;
   final Expression<ErrorHandler> errorHandlerExpression;
+  final Expression<String> keyMapperEx;
   final IdentityProvider identityProvider;
   KeyMapper mapper;
   final Map<String, Boolean> tableNkRequirements = OrderedNameMap.createCaseIgnorantMap();
 
   public TranscodingTaskStatement(Expression<AbstractDBSystem> sourceEx, Expression<AbstractDBSystem> targetEx, Expression<String> identityEx,
                                   Expression<Long> pageSizeEx, Expression<ErrorHandler> errorHandlerExpression) {
+    this(sourceEx, targetEx, identityEx, pageSizeEx, errorHandlerExpression, null);
+  }
+
+  public TranscodingTaskStatement(Expression<AbstractDBSystem> sourceEx, Expression<AbstractDBSystem> targetEx, Expression<String> identityEx,
+                                  Expression<Long> pageSizeEx, Expression<ErrorHandler> errorHandlerExpression,
+                                  Expression<String> keyMapperEx) {
     this.sourceEx = cache(sourceEx);
     this.targetEx = cache(targetEx);
     this.identityEx = cache(identityEx);
     this.pageSizeEx = cache(pageSizeEx);
     this.errorHandlerExpression = cache(errorHandlerExpression);
+    this.keyMapperEx = keyMapperEx;
     this.identityProvider = new IdentityProvider();
   }
 
@@ -112,10 +125,16 @@ KeyMapper getKeyMapper() {
   public boolean execute(BeneratorContext context) {
     AbstractDBSystem target = getTarget(context);
     Database database = target.getDbMetaData();
-    mapper = new MemKeyMapper(null, null, target.getConnection(), target.getId(), identityProvider, database);
-    checkPrecoditions(context);
-    super.execute(context);
-    return true;
+    mapper = createKeyMapper(target, database, context);
+    try {
+      checkPrecoditions(context);
+      super.execute(context);
+      return true;
+    } finally {
+      if (mapper instanceof Closeable) {
+        IOUtil.close((Closeable) mapper);
+      }
+    }
   }
 
   private void checkPrecoditions(BeneratorContext context) {
@@ -144,6 +163,18 @@ private void checkPrecoditions(BeneratorContext context) {
 
   // helpers ---------------------------------------------------------------------------------------------------------
 
+  private KeyMapper createKeyMapper(AbstractDBSystem target, Database database, BeneratorContext context) {
+    String type = ExpressionUtil.evaluate(keyMapperEx, context);
+    if (type == null || MEM_KEY_MAPPER.equals(type)) {
+      return new MemKeyMapper(null, null, target.getConnection(), target.getId(), identityProvider, database);
+    } else if (MMAP_KEY_MAPPER.equals(type)) {
+      return new MappedKeyMapper(null, null, target.getConnection(), target.getId(), identityProvider, database);
+    } else {
+      throw ExceptionFactory.getInstance().configurationError("Illegal keyMapper in <transcodingTask>: '" + type
+          + "'. Expected '" + MEM_KEY_MAPPER + "' or '" + MMAP_KEY_MAPPER + "'");
+    }
+  }
+
   private boolean collectPreconditions(List<Statement> subStatements, BeneratorContext context) {
     boolean identitiesRequired = false;
     List<CascadeParent> children = CollectionUtil.extractItemsOfCompatibleType(CascadeParent.class, subStatements);
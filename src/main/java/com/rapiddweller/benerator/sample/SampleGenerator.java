@@ -62,7 +62,7 @@
   /** Generates an index based on the {@link #distribution}. */
   private NonNullGenerator<Integer> indexGenerator;
 
-  private static final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
+  private static final RandomProvider random = BeneratorFactory.getInstance().getSharedRandomProvider();
 
 
   // constructors ----------------------------------------------------------------------------------------------------
@@ -0,0 +1,204 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.expression.CompositeExpression;
+import com.rapiddweller.script.expression.ConstantExpression;
+import com.rapiddweller.script.expression.DivisionExpression;
+import com.rapiddweller.script.expression.ModuloExpression;
+import com.rapiddweller.script.expression.MultiplicationExpression;
+import com.rapiddweller.script.expression.QNExpression;
+import com.rapiddweller.script.expression.SubtractionExpression;
+import com.rapiddweller.script.expression.SumExpression;
+import com.rapiddweller.script.expression.UnaryExpression;
+import com.rapiddweller.script.expression.ValueNegationExpression;
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles BeneratorScript expressions into Java classes with javassist.
+ * It translates the expression tree created by the {@link DatabeneScriptParser} and supports
+ * numeric literals, variables, member access on entities and maps (like <code>this.price</code>)
+ * and the operators +, -, *, / and %.
+ * For all other expressions, {@link #compile(String, Expression)} returns the interpreted expression.
+ * Generated classes are reused for equal expressions.<br/><br/>
+ * Created: 25.03.2023 09:02:37
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class BeneratorScriptCompiler {
+
+  private static final Logger logger = LoggerFactory.getLogger(BeneratorScriptCompiler.class);
+
+  private static final String BASE_CLASS = CompiledExpression.class.getName();
+  private static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+      "true", "false", "null", "new", "instanceof"));
+
+  private static final Map<String, Constructor<?>> constructors = new HashMap<>();
+  private static ClassPool classPool;
+  private static int classCount = 0;
+
+  private BeneratorScriptCompiler() {
+    // private constructor to prevent instantiation
+  }
+
+  /** Compiles the given script text. If it uses an unsupported construct or cannot be compiled,
+   *  the interpreted expression is returned. */
+  public static Expression<?> compile(String text, Expression<?> interpreted) {
+    Translator translator = new Translator();
+    String code = translator.translate(interpreted);
+    if (code == null) {
+      logger.debug("Script is not supported by the compiler: {}", text);
+      return interpreted;
+    }
+    try {
+      Constructor<?> constructor = getConstructor(translator.methodBody(code));
+      return (Expression<?>) constructor.newInstance(interpreted, text, translator.constants.toArray(),
+          translator.variables.keySet().toArray(new String[0]));
+    } catch (Exception e) {
+      logger.warn("Failed to compile script '{}', using the interpreter", text, e);
+      return interpreted;
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static synchronized Constructor<?> getConstructor(String methodBody) throws Exception {
+    Constructor<?> constructor = constructors.get(methodBody);
+    if (constructor == null) {
+      constructor = createClass(methodBody).getConstructor(Expression.class, String.class, Object[].class, String[].class);
+      constructors.put(methodBody, constructor);
+    }
+    return constructor;
+  }
+
+  private static Class<?> createClass(String methodBody) throws Exception {
+    if (classPool == null) {
+      classPool = new ClassPool(true);
+      classPool.insertClassPath(new ClassClassPath(CompiledExpression.class));
+    }
+    String className = BASE_CLASS + "$Compiled" + (++classCount);
+    CtClass ctClass = classPool.makeClass(className, classPool.get(BASE_CLASS));
+    ctClass.addConstructor(CtNewConstructor.make(
+        "public " + className.substring(className.lastIndexOf('.') + 1)
+            + "(com.rapiddweller.common.Expression interpreted, String text, Object[] constants, String[] variables) "
+            + "{ super(interpreted, text, constants, variables); }", ctClass));
+    ctClass.addMethod(CtNewMethod.make(
+        "protected Object evaluateCompiled(com.rapiddweller.common.Context context) " + methodBody, ctClass));
+    try {
+      return ctClass.toClass(CompiledExpression.class);
+    } finally {
+      ctClass.detach();
+    }
+  }
+
+  /** Translates the tree of a parsed script into a Java expression or returns null for unsupported constructs.
+   *  Operator precedence and grouping are taken from the tree, so they are the same as in the interpreter. */
+  static class Translator {
+
+    private static final Pattern QUALIFIED_NAME = Pattern.compile("[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)*");
+
+    final List<Object> constants;
+    final Map<String, String> variables;
+
+    Translator() {
+      this.constants = new ArrayList<>();
+      this.variables = new LinkedHashMap<>();
+    }
+
+    String translate(Expression<?> expression) {
+      if (expression instanceof ConstantExpression) {
+        return translateConstant(expression.evaluate(null));
+      } else if (expression instanceof SumExpression) {
+        return translateOperation("add", expression);
+      } else if (expression instanceof SubtractionExpression) {
+        return translateOperation("subtract", expression);
+      } else if (expression instanceof MultiplicationExpression) {
+        return translateOperation("multiply", expression);
+      } else if (expression instanceof DivisionExpression) {
+        return translateOperation("divide", expression);
+      } else if (expression instanceof ModuloExpression) {
+        return translateOperation("mod", expression);
+      } else if (expression instanceof ValueNegationExpression) {
+        String operand = translate(((UnaryExpression<?>) expression).getTerm());
+        return (operand != null ? call("negate", operand) : null);
+      } else if (expression instanceof QNExpression) {
+        return translateQualifiedName(expression.toString());
+      } else {
+        return null;
+      }
+    }
+
+    String methodBody(String code) {
+      StringBuilder builder = new StringBuilder("{ ");
+      for (Map.Entry<String, String> variable : variables.entrySet()) {
+        builder.append("Object ").append(variable.getValue()).append(" = this.var(context, ")
+            .append(variable.getValue().substring(1)).append("); ");
+      }
+      return builder.append("return ").append(code).append("; }").toString();
+    }
+
+    private String translateConstant(Object value) {
+      if (!(value instanceof Integer || value instanceof Long || value instanceof Double)) {
+        return null; // other literals are left to the interpreter
+      }
+      constants.add(value);
+      return "this.constants[" + (constants.size() - 1) + "]";
+    }
+
+    /** Translates an operation on two or more terms, which the interpreter evaluates from left to right. */
+    private String translateOperation(String method, Expression<?> expression) {
+      Expression<?>[] terms = ((CompositeExpression<?, ?>) expression).getTerms();
+      String result = null;
+      for (Expression<?> term : terms) {
+        String operand = translate(term);
+        if (operand == null) {
+          return null;
+        }
+        result = (result == null ? operand : call(method, result, operand));
+      }
+      return result;
+    }
+
+    /** Translates a variable with optional member access, like <code>this.price</code>.
+     *  The qualified name is taken from the expression's text representation. */
+    private String translateQualifiedName(String qualifiedName) {
+      if (!QUALIFIED_NAME.matcher(qualifiedName).matches()) {
+        return null;
+      }
+      String[] parts = qualifiedName.split("\\.");
+      if (RESERVED_WORDS.contains(parts[0])) {
+        return null;
+      }
+      String result = variables.computeIfAbsent(parts[0], k -> "v" + variables.size());
+      for (int i = 1; i < parts.length; i++) {
+        result = call("member", result, '"' + parts[i] + '"');
+      }
+      return result;
+    }
+
+    private static String call(String method, String... args) {
+      return BASE_CLASS + '.' + method + '(' + String.join(", ", args) + ')';
+    }
+
+  }
+
+}
@@ -26,6 +26,8 @@
 
 package com.rapiddweller.benerator.script;
 
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.common.Expression;
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.exception.ParseException;
 import com.rapiddweller.format.script.Script;
@@ -35,7 +37,9 @@
 import java.io.IOException;
 
 /**
- * {@link ScriptFactory} implementation for BeneratorScript.<br/><br/>
+ * {@link ScriptFactory} implementation for BeneratorScript.
+ * If the system property <code>benerator.compileScripts</code> is 'true',
+ * expressions are compiled with the {@link BeneratorScriptCompiler}.<br/><br/>
  * Created at 09.10.2009 06:46:51
  * @author Volker Bergmann
  * @since 0.6.0
@@ -49,7 +53,11 @@ public boolean isTemplateEngine() {
 
   @Override
   public Script parseText(String text) throws ParseException {
-    return new BeneratorScript(DatabeneScriptParser.parseExpression(text), text);
+    Expression<?> expression = DatabeneScriptParser.parseExpression(text);
+    if (expression != null && BeneratorOpts.isCompilingScripts()) {
+      expression = BeneratorScriptCompiler.compile(text, expression);
+    }
+    return new BeneratorScript(expression, text);
   }
 
   @Override
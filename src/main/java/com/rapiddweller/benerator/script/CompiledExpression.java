@@ -0,0 +1,166 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.benerator.engine.AbstractBeneratorSubContext;
+import com.rapiddweller.benerator.engine.VariableRef;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.script.expression.DynamicExpression;
+import com.rapiddweller.script.math.ArithmeticEngine;
+
+import java.util.Map;
+
+/**
+ * Parent class of the expression classes generated by the {@link BeneratorScriptCompiler}.
+ * The generated code combines calls to the static helper methods of this class.
+ * When a helper meets a situation which is not covered by the compiled code,
+ * like an undefined variable or a bean property access, it returns {@link #FALLBACK},
+ * which makes this class evaluate the interpreted expression instead.
+ * In Benerator sub contexts, variables are resolved to {@link VariableRef}s on first access.<br/><br/>
+ * Created: 25.03.2023 08:40:16
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public abstract class CompiledExpression extends DynamicExpression<Object> {
+
+  protected static final Object FALLBACK = new Object();
+
+  protected final Object[] constants;
+  private final String[] variables;
+  private final VariableRef[] variableRefs;
+  private final Expression<?> interpreted;
+  private final String text;
+
+  protected CompiledExpression(Expression<?> interpreted, String text, Object[] constants, String[] variables) {
+    this.interpreted = interpreted;
+    this.text = text;
+    this.constants = constants;
+    this.variables = variables;
+    this.variableRefs = new VariableRef[variables.length];
+  }
+
+  public Expression<?> getInterpreted() {
+    return interpreted;
+  }
+
+  @Override
+  public Object evaluate(Context context) {
+    Object result = evaluateCompiled(context);
+    return (result != FALLBACK ? result : interpreted.evaluate(context));
+  }
+
+  protected abstract Object evaluateCompiled(Context context);
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+  // helpers for the generated code ----------------------------------------------------------------------------------
+
+  protected Object var(Context context, int index) {
+    String name = variables[index];
+    Object value;
+    if (context instanceof AbstractBeneratorSubContext) {
+      AbstractBeneratorSubContext subContext = (AbstractBeneratorSubContext) context;
+      VariableRef ref = variableRefs[index];
+      if (ref == null || !ref.isValidFor(subContext)) {
+        ref = subContext.resolve(name);
+        variableRefs[index] = ref;
+      }
+      value = (ref != null ? ref.get(subContext) : context.get(name));
+    } else {
+      value = context.get(name);
+    }
+    return (value != null || context.contains(name) ? value : FALLBACK);
+  }
+
+  protected static Object member(Object target, String name) {
+    if (target instanceof Entity) {
+      Entity entity = (Entity) target;
+      return (entity.componentIsSet(name) ? entity.get(name) : FALLBACK);
+    } else if (target instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) target;
+      return (map.containsKey(name) ? map.get(name) : FALLBACK);
+    } else {
+      return FALLBACK;
+    }
+  }
+
+  protected static Object add(Object a, Object b) {
+    if (a == FALLBACK || b == FALLBACK) {
+      return FALLBACK;
+    } else if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a + (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a + (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a + (Double) b;
+    } else {
+      return ArithmeticEngine.defaultInstance().add(a, b);
+    }
+  }
+
+  protected static Object subtract(Object a, Object b) {
+    if (a == FALLBACK || b == FALLBACK) {
+      return FALLBACK;
+    } else if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a - (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a - (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a - (Double) b;
+    } else {
+      return ArithmeticEngine.defaultInstance().subtract(a, b);
+    }
+  }
+
+  protected static Object multiply(Object a, Object b) {
+    if (a == FALLBACK || b == FALLBACK) {
+      return FALLBACK;
+    } else if (a instanceof Integer && b instanceof Integer) {
+      return (Integer) a * (Integer) b;
+    } else if (a instanceof Long && b instanceof Long) {
+      return (Long) a * (Long) b;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a * (Double) b;
+    } else {
+      return ArithmeticEngine.defaultInstance().multiply(a, b);
+    }
+  }
+
+  protected static Object divide(Object a, Object b) {
+    if (a == FALLBACK || b == FALLBACK) {
+      return FALLBACK;
+    } else if (a instanceof Double && b instanceof Double) {
+      return (Double) a / (Double) b;
+    } else {
+      return ArithmeticEngine.defaultInstance().divide(a, b);
+    }
+  }
+
+  protected static Object mod(Object a, Object b) {
+    if (a instanceof Integer && b instanceof Integer && (Integer) b != 0) {
+      return (Integer) a % (Integer) b;
+    } else if (a instanceof Long && b instanceof Long && (Long) b != 0) {
+      return (Long) a % (Long) b;
+    } else {
+      return FALLBACK;
+    }
+  }
+
+  protected static Object negate(Object a) {
+    if (a instanceof Integer) {
+      return -(Integer) a;
+    } else if (a instanceof Long) {
+      return -(Long) a;
+    } else if (a instanceof Double) {
+      return -(Double) a;
+    } else {
+      return FALLBACK;
+    }
+  }
+
+}
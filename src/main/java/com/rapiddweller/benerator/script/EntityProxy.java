@@ -0,0 +1,55 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.model.data.Entity;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+/**
+ * Makes the components of an {@link Entity} accessible to GraalVM scripts as object members
+ * without copying them. Member assignments in a script are written to the entity.<br/><br/>
+ * Created: 24.03.2023 09:12:40
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class EntityProxy implements ProxyObject {
+
+  private final Entity entity;
+
+  public EntityProxy(Entity entity) {
+    this.entity = entity;
+  }
+
+  public Entity getEntity() {
+    return entity;
+  }
+
+  @Override
+  public Object getMember(String key) {
+    Object value = entity.get(key);
+    return (value instanceof Entity ? new EntityProxy((Entity) value) : value);
+  }
+
+  @Override
+  public Object getMemberKeys() {
+    return ProxyArray.fromArray(entity.getComponents().keySet().toArray());
+  }
+
+  @Override
+  public boolean hasMember(String key) {
+    return entity.componentIsSet(key);
+  }
+
+  @Override
+  public void putMember(String key, Value value) {
+    entity.setComponent(key, GraalValueConverter.value2JavaConverter(value));
+  }
+
+  @Override
+  public String toString() {
+    return entity.toString();
+  }
+
+}
@@ -26,40 +26,65 @@
 
 package com.rapiddweller.benerator.script;
 
+import com.rapiddweller.benerator.engine.BeneratorSubContext;
 import com.rapiddweller.common.Assert;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.exception.ScriptException;
 import com.rapiddweller.format.script.Script;
 import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Provides {@link Script} functionality based on GraalVM: Scripting for the Java platform.<br/><br/>
+ * Provides {@link Script} functionality based on GraalVM: Scripting for the Java platform.
+ * The script text is wrapped in a {@link Source} once, which enables the shared {@link Engine}
+ * to reuse the parsed and compiled code. Each thread evaluates scripts in its own polyglot context.<br/><br/>
  * Created at 30.12.2020
  *
  * @author Alexander Kell
  * @since 1.1.0
  */
 public class GraalScript implements Script {
-    static final PolyglotContext globalPolyglotCtx = new PolyglotContext();
+
+    private static final GraalValueConverter CONVERTER = new GraalValueConverter();
+
     private final String text;
-    private final String language;
+    private final Source source;
+    private final Set<String> variables;
 
     public GraalScript(String text, Engine scriptEngine, String languageId) {
         Assert.notEmpty(text, "text");
         Assert.notNull(scriptEngine, "engine");
         this.text = text;
-        this.language = languageId;
+        this.source = Source.create(languageId, text);
+        this.variables = ConcurrentHashMap.newKeySet();
+    }
+
+    /** Returns the engine which is shared by all GraalScripts. */
+    public static Engine getSharedEngine() {
+        return PolyglotContext.getEngine();
+    }
+
+    /** Closes the polyglot contexts used by all threads for evaluating GraalScripts. */
+    public static void closeContexts() {
+        PolyglotContext.closeAll();
+    }
+
+    /** Closes the polyglot contexts used by all threads for evaluating GraalScripts in the context
+     *  and its sub contexts, leaving the ones of other Benerator contexts open. */
+    public static void closeContexts(Context context) {
+        PolyglotContext.closeAll(ownerOf(context));
     }
 
     @Override
     public Object evaluate(Context context) throws ScriptException {
-        Value returnValue = globalPolyglotCtx.evalScript(context, text, language);
-        GraalValueConverter converter = new GraalValueConverter();
-        return converter.convert(returnValue);
+        Value returnValue = PolyglotContext.forCurrentThread(ownerOf(context)).evalScript(context, source, variables);
+        return CONVERTER.convert(returnValue);
     }
 
     @Override
@@ -71,6 +96,13 @@ public void execute(Context context, Writer out) throws ScriptException, IOExcep
     public String toString() {
         return text;
     }
-}
-
 
+    /** Sub contexts share the polyglot contexts of their root context. */
+    private static Object ownerOf(Context context) {
+        Context result = context;
+        while (result instanceof BeneratorSubContext) {
+            result = ((BeneratorSubContext) result).getParent();
+        }
+        return result;
+    }
+}
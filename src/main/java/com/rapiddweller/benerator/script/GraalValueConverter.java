@@ -80,6 +80,8 @@ public static Object value2JavaConverter(Value value) {
       return value.asDate();
     } else if (value.isNativePointer()) {
       return value.asNativePointer();
+    } else if (value.isProxyObject() && value.asProxyObject() instanceof EntityProxy) {
+      return ((EntityProxy) value.asProxyObject()).getEntity();
     } else if (value.hasMembers()) {
       // Convert the value to a java.util.Map
       Entity result = new Entity((ComplexTypeDescriptor) null);
@@ -1,78 +1,178 @@
 package com.rapiddweller.benerator.script;
 
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.exception.ScriptException;
 import com.rapiddweller.model.data.Entity;
-import com.rapiddweller.platform.map.Entity2MapConverter;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
-import org.graalvm.polyglot.proxy.ProxyObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+/**
+ * Wraps a GraalVM polyglot context which is used by a single thread for the scripts of one owner,
+ * which is the root Benerator context in which the scripts are evaluated.
+ * All polyglot contexts share one {@link Engine}, so that a script {@link Source}
+ * is parsed only once and its compiled code is reused in all threads.
+ * Benerator context variables are only transferred to the polyglot bindings
+ * if a script has been found to use them, entities are bound as {@link EntityProxy}.
+ * Since the bindings are shared by all scripts of a language, each evaluation refreshes
+ * all variables that have been bound in this context so far.
+ * A polyglot context is closed when its owner is closed, by {@link #closeAll()} or when a new one is created
+ * after the thread which used it has terminated.
+ */
 class PolyglotContext {
 
     private static final Logger logger = LoggerFactory.getLogger(PolyglotContext.class);
-    private String previousMissingObject;
+
+    private static final Pattern UNDEFINED_VARIABLE = Pattern.compile(
+            "(?:ReferenceError: (\\w+) is not defined|NameError: name '(\\w+)' is not defined)");
+
+    private static final ThreadLocal<Map<Object, PolyglotContext>> THREAD_CONTEXTS =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private static final Set<PolyglotContext> OPEN_CONTEXTS = ConcurrentHashMap.newKeySet();
+
     private final org.graalvm.polyglot.Context polyglotCtx;
+    private final Thread thread;
+    private final Object owner;
+    private final Map<String, Set<String>> boundVariables; // per language, since each language has its own bindings
+    private volatile boolean closed;
+
+    PolyglotContext(Object owner) {
+        this.polyglotCtx = org.graalvm.polyglot.Context
+                .newBuilder("js", "python")
+                .engine(getEngine())
+                .allowAllAccess(true).build();
+        this.thread = Thread.currentThread();
+        this.owner = owner;
+        this.boundVariables = new HashMap<>();
+        this.closed = false;
+    }
 
-    public void updatePolyglotLocalFromGlobal(Context context, String language) {
-        for (String entry : polyglotCtx.getBindings(language).getMemberKeys()) {
-            migrateBeneratorContext2GraalVM(context, language, entry);
+    /** Returns the engine shared by all polyglot contexts. */
+    static Engine getEngine() {
+        return EngineHolder.ENGINE;
+    }
+
+    /** Returns the polyglot context of the current thread for the scripts of the owner. */
+    static PolyglotContext forCurrentThread(Object owner) {
+        Map<Object, PolyglotContext> threadContexts = THREAD_CONTEXTS.get();
+        PolyglotContext result = threadContexts.get(owner);
+        if (result == null || result.closed) {
+            closeOrphans();
+            threadContexts.values().removeIf(context -> context.closed);
+            result = new PolyglotContext(owner);
+            OPEN_CONTEXTS.add(result);
+            threadContexts.put(owner, result);
         }
+        return result;
     }
 
-    public void migrateBeneratorContext2GraalVM(Context context, String language, String valueKey) {
-        Object valueType;
-        try {
-            Object obj = context.get(valueKey);
-            if (obj != null) {
-                valueType = obj.getClass();
-                // check if Entity Object
-                if (Entity.class.equals(valueType)) {
-                    logger.debug("Entity found : {}", valueKey);
-                    Map<String, Object> map = new Entity2MapConverter().convert((Entity) obj);
-                    // to access items of map in polyglotCtx it is nessesary to create an ProxyObject
-                    ProxyObject proxy = ProxyObject.fromMap(map);
-                    polyglotCtx.getBindings(language).putMember(valueKey, proxy);
-                } else {
-                    logger.debug("{} found : {}", valueType.getClass(), valueKey);
-                    polyglotCtx.getBindings(language).putMember(valueKey, obj);
-                }
+    /** Closes the polyglot contexts of the owner in all threads.
+     *  A thread which evaluates a script of the owner afterwards gets a new one. */
+    static void closeAll(Object owner) {
+        for (PolyglotContext context : OPEN_CONTEXTS) {
+            if (context.owner == owner) {
+                context.close();
             }
-        } catch (NullPointerException e) {
-            logger.error("Context {} was NULL, this should not happen!", context);
         }
+        THREAD_CONTEXTS.get().remove(owner);
+    }
 
+    /** Closes the polyglot contexts of all owners and threads. */
+    static void closeAll() {
+        for (PolyglotContext context : OPEN_CONTEXTS) {
+            context.close();
+        }
+        THREAD_CONTEXTS.remove();
     }
 
-    synchronized public Value evalScript(Context context, String text, String language) throws ScriptException {
+    /** Evaluates a script source. The names of the Benerator context variables used by the script
+     *  are collected in 'variables': When the script fails because of an undefined variable
+     *  which is available in the Benerator context, the variable is bound and added to the set,
+     *  and the evaluation is retried. */
+    Value evalScript(Context context, Source source, Set<String> variables) throws ScriptException {
+        Value bindings = polyglotCtx.getBindings(source.getLanguage());
+        Set<String> bound = boundVariables.computeIfAbsent(source.getLanguage(), language -> new HashSet<>());
+        bound.addAll(variables);
+        for (String variable : bound) {
+            bind(context, bindings, variable);
+        }
+        while (true) {
+            try {
+                return polyglotCtx.eval(source);
+            } catch (PolyglotException e) {
+                String missingVariable = undefinedVariable(e);
+                if (missingVariable == null || bound.contains(missingVariable) || !context.contains(missingVariable)) {
+                    throw BeneratorExceptionFactory.getInstance().scriptEvaluationFailed(source.getCharacters().toString(), e);
+                }
+                logger.debug("Binding context variable '{}' for script {}", missingVariable, source.getName());
+                bind(context, bindings, missingVariable);
+                variables.add(missingVariable);
+                bound.add(missingVariable);
+            }
+        }
+    }
 
-        Value returnValue = null;
+    void close() {
+        closed = true;
+        OPEN_CONTEXTS.remove(this);
         try {
-            this.updatePolyglotLocalFromGlobal(context, language);
-            returnValue = polyglotCtx.eval(language, text);
-        } catch (org.graalvm.polyglot.PolyglotException e) {
-            if (e.getMessage().contains("is not defined")) {
-                String missingObject = e.getMessage().replace("ReferenceError: ", "").replace(" is not defined", "");
-                if (!Objects.equals(previousMissingObject, missingObject)) {
-                    this.migrateBeneratorContext2GraalVM(context, language, missingObject);
-                    returnValue = evalScript(context, text, language);
-                    previousMissingObject = missingObject;
-                }
-            } else {
-                throw new ScriptException(e.getMessage(), null);
+            polyglotCtx.close();
+        } catch (IllegalStateException e) {
+            logger.warn("Failed to close polyglot context of thread {}: {}", thread.getName(), e.getMessage());
+        }
+    }
+
+    // private helpers -------------------------------------------------------------------------------------------------
+
+    /** Closes the contexts of threads which have terminated, e.g. the workers of a multithreaded generation. */
+    private static void closeOrphans() {
+        for (PolyglotContext context : OPEN_CONTEXTS) {
+            if (!context.thread.isAlive()) {
+                context.close();
             }
         }
-        return returnValue;
+    }
 
+    private static void bind(Context context, Value bindings, String variable) {
+        Object value = context.get(variable);
+        if (value instanceof Entity) {
+            bindings.putMember(variable, new EntityProxy((Entity) value));
+        } else if (value != null) {
+            bindings.putMember(variable, value);
+        } else {
+            bindings.removeMember(variable);
+        }
     }
 
-    public PolyglotContext() {
-        this.polyglotCtx = org.graalvm.polyglot.Context
-                .newBuilder("js", "python")
-                .allowAllAccess(true).build();
+    private static String undefinedVariable(PolyglotException e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return null;
+        }
+        Matcher matcher = UNDEFINED_VARIABLE.matcher(message);
+        if (!matcher.find()) {
+            return null;
+        }
+        return (matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+    }
+
+    /** Creates the engine on first use, so that closing contexts does not require one. */
+    private static class EngineHolder {
+        static final Engine ENGINE = Engine.newBuilder().build();
     }
+
 }
@@ -35,7 +35,7 @@ public class GraalPyScriptFactory implements ScriptFactory {
   private final Engine pythonEngine;
 
   public GraalPyScriptFactory() {
-    this.pythonEngine = Engine.newBuilder().build();
+    this.pythonEngine = GraalScript.getSharedEngine();
   }
 
   @Override
@@ -0,0 +1,72 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.sensor;
+
+import com.rapiddweller.common.HF;
+import com.rapiddweller.common.ui.ConsolePrinter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts variable lookups in Benerator contexts while profiling is enabled:
+ * Name lookups are counted for each context level they pass, slot reads once.
+ * Counting can be switched on and off at runtime, each descriptor run applies the current
+ * {@link Profiling} setting by calling {@link #startRun()}.<br/><br/>
+ * Created: 26.03.2023 10:03:37
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class ContextLookupCounter {
+
+  private static volatile boolean enabled = Profiling.isEnabled();
+  private static final LongAdder nameLookups = new LongAdder();
+  private static final LongAdder slotLookups = new LongAdder();
+
+  private ContextLookupCounter() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    ContextLookupCounter.enabled = enabled;
+  }
+
+  /** Applies the current {@link Profiling} setting and resets the counters. */
+  public static void startRun() {
+    setEnabled(Profiling.isEnabled());
+    reset();
+  }
+
+  public static void countNameLookup() {
+    nameLookups.increment();
+  }
+
+  public static void countSlotLookup() {
+    slotLookups.increment();
+  }
+
+  public static long getNameLookups() {
+    return nameLookups.sum();
+  }
+
+  public static long getSlotLookups() {
+    return slotLookups.sum();
+  }
+
+  public static void reset() {
+    nameLookups.reset();
+    slotLookups.reset();
+  }
+
+  public static void printSummary(long rowCount) {
+    long names = getNameLookups();
+    long slots = getSlotLookups();
+    String perRow = (rowCount > 0 ? HF.format((double) (names + slots) / rowCount) : "-");
+    ConsolePrinter.printStandard("Context lookups: " + HF.format(names) + " by name, " + HF.format(slots) + " by slot, "
+        + perRow + " per row");
+  }
+
+}
@@ -0,0 +1,171 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.Assert;
+import com.rapiddweller.common.StringUtil;
+import com.rapiddweller.script.DatabeneScriptParser;
+import com.rapiddweller.script.WeightedSample;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Abstract parent class for {@link RandomProvider} implementations, which implements all features
+ * based on a few primitive random functions of a child class.<br/><br/>
+ * Created: 02.04.2023 09:05:12
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public abstract class AbstractRandomProvider implements RandomProvider {
+
+  // primitive random functions to be provided by child classes ------------------------------------------------------
+
+  /** Returns a random long value of the full long range. */
+  protected abstract long nextLong();
+
+  /** Returns a random int value of the full int range. */
+  protected abstract int nextInt();
+
+  /** Returns a random int value between 0 (inclusive) and bound (exclusive). */
+  protected abstract int nextInt(int bound);
+
+  /** Returns a random double value between 0.0 (inclusive) and 1.0 (exclusive). */
+  protected abstract double nextDouble();
+
+  /** Returns a random float value between 0.0 (inclusive) and 1.0 (exclusive). */
+  protected abstract float nextFloat();
+
+  // RandomProvider interface implementation -------------------------------------------------------------------------
+
+  @Override
+  public double randomDouble() {
+    return nextDouble();
+  }
+
+  @Override
+  public long randomLong(long minInclusive, long maxInclusive) {
+    if (minInclusive > maxInclusive) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("min (" + minInclusive + ") > max (" + maxInclusive + ")");
+    }
+    return minInclusive + randomLong(maxInclusive - minInclusive + 1);
+  }
+
+  @Override
+  public long randomLong(long maxExclusive) {
+    Assert.notNegative(maxExclusive, "maxExclusive");
+    long result = nextLong() % maxExclusive;
+    if (result < 0) {
+      result += maxExclusive;
+    }
+    return result;
+  }
+
+  @Override
+  public int randomInt(int minInclusive, int maxInclusive) {
+    if (minInclusive > maxInclusive) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("min (" + minInclusive + ") > max (" + maxInclusive + ")");
+    }
+    return minInclusive + randomInt(maxInclusive - minInclusive + 1);
+  }
+
+  @Override
+  public int randomInt(int maxExclusive) {
+    Assert.notNegative(maxExclusive, "maxExclusive");
+    int result = nextInt() % maxExclusive;
+    if (result < 0) {
+      result += maxExclusive;
+    }
+    return result;
+  }
+
+  /** Returns a random, uniformly distributed int value to be used as index of the array. */
+  public int randomIndex(Object[] values) {
+    if (values.length == 0) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Cannot create random index for an empty array");
+    }
+    return randomInt(values.length);
+  }
+
+  @Override
+  public <T> T randomElement(T... values) {
+    if (values.length == 0) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Cannot choose random value from an empty array");
+    }
+    return values[randomIndex(values)];
+  }
+
+  @Override
+  public int randomIndex(Collection<?> values) {
+    if (values.isEmpty()) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("Cannot create random index for an empty array");
+    }
+    return randomInt(values.size());
+  }
+
+  @Override
+  public <T> T randomElement(List<T> values) {
+    return values.get(randomIndex(values));
+  }
+
+  @Override
+  public char randomDigit(int min) {
+    return (char) ('0' + min + nextInt(10 - min));
+  }
+
+  @Override
+  public float randomProbability() {
+    return nextFloat();
+  }
+
+  @Override
+  public Date randomDate(Date min, Date max) {
+    return new Date(randomLong(min.getTime(), max.getTime()));
+  }
+
+  @Override
+  public Object randomFromWeightLiteral(String literal) {
+    if (StringUtil.isEmpty(literal)) {
+      return null;
+    }
+    WeightedSample<?>[] samples = DatabeneScriptParser.parseWeightedLiteralList(literal);
+    int sampleCount = samples.length;
+    if (sampleCount == 1) {
+      return samples[0];
+    }
+
+    // normalize weights
+    double[] probSum = new double[sampleCount];
+    double sum = 0;
+    for (int i = 0; i < sampleCount; i++) {
+      double weight = samples[i].getWeight();
+      if (weight < 0) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument("Negative weight in literal: " + literal);
+      }
+      sum += weight;
+      probSum[i] = (float) sum;
+    }
+    if (sum == 0) {
+      return samples[randomInt(sampleCount)]; // for unweighted values, use simple random
+    }
+    for (int i = 0; i < sampleCount; i++) {
+      probSum[i] /= (float) sum;
+    }
+
+    // choose an item
+    double probability = randomProbability();
+    int i = Arrays.binarySearch(probSum, probability);
+    if (i < 0) {
+      i = -i - 1;
+    }
+    if (i >= probSum.length) {
+      i = probSum.length - 1;
+    }
+    return samples[i].getValue();
+  }
+
+}
@@ -0,0 +1,173 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Unsynchronized {@link Writer} which collects characters in a reusable char buffer,
+ * encodes them into a large direct byte buffer and writes that to a {@link FileChannel}.
+ * It provides methods for appending numbers without creating intermediate Strings.<br/><br/>
+ * Created: 23.03.2023 08:21:12
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class FileChannelWriter extends Writer {
+
+  private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+  private static final int BYTE_BUFFER_SIZE = 1024 * 1024;
+
+  private final FileChannel channel;
+  private final CharsetEncoder encoder;
+  private final char[] chars;
+  private final CharBuffer charBuffer;
+  private final ByteBuffer byteBuffer;
+  private int charCount;
+
+  public FileChannelWriter(Path path, Charset charset, boolean append) throws IOException {
+    this(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        (append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)), charset);
+  }
+
+  public FileChannelWriter(FileChannel channel, Charset charset) {
+    this.channel = channel;
+    this.encoder = charset.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = new char[CHAR_BUFFER_SIZE];
+    this.charBuffer = CharBuffer.wrap(chars);
+    this.byteBuffer = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    this.charCount = 0;
+  }
+
+  // Writer interface ------------------------------------------------------------------------------------------------
+
+  @Override
+  public void write(int c) throws IOException {
+    if (charCount == chars.length) {
+      encodeChars(false);
+    }
+    chars[charCount++] = (char) c;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    while (len > 0) {
+      if (charCount == chars.length) {
+        encodeChars(false);
+      }
+      int n = Math.min(len, chars.length - charCount);
+      System.arraycopy(cbuf, off, chars, charCount, n);
+      charCount += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    while (len > 0) {
+      if (charCount == chars.length) {
+        encodeChars(false);
+      }
+      int n = Math.min(len, chars.length - charCount);
+      str.getChars(off, off + n, chars, charCount);
+      charCount += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  @Override
+  public void write(String str) throws IOException {
+    write(str, 0, str.length());
+  }
+
+  /** Appends the decimal representation of a long value. */
+  public void writeLong(long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      write("-9223372036854775808");
+      return;
+    }
+    if (chars.length - charCount < 20) {
+      encodeChars(false);
+    }
+    if (value < 0) {
+      chars[charCount++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long v = value; v >= 10; v /= 10) {
+      digits++;
+    }
+    int pos = charCount + digits;
+    do {
+      chars[--pos] = (char) ('0' + (value % 10));
+      value /= 10;
+    } while (value > 0);
+    charCount += digits;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    encodeChars(false);
+    drainBytes();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!channel.isOpen()) {
+      return;
+    }
+    try {
+      encodeChars(true);
+      while (encoder.flush(byteBuffer) == CoderResult.OVERFLOW) {
+        drainBytes();
+      }
+      drainBytes();
+    } finally {
+      channel.close();
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void encodeChars(boolean endOfInput) throws IOException {
+    charBuffer.limit(charCount);
+    charBuffer.position(0);
+    while (true) {
+      CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+      if (result.isOverflow()) {
+        drainBytes();
+      } else {
+        break;
+      }
+    }
+    // keep characters which could not be encoded yet, like the first half of a surrogate pair
+    int remaining = charBuffer.remaining();
+    if (remaining > 0) {
+      System.arraycopy(chars, charBuffer.position(), chars, 0, remaining);
+    }
+    charCount = remaining;
+    charBuffer.clear();
+  }
+
+  private void drainBytes() throws IOException {
+    byteBuffer.flip();
+    while (byteBuffer.hasRemaining()) {
+      channel.write(byteBuffer);
+    }
+    byteBuffer.clear();
+  }
+
+}
@@ -0,0 +1,460 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link UniquenessTracker} which stores a 64-bit fingerprint for each value instead of the value itself.
+ * The fingerprints are held in an open-addressing hash table in off-heap memory, so tracking costs 8 to 16 bytes
+ * per value and does not burden the garbage collector.<br/>
+ * For Long, Integer, Short, Byte, Character, Boolean, Double and Float values, the fingerprint is an exact encoding
+ * of the value, so a matching fingerprint proves that the value has been used. CharSequences, BigDecimals and
+ * BigIntegers are hashed to 64 bits, so two different values may have the same fingerprint. In this case the
+ * second value is rejected though it has not been used before, see {@link #falsePositiveRate()}. For a million
+ * strings, the probability of any such collision is about 3E-8, for a billion strings it is about 3%.
+ * Other types are not supported, use {@link #supports(Class)} for checking a type.<br/>
+ * When a maximum memory size is configured, a full table is not enlarged, but its fingerprints are written
+ * to a sorted run file in the spill directory and the table is emptied. The run files are memory-mapped
+ * and searched with a binary search. When there are more than eight runs, they are merged into one.
+ * <br/><br/>
+ * Created: 01.04.2023 09:31:45
+ * @param <E> the type of the tracked values
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class FingerprintUniquenessTracker<E> implements UniquenessTracker<E> {
+
+  private static final int SLOT_SIZE = 8;
+  private static final int SEGMENT_BITS = 24; // 16M slots of 8 bytes = 128 MB per segment
+  private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+  private static final double MAX_LOAD_FACTOR = 0.7;
+  private static final long MIN_CAPACITY = 1024;
+  private static final int MAX_RUNS = 8;
+  private static final byte[] ZEROS = new byte[65536];
+
+  private final boolean exact;
+  private final long maxMemory;
+  private final File spillDirectory;
+
+  private ByteBuffer[] segments;
+  private long mask;
+  private long threshold;
+  private long tableSize;
+
+  // fingerprint 0 marks an empty slot, so its presence is kept separately
+  private boolean zeroPresent;
+  private boolean nullPresent;
+
+  private final List<SortedRun> runs;
+
+  // the tracker is used by one thread at a time, but the following fields are read by monitoring threads
+  private volatile long capacity;
+  private volatile long diskUsage; // kept in a field, so monitoring threads need not iterate the runs
+  private volatile long size;
+
+  /** Creates a tracker which keeps all fingerprints in memory. */
+  public FingerprintUniquenessTracker(Class<E> valueType) {
+    this(valueType, 0, null);
+  }
+
+  /** Creates a tracker which limits the memory used for its hash table.
+   *  @param valueType the type of the tracked values
+   *  @param maxMemory the maximum number of bytes of the in-memory table or 0 for no limit
+   *  @param spillDirectory the directory in which to create run files, null for the system's temp directory */
+  public FingerprintUniquenessTracker(Class<E> valueType, long maxMemory, File spillDirectory) {
+    if (!supports(valueType)) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument(
+          "Fingerprints are not supported for " + valueType.getName());
+    }
+    this.exact = isExact(valueType);
+    this.maxMemory = maxMemory;
+    this.spillDirectory = spillDirectory;
+    this.runs = new ArrayList<>();
+  }
+
+  // UniquenessTracker interface implementation ----------------------------------------------------------------------
+
+  @Override
+  public boolean add(E value) {
+    if (value == null) {
+      if (nullPresent) {
+        return false;
+      }
+      nullPresent = true;
+      size++;
+      return true;
+    }
+    long fingerprint = fingerprint(value);
+    if (containsFingerprint(fingerprint)) {
+      return false;
+    }
+    insert(fingerprint);
+    size++;
+    return true;
+  }
+
+  @Override
+  public boolean contains(E value) {
+    if (value == null) {
+      return nullPresent;
+    }
+    return containsFingerprint(fingerprint(value));
+  }
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public long memoryUsage() {
+    return capacity * SLOT_SIZE;
+  }
+
+  @Override
+  public long diskUsage() {
+    return diskUsage;
+  }
+
+  /** Estimates the probability that an unused value is rejected as the number of tracked values
+   *  divided by the number of possible fingerprints, 2^64. */
+  @Override
+  public double falsePositiveRate() {
+    return (exact ? 0 : size / 0x1p64);
+  }
+
+  @Override
+  public void clear() {
+    if (segments != null) {
+      clearTable();
+    }
+    deleteRuns();
+    this.zeroPresent = false;
+    this.nullPresent = false;
+    this.size = 0;
+  }
+
+  @Override
+  public void close() {
+    clear();
+    this.segments = null;
+    this.capacity = 0;
+  }
+
+  // fingerprinting --------------------------------------------------------------------------------------------------
+
+  /** @return true if values of the given type can be tracked by fingerprints */
+  public static boolean supports(Class<?> type) {
+    return (isExact(type) || CharSequence.class.isAssignableFrom(type)
+        || BigDecimal.class.isAssignableFrom(type) || BigInteger.class.isAssignableFrom(type));
+  }
+
+  /** @return true if the fingerprints of the given type are an exact encoding of its values */
+  static boolean isExact(Class<?> type) {
+    return (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+        || type == Character.class || type == Boolean.class || type == Double.class || type == Float.class);
+  }
+
+  /** Calculates a 64-bit fingerprint of a value. Equal values always have the same fingerprint. */
+  static long fingerprint(Object value) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).longValue();
+    } else if (value instanceof Double) {
+      return Double.doubleToLongBits((Double) value);
+    } else if (value instanceof Float) {
+      return Float.floatToIntBits((Float) value);
+    } else if (value instanceof Character) {
+      return (Character) value;
+    } else if (value instanceof Boolean) {
+      return ((Boolean) value ? 1 : 0);
+    } else if (value instanceof CharSequence || value instanceof BigDecimal || value instanceof BigInteger) {
+      return hash(value.toString());
+    } else {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument(
+          "Fingerprints are not supported for " + value.getClass().getName());
+    }
+  }
+
+  /** A 64-bit FNV-1a hash of the characters, finalized with the finalization mix of MurmurHash3. */
+  private static long hash(String s) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < s.length(); i++) {
+      h ^= s.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h ^ s.length());
+  }
+
+  /** The finalization mix of MurmurHash3. */
+  private static long mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private boolean containsFingerprint(long fingerprint) {
+    if (fingerprint == 0) {
+      return zeroPresent;
+    }
+    if (segments != null) {
+      long slot = mix(fingerprint) & mask;
+      long current;
+      while ((current = slotValue(slot)) != 0) {
+        if (current == fingerprint) {
+          return true;
+        }
+        slot = (slot + 1) & mask;
+      }
+    }
+    for (SortedRun run : runs) {
+      if (run.contains(fingerprint)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void insert(long fingerprint) {
+    if (fingerprint == 0) {
+      zeroPresent = true;
+      return;
+    }
+    if (segments == null) {
+      allocate(MIN_CAPACITY);
+    }
+    putIntoTable(fingerprint);
+    if (++tableSize > threshold) {
+      if (maxMemory > 0 && capacity * 2 * SLOT_SIZE > maxMemory) {
+        spill();
+      } else {
+        grow();
+      }
+    }
+  }
+
+  private void putIntoTable(long fingerprint) {
+    long slot = mix(fingerprint) & mask;
+    while (slotValue(slot) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    segments[segmentIndex(slot)].putLong(offset(slot), fingerprint);
+  }
+
+  private void grow() {
+    ByteBuffer[] oldSegments = this.segments;
+    long oldCapacity = this.capacity;
+    allocate(oldCapacity * 2);
+    for (long slot = 0; slot < oldCapacity; slot++) {
+      long fingerprint = oldSegments[segmentIndex(slot)].getLong(offset(slot));
+      if (fingerprint != 0) {
+        putIntoTable(fingerprint);
+      }
+    }
+  }
+
+  private void allocate(long newCapacity) {
+    int segmentCount = (int) ((newCapacity + SEGMENT_MASK) >>> SEGMENT_BITS);
+    long slotsPerSegment = Math.min(newCapacity, 1L << SEGMENT_BITS);
+    this.segments = new ByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = ByteBuffer.allocateDirect((int) (slotsPerSegment * SLOT_SIZE));
+    }
+    this.capacity = newCapacity;
+    this.mask = newCapacity - 1;
+    this.threshold = (long) (newCapacity * MAX_LOAD_FACTOR);
+  }
+
+  /** Writes the fingerprints of the table to a sorted run and empties the table. */
+  private void spill() {
+    long[] fingerprints = new long[(int) tableSize];
+    int n = 0;
+    for (long slot = 0; slot < capacity; slot++) {
+      long fingerprint = slotValue(slot);
+      if (fingerprint != 0) {
+        fingerprints[n++] = fingerprint;
+      }
+    }
+    Arrays.sort(fingerprints);
+    addRun(SortedRun.write(spillDirectory, fingerprints.length, out -> {
+      for (long fingerprint : fingerprints) {
+        out.writeLong(fingerprint);
+      }
+    }));
+    clearTable();
+    if (runs.size() > MAX_RUNS) {
+      mergeRuns();
+    }
+  }
+
+  private void mergeRuns() {
+    SortedRun[] sources = runs.toArray(new SortedRun[0]);
+    long totalLength = 0;
+    for (SortedRun run : sources) {
+      totalLength += run.length;
+    }
+    SortedRun merged = SortedRun.write(spillDirectory, totalLength, out -> {
+      long[] positions = new long[sources.length];
+      while (true) {
+        int minRun = -1;
+        long min = 0;
+        for (int i = 0; i < sources.length; i++) {
+          if (positions[i] < sources[i].length) {
+            long candidate = sources[i].get(positions[i]);
+            if (minRun < 0 || candidate < min) {
+              minRun = i;
+              min = candidate;
+            }
+          }
+        }
+        if (minRun < 0) {
+          break;
+        }
+        out.writeLong(min);
+        positions[minRun]++;
+      }
+    });
+    deleteRuns();
+    addRun(merged);
+  }
+
+  private void addRun(SortedRun run) {
+    runs.add(run);
+    diskUsage += run.length * SLOT_SIZE;
+  }
+
+  private void clearTable() {
+    for (ByteBuffer segment : segments) {
+      segment.clear();
+      while (segment.hasRemaining()) {
+        segment.put(ZEROS, 0, Math.min(ZEROS.length, segment.remaining()));
+      }
+      segment.clear();
+    }
+    this.tableSize = 0;
+  }
+
+  private void deleteRuns() {
+    for (SortedRun run : runs) {
+      run.delete();
+    }
+    runs.clear();
+    diskUsage = 0;
+  }
+
+  private long slotValue(long slot) {
+    return segments[segmentIndex(slot)].getLong(offset(slot));
+  }
+
+  private static int segmentIndex(long slot) {
+    return (int) (slot >>> SEGMENT_BITS);
+  }
+
+  private static int offset(long slot) {
+    return (int) (slot & SEGMENT_MASK) * SLOT_SIZE;
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[size=" + size + ", capacity=" + capacity + ", runs=" + runs.size() + "]";
+  }
+
+  // helper classes --------------------------------------------------------------------------------------------------
+
+  private interface RunWriter {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  /** A memory-mapped file of fingerprints in ascending order. */
+  private static final class SortedRun {
+
+    private static final int SEGMENT_BITS = 27; // 128M fingerprints = 1 GB per mapped segment
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    final File file;
+    final long length;
+    private final MappedByteBuffer[] segments;
+
+    private SortedRun(File file, long length, MappedByteBuffer[] segments) {
+      this.file = file;
+      this.length = length;
+      this.segments = segments;
+    }
+
+    static SortedRun write(File directory, long length, RunWriter writer) {
+      File file = null;
+      try {
+        file = File.createTempFile("benerator-unique-", ".run", directory);
+        file.deleteOnExit();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+          writer.write(out);
+        }
+        int segmentCount = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+        MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+          FileChannel channel = raf.getChannel();
+          for (int i = 0; i < segmentCount; i++) {
+            long start = (long) i << SEGMENT_BITS;
+            long count = Math.min(length - start, 1L << SEGMENT_BITS);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start * SLOT_SIZE, count * SLOT_SIZE);
+          }
+        }
+        return new SortedRun(file, length, segments);
+      } catch (IOException e) {
+        throw BeneratorExceptionFactory.getInstance().fileCreationFailed("Error writing uniqueness run file " + file, e);
+      }
+    }
+
+    long get(long index) {
+      return segments[(int) (index >>> SEGMENT_BITS)].getLong((int) (index & SEGMENT_MASK) * SLOT_SIZE);
+    }
+
+    boolean contains(long fingerprint) {
+      long low = 0;
+      long high = length - 1;
+      while (low <= high) {
+        long middle = (low + high) >>> 1;
+        long value = get(middle);
+        if (value < fingerprint) {
+          low = middle + 1;
+        } else if (value > fingerprint) {
+          high = middle - 1;
+        } else {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    void delete() {
+      if (!file.delete()) {
+        file.deleteOnExit(); // on some platforms, the file stays locked as long as the buffer is mapped
+      }
+    }
+
+  }
+
+}
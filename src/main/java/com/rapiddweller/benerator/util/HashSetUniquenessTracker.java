@@ -0,0 +1,78 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link UniquenessTracker} which stores all values in a {@link HashSet}.
+ * It is exact, but needs heap memory for each value itself as well as for the set entry.<br/><br/>
+ * Created: 01.04.2023 09:23:02
+ * @param <E> the type of the tracked values
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class HashSetUniquenessTracker<E> implements UniquenessTracker<E> {
+
+  /** Estimated size of a set entry with its share of the hash table, not including the value itself */
+  private static final int ENTRY_SIZE = 40;
+
+  private final Set<E> values;
+  private volatile long size; // the set is used by one thread at a time, the size is read by monitoring threads
+
+  public HashSetUniquenessTracker() {
+    this.values = new HashSet<>();
+  }
+
+  @Override
+  public boolean add(E value) {
+    if (!values.add(value)) {
+      return false;
+    }
+    size = values.size();
+    return true;
+  }
+
+  @Override
+  public boolean contains(E value) {
+    return values.contains(value);
+  }
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public long memoryUsage() {
+    return size * ENTRY_SIZE;
+  }
+
+  @Override
+  public long diskUsage() {
+    return 0;
+  }
+
+  @Override
+  public double falsePositiveRate() {
+    return 0;
+  }
+
+  @Override
+  public void clear() {
+    values.clear();
+    size = 0;
+  }
+
+  @Override
+  public void close() {
+    clear();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[size=" + size + "]";
+  }
+
+}
@@ -50,7 +50,7 @@
 public class LineShuffler {
 
   public static final Logger logger = LoggerFactory.getLogger(LineShuffler.class);
-  private static final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
+  private static final RandomProvider random = BeneratorFactory.getInstance().getSharedRandomProvider();
 
   public static void main(String[] args) throws IOException {
     if (args.length < 2) {
@@ -0,0 +1,63 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Releases memory-mapped buffers explicitly. Otherwise, a {@link MappedByteBuffer} stays mapped
+ * until it is garbage collected, so that replaced buffers would pile up in the address space
+ * and keep their files locked. The buffers must not be accessed any more after unmapping.<br/><br/>
+ * Created: 21.03.2023 09:14:37
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+final class MappedBufferUtil {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedBufferUtil.class);
+
+  private static final Object UNSAFE;
+  private static final Method INVOKE_CLEANER;
+
+  static {
+    Object unsafe = null;
+    Method invokeCleaner = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      unsafe = field.get(null);
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.debug("Memory-mapped buffers cannot be unmapped explicitly on this JVM, leaving them to the GC", e);
+    }
+    UNSAFE = unsafe;
+    INVOKE_CLEANER = invokeCleaner;
+  }
+
+  private MappedBufferUtil() {
+    // private constructor to prevent instantiation of this utility class
+  }
+
+  static void unmap(MappedByteBuffer... buffers) {
+    if (INVOKE_CLEANER == null || buffers == null) {
+      return;
+    }
+    for (MappedByteBuffer buffer : buffers) {
+      if (buffer != null) {
+        try {
+          INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+          logger.debug("Failed to unmap buffer, leaving it to the GC", e);
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,241 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Open-addressing hash map from primitive long keys to primitive long values
+ * which stores its entries in a memory-mapped temporary file instead of the Java heap.
+ * This way, the operating system can page out the data when memory is scarce
+ * and the Java heap is not burdened with billions of boxed objects.
+ * The file is divided into segments of at most 1 GB, so the map's capacity is not
+ * limited by the 2 GB limit of a single {@link MappedByteBuffer}. When the map grows,
+ * the old segments are unmapped right away instead of waiting for the garbage collector.
+ * The map is not thread-safe.<br/><br/>
+ * Created: 18.03.2023 09:41:27
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MappedLongLongMap implements Closeable {
+
+  private static final int SLOT_SIZE = 16;
+  private static final int SEGMENT_BITS = 26; // 64M slots of 16 bytes per segment = 1 GB
+  private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+  private static final double MAX_LOAD_FACTOR = 0.6;
+  private static final long MIN_CAPACITY = 1024;
+
+  private final File directory;
+
+  private File file;
+  private RandomAccessFile raf;
+  private MappedByteBuffer[] segments;
+  private long capacity;
+  private long mask;
+  private long threshold;
+  private long size;
+
+  // key 0 marks an empty slot, so its value is kept separately
+  private boolean zeroKeyPresent;
+  private long zeroKeyValue;
+
+  public MappedLongLongMap(File directory, long expectedSize) {
+    this.directory = directory;
+    this.size = 0;
+    this.zeroKeyPresent = false;
+    allocate(capacityFor(expectedSize));
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  public long size() {
+    return size;
+  }
+
+  public boolean containsKey(long key) {
+    if (key == 0) {
+      return zeroKeyPresent;
+    }
+    return (findSlot(key) >= 0);
+  }
+
+  /** @return the value mapped to the key, or the defaultValue if the key is unknown */
+  public long get(long key, long defaultValue) {
+    if (key == 0) {
+      return (zeroKeyPresent ? zeroKeyValue : defaultValue);
+    }
+    long slot = findSlot(key);
+    return (slot >= 0 ? valueAt(slot) : defaultValue);
+  }
+
+  public void put(long key, long value) {
+    if (key == 0) {
+      if (!zeroKeyPresent) {
+        zeroKeyPresent = true;
+        size++;
+      }
+      zeroKeyValue = value;
+      return;
+    }
+    long slot = hash(key) & mask;
+    long current;
+    while ((current = keyAt(slot)) != 0) {
+      if (current == key) {
+        setValueAt(slot, value);
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    setKeyAt(slot, key);
+    setValueAt(slot, value);
+    if (++size > threshold) {
+      grow();
+    }
+  }
+
+  @Override
+  public void close() {
+    MappedBufferUtil.unmap(segments);
+    segments = null;
+    try {
+      if (raf != null) {
+        raf.close();
+      }
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().internalError("Error closing " + file, e);
+    } finally {
+      raf = null;
+      deleteFile();
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private long findSlot(long key) {
+    long slot = hash(key) & mask;
+    long current;
+    while ((current = keyAt(slot)) != 0) {
+      if (current == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void grow() {
+    MappedByteBuffer[] oldSegments = this.segments;
+    long oldCapacity = this.capacity;
+    File oldFile = this.file;
+    RandomAccessFile oldRaf = this.raf;
+    allocate(oldCapacity * 2);
+    for (long slot = 0; slot < oldCapacity; slot++) {
+      long key = oldSegments[segmentIndex(slot)].getLong(offset(slot));
+      if (key != 0) {
+        long value = oldSegments[segmentIndex(slot)].getLong(offset(slot) + 8);
+        long newSlot = hash(key) & mask;
+        while (keyAt(newSlot) != 0) {
+          newSlot = (newSlot + 1) & mask;
+        }
+        setKeyAt(newSlot, key);
+        setValueAt(newSlot, value);
+      }
+    }
+    MappedBufferUtil.unmap(oldSegments);
+    try {
+      oldRaf.close();
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().internalError("Error closing " + oldFile, e);
+    }
+    if (!oldFile.delete()) {
+      oldFile.deleteOnExit();
+    }
+  }
+
+  private void allocate(long newCapacity) {
+    try {
+      this.file = File.createTempFile("benerator-", ".map", directory);
+      this.file.deleteOnExit();
+      this.raf = new RandomAccessFile(file, "rw");
+      this.raf.setLength(newCapacity * SLOT_SIZE);
+      FileChannel channel = raf.getChannel();
+      int segmentCount = (int) ((newCapacity + SEGMENT_MASK) >>> SEGMENT_BITS);
+      this.segments = new MappedByteBuffer[segmentCount];
+      long slotsPerSegment = Math.min(newCapacity, 1L << SEGMENT_BITS);
+      for (int i = 0; i < segmentCount; i++) {
+        long position = i * slotsPerSegment * SLOT_SIZE;
+        segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, slotsPerSegment * SLOT_SIZE);
+      }
+      this.capacity = newCapacity;
+      this.mask = newCapacity - 1;
+      this.threshold = (long) (newCapacity * MAX_LOAD_FACTOR);
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().fileCreationFailed("Error creating memory-mapped file in " + directory, e);
+    }
+  }
+
+  private void deleteFile() {
+    if (file != null && !file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+
+  private long keyAt(long slot) {
+    return segments[segmentIndex(slot)].getLong(offset(slot));
+  }
+
+  private long valueAt(long slot) {
+    return segments[segmentIndex(slot)].getLong(offset(slot) + 8);
+  }
+
+  private void setKeyAt(long slot, long key) {
+    segments[segmentIndex(slot)].putLong(offset(slot), key);
+  }
+
+  private void setValueAt(long slot, long value) {
+    segments[segmentIndex(slot)].putLong(offset(slot) + 8, value);
+  }
+
+  private static int segmentIndex(long slot) {
+    return (int) (slot >>> SEGMENT_BITS);
+  }
+
+  private static int offset(long slot) {
+    return (int) (slot & SEGMENT_MASK) * SLOT_SIZE;
+  }
+
+  private static long capacityFor(long expectedSize) {
+    long required = (long) (expectedSize / MAX_LOAD_FACTOR) + 1;
+    long result = MIN_CAPACITY;
+    while (result < required) {
+      result <<= 1;
+    }
+    return result;
+  }
+
+  /** The finalization mix of MurmurHash3, which spreads sequential ids well over the table. */
+  private static long hash(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[size=" + size + ", capacity=" + capacity + "]";
+  }
+
+}
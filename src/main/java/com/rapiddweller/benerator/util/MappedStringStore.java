@@ -0,0 +1,135 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.exception.ExceptionFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store of strings in a memory-mapped temporary file outside the Java heap.
+ * Each string is stored as its UTF-8 length followed by its UTF-8 bytes and is identified
+ * by the address at which it was stored. The file grows by appending segments of 64 MB,
+ * so existing segments stay mapped and are never copied. The store is not thread-safe.<br/><br/>
+ * Created: 21.03.2023 09:32:18
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MappedStringStore implements Closeable {
+
+  private static final int SEGMENT_BITS = 26;
+  private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+  private static final long SEGMENT_MASK = SEGMENT_SIZE - 1L;
+
+  private final File directory;
+
+  private File file;
+  private RandomAccessFile raf;
+  private final List<MappedByteBuffer> segments;
+  private long end;
+
+  public MappedStringStore(File directory) {
+    this.directory = directory;
+    this.segments = new ArrayList<>();
+    this.end = 0;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  /** @return the address of the stored string */
+  public long add(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    int recordSize = 4 + bytes.length;
+    if (recordSize > SEGMENT_SIZE) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("String too long for a " + getClass().getSimpleName()
+          + ": " + bytes.length + " bytes");
+    }
+    if ((end & SEGMENT_MASK) + recordSize > SEGMENT_SIZE) {
+      end = (long) segments.size() << SEGMENT_BITS; // records do not span segments
+    }
+    long address = end;
+    MappedByteBuffer segment = segment(segmentIndex(address));
+    int offset = offset(address);
+    segment.putInt(offset, bytes.length);
+    ByteBuffer view = segment.duplicate();
+    view.position(offset + 4);
+    view.put(bytes);
+    end += recordSize;
+    return address;
+  }
+
+  /** @return the string stored at the address */
+  public String get(long address) {
+    MappedByteBuffer segment = segments.get(segmentIndex(address));
+    int offset = offset(address);
+    byte[] bytes = new byte[segment.getInt(offset)];
+    ByteBuffer view = segment.duplicate();
+    view.position(offset + 4);
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+    MappedBufferUtil.unmap(segments.toArray(new MappedByteBuffer[0]));
+    segments.clear();
+    try {
+      if (raf != null) {
+        raf.close();
+      }
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().internalError("Error closing " + file, e);
+    } finally {
+      raf = null;
+      if (file != null && !file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private MappedByteBuffer segment(int index) {
+    try {
+      if (raf == null) {
+        this.file = File.createTempFile("benerator-", ".str", directory);
+        this.file.deleteOnExit();
+        this.raf = new RandomAccessFile(file, "rw");
+      }
+      while (segments.size() <= index) {
+        long position = (long) segments.size() << SEGMENT_BITS;
+        raf.setLength(position + SEGMENT_SIZE);
+        segments.add(raf.getChannel().map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE));
+      }
+      return segments.get(index);
+    } catch (IOException e) {
+      throw ExceptionFactory.getInstance().fileCreationFailed("Error creating memory-mapped file in " + directory, e);
+    }
+  }
+
+  private static int segmentIndex(long address) {
+    return (int) (address >>> SEGMENT_BITS);
+  }
+
+  private static int offset(long address) {
+    return (int) (address & SEGMENT_MASK);
+  }
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + end + " bytes]";
+  }
+
+}
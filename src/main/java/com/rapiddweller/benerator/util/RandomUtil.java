@@ -41,7 +41,7 @@
  */
 public class RandomUtil {
 
-  private static final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
+  private static final RandomProvider random = BeneratorFactory.getInstance().getSharedRandomProvider();
 
   private RandomUtil() {
     // private constructor to prevent instantiation
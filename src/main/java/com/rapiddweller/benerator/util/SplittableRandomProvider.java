@@ -0,0 +1,262 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RandomProvider} implementation which gives each thread a {@link SplittableRandom} of its own,
+ * so threads do not contend for a shared seed. Each stream is derived deterministically from one
+ * global seed and a stream key: By default, a thread's key is its name, but Benerator binds the threads
+ * which execute a top-level &lt;generate&gt; or &lt;iterate&gt; to a key made of the task name and the
+ * number of the worker, see {@link #bindStream(String)}. So the random values of a task do not depend on how many
+ * random values other tasks have drawn before, and a run can be reproduced by using the same seed.<br/>
+ * A component generator gets a provider of its own from {@link #derive(String)}, keyed by the descriptor path
+ * and component name. Its streams are derived from the stream the thread is bound to, so the values of one
+ * component do not depend on how many values the other components of the same task have drawn.<br/>
+ * The seed is configured by the system property {@value BeneratorOpts#OPTS_SEED}.
+ * If it is not set, a random seed is chosen and logged.<br/><br/>
+ * Created: 02.04.2023 09:41:17
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class SplittableRandomProvider extends AbstractRandomProvider {
+
+  private static final Logger logger = LoggerFactory.getLogger(SplittableRandomProvider.class);
+
+  private final long seed;
+  private final SplittableRandomProvider parent;
+  private final ThreadLocal<Stream> streams;
+  private final Map<String, AtomicInteger> bindCounts;
+
+  /** Creates a provider with the configured seed or a random one. */
+  public SplittableRandomProvider() {
+    this(configuredSeed());
+  }
+
+  public SplittableRandomProvider(long seed) {
+    this(seed, null);
+  }
+
+  private SplittableRandomProvider(long seed, SplittableRandomProvider parent) {
+    this.seed = seed;
+    this.parent = parent;
+    this.streams = ThreadLocal.withInitial(this::initialStream);
+    this.bindCounts = (parent != null ? parent.bindCounts : new ConcurrentHashMap<>());
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  // stream handling -------------------------------------------------------------------------------------------------
+
+  /** Makes the current thread draw its random values from the stream with the given key.
+   *  When a key is bound repeatedly, each binding gets a stream of its own,
+   *  numbered in the order of the bindings. */
+  @Override
+  public void bindStream(String key) {
+    if (parent != null) {
+      parent.bindStream(key);
+      return;
+    }
+    int count = bindCounts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    String streamKey = (count == 1 ? key : key + '/' + count);
+    streams.set(new Stream(streamKey, stream(streamKey), null));
+  }
+
+  /** Forgets the bindings of previous runs, so a run which binds the same keys again gets the same streams,
+   *  and returns the current thread to its initial stream. */
+  @Override
+  public void resetStreams() {
+    if (parent != null) {
+      parent.resetStreams();
+      return;
+    }
+    bindCounts.clear();
+    streams.remove();
+  }
+
+  /** Provides a provider whose seed is derived from this provider's seed and the key,
+   *  e.g. for a generator which shall be reproducible independent of the other generators of its task.
+   *  In each thread, the derived provider draws from a stream which is derived from its own seed
+   *  and the key of the stream which the thread is bound to in this provider. */
+  @Override
+  public RandomProvider derive(String key) {
+    return new SplittableRandomProvider(streamSeed(key), (parent != null ? parent : this));
+  }
+
+  // bulk operations -------------------------------------------------------------------------------------------------
+
+  @Override
+  public void fillLongs(long[] target, long minInclusive, long maxInclusive) {
+    checkRange(minInclusive, maxInclusive);
+    SplittableRandom random = random();
+    for (int i = 0; i < target.length; i++) {
+      target[i] = nextLong(random, minInclusive, maxInclusive);
+    }
+  }
+
+  @Override
+  public void fillDoubles(double[] target) {
+    SplittableRandom random = random();
+    for (int i = 0; i < target.length; i++) {
+      target[i] = random.nextDouble();
+    }
+  }
+
+  // unbiased range operations ---------------------------------------------------------------------------------------
+
+  @Override
+  public long randomLong(long minInclusive, long maxInclusive) {
+    checkRange(minInclusive, maxInclusive);
+    return nextLong(random(), minInclusive, maxInclusive);
+  }
+
+  @Override
+  public long randomLong(long maxExclusive) {
+    Assert.notNegative(maxExclusive, "maxExclusive");
+    return random().nextLong(maxExclusive);
+  }
+
+  @Override
+  public int randomInt(int minInclusive, int maxInclusive) {
+    return (int) randomLong(minInclusive, maxInclusive);
+  }
+
+  @Override
+  public int randomInt(int maxExclusive) {
+    Assert.notNegative(maxExclusive, "maxExclusive");
+    return random().nextInt(maxExclusive);
+  }
+
+  // primitive random functions --------------------------------------------------------------------------------------
+
+  @Override
+  protected long nextLong() {
+    return random().nextLong();
+  }
+
+  @Override
+  protected int nextInt() {
+    return random().nextInt();
+  }
+
+  @Override
+  protected int nextInt(int bound) {
+    return random().nextInt(bound);
+  }
+
+  @Override
+  protected double nextDouble() {
+    return random().nextDouble();
+  }
+
+  @Override
+  protected float nextFloat() {
+    return (random().nextInt() >>> 8) * 0x1.0p-24f;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[seed=" + seed + "]";
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static long configuredSeed() {
+    Long seed = BeneratorOpts.getSeed();
+    if (seed == null) {
+      seed = new SplittableRandom().nextLong();
+      logger.info("Using random seed {}, use -D{}={} to reproduce this run", seed, BeneratorOpts.OPTS_SEED, seed);
+    }
+    return seed;
+  }
+
+  private Stream initialStream() {
+    if (parent != null) {
+      Stream parentStream = parent.streams.get();
+      return new Stream(parentStream.key, stream(parentStream.key), parentStream);
+    } else {
+      String key = Thread.currentThread().getName();
+      return new Stream(key, stream(key), null);
+    }
+  }
+
+  /** Provides the current thread's random stream. In a derived provider, the stream is replaced
+   *  when the thread has been bound to another stream of the parent provider. */
+  private SplittableRandom random() {
+    Stream stream = streams.get();
+    if (parent != null && stream.source != parent.streams.get()) {
+      stream = initialStream();
+      streams.set(stream);
+    }
+    return stream.random;
+  }
+
+  private SplittableRandom stream(String key) {
+    return new SplittableRandom(streamSeed(key));
+  }
+
+  private long streamSeed(String key) {
+    long h = 0xcbf29ce484222325L; // FNV-1a
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(seed ^ h);
+  }
+
+  /** The finalization mix of MurmurHash3, which makes similar keys yield unrelated seeds. */
+  private static long mix(long key) {
+    long h = key;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static void checkRange(long minInclusive, long maxInclusive) {
+    if (minInclusive > maxInclusive) {
+      throw BeneratorExceptionFactory.getInstance().illegalArgument("min (" + minInclusive + ") > max (" + maxInclusive + ")");
+    }
+  }
+
+  private static long nextLong(SplittableRandom random, long minInclusive, long maxInclusive) {
+    if (maxInclusive < Long.MAX_VALUE) {
+      return random.nextLong(minInclusive, maxInclusive + 1);
+    } else if (minInclusive > Long.MIN_VALUE) {
+      return random.nextLong(minInclusive - 1, maxInclusive) + 1;
+    } else {
+      return random.nextLong();
+    }
+  }
+
+  /** A thread's random stream with the key it has been derived from and,
+   *  in a derived provider, the parent provider's stream it belongs to. */
+  private static final class Stream {
+
+    final String key;
+    final SplittableRandom random;
+    final Stream source;
+
+    Stream(String key, SplittableRandom random, Stream source) {
+      this.key = key;
+      this.random = random;
+      this.source = source;
+    }
+  }
+
+}
@@ -0,0 +1,46 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import java.io.Closeable;
+
+/**
+ * Keeps track of the values which have been used by a generator that needs to ensure uniqueness.
+ * Implementations may be probabilistic in the sense that they reject a value which has not been used before,
+ * but they must never accept a value which has been used.<br/><br/>
+ * Created: 01.04.2023 09:14:26
+ * @param <E> the type of the tracked values
+ * @author Volker Bergmann
+ * @since 3.2.0
+ * @see UniquenessTrackers
+ */
+public interface UniquenessTracker<E> extends Closeable {
+
+  /** Registers a value.
+   *  @return true if the value has not been used before, otherwise false */
+  boolean add(E value);
+
+  /** @return true if the value has been registered before (or is assumed to be) */
+  boolean contains(E value);
+
+  /** @return the number of registered values */
+  long size();
+
+  /** @return the (estimated) number of bytes of heap and off-heap memory used for tracking values */
+  long memoryUsage();
+
+  /** @return the number of bytes of disk space used for tracking values */
+  long diskUsage();
+
+  /** @return the estimated probability that a value which has not been used before is rejected,
+   *  0 for exact implementations */
+  double falsePositiveRate();
+
+  /** Forgets all registered values. */
+  void clear();
+
+  /** Releases all memory and disk resources. A closed tracker may be reused after calling {@link #clear()}. */
+  @Override
+  void close();
+
+}
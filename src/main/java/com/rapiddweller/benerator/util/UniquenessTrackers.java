@@ -0,0 +1,53 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.engine.BeneratorMonitor;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+
+/**
+ * Creates {@link UniquenessTracker}s as configured by the system property
+ * {@value BeneratorOpts#OPTS_UNIQUENESS_TRACKER} and registers them at the {@link BeneratorMonitor}.<br/><br/>
+ * Created: 01.04.2023 10:12:38
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class UniquenessTrackers {
+
+  private static final Logger logger = LoggerFactory.getLogger(UniquenessTrackers.class);
+
+  private UniquenessTrackers() {
+    // private constructor to prevent instantiation
+  }
+
+  /** Creates a tracker of the configured type. If fingerprints are configured,
+   *  but not supported for the value type, a hash set is used. */
+  public static <E> UniquenessTracker<E> create(Class<E> valueType) {
+    String type = BeneratorOpts.getUniquenessTracker();
+    UniquenessTracker<E> tracker;
+    if (BeneratorOpts.UNIQUENESS_TRACKER_HASHSET.equals(type)) {
+      tracker = new HashSetUniquenessTracker<>();
+    } else if (BeneratorOpts.UNIQUENESS_TRACKER_FINGERPRINT.equals(type)) {
+      if (FingerprintUniquenessTracker.supports(valueType)) {
+        long maxMemory = BeneratorOpts.getUniquenessMemory() * 1024L * 1024L;
+        String spillDir = BeneratorOpts.getUniquenessSpillDir();
+        tracker = new FingerprintUniquenessTracker<>(valueType, maxMemory, (spillDir != null ? new File(spillDir) : null));
+      } else {
+        logger.debug("Fingerprints are not supported for {}, tracking unique values in a hash set", valueType.getName());
+        tracker = new HashSetUniquenessTracker<>();
+      }
+    } else {
+      throw BeneratorExceptionFactory.getInstance().configurationError(
+          "Illegal value for " + BeneratorOpts.OPTS_UNIQUENESS_TRACKER + ": '" + type + "'. Expected '"
+              + BeneratorOpts.UNIQUENESS_TRACKER_HASHSET + "' or '" + BeneratorOpts.UNIQUENESS_TRACKER_FINGERPRINT + "'");
+    }
+    BeneratorMonitor.INSTANCE.register(tracker);
+    return tracker;
+  }
+
+}
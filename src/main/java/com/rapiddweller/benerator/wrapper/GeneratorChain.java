@@ -28,14 +28,14 @@
 
 import com.rapiddweller.benerator.Generator;
 import com.rapiddweller.benerator.GeneratorContext;
-
-import java.util.HashSet;
-import java.util.Set;
+import com.rapiddweller.benerator.util.UniquenessTracker;
+import com.rapiddweller.benerator.util.UniquenessTrackers;
 
 /**
  * Proxies several source generators, initially returning products of the first source as long
  * as it is available, then of the second source and son on.
- * When generating unique data, the last source generator is required to generate unique data itself.<br/><br/>
+ * When generating unique data, the last source generator is required to generate unique data itself.
+ * The values of the other sources are registered in a {@link UniquenessTracker}.<br/><br/>
  * Created: 22.07.2011 14:58:00
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -44,13 +44,19 @@
 public class GeneratorChain<E> extends MultiGeneratorWrapper<E, E> {
 
   private final boolean unique;
-  private final Set<E> usedValues;
+  private final UniquenessTracker<E> usedValues;
 
   @SafeVarargs
   public GeneratorChain(Class<E> generatedType, boolean unique, Generator<? extends E>... sources) {
+    this(generatedType, (unique ? UniquenessTrackers.create(generatedType) : null), sources);
+  }
+
+  /** Creates a chain which generates unique values if a {@link UniquenessTracker} is provided. */
+  @SafeVarargs
+  public GeneratorChain(Class<E> generatedType, UniquenessTracker<E> usedValues, Generator<? extends E>... sources) {
     super(generatedType, sources);
-    this.unique = unique;
-    this.usedValues = new HashSet<>();
+    this.unique = (usedValues != null);
+    this.usedValues = usedValues;
   }
 
   @Override
@@ -93,7 +99,9 @@ public void reset() {
   @Override
   public void close() {
     super.close();
-    clearMembers();
+    if (usedValues != null) {
+      usedValues.close();
+    }
   }
 
   // helpers ---------------------------------------------------------------------------------------------------------
@@ -103,7 +111,9 @@ protected ProductWrapper<E> generateUnvalidated(ProductWrapper<E> wrapper) {
   }
 
   protected void clearMembers() {
-    this.usedValues.clear();
+    if (usedValues != null) {
+      usedValues.clear();
+    }
   }
 
 }
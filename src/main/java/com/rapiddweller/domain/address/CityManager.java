@@ -26,6 +26,7 @@
 
 package com.rapiddweller.domain.address;
 
+import com.rapiddweller.benerator.dataset.DatasetSnapshot;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.*;
 import com.rapiddweller.common.exception.ExceptionFactory;
@@ -40,6 +41,7 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Reads and persists city files in CSV format (column header = property name).<br/><br/>
@@ -77,6 +79,10 @@ public static void readCities(Country country, String filename,
   }
 
   private static int parseCityFile(Country country, String filename, Map<String, String> defaults) {
+    DatasetSnapshot snapshot = DatasetSnapshot.load(filename, ';', Encodings.UTF_8);
+    if (snapshot != null) {
+      return parseCitySnapshot(country, snapshot, defaults);
+    }
     logger.debug("Parsing city definitions in file {}", filename);
     try (CSVLineIterator iterator = new CSVLineIterator(filename, ';', Encodings.UTF_8)) {
       DataContainer<String[]> container = new DataContainer<>();
@@ -105,12 +111,41 @@ private static int parseCityFile(Country country, String filename, Map<String, S
 
         int lineNumber = iterator.lineCount();
         CityId cityId = createCityId(instance, lineNumber);
-        getOrCreateCity(cityId, state, instance, defaults, warnCount);
+        getOrCreateCity(cityId, state, instance.get("postalCode"), getValue(instance, "areaCode", defaults),
+            getValue(instance, "language", defaults), warnCount);
       }
       return warnCount.get();
     }
   }
 
+  /** Creates the cities of a precompiled city file, resolving columns once instead of mapping each row. */
+  private static int parseCitySnapshot(Country country, DatasetSnapshot snapshot, Map<String, String> defaults) {
+    int stateIdColumn = snapshot.columnIndex("state.id");
+    int stateNameColumn = snapshot.columnIndex("state.name");
+    int municipalityColumn = snapshot.columnIndex("municipality");
+    int cityColumn = snapshot.columnIndex("city");
+    int nameColumn = snapshot.columnIndex("name");
+    int nameExtensionColumn = snapshot.columnIndex("nameExtension");
+    int postalCodeColumn = snapshot.columnIndex("postalCode");
+    int areaCodeColumn = snapshot.columnIndex("areaCode");
+    int languageColumn = snapshot.columnIndex("language");
+    AtomicInteger warnCount = new AtomicInteger();
+    for (int i = 0; i < snapshot.getRowCount(); i++) {
+      int row = i;
+      if (snapshot.getCellCount(row) <= 1) {
+        continue;
+      }
+      State state = getOrCreateState(snapshot.get(row, stateIdColumn), snapshot.get(row, stateNameColumn), country);
+      String name = snapshot.get(row, nameColumn);
+      CityId cityId = createCityId(snapshot.get(row, municipalityColumn), snapshot.get(row, cityColumn),
+          name, snapshot.get(row, nameExtensionColumn), () -> rowText(snapshot, row), row + 2);
+      getOrCreateCity(cityId, state, snapshot.get(row, postalCodeColumn),
+          getValue(snapshot.get(row, areaCodeColumn), "areaCode", defaults),
+          getValue(snapshot.get(row, languageColumn), "language", defaults), warnCount);
+    }
+    return warnCount.get();
+  }
+
   private static State getOrCreateState(String stateId, String stateName, Country country) {
     State state = country.getState(stateId);
     if (state == null) {
@@ -124,30 +159,31 @@ private static State getOrCreateState(String stateId, String stateName, Country
   }
 
   protected static CityId createCityId(Map<String, String> instance, int lineNumber) {
+    return createCityId(instance.get("municipality"), instance.get("city"), instance.get("name"),
+        instance.get("nameExtension"), instance::toString, lineNumber);
+  }
+
+  private static CityId createCityId(String municipality, String city, String name, String nameExtension,
+                                     Supplier<String> text, int lineNumber) {
     CityId cityId;
-    if (!StringUtil.isEmpty(instance.get("municipality"))) {
-      cityId = new CityId(instance.get("municipality"), null);
-    } else if (!StringUtil.isEmpty(instance.get("city"))) {
-      cityId = new CityId(instance.get("city"), null);
-    } else if (!StringUtil.isEmpty(instance.get("name"))) {
-      String cityName = instance.get("name");
-      String cityNameExtension = instance.get("nameExtension");
-      cityId = new CityId(cityName, cityNameExtension);
+    if (!StringUtil.isEmpty(municipality)) {
+      cityId = new CityId(municipality, null);
+    } else if (!StringUtil.isEmpty(city)) {
+      cityId = new CityId(city, null);
+    } else if (!StringUtil.isEmpty(name)) {
+      cityId = new CityId(name, nameExtension);
     } else {
       throw ExceptionFactory.getInstance().syntaxErrorForText(
-          "Unable to parse city", instance.toString(), lineNumber, 1);
+          "Unable to parse city", text.get(), lineNumber, 1);
     }
     return cityId;
   }
 
-  private static void getOrCreateCity(CityId cityId, State state, Map<String, String> instance,
-                                      Map<String, String> defaults, AtomicInteger warnCount) {
+  private static void getOrCreateCity(CityId cityId, State state, String postalCode, String areaCode, String lang,
+                                      AtomicInteger warnCount) {
     // create/setup city
     CityHelper city = (CityHelper) state.getCity(cityId);
-    String postalCode = instance.get("postalCode");
-    String lang = getValue(instance, "language", defaults);
     if (city == null) {
-      String areaCode = getValue(instance, "areaCode", defaults);
       if (StringUtil.isEmpty(areaCode)) {
         warnCount.incrementAndGet();
         logger.warn("Dropping city {} since no areaCode is provided", cityId);
@@ -185,11 +221,19 @@ public static void persistCities(Country country, String filename)
 
   private static String getValue(Map<String, String> instance, String key,
                                  Map<String, String> defaults) {
-    String value = instance.get(key);
-    if (value == null) {
-      value = defaults.get(key);
+    return getValue(instance.get(key), key, defaults);
+  }
+
+  private static String getValue(String value, String key, Map<String, String> defaults) {
+    return (value != null ? value : defaults.get(key));
+  }
+
+  private static String rowText(DatasetSnapshot snapshot, int row) {
+    String[] cells = new String[snapshot.getCellCount(row)];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = snapshot.get(row, i);
     }
-    return value;
+    return ArrayFormat.format(";", cells);
   }
 
   public static class CityHelper extends City {
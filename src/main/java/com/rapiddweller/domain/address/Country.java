@@ -65,7 +65,7 @@ public class Country {
   public static final String COMPONENT_NAME = "Country";
 
   private static final String COUNTRY_CSV = "/com/rapiddweller/domain/address/country.csv";
-  private static final RandomProvider RANDOM = BeneratorFactory.getInstance().getRandomProvider();
+  private static final RandomProvider RANDOM = BeneratorFactory.getInstance().getSharedRandomProvider();
   private static final String DEFAULT_PHONE_CODE = "[2-9][0-9][0-9]";
   private static final String DEFAULT_MOBILE_PHONE_PATTERN = "[1-9][0-9][0-9]";
   private static final Map<String, Country> instances = new HashMap<>(250);
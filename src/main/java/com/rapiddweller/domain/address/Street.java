@@ -37,7 +37,7 @@
  */
 public class Street {
 
-  private static final RandomProvider random = BeneratorFactory.getInstance().getRandomProvider();
+  private static final RandomProvider random = BeneratorFactory.getInstance().getSharedRandomProvider();
 
   private final City city;
   private String name;
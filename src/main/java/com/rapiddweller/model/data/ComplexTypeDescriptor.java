@@ -53,6 +53,7 @@ public class ComplexTypeDescriptor extends TypeDescriptor implements VariableHol
 
 
   private NamedValueList<InstanceDescriptor> parts; // TODO use only ComponentDescriptors
+  private volatile EntitySchema schema;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -84,11 +85,13 @@ public void addPart(InstanceDescriptor part) {
   public void addComponent(ComponentDescriptor component) {
     linkToParentTypeComponent(component);
     parts.add(component.getName(), component);
+    structureModified();
   }
 
   public void setComponent(ComponentDescriptor component) {
     linkToParentTypeComponent(component);
     parts.set(component.getName(), component);
+    structureModified();
   }
 
   /** Searches the parent type descriptor for a component of the same name and,
@@ -168,6 +171,24 @@ public void addVariable(VariableDescriptor variable) {
     parts.add(variable.getName(), variable);
   }
 
+  /** Returns the slot table for the components of this type. It is created on the first call and recreated
+   *  after any descriptor has changed in a way which may affect it, like adding or replacing a component,
+   *  changing a component's type or a parent type. */
+  public EntitySchema getSchema() {
+    EntitySchema result = schema;
+    long modificationCount = structureModificationCount();
+    if (result == null || result.getModificationCount() != modificationCount) {
+      result = new EntitySchema(this, modificationCount);
+      schema = result;
+    }
+    return result;
+  }
+
+  /** Makes the next call to {@link #getSchema()} create a new schema. */
+  public void invalidateSchema() {
+    schema = null;
+  }
+
   public String getDynamicSource() {
     return (String) getDetailValue(DYNAMIC_SOURCE);
   }
@@ -0,0 +1,67 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.model.data;
+
+/**
+ * Maps a fixed list of component names to the slots of the {@link EntitySchema} of the entities
+ * to be processed. The mapping is computed once and reused as long as the entities share their schema,
+ * so consumers can read the components of each entity by index.<br/><br/>
+ * Created: 27.03.2023 09:47:02
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public final class ComponentSlots {
+
+  private final String[] names;
+  private volatile Binding binding;
+
+  public ComponentSlots(String... names) {
+    this.names = names;
+    this.binding = null;
+  }
+
+  public String[] getNames() {
+    return names;
+  }
+
+  /** Returns the slots of the component names in the schema of the given entity, -1 for each unknown name.
+   *  @return the slots or null if the entity has no schema */
+  public int[] slotsOf(Entity entity) {
+    EntitySchema schema = entity.getSchema();
+    if (schema == null) {
+      return null;
+    }
+    Binding current = binding;
+    if (current == null || current.schema != schema) {
+      current = new Binding(schema, schema.slotsOf(names));
+      binding = current;
+    }
+    return current.slots;
+  }
+
+  /** Returns the value of the component with the given index,
+   *  using the slots returned by {@link #slotsOf(Entity)} for the entity. */
+  public Object get(Entity entity, int[] slots, int index) {
+    int slot = (slots != null ? slots[index] : -1);
+    return (slot >= 0 ? entity.getSlotValue(slot) : entity.getComponent(names[index]));
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + String.join(", ", names) + ']';
+  }
+
+  // Binding class ---------------------------------------------------------------------------------------------------
+
+  private static final class Binding {
+
+    final EntitySchema schema;
+    final int[] slots;
+
+    Binding(EntitySchema schema, int[] slots) {
+      this.schema = schema;
+      this.slots = slots;
+    }
+  }
+
+}
@@ -33,28 +33,42 @@
 import com.rapiddweller.common.CompositeFormatter;
 import com.rapiddweller.common.NullSafeComparator;
 import com.rapiddweller.common.collection.OrderedNameMap;
-import com.rapiddweller.common.converter.AnyConverter;
-import com.rapiddweller.platform.java.BeanDescriptorProvider;
-import com.rapiddweller.script.PrimitiveType;
 import com.rapiddweller.common.ArrayUtil;
 import org.bson.types.ObjectId;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * Instance of a composite data type as described by a {@link ComplexTypeDescriptor}.<br/><br/>
+ * Instance of a composite data type as described by a {@link ComplexTypeDescriptor}.
+ * Entities created with {@link #Entity(EntitySchema)} are compact: They store their component values
+ * in an array indexed by the slots of the {@link EntitySchema}, integral and floating point values
+ * set with {@link #setLong(int, long)} and {@link #setDouble(int, double)} in primitive side arrays.
+ * A compact entity switches to the map representation when {@link #getComponents()} is called
+ * or a component is set which is not part of the schema.<br/><br/>
  * Created: 20.08.2007 19:20:22
  * @author Volker Bergmann
  * @since 0.3
  */
 public class Entity implements Composite {
 
+  private static final Object UNSET = new Object();
+  private static final Object LONG_VALUE = new Object();
+  private static final Object DOUBLE_VALUE = new Object();
+
   public final ComplexTypeDescriptor descriptor;
   private OrderedNameMap<Object> components;
 
+  // compact representation, used instead of 'components' as long as 'values' is not null
+  private EntitySchema schema;
+  private Object[] values;
+  private long[] longs;
+  private double[] doubles;
+
   // constructors ----------------------------------------------------------------------------------------------------
 
   public Entity(String name, DescriptorProvider descriptorProvider) {
@@ -75,9 +89,21 @@ public Entity(ComplexTypeDescriptor descriptor, Object... componentKeyValuePairs
     }
   }
 
+  /** Creates a compact entity with the slot layout of the given schema. */
+  public Entity(EntitySchema schema) {
+    this.descriptor = schema.getDescriptor();
+    this.schema = schema;
+    this.values = new Object[schema.size()];
+    Arrays.fill(this.values, UNSET);
+  }
+
   public Entity(Entity prototype) {
     this.descriptor = prototype.descriptor;
-    copyComponentsFrom(prototype);
+    if (prototype.values != null) {
+      copySlotsFrom(prototype);
+    } else {
+      copyComponentsFrom(prototype);
+    }
   }
 
   // interface -------------------------------------------------------------------------------------------------------
@@ -100,19 +126,31 @@ public Object get(String componentName) {
 
   @Override
   public Object getComponent(String componentName) {
+    if (values != null) {
+      int slot = schema.slotOf(componentName);
+      return (slot >= 0 ? valueAt(slot) : null);
+    }
     return components.get(componentName);
   }
 
   public boolean componentIsSet(String componentName) {
+    if (values != null) {
+      int slot = schema.slotOf(componentName);
+      return (slot >= 0 && values[slot] != UNSET);
+    }
     return components.containsKey(componentName);
   }
 
   @Override
   public OrderedNameMap<Object> getComponents() {
+    if (values != null) {
+      inflate();
+    }
     return components;
   }
 
   public void setComponents(OrderedNameMap<Object> components) {
+    clearSlots();
     this.components = components;
   }
 
@@ -122,24 +160,23 @@ public void set(String componentName, Object component) {
 
   @Override
   public void setComponent(String componentName, Object component) {
+    if (values != null) {
+      int slot = schema.slotOf(componentName);
+      if (slot >= 0) {
+        values[slot] = schema.convert(slot, component);
+        return;
+      }
+      inflate();
+    }
     if (descriptor != null) {
-      ComponentDescriptor componentDescriptor = descriptor.getComponent(componentName);
-      String internalComponentName = componentName;
-      if (componentDescriptor != null && componentDescriptor.getTypeDescriptor() instanceof SimpleTypeDescriptor) {
-        SimpleTypeDescriptor componentType = (SimpleTypeDescriptor) componentDescriptor.getTypeDescriptor();
-        PrimitiveType primitiveType = componentType.getPrimitiveType();
-        if (primitiveType == null) {
-          primitiveType = PrimitiveType.STRING;
-        }
-        BeanDescriptorProvider beanProvider = descriptor.getDataModel().getBeanDescriptorProvider();
-        Class<?> javaType = beanProvider.concreteType(primitiveType.getName());
-        component = AnyConverter.convert(component, javaType);
-        internalComponentName = componentDescriptor.getName();
+      EntitySchema typeSchema = descriptor.getSchema();
+      int slot = typeSchema.slotOf(componentName);
+      if (slot >= 0) {
+        components.put(typeSchema.internalNameOf(slot, componentName), typeSchema.convert(slot, component));
+        return;
       }
-      components.put(internalComponentName, component);
-    } else {
-      components.put(componentName, component);
     }
+    components.put(componentName, component);
   }
 
   public void remove(String componentName) {
@@ -147,7 +184,101 @@ public void remove(String componentName) {
   }
 
   public void removeComponent(String componentName) {
-    components.remove(componentName);
+    if (values != null) {
+      int slot = schema.slotOf(componentName);
+      if (slot >= 0) {
+        values[slot] = UNSET;
+      }
+    } else {
+      components.remove(componentName);
+    }
+  }
+
+  // slot access -----------------------------------------------------------------------------------------------------
+
+  /** Tells if the entity stores its components in slots. */
+  public boolean isCompact() {
+    return (values != null);
+  }
+
+  /** Returns the schema whose slots can be used for accessing this entity's components:
+   *  For compact entities the one they were created with, for all others the current one of their type.
+   *  @return the schema or null, if the entity has no descriptor. */
+  public EntitySchema getSchema() {
+    if (values != null) {
+      return schema;
+    }
+    return (descriptor != null ? descriptor.getSchema() : null);
+  }
+
+  /** Returns the value of the component in the given slot of {@link #getSchema()}. */
+  public Object getSlotValue(int slot) {
+    if (values != null) {
+      return valueAt(slot);
+    }
+    return components.get(descriptor.getSchema().nameOf(slot));
+  }
+
+  /** Sets the value of the component in the given slot of {@link #getSchema()}, converting it to the component type. */
+  public void setSlotValue(int slot, Object value) {
+    if (values != null) {
+      values[slot] = schema.convert(slot, value);
+    } else {
+      EntitySchema typeSchema = descriptor.getSchema();
+      components.put(typeSchema.nameOf(slot), typeSchema.convert(slot, value));
+    }
+  }
+
+  /** Tells if the given slot holds a value in a primitive side array, which can be read without boxing
+   *  by {@link #getLong(int)} or {@link #getDouble(int)}. */
+  public boolean isPrimitive(int slot) {
+    return (values != null && (values[slot] == LONG_VALUE || values[slot] == DOUBLE_VALUE));
+  }
+
+  /** Sets the value of an integral component. Compact entities store it without boxing. */
+  public void setLong(int slot, long value) {
+    if (values != null && schema.isIntegral(slot)) {
+      if (longs == null) {
+        longs = new long[values.length];
+      }
+      longs[slot] = value;
+      values[slot] = LONG_VALUE;
+    } else {
+      setSlotValue(slot, value);
+    }
+  }
+
+  /** Sets the value of a floating point component. Compact entities store it without boxing. */
+  public void setDouble(int slot, double value) {
+    if (values != null && schema.isFloatingPoint(slot)) {
+      if (doubles == null) {
+        doubles = new double[values.length];
+      }
+      doubles[slot] = value;
+      values[slot] = DOUBLE_VALUE;
+    } else {
+      setSlotValue(slot, value);
+    }
+  }
+
+  /** Returns the value of a numeric component as long. The slot must not be empty. */
+  public long getLong(int slot) {
+    if (values != null && values[slot] == LONG_VALUE) {
+      return longs[slot];
+    }
+    return ((Number) getSlotValue(slot)).longValue();
+  }
+
+  /** Returns the value of a numeric component as double. The slot must not be empty. */
+  public double getDouble(int slot) {
+    if (values != null) {
+      if (values[slot] == DOUBLE_VALUE) {
+        return doubles[slot];
+      } else if (values[slot] == LONG_VALUE) {
+        return longs[slot];
+      }
+    }
+    return ((Number) getSlotValue(slot)).doubleValue();
   }
 
   public Object idComponentValues() {
@@ -175,6 +306,69 @@ public Object componentValues(String[] idComponentNames) {
 
   // private helpers -------------------------------------------------------------------------------------------------
 
+  private Object valueAt(int slot) {
+    Object value = values[slot];
+    if (value == UNSET) {
+      return null;
+    } else if (value == LONG_VALUE) {
+      return schema.boxLong(slot, longs[slot]);
+    } else if (value == DOUBLE_VALUE) {
+      return schema.boxDouble(slot, doubles[slot]);
+    } else {
+      return value;
+    }
+  }
+
+  private int componentCount() {
+    if (values == null) {
+      return components.size();
+    }
+    int count = 0;
+    for (Object value : values) {
+      if (value != UNSET) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Creates a map of the slot values in the order of the schema. */
+  private OrderedNameMap<Object> slotMap() {
+    OrderedNameMap<Object> result = BeneratorFactory.getInstance().createComponentMap();
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != UNSET) {
+        result.put(schema.nameOf(slot), valueAt(slot));
+      }
+    }
+    return result;
+  }
+
+  /** Switches from the compact to the map representation. */
+  private void inflate() {
+    this.components = slotMap();
+    clearSlots();
+  }
+
+  private void clearSlots() {
+    this.schema = null;
+    this.values = null;
+    this.longs = null;
+    this.doubles = null;
+  }
+
+  private void copySlotsFrom(Entity prototype) {
+    this.schema = prototype.schema;
+    this.values = prototype.values.clone();
+    for (int slot = 0; slot < values.length; slot++) {
+      Object value = values[slot];
+      if (value != UNSET && value != LONG_VALUE && value != DOUBLE_VALUE) {
+        values[slot] = copyOrSelf(value);
+      }
+    }
+    this.longs = (prototype.longs != null ? prototype.longs.clone() : null);
+    this.doubles = (prototype.doubles != null ? prototype.doubles.clone() : null);
+  }
+
   private void copyComponentsFrom(Entity prototype) {
     this.components = new OrderedNameMap<>(prototype.components);
     for (Map.Entry<String, Object> component : this.components.entrySet()) {
@@ -229,10 +423,19 @@ public boolean equalsIgnoringDescriptor(Entity that) {
     if (that == null) {
       return false;
     }
-    if (this.getComponents().size() != that.getComponents().size()) {
+    if (this.componentCount() != that.componentCount()) {
       return false;
     }
-    for (Map.Entry<String, Object> entry : this.getComponents().entrySet()) {
+    if (this.values != null) {
+      for (int slot = 0; slot < values.length; slot++) {
+        if (values[slot] != UNSET
+            && !equalIgnoringDescriptor(valueAt(slot), that.getComponent(schema.nameOf(slot)))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    for (Map.Entry<String, Object> entry : this.components.entrySet()) {
       Object thisValue = entry.getValue();
       Object thatValue = that.getComponent(entry.getKey());
       if (!equalIgnoringDescriptor(thisValue, thatValue))
@@ -299,8 +502,20 @@ private static boolean equalDescriptors(Entity e1, Entity e2) {
 
   @Override
   public int hashCode() {
-    int typeHash = (descriptor != null ? descriptor.getName().hashCode() : 0);
-    return typeHash * 29 + components.hashCode();
+    int result = (descriptor != null ? descriptor.getName().hashCode() : 0) * 29;
+    // summing up the values' hash codes yields the same result for the compact and the map representation
+    if (values != null) {
+      for (int slot = 0; slot < values.length; slot++) {
+        if (values[slot] != UNSET) {
+          result += Objects.hashCode(valueAt(slot));
+        }
+      }
+    } else {
+      for (Object value : components.values()) {
+        result += Objects.hashCode(value);
+      }
+    }
+    return result;
   }
 
   @Override
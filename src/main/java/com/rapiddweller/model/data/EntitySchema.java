@@ -0,0 +1,183 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.model.data;
+
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.platform.java.BeanDescriptorProvider;
+import com.rapiddweller.script.PrimitiveType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Slot table of a {@link ComplexTypeDescriptor}: It assigns an array index to each component
+ * and resolves the Java type of simple-type components once per type instead of once per value.
+ * Compact {@link Entity} instances store their component values in arrays indexed by these slots,
+ * consumers may use {@link #slotOf(String)} once per type and then access the values by index.
+ * Integral and floating point components are marked for storage in primitive side arrays.
+ * Use {@link ComplexTypeDescriptor#getSchema()} to get the current schema of a type.<br/><br/>
+ * Created: 27.03.2023 08:12:35
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class EntitySchema {
+
+  public static final byte OBJECT = 0;
+  public static final byte INTEGRAL = 1;
+  public static final byte FLOATING_POINT = 2;
+
+  private final ComplexTypeDescriptor descriptor;
+  private final String[] names;
+  private final String[] internalNames;
+  private final Class<?>[] javaTypes;
+  private final byte[] kinds;
+  private final Map<String, Integer> exactSlots;
+  private final Map<String, Integer> slots;
+  private final boolean primitiveSlots;
+  private final long modificationCount;
+
+  /** @param modificationCount the descriptors' modification count before creation of this schema */
+  EntitySchema(ComplexTypeDescriptor descriptor, long modificationCount) {
+    this.descriptor = descriptor;
+    this.modificationCount = modificationCount;
+    List<ComponentDescriptor> components = descriptor.getComponents();
+    int size = components.size();
+    this.names = new String[size];
+    this.internalNames = new String[size];
+    this.javaTypes = new Class<?>[size];
+    this.kinds = new byte[size];
+    this.exactSlots = new HashMap<>(size * 2);
+    this.slots = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    BeanDescriptorProvider beanProvider = descriptor.getDataModel().getBeanDescriptorProvider();
+    boolean primitives = false;
+    for (int slot = 0; slot < size; slot++) {
+      ComponentDescriptor component = components.get(slot);
+      String name = component.getName();
+      names[slot] = name;
+      exactSlots.put(name, slot);
+      slots.put(name, slot);
+      if (component.getTypeDescriptor() instanceof SimpleTypeDescriptor) {
+        PrimitiveType primitiveType = ((SimpleTypeDescriptor) component.getTypeDescriptor()).getPrimitiveType();
+        if (primitiveType == null) {
+          primitiveType = PrimitiveType.STRING;
+        }
+        internalNames[slot] = name;
+        javaTypes[slot] = beanProvider.concreteType(primitiveType.getName());
+        kinds[slot] = kindOf(javaTypes[slot]);
+        primitives |= (kinds[slot] != OBJECT);
+      }
+    }
+    this.primitiveSlots = primitives;
+  }
+
+  public ComplexTypeDescriptor getDescriptor() {
+    return descriptor;
+  }
+
+  long getModificationCount() {
+    return modificationCount;
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  /** Returns the slot of the component with the given name (ignoring case) or -1 if there is none. */
+  public int slotOf(String componentName) {
+    Integer slot = exactSlots.get(componentName);
+    if (slot == null) {
+      slot = slots.get(componentName);
+    }
+    return (slot != null ? slot : -1);
+  }
+
+  /** Returns the slots of the given component names, -1 for each unknown name. */
+  public int[] slotsOf(String[] componentNames) {
+    int[] result = new int[componentNames.length];
+    for (int i = 0; i < componentNames.length; i++) {
+      result[i] = slotOf(componentNames[i]);
+    }
+    return result;
+  }
+
+  public String nameOf(int slot) {
+    return names[slot];
+  }
+
+  /** Returns the name under which a component is stored when it was set using the given name.
+   *  Simple-type components use the name of their descriptor, all others keep the given one. */
+  String internalNameOf(int slot, String componentName) {
+    String internalName = internalNames[slot];
+    return (internalName != null ? internalName : componentName);
+  }
+
+  /** Returns the Java type of a simple-type component or null for complex types. */
+  public Class<?> javaTypeOf(int slot) {
+    return javaTypes[slot];
+  }
+
+  /** Returns {@link #INTEGRAL}, {@link #FLOATING_POINT} or {@link #OBJECT}. */
+  public byte kindOf(int slot) {
+    return kinds[slot];
+  }
+
+  public boolean isIntegral(int slot) {
+    return kinds[slot] == INTEGRAL;
+  }
+
+  public boolean isFloatingPoint(int slot) {
+    return kinds[slot] == FLOATING_POINT;
+  }
+
+  boolean hasPrimitiveSlots() {
+    return primitiveSlots;
+  }
+
+  /** Converts a value to the Java type of a component. Values which already have the type are returned as they are. */
+  public Object convert(int slot, Object value) {
+    Class<?> javaType = javaTypes[slot];
+    if (javaType == null || value == null || javaType.isInstance(value)) {
+      return value;
+    }
+    return AnyConverter.convert(value, javaType);
+  }
+
+  /** Boxes a primitive value to the Java type of an integral component. */
+  Object boxLong(int slot, long value) {
+    Class<?> javaType = javaTypes[slot];
+    if (javaType == Integer.class) {
+      return (int) value;
+    } else if (javaType == Short.class) {
+      return (short) value;
+    } else if (javaType == Byte.class) {
+      return (byte) value;
+    } else {
+      return value;
+    }
+  }
+
+  /** Boxes a primitive value to the Java type of a floating point component. */
+  Object boxDouble(int slot, double value) {
+    return (javaTypes[slot] == Float.class ? (Object) (float) value : (Object) value);
+  }
+
+  @Override
+  public String toString() {
+    return descriptor.getName() + '[' + String.join(", ", names) + ']';
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static byte kindOf(Class<?> javaType) {
+    if (javaType == Long.class || javaType == Integer.class || javaType == Short.class || javaType == Byte.class) {
+      return INTEGRAL;
+    } else if (javaType == Double.class || javaType == Float.class) {
+      return FLOATING_POINT;
+    } else {
+      return OBJECT;
+    }
+  }
+
+}
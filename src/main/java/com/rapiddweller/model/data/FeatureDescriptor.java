@@ -38,6 +38,7 @@
 import com.rapiddweller.common.converter.ToStringConverter;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Common parent class of all descriptors.<br/><br/>
@@ -49,6 +50,9 @@ public class FeatureDescriptor implements Named {
 
   public static final String NAME = "name";
 
+  /** Counts the changes of all descriptors which may affect the {@link EntitySchema} of a type */
+  private static final AtomicLong structureModifications = new AtomicLong();
+
   protected OrderedNameMap<FeatureDetail<?>> details;
   protected DescriptorProvider provider;
   private String name;
@@ -93,6 +97,18 @@ public DataModel getDataModel() {
     return provider.getDataModel();
   }
 
+  // structure modification tracking -------------------------------------------------------------------------------
+
+  /** Reports a change of a type hierarchy, a component list or a component type,
+   *  which makes {@link ComplexTypeDescriptor#getSchema()} create new schemas. */
+  protected static void structureModified() {
+    structureModifications.incrementAndGet();
+  }
+
+  static long structureModificationCount() {
+    return structureModifications.get();
+  }
+
   // generic detail access -------------------------------------------------------------------------------------------
 
   public boolean supportsDetail(String name) {
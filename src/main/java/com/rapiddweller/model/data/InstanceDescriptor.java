@@ -103,6 +103,7 @@ protected InstanceDescriptor(String name, DescriptorProvider provider,
 
   public void setParent(InstanceDescriptor parent) {
     this.parent = parent;
+    structureModified();
   }
 
   @Override
@@ -140,6 +141,7 @@ public TypeDescriptor getLocalType() {
 
   public void setLocalType(TypeDescriptor localType) {
     this.localType = localType;
+    structureModified();
     if (localType != null) {
       setType(null);
     }
@@ -154,6 +156,7 @@ public TypeDescriptor getLocalType(boolean complexType) {
     } else {
       localType = new SimpleTypeDescriptor(getName(), provider, getType());
     }
+    structureModified();
     setType(null);
     return localType;
   }
@@ -290,6 +293,9 @@ public void setDetailValue(String detailName, Object detailValue) {
       }
     } else {
       super.setDetailValue(detailName, detailValue);
+      if (TYPE.equals(detailName)) {
+        structureModified();
+      }
     }
   }
 
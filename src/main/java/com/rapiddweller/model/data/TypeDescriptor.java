@@ -334,6 +334,7 @@ public String getParentName() {
 
   public void setParentName(String parentName) {
     this.parentName = parentName;
+    structureModified();
   }
 
   public TypeDescriptor getParent() {
@@ -356,6 +357,7 @@ public TypeDescriptor getParent() {
   public void setParent(TypeDescriptor parent) {
     this.parent = parent;
     this.parentName = (parent != null ? parent.getName() : null);
+    structureModified();
   }
 
   // construction helpers --------------------------------------------------------------------------------------------
@@ -29,25 +29,39 @@
 import com.rapiddweller.benerator.consumer.TextFileExporter;
 import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.benerator.util.FileChannelWriter;
 import com.rapiddweller.common.ArrayFormat;
 import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.BeanUtil;
 import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.common.StringUtil;
 import com.rapiddweller.format.csv.CSVUtil;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.ComponentDescriptor;
+import com.rapiddweller.model.data.ComponentSlots;
 import com.rapiddweller.model.data.Entity;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.List;
 
 /**
  * Exports Entities to a CSV file.
  * The default line separator is CR LF according to RFC 4180.
- * It can be set explicitly by <code>setLineSeparator()</code>.<br/><br/>
+ * It can be set explicitly by <code>setLineSeparator()</code>.
+ * In <code>fast</code> mode, cells are rendered directly into the buffer of a {@link FileChannelWriter}
+ * without creating intermediate Strings for numbers, booleans and unquoted texts.
+ * Column values are read by the slot indices of the entities' schema, see {@link ComponentSlots}.<br/><br/>
  * Created: 21.08.2007 21:16:59
  * @author Volker Bergmann
  */
@@ -67,10 +81,14 @@ public class CSVEntityExporter extends TextFileExporter {
   private boolean endWithNewLine;
   private char separator;
   private boolean quoteEmpty;
+  private boolean fast;
 
   // state attributes ------------------------------------------------------------------------------------------------
 
   private boolean lfRequired;
+  private FileChannelWriter fastWriter;
+  private boolean plainIntegrals;
+  private ComponentSlots columnSlots;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -124,6 +142,7 @@ public void setColumns(String[] columns) {
       this.columns = columns.clone();
       StringUtil.trimAll(this.columns);
     }
+    this.columnSlots = null;
   }
 
   public void setSeparator(char separator) {
@@ -154,6 +173,15 @@ public void setQuoteEmpty(boolean quoteEmpty) {
     this.quoteEmpty = quoteEmpty;
   }
 
+  public boolean isFast() {
+    return fast;
+  }
+
+  /** Activates the fast export mode which writes through a {@link FileChannelWriter}. */
+  public void setFast(boolean fast) {
+    this.fast = fast;
+  }
+
   // Callback methods for parent class functionality -----------------------------------------------------------------
 
   @Override
@@ -163,6 +191,14 @@ protected void startConsumingImpl(Object object) {
       throw BeneratorExceptionFactory.getInstance().illegalArgument("Expecting entity");
     }
     Entity entity = (Entity) object;
+    if (columnSlots == null) {
+      columnSlots = new ComponentSlots(columns);
+    }
+    int[] slots = columnSlots.slotsOf(entity);
+    if (fastWriter != null) {
+      writeFast(entity, slots);
+      return;
+    }
     if (lfRequired) {
       println();
     } else {
@@ -172,7 +208,7 @@ protected void startConsumingImpl(Object object) {
       if (i > 0) {
         printer.print(separator);
       }
-      Object value = entity.getComponent(columns[i]);
+      Object value = columnSlots.get(entity, slots, i);
       String out;
       if (value == null) {
         out = getNullString();
@@ -183,6 +219,26 @@ protected void startConsumingImpl(Object object) {
     }
   }
 
+  @Override
+  protected PrintWriter createPrinter() {
+    if (!fast) {
+      return super.createPrinter();
+    }
+    File file = fileOfUri(uri);
+    if (file == null) {
+      logger.warn("Fast mode only supports files, exporting '{}' in normal mode", uri);
+      return super.createPrinter();
+    }
+    try {
+      FileChannel channel = new FileOutputStream(file, append).getChannel();
+      fastWriter = new FileChannelWriter(channel, Charset.forName(encoding));
+      plainIntegrals = StringUtil.isEmpty(getIntegralPattern());
+      return new PrintWriter(fastWriter);
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().fileCreationFailed("Error creating file " + uri, e);
+    }
+  }
+
   @Override
   protected void postInitPrinter(Object object) {
     Entity entity = (Entity) object;
@@ -203,6 +259,62 @@ protected void preClosePrinter() {
 
   // private helpers -------------------------------------------------------------------------------------------------
 
+  private void writeFast(Entity entity, int[] slots) {
+    try {
+      if (lfRequired) {
+        fastWriter.write(lineSeparator);
+      } else {
+        lfRequired = true;
+      }
+      for (int i = 0; i < columns.length; i++) {
+        if (i > 0) {
+          fastWriter.write(separator);
+        }
+        int slot = (slots != null ? slots[i] : -1);
+        if (plainIntegrals && slot >= 0 && entity.isPrimitive(slot) && entity.getSchema().isIntegral(slot)) {
+          fastWriter.writeLong(entity.getLong(slot));
+        } else {
+          writeFastCell(columnSlots.get(entity, slots, i));
+        }
+      }
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().fileCreationFailed("Error writing file " + uri, e);
+    }
+  }
+
+  private void writeFastCell(Object value) throws IOException {
+    if (value == null) {
+      fastWriter.write(String.valueOf(getNullString())); // like PrintWriter.print()
+    } else if (value instanceof String) {
+      writeFastText((String) value);
+    } else if (plainIntegrals && (value instanceof Integer || value instanceof Long
+        || value instanceof Short || value instanceof Byte)) {
+      fastWriter.writeLong(((Number) value).longValue());
+    } else if (value instanceof Boolean) {
+      fastWriter.write((Boolean) value ? "true" : "false");
+    } else {
+      writeFastText(plainConverter.convert(value));
+    }
+  }
+
+  private void writeFastText(String text) throws IOException {
+    fastWriter.write(CSVUtil.renderCell(text, separator, quoteEmpty));
+  }
+
+  /** Maps the uri to a file for the fast mode: A plain path or a 'file:' URI denotes a file. Other URIs
+   *  are left to {@link IOUtil#getPrinterForURI(String, String, boolean, String, boolean)} in normal mode.
+   *  @return the file of the uri, or null if the uri does not denote a file */
+  static File fileOfUri(String uri) {
+    if (!uri.startsWith("file:")) {
+      return (uri.indexOf(':') > 1 ? null : new File(uri)); // a one-letter scheme is a Windows drive
+    }
+    try {
+      return new File(new URI(uri));
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return new File(uri.substring("file:".length())); // a relative path like 'file:out/data.csv'
+    }
+  }
+
   private void printHeaderRow() {
     if (!wasAppended && !headless && columns != null) {
       for (int i = 0; i < columns.length; i++) {
@@ -39,11 +39,11 @@
 import com.rapiddweller.common.exception.ConnectFailedException;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.HF;
 import com.rapiddweller.common.ImportFailedException;
 import com.rapiddweller.common.LoggerEscalator;
 import com.rapiddweller.common.StringUtil;
 import com.rapiddweller.common.collection.OrderedNameMap;
-import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.common.version.VersionNumber;
 import com.rapiddweller.format.DataSource;
 import com.rapiddweller.format.script.ScriptSpec;
@@ -114,6 +114,7 @@
 public abstract class AbstractDBSystem extends AbstractStorageSystem implements ConnectionProvider {
 
   private static final int DEFAULT_FETCH_SIZE = 100;
+  private static final int DEFAULT_BULK_SIZE = 1000;
   private static final VersionNumber MIN_ORACLE_VERSION = VersionNumber.valueOf("10" + ".2.0.4");
       // little trick to satisfy SonarCube which thinks this is an IP address
   private static final TypeDescriptor[] EMPTY_TYPE_DESCRIPTOR_ARRAY = new TypeDescriptor[0];
@@ -126,6 +127,8 @@ public abstract class AbstractDBSystem extends AbstractStorageSystem implements
   private final TypeMapper driverTypeMapper;
   private final AtomicInteger invalidationCount;
   protected boolean batch;
+  protected int batchSize;
+  protected InsertMode insertMode;
   protected boolean readOnly;
   protected volatile Database database;
   protected DBMetaDataImporter importer;
@@ -150,6 +153,15 @@ public abstract class AbstractDBSystem extends AbstractStorageSystem implements
   private OrderedNameMap<TypeDescriptor> typeDescriptors;
   protected boolean dynamicQuerySupported;
   private boolean connectedBefore;
+  private InsertMode effectiveInsertMode;
+  private int pendingBatchRows;
+  private String pendingWriteTable;
+  private int pendingWriteCount;
+  private final Map<ComplexTypeDescriptor, BulkInsertBuffer> bulkInsertBuffers;
+  private final Map<String, TableWriteStats> tableWriteStats;
+  private final Map<ComplexTypeDescriptor, WritePlan> insertPlans;
+  private final Map<ComplexTypeDescriptor, WritePlan> updatePlans;
+  private List<String> specialDataTypes;
 
   protected AbstractDBSystem(String id, String url, String driver, String user, String password, DataModel dataModel) {
     this(id, dataModel);
@@ -194,6 +206,8 @@ private AbstractDBSystem(String id, DataModel dataModel) {
     setFetchSize(DEFAULT_FETCH_SIZE);
     setMetaCache(false);
     setBatch(false);
+    setBatchSize(0);
+    setInsertMode(InsertMode.STATEMENT);
     setReadOnly(false);
     setLazy(true);
     setDynamicQuerySupported(true);
@@ -201,6 +215,11 @@ private AbstractDBSystem(String id, DataModel dataModel) {
     this.driverTypeMapper = driverTypeMapper();
     this.connectedBefore = false;
     this.invalidationCount = new AtomicInteger();
+    this.pendingBatchRows = 0;
+    this.bulkInsertBuffers = new LinkedHashMap<>();
+    this.tableWriteStats = OrderedNameMap.createCaseIgnorantMap();
+    this.insertPlans = new IdentityHashMap<>();
+    this.updatePlans = new IdentityHashMap<>();
   }
 
 
@@ -358,6 +377,25 @@ public void setBatch(boolean batch) {
     this.batch = batch;
   }
 
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /** Sets the maximum number of rows to collect in a JDBC batch or bulk insert before they are sent to the database.
+   *  With batch mode and a value of 0, a batch is only executed when a page is finished. */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public InsertMode getInsertMode() {
+    return insertMode;
+  }
+
+  public void setInsertMode(InsertMode insertMode) {
+    this.insertMode = (insertMode != null ? insertMode : InsertMode.STATEMENT);
+    this.effectiveInsertMode = null;
+  }
+
   public int getFetchSize() {
     return fetchSize;
   }
@@ -391,6 +429,7 @@ public void setDynamicQuerySupported(boolean dynamicQuerySupported) {
 
   public void setAcceptUnknownColumnTypes(boolean acceptUnknownColumnTypes) {
     this.acceptUnknownColumnTypes = acceptUnknownColumnTypes;
+    clearWritePlans();
   }
 
   // StorageSystem interface -----------------------------------------------------------------------------------------
@@ -435,6 +474,7 @@ public void update(Entity entity) {
 
   @Override
   public void close() {
+    closeWriters();
     IOUtil.close(importer);
   }
 
@@ -565,6 +605,8 @@ public void invalidate() {
     database = null;
     typeDescriptors = null;
     tables = null;
+    specialDataTypes = null;
+    clearWritePlans();
     if (importer instanceof CachingDBImporter) {
       ((CachingDBImporter) importer).invalidate();
     } else {
@@ -689,20 +731,23 @@ protected abstract PreparedStatement getStatement(
 
   private void persistOrUpdate(Entity entity, boolean insert) {
     fetchMetadataIfNecessary();
-    List<ColumnInfo> writeColumnInfos = getWriteColumnInfos(entity, insert);
+    WritePlan plan = getWritePlan(entity, insert);
+    if (insert && getEffectiveInsertMode() != InsertMode.STATEMENT) {
+      bufferInsert(entity, plan);
+      return;
+    }
+    // rows to be updated may still reside in bulk insert buffers
+    flushBulkInserts();
     try {
       String tableName = entity.type();
-      PreparedStatement statement = getStatement(entity.descriptor(), insert, writeColumnInfos);
-      for (int i = 0; i < writeColumnInfos.size(); i++) {
-        ColumnInfo info = writeColumnInfos.get(i);
-        Object jdbcValue = entity.getComponent(info.name);
-        if (info.type != null) {
-          jdbcValue = AnyConverter.convert(jdbcValue, info.type);
-        }
-        handleOracleType(tableName, statement, i, info, jdbcValue);
-      }
+      PreparedStatement statement = getStatement(entity.descriptor(), insert, plan.getColumnInfos());
+      plan.apply(entity, statement);
       if (batch) {
         statement.addBatch();
+        if (batchSize > 0 && ++pendingBatchRows >= batchSize) {
+          pendingBatchRows = 0;
+          executeBatches();
+        }
       } else {
         int rowCount = statement.executeUpdate();
         if (rowCount == 0) {
@@ -710,26 +755,163 @@ private void persistOrUpdate(Entity entity, boolean insert) {
               "Update failed because, since there is no database entry with the PK of " + entity);
         }
       }
+      countStatementWrite(tableName);
     } catch (Exception e) {
       throw BeneratorExceptionFactory.getInstance().serviceFailed("Error in persisting " + entity, e);
     }
   }
 
-  private void handleOracleType(String tableName, PreparedStatement statement, int i, ColumnInfo info, Object jdbcValue) {
-    try {
-      boolean criticalOracleType =
-          (dialect instanceof OracleDialect && (info.sqlType == Types.NCLOB || info.sqlType == Types.OTHER));
-      if (jdbcValue != null || criticalOracleType) { // Oracle is not able to perform setNull() on NCLOBs and NVARCHAR2
-        statement.setObject(i + 1, jdbcValue);
-      } else {
-        statement.setNull(i + 1, info.sqlType);
+  /** Provides the {@link WritePlan} for an entity, creating it on the first call for the entity's descriptor.
+   *  Plans are mapped by descriptor identity, since the descriptor's equals() and hashCode() only compare
+   *  its details and would let two &lt;generate&gt;s with different component modes share a plan. */
+  protected WritePlan getWritePlan(Entity entity, boolean insert) {
+    if (acceptUnknownColumnTypes) {
+      // the JDBC type of unknown column types is derived from the entity, so the plan cannot be reused
+      return createWritePlan(entity, insert);
+    }
+    Map<ComplexTypeDescriptor, WritePlan> plans = (insert ? insertPlans : updatePlans);
+    ComplexTypeDescriptor descriptor = entity.descriptor();
+    WritePlan plan = plans.get(descriptor);
+    if (plan == null) {
+      plan = createWritePlan(entity, insert);
+      plans.put(descriptor, plan);
+    }
+    return plan;
+  }
+
+  private WritePlan createWritePlan(Entity entity, boolean insert) {
+    return new WritePlan(entity.type(), getWriteColumnInfos(entity, insert), getDialect() instanceof OracleDialect);
+  }
+
+  private void clearWritePlans() {
+    insertPlans.clear();
+    updatePlans.clear();
+  }
+
+  /** Executes the pending JDBC batches of all statements without committing them.
+   *  Child classes which manage their own statements are supposed to override this;
+   *  the default implementation performs a {@link #flush()}. */
+  protected void executeBatches() {
+    flush();
+  }
+
+  /** Sends all rows of the bulk insert buffers to the database and resets the batch row counter.
+   *  This is supposed to be called by child classes before executing batches and committing. */
+  protected void flushPendingWrites() {
+    flushBulkInserts();
+    pendingBatchRows = 0;
+    flushStatementWriteCount();
+  }
+
+  /** Flushes pending writes, releases the bulk insert buffers and logs the write performance of each table. */
+  protected void closeWriters() {
+    if (!bulkInsertBuffers.isEmpty()) {
+      flushBulkInserts();
+      for (BulkInsertBuffer buffer : bulkInsertBuffers.values()) {
+        buffer.close();
       }
-    } catch (SQLException e) {
-      throw BeneratorExceptionFactory.getInstance().illegalArgument(
-          "error setting column " + tableName + '.' + info.name, e);
+      bulkInsertBuffers.clear();
+    }
+    flushStatementWriteCount();
+    for (TableWriteStats stats : tableWriteStats.values()) {
+      logger.info("{}", stats);
     }
+    tableWriteStats.clear();
   }
 
+  // bulk inserts ----------------------------------------------------------------------------------------------------
+
+  private InsertMode getEffectiveInsertMode() {
+    if (effectiveInsertMode == null) {
+      InsertMode mode = insertMode;
+      if (mode == InsertMode.COPY && !isPostgres()) {
+        logger.warn("Insert mode '{}' is only supported for PostgreSQL, using '{}' for database '{}'",
+            InsertMode.COPY, InsertMode.MULTI_ROW, id);
+        mode = InsertMode.MULTI_ROW;
+      }
+      if (mode == InsertMode.MULTI_ROW && !MultiRowInsertBuffer.isSupported(getDialect())) {
+        logger.warn("Insert mode '{}' is not supported for {}, using '{}' for database '{}'",
+            InsertMode.MULTI_ROW, getDbType(), InsertMode.STATEMENT, id);
+        mode = InsertMode.STATEMENT;
+      }
+      effectiveInsertMode = mode;
+    }
+    return effectiveInsertMode;
+  }
+
+  private void bufferInsert(Entity entity, WritePlan plan) {
+    List<ColumnInfo> writeColumnInfos = plan.getColumnInfos();
+    ComplexTypeDescriptor descriptor = entity.descriptor();
+    BulkInsertBuffer buffer = bulkInsertBuffers.get(descriptor);
+    if (buffer != null && !buffer.matches(writeColumnInfos)) {
+      // the set of columns has changed, so the buffered rows need to be written with the old column set
+      flushBulkInserts();
+      buffer.close();
+      buffer = null;
+    }
+    if (buffer == null) {
+      buffer = createBulkInsertBuffer(entity.type(), writeColumnInfos);
+      bulkInsertBuffers.put(descriptor, buffer);
+      tableWriteStats.computeIfAbsent(entity.type(), TableWriteStats::new); // start time measurement
+    }
+    buffer.add(plan.jdbcValues(entity));
+    if (buffer.isFull()) {
+      // flush all buffers in the order of their creation, so that referenced rows are inserted before their referrers
+      flushBulkInserts();
+    }
+  }
+
+  private BulkInsertBuffer createBulkInsertBuffer(String tableName, List<ColumnInfo> writeColumnInfos) {
+    DBTable table = getTable(tableName);
+    int capacity = (batchSize > 0 ? batchSize : DEFAULT_BULK_SIZE);
+    if (getEffectiveInsertMode() == InsertMode.COPY) {
+      String tableSpec = createCatSchTabString(catalogName, schemaName, table.getName(), getDialect());
+      return new PostgresCopyBuffer(table, tableSpec, writeColumnInfos, capacity);
+    } else {
+      return new MultiRowInsertBuffer(table, writeColumnInfos, capacity, getDialect());
+    }
+  }
+
+  private void flushBulkInserts() {
+    for (BulkInsertBuffer buffer : bulkInsertBuffers.values()) {
+      try {
+        int rowCount = buffer.flush(getConnection());
+        if (rowCount > 0) {
+          countWrites(buffer.getTable().getName(), rowCount);
+          logger.debug("Inserted {} rows into {}", rowCount, buffer.getTable().getName());
+        }
+      } catch (SQLException e) {
+        throw BeneratorExceptionFactory.getInstance().serviceFailed(
+            "Error in bulk insert into " + buffer.getTable().getName(), e);
+      }
+    }
+  }
+
+  private boolean isPostgres() {
+    String dbProductName = getDbMetaData().getDatabaseProductName();
+    return (dbProductName != null && dbProductName.toLowerCase().contains("postgresql"));
+  }
+
+  /** Counts a row written by a single statement. Successive rows of the same table are summed up locally
+   *  and added to the table's {@link TableWriteStats} only on a change of table or a flush. */
+  private void countStatementWrite(String tableName) {
+    if (!tableName.equals(pendingWriteTable)) {
+      flushStatementWriteCount();
+      pendingWriteTable = tableName;
+    }
+    pendingWriteCount++;
+  }
+
+  private void flushStatementWriteCount() {
+    if (pendingWriteCount > 0) {
+      countWrites(pendingWriteTable, pendingWriteCount);
+      pendingWriteCount = 0;
+    }
+  }
+
+  private void countWrites(String tableName, int rowCount) {
+    tableWriteStats.computeIfAbsent(tableName, TableWriteStats::new).count(rowCount);
+  }
 
   // meta data handling ----------------------------------------------------------------------------------------------
 
@@ -950,6 +1132,13 @@ private boolean ignoreColumn(ComponentDescriptor colDescriptor, ComplexTypeDescr
 
   // get special data type of data system, using later to handle special cases
   private List<String> getSpecialDataTypes() {
+    if (specialDataTypes == null) {
+      specialDataTypes = fetchSpecialDataTypes();
+    }
+    return specialDataTypes;
+  }
+
+  private List<String> fetchSpecialDataTypes() {
     String dbProductName = getDbMetaData().getDatabaseProductName();
 
     List<String> specialTypes = new ArrayList<>();
@@ -1004,13 +1193,7 @@ private ColumnInfo getWriteColumnInfo(Entity entity, ComplexTypeDescriptor entit
     Class<?> typeToWrite;
     int sqlType = columnType.getJdbcType();
 
-    String dbProductName = getDbMetaData().getDatabaseProductName();
-
-    // check is postgresql db
-    boolean isPostgres = false;
-    if (dbProductName!=null && dbProductName.toLowerCase().contains("postgresql")) {
-      isPostgres = true;
-    }
+    boolean isPostgres = isPostgres();
 
     if (isPostgres && "UUID".equals(columnType.getName())) { // Special treatment for Postgres UUID types
       typeToWrite = UUID.class;
@@ -1140,4 +1323,38 @@ private DBTable findTableInConfiguredCatalogAndSchema(String schemaName, String
 
   public abstract void commit();
 
+  // TableWriteStats class -------------------------------------------------------------------------------------------
+
+  /** Tracks the number of rows written to a table and the time span in which they were written. */
+  static class TableWriteStats {
+
+    private final String tableName;
+    private long rowCount;
+    private long startNanos;
+    private long latestNanos;
+
+    TableWriteStats(String tableName) {
+      this.tableName = tableName;
+      this.rowCount = 0;
+      this.startNanos = System.nanoTime();
+      this.latestNanos = startNanos;
+    }
+
+    void count(int rows) {
+      this.rowCount += rows;
+      this.latestNanos = System.nanoTime();
+    }
+
+    long getRowsPerSecond() {
+      long dt = latestNanos - startNanos;
+      return (dt > 0 ? (long) (rowCount * 1000000000.0 / dt) : rowCount);
+    }
+
+    @Override
+    public String toString() {
+      return "Wrote " + HF.pluralize(rowCount, "row") + " to table " + tableName
+          + " (" + HF.format(getRowsPerSecond()) + " rows/s)";
+    }
+  }
+
 }
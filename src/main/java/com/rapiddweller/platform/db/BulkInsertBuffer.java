@@ -0,0 +1,87 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.jdbacl.ColumnInfo;
+import com.rapiddweller.jdbacl.model.DBTable;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the JDBC values of rows to be inserted into a database table
+ * and writes them in bulk when {@link #flush(Connection)} is called.<br/><br/>
+ * Created: 19.03.2023 11:10:48
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public abstract class BulkInsertBuffer implements Closeable {
+
+  protected final DBTable table;
+  protected final List<ColumnInfo> columnInfos;
+  protected final int capacity;
+  private final List<Object[]> rows;
+
+  protected BulkInsertBuffer(DBTable table, List<ColumnInfo> columnInfos, int capacity) {
+    this.table = table;
+    this.columnInfos = columnInfos;
+    this.capacity = Math.max(1, capacity);
+    this.rows = new ArrayList<>(this.capacity);
+  }
+
+  public DBTable getTable() {
+    return table;
+  }
+
+  /** Tells if the buffer writes the same columns in the same order as specified. */
+  public boolean matches(List<ColumnInfo> otherColumnInfos) {
+    if (otherColumnInfos.size() != columnInfos.size()) {
+      return false;
+    }
+    for (int i = 0; i < columnInfos.size(); i++) {
+      if (!columnInfos.get(i).name.equals(otherColumnInfos.get(i).name)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void add(Object[] row) {
+    rows.add(row);
+  }
+
+  public int size() {
+    return rows.size();
+  }
+
+  public boolean isFull() {
+    return (rows.size() >= capacity);
+  }
+
+  /** Writes all buffered rows to the database.
+   *  @return the number of rows written */
+  public int flush(Connection connection) throws SQLException {
+    int count = rows.size();
+    if (count > 0) {
+      write(rows, connection);
+      rows.clear();
+    }
+    return count;
+  }
+
+  protected abstract void write(List<Object[]> rows, Connection connection) throws SQLException;
+
+  @Override
+  public void close() {
+    rows.clear();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + table.getName() + ", " + rows.size() + " rows]";
+  }
+
+}
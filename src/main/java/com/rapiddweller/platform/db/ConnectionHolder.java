@@ -85,6 +85,27 @@ public void commit() {
     }
   }
 
+  /** Executes the pending batches of all statements without closing the statements or committing. */
+  public void executeBatches() {
+    if (!db.isBatch()) {
+      return;
+    }
+    try {
+      executeBatches(insertStatements);
+      executeBatches(updateStatements);
+    } catch (SQLException e) {
+      throw BeneratorExceptionFactory.getInstance().operationFailed("Executing batch failed", e);
+    }
+  }
+
+  private static void executeBatches(Map<ComplexTypeDescriptor, PreparedStatement> statements) throws SQLException {
+    for (PreparedStatement statement : statements.values()) {
+      if (statement != null) {
+        statement.executeBatch();
+      }
+    }
+  }
+
   private void flushStatements(Map<ComplexTypeDescriptor, PreparedStatement> statements) throws SQLException {
     for (Map.Entry<ComplexTypeDescriptor, PreparedStatement> entry : statements.entrySet()) {
       PreparedStatement statement = entry.getValue();
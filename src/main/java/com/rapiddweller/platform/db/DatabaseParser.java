@@ -47,6 +47,7 @@
 import com.rapiddweller.common.parser.FullyQualifiedClassNameParser;
 import com.rapiddweller.common.parser.NonNegativeIntegerParser;
 import com.rapiddweller.common.parser.StringParser;
+import com.rapiddweller.common.parser.ValuesParser;
 import com.rapiddweller.common.parser.AbstractTypedParser;
 import com.rapiddweller.format.xml.AttrInfo;
 import com.rapiddweller.format.xml.AttrInfoSupport;
@@ -57,6 +58,7 @@
 
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_ACC_UNK_COL_TYPES;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_BATCH;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_BATCH_SIZE;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_CATALOG;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_DRIVER;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_ENVIRONMENT;
@@ -64,6 +66,7 @@
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_FETCH_SIZE;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_ID;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_INCL_TABLES;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_INSERT_MODE;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_LAZY;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_META_CACHE;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_PASSWORD;
@@ -133,6 +136,15 @@ public class DatabaseParser extends AbstractBeneratorDescriptorParser {
       ATT_BATCH, false, BeneratorErrorIds.SYN_DB_BATCH,
       new ScriptableParser<>(new BooleanParser()), FALSE);
 
+  public static final AttrInfo<Expression<Integer>> BATCH_SIZE = new AttrInfo<>(
+      ATT_BATCH_SIZE, false, BeneratorErrorIds.SYN_DB_BATCH_SIZE,
+      new ScriptableParser<>(new NonNegativeIntegerParser()), "0");
+
+  public static final AttrInfo<Expression<String>> INSERT_MODE = new AttrInfo<>(
+      ATT_INSERT_MODE, false, BeneratorErrorIds.SYN_DB_INSERT_MODE,
+      new ScriptableParser<>(new ValuesParser("insert mode", InsertMode.STATEMENT.getName(),
+          InsertMode.MULTI_ROW.getName(), InsertMode.COPY.getName())), InsertMode.STATEMENT.getName());
+
   public static final AttrInfo<Expression<Integer>> FETCH_SIZE = new AttrInfo<>(
       ATT_FETCH_SIZE, false, BeneratorErrorIds.SYN_DB_FETCH_SIZE,
       new ScriptableParser<>(new NonNegativeIntegerParser()), "100");
@@ -151,7 +163,8 @@ public class DatabaseParser extends AbstractBeneratorDescriptorParser {
 
   private static final AttrInfoSupport ATTR_INFO = new AttrInfoSupport(BeneratorErrorIds.SYN_DB_ILLEGAL_ATTR,
       new DatabaseValidator(), ID, ENVIRONMENT, SYSTEM, URL, DRIVER, USER, PASSWORD, CATALOG, SCHEMA,
-      TABLE_FILTER, INCL_TABLES, EXCL_TABLES, META_CACHE, BATCH, FETCH_SIZE, READ_ONLY, LAZY, ACC_UNK_COL_TYPES);
+      TABLE_FILTER, INCL_TABLES, EXCL_TABLES, META_CACHE, BATCH, BATCH_SIZE, INSERT_MODE, FETCH_SIZE, READ_ONLY, LAZY,
+      ACC_UNK_COL_TYPES);
 
   public DatabaseParser() {
     super(EL_DATABASE, ATTR_INFO, BeneratorRootStatement.class, IfStatement.class);
@@ -181,10 +194,13 @@ public DefineDatabaseStatement doParse(
       Expression<Boolean> lazy = LAZY.parse(element);
       Expression<Boolean> acceptUnknownColumnTypes = new FallbackExpression<>(
           ACC_UNK_COL_TYPES.parse(element), new GlobalAcceptUnknownSimpleTypeExpression());
-      return createDatabaseStatement(id, environment, system, url, driver, user,
+      DefineDatabaseStatement statement = createDatabaseStatement(id, environment, system, url, driver, user,
           password, catalog, schema, tableFilter, includeTables,
           excludeTables, metaCache, batch, fetchSize, readOnly, lazy,
           acceptUnknownColumnTypes, context);
+      statement.setBatchSize(BATCH_SIZE.parse(element));
+      statement.setInsertMode(INSERT_MODE.parse(element));
+      return statement;
     } catch (ConversionException e) {
       throw ExceptionFactory.getInstance().configurationError("Error parsing <database>", e);
     }
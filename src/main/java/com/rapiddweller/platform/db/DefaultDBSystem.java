@@ -59,9 +59,17 @@ public DefaultDBSystem(String id, String url, String driver, String user,
 
   public void commit() {
     logger.debug("commit()");
+    flushPendingWrites();
     connectionHolder.commit();
   }
 
+  @Override
+  protected void executeBatches() {
+    logger.debug("executeBatches()");
+    flushPendingWrites();
+    connectionHolder.executeBatches();
+  }
+
   @Override
   public void flush() {
     logger.debug("flush()");
@@ -72,8 +80,8 @@ public void flush() {
   public void close() {
     logger.debug("close()");
     flush();
-    IOUtil.close(connectionHolder);
     super.close();
+    IOUtil.close(connectionHolder);
   }
 
   @Override
@@ -59,6 +59,8 @@ public class DefineDatabaseStatement implements Statement {
   private final Expression<String> includeTables;
   private final Expression<String> excludeTables;
   private final Expression<Boolean> batch;
+  private Expression<Integer> batchSize;
+  private Expression<String> insertMode;
   private final Expression<Integer> fetchSize;
   private final Expression<Boolean> readOnly;
   private final Expression<Boolean> lazy;
@@ -93,6 +95,16 @@ public DefineDatabaseStatement(Expression<String> id, Expression<String> environ
     this.lazy = lazy;
     this.acceptUnknownColumnTypes = acceptUnknownColumnTypes;
     this.resourceManager = resourceManager;
+    this.batchSize = null;
+    this.insertMode = null;
+  }
+
+  public void setBatchSize(Expression<Integer> batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public void setInsertMode(Expression<String> insertMode) {
+    this.insertMode = insertMode;
   }
 
   @Override
@@ -151,6 +163,14 @@ public boolean execute(BeneratorContext context) {
     db.setIncludeTables(ExpressionUtil.evaluate(includeTables, context));
     db.setExcludeTables(ExpressionUtil.evaluate(excludeTables, context));
     db.setBatch(ExpressionUtil.evaluate(batch, context));
+    Integer batchSizeValue = ExpressionUtil.evaluate(batchSize, context);
+    if (batchSizeValue != null) {
+      db.setBatchSize(batchSizeValue);
+    }
+    String insertModeValue = ExpressionUtil.evaluate(insertMode, context);
+    if (insertModeValue != null) {
+      db.setInsertMode(InsertMode.forName(insertModeValue));
+    }
     db.setFetchSize(ExpressionUtil.evaluate(fetchSize, context));
     db.setReadOnly(ExpressionUtil.evaluate(readOnly, context));
     Boolean isLazy = ExpressionUtil.evaluate(lazy, context);
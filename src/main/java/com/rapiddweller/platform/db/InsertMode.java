@@ -0,0 +1,51 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+
+/**
+ * Strategies for inserting rows into a database table.<br/><br/>
+ * Created: 19.03.2023 11:02:36
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public enum InsertMode {
+
+  /** One prepared INSERT statement execution per row, or a JDBC batch if the database is configured with batch="true" */
+  STATEMENT("statement"),
+
+  /** Rows are collected and inserted with INSERT ... VALUES (...), (...) statements, if supported by the database */
+  MULTI_ROW("multiRow"),
+
+  /** Rows are collected and streamed to the database with a COPY command. This is supported for PostgreSQL only */
+  COPY("copy");
+
+  private final String name;
+
+  InsertMode(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public static InsertMode forName(String name) {
+    if (name == null) {
+      return STATEMENT;
+    }
+    for (InsertMode mode : values()) {
+      if (mode.name.equalsIgnoreCase(name)) {
+        return mode;
+      }
+    }
+    throw BeneratorExceptionFactory.getInstance().illegalArgument("Unknown insert mode: '" + name + "'");
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+}
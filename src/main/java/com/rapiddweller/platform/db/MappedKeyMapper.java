@@ -0,0 +1,326 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.util.MappedLongLongMap;
+import com.rapiddweller.benerator.util.MappedStringStore;
+import com.rapiddweller.common.collection.OrderedNameMap;
+import com.rapiddweller.jdbacl.identity.IdentityModel;
+import com.rapiddweller.jdbacl.identity.IdentityProvider;
+import com.rapiddweller.jdbacl.identity.mem.MemKeyMapper;
+import com.rapiddweller.jdbacl.model.Database;
+
+import java.io.Closeable;
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link MemKeyMapper} variant for very large transcoding jobs, which keeps the
+ * source-to-target primary key mappings of integral keys in {@link MappedLongLongMap}s
+ * outside the Java heap. Natural keys are kept in a {@link MappedStringStore} and mapped
+ * by their 64-bit hash, so they are off-heap as well. Mappings with non-integral or
+ * composite keys are kept in heap-based fallback maps, as well as the rare natural keys
+ * whose hash collides with the one of another natural key of the same table.<br/><br/>
+ * Created: 18.03.2023 10:22:05
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MappedKeyMapper extends MemKeyMapper implements Closeable {
+
+  private static final long EXPECTED_TABLE_SIZE = 100000;
+
+  private final File directory;
+  private final Map<String, TableKeyMapping> tableMappings;
+  private final Map<String, TableKeyMapping> naturalKeyAddresses;
+  private final Map<String, NaturalKeyMapping> naturalKeyMappings;
+  private MappedStringStore naturalKeys;
+
+  public MappedKeyMapper(Connection source, String sourceDbId, Connection target, String targetDbId,
+                         IdentityProvider identityProvider, Database targetDbMetaData) {
+    this(source, sourceDbId, target, targetDbId, identityProvider, targetDbMetaData, null);
+  }
+
+  /** @param directory the directory in which to create the memory-mapped files, by default the system's temp directory */
+  public MappedKeyMapper(Connection source, String sourceDbId, Connection target, String targetDbId,
+                         IdentityProvider identityProvider, Database targetDbMetaData, File directory) {
+    super(source, sourceDbId, target, targetDbId, identityProvider, targetDbMetaData);
+    this.directory = directory;
+    this.tableMappings = OrderedNameMap.createCaseIgnorantMap();
+    this.naturalKeyAddresses = OrderedNameMap.createCaseIgnorantMap();
+    this.naturalKeyMappings = OrderedNameMap.createCaseIgnorantMap();
+    this.naturalKeys = null;
+  }
+
+  @Override
+  public void store(String sourceDbId, IdentityModel identity, String naturalKey, Object sourceId, Object targetId) {
+    if (naturalKey != null) {
+      long address = getNaturalKeyStore().add(naturalKey);
+      naturalKeyAddresses.computeIfAbsent(mappingKey(sourceDbId, identity), k -> new TableKeyMapping(directory))
+          .put(sourceId, address);
+      if (targetId != null) {
+        naturalKeyMappings.computeIfAbsent(identity.getTableName(), k -> new NaturalKeyMapping(directory, naturalKeys))
+            .put(naturalKey, address, targetId);
+      }
+    }
+    if (targetId != null) {
+      getOrCreateTableMapping(sourceDbId, identity).put(sourceId, targetId);
+    }
+  }
+
+  @Override
+  public String getNaturalKey(String sourceDbId, IdentityModel identity, Object sourceId) {
+    TableKeyMapping mapping = naturalKeyAddresses.get(mappingKey(sourceDbId, identity));
+    Object address = (mapping != null ? mapping.get(sourceId) : null);
+    if (address != null) {
+      return naturalKeys.get((Long) address);
+    }
+    return super.getNaturalKey(sourceDbId, identity, sourceId);
+  }
+
+  @Override
+  public Object getTargetPK(IdentityModel identity, String naturalKey) {
+    NaturalKeyMapping mapping = naturalKeyMappings.get(identity.getTableName());
+    Object result = (mapping != null ? mapping.get(naturalKey) : null);
+    if (result == null) {
+      result = super.getTargetPK(identity, naturalKey);
+    }
+    return result;
+  }
+
+  @Override
+  public Object getTargetPK(String sourceDbId, IdentityModel identity, Object sourceId) {
+    TableKeyMapping mapping = tableMappings.get(mappingKey(sourceDbId, identity));
+    Object result = (mapping != null ? mapping.get(sourceId) : null);
+    if (result == null) {
+      result = super.getTargetPK(sourceDbId, identity, sourceId);
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    for (TableKeyMapping mapping : tableMappings.values()) {
+      mapping.close();
+    }
+    tableMappings.clear();
+    for (TableKeyMapping mapping : naturalKeyAddresses.values()) {
+      mapping.close();
+    }
+    naturalKeyAddresses.clear();
+    for (NaturalKeyMapping mapping : naturalKeyMappings.values()) {
+      mapping.close();
+    }
+    naturalKeyMappings.clear();
+    if (naturalKeys != null) {
+      naturalKeys.close();
+      naturalKeys = null;
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private TableKeyMapping getOrCreateTableMapping(String sourceDbId, IdentityModel identity) {
+    return tableMappings.computeIfAbsent(mappingKey(sourceDbId, identity), k -> new TableKeyMapping(directory));
+  }
+
+  private MappedStringStore getNaturalKeyStore() {
+    if (naturalKeys == null) {
+      naturalKeys = new MappedStringStore(directory);
+    }
+    return naturalKeys;
+  }
+
+  private static String mappingKey(String sourceDbId, IdentityModel identity) {
+    return sourceDbId + '.' + identity.getTableName();
+  }
+
+  /** @return the key as long value if it is integral and fits into 64 bits, otherwise null */
+  static Long toLongKey(Object key) {
+    if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+      return ((Number) key).longValue();
+    } else if (key instanceof BigInteger) {
+      BigInteger bigInteger = (BigInteger) key;
+      return (bigInteger.bitLength() < 64 ? bigInteger.longValue() : null);
+    } else if (key instanceof BigDecimal) {
+      try {
+        return ((BigDecimal) key).longValueExact();
+      } catch (ArithmeticException e) {
+        return null;
+      }
+    } else {
+      return null;
+    }
+  }
+
+  /** FNV-1a hash of the string's characters with a final MurmurHash3 mix, for mapping natural keys by a long value */
+  static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      h ^= value.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  // TableKeyMapping class -------------------------------------------------------------------------------------------
+
+  /** Holds the key mappings of one table of one source database. */
+  static class TableKeyMapping implements Closeable {
+
+    private final File directory;
+    private MappedLongLongMap longMap;
+    private Class<?> longValueType;
+    private Map<Object, Object> fallbackMap;
+
+    TableKeyMapping(File directory) {
+      this.directory = directory;
+      this.longMap = null;
+      this.longValueType = null;
+      this.fallbackMap = null;
+    }
+
+    void put(Object sourceId, Object targetId) {
+      Long longKey = toLongKey(sourceId);
+      if (longKey != null && acceptsValue(targetId)) {
+        if (longMap == null) {
+          longMap = new MappedLongLongMap(directory, EXPECTED_TABLE_SIZE);
+          longValueType = targetId.getClass();
+        }
+        longMap.put(longKey, ((Number) targetId).longValue());
+      } else {
+        if (fallbackMap == null) {
+          fallbackMap = new HashMap<>();
+        }
+        fallbackMap.put(fallbackKey(sourceId), targetId);
+      }
+    }
+
+    Object get(Object sourceId) {
+      if (longMap != null) {
+        Long longKey = toLongKey(sourceId);
+        if (longKey != null && longMap.containsKey(longKey)) {
+          return toValueType(longMap.get(longKey, 0));
+        }
+      }
+      return (fallbackMap != null ? fallbackMap.get(fallbackKey(sourceId)) : null);
+    }
+
+    @Override
+    public void close() {
+      if (longMap != null) {
+        longMap.close();
+        longMap = null;
+      }
+      fallbackMap = null;
+    }
+
+    /** Accepts target ids which can be restored with their original type from a long value. */
+    private boolean acceptsValue(Object targetId) {
+      if (longValueType != null) {
+        return (targetId.getClass() == longValueType && (!(targetId instanceof BigDecimal) || isIntegralBigDecimal(targetId)));
+      }
+      return (targetId instanceof Long || targetId instanceof Integer || targetId instanceof Short
+          || targetId instanceof Byte || (targetId instanceof BigInteger && ((BigInteger) targetId).bitLength() < 64)
+          || isIntegralBigDecimal(targetId));
+    }
+
+    private static boolean isIntegralBigDecimal(Object value) {
+      if (!(value instanceof BigDecimal)) {
+        return false;
+      }
+      BigDecimal decimal = (BigDecimal) value;
+      return (decimal.scale() == 0 && decimal.unscaledValue().bitLength() < 64);
+    }
+
+    private Object toValueType(long value) {
+      if (longValueType == Long.class) {
+        return value;
+      } else if (longValueType == Integer.class) {
+        return (int) value;
+      } else if (longValueType == Short.class) {
+        return (short) value;
+      } else if (longValueType == Byte.class) {
+        return (byte) value;
+      } else if (longValueType == BigInteger.class) {
+        return BigInteger.valueOf(value);
+      } else {
+        return BigDecimal.valueOf(value);
+      }
+    }
+
+    /** Arrays (composite keys) do not provide value-based equals() and hashCode(), so they are wrapped in a List. */
+    private static Object fallbackKey(Object sourceId) {
+      return (sourceId instanceof Object[] ? Arrays.asList((Object[]) sourceId) : sourceId);
+    }
+
+  }
+
+  // NaturalKeyMapping class -----------------------------------------------------------------------------------------
+
+  /** Maps the natural keys of one table to the target ids by the hash of the natural key. The natural key
+   *  stored for a hash is checked on each access, and natural keys with colliding hashes go to a fallback map. */
+  static class NaturalKeyMapping implements Closeable {
+
+    private final File directory;
+    private final MappedStringStore naturalKeys;
+    private final TableKeyMapping targetIds;
+    private MappedLongLongMap addresses;
+    private Map<String, Object> collisions;
+
+    NaturalKeyMapping(File directory, MappedStringStore naturalKeys) {
+      this.directory = directory;
+      this.naturalKeys = naturalKeys;
+      this.targetIds = new TableKeyMapping(directory);
+      this.addresses = null;
+      this.collisions = null;
+    }
+
+    void put(String naturalKey, long address, Object targetId) {
+      long hash = hash(naturalKey);
+      if (addresses == null) {
+        addresses = new MappedLongLongMap(directory, EXPECTED_TABLE_SIZE);
+      }
+      if (addresses.containsKey(hash) && !naturalKey.equals(naturalKeys.get(addresses.get(hash, 0)))) {
+        if (collisions == null) {
+          collisions = new HashMap<>();
+        }
+        collisions.put(naturalKey, targetId);
+      } else {
+        addresses.put(hash, address);
+        targetIds.put(hash, targetId);
+      }
+    }
+
+    Object get(String naturalKey) {
+      if (collisions != null && collisions.containsKey(naturalKey)) {
+        return collisions.get(naturalKey);
+      }
+      long hash = hash(naturalKey);
+      if (addresses == null || !addresses.containsKey(hash)
+          || !naturalKey.equals(naturalKeys.get(addresses.get(hash, 0)))) {
+        return null;
+      }
+      return targetIds.get(hash);
+    }
+
+    @Override
+    public void close() {
+      targetIds.close();
+      if (addresses != null) {
+        addresses.close();
+        addresses = null;
+      }
+      collisions = null;
+    }
+
+  }
+
+}
@@ -0,0 +1,113 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.CollectionUtil;
+import com.rapiddweller.jdbacl.ColumnInfo;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.jdbacl.DatabaseDialect;
+import com.rapiddweller.jdbacl.model.DBTable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link BulkInsertBuffer} which inserts its rows with a single
+ * INSERT INTO ... VALUES (...), (...), ... statement.
+ * The statement is derived from the dialect's single-row INSERT statement,
+ * so it uses the same table and column name rendering.<br/><br/>
+ * Created: 19.03.2023 11:24:15
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MultiRowInsertBuffer extends BulkInsertBuffer {
+
+  /** The database types which support multi-row VALUES clauses */
+  private static final Set<String> SUPPORTING_DB_TYPES = CollectionUtil.toSet(
+      "postgres", "mysql", "h2", "hsql", "sql_server", "db2", "derby", "sqlite");
+
+  /** SQL Server accepts at most 2100 parameters per statement, for other databases we stay well below their limits */
+  private static final int MAX_PARAMETERS_SQL_SERVER = 2000;
+  private static final int MAX_PARAMETERS = 30000;
+
+  private final String singleRowSql;
+  private final String valuesTuple;
+  private PreparedStatement fullStatement;
+
+  public MultiRowInsertBuffer(DBTable table, List<ColumnInfo> columnInfos, int capacity, DatabaseDialect dialect) {
+    super(table, columnInfos, Math.min(capacity, maxRows(columnInfos.size(), dialect)));
+    this.singleRowSql = dialect.insert(table, columnInfos).trim();
+    int tupleStart = singleRowSql.lastIndexOf('(');
+    if (!singleRowSql.endsWith(")") || tupleStart < 0) {
+      throw BeneratorExceptionFactory.getInstance().programmerUnsupported(
+          "Cannot derive a multi-row insert from " + singleRowSql);
+    }
+    this.valuesTuple = singleRowSql.substring(tupleStart);
+    this.fullStatement = null;
+  }
+
+  public static boolean isSupported(DatabaseDialect dialect) {
+    return SUPPORTING_DB_TYPES.contains(dialect.getDbType());
+  }
+
+  @Override
+  protected void write(List<Object[]> rows, Connection connection) throws SQLException {
+    PreparedStatement statement;
+    if (rows.size() == capacity) {
+      if (fullStatement == null) {
+        fullStatement = DBUtil.prepareStatement(connection, renderSql(capacity), false);
+      }
+      statement = fullStatement;
+    } else {
+      statement = DBUtil.prepareStatement(connection, renderSql(rows.size()), false);
+    }
+    try {
+      int parameterIndex = 1;
+      for (Object[] row : rows) {
+        for (int i = 0; i < row.length; i++) {
+          Object value = row[i];
+          if (value != null) {
+            statement.setObject(parameterIndex++, value);
+          } else {
+            statement.setNull(parameterIndex++, columnInfos.get(i).sqlType);
+          }
+        }
+      }
+      statement.executeUpdate();
+    } finally {
+      if (statement != fullStatement) {
+        DBUtil.close(statement);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    if (fullStatement != null) {
+      DBUtil.close(fullStatement);
+      fullStatement = null;
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  String renderSql(int rowCount) {
+    StringBuilder builder = new StringBuilder(singleRowSql.length() + (rowCount - 1) * (valuesTuple.length() + 2));
+    builder.append(singleRowSql);
+    for (int i = 1; i < rowCount; i++) {
+      builder.append(", ").append(valuesTuple);
+    }
+    return builder.toString();
+  }
+
+  private static int maxRows(int columnCount, DatabaseDialect dialect) {
+    int maxParameters = ("sql_server".equals(dialect.getDbType()) ? MAX_PARAMETERS_SQL_SERVER : MAX_PARAMETERS);
+    return Math.max(1, maxParameters / Math.max(1, columnCount));
+  }
+
+}
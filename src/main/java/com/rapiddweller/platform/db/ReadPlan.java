@@ -0,0 +1,290 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.ComponentDescriptor;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.EntitySchema;
+import com.rapiddweller.model.data.SimpleTypeDescriptor;
+import com.rapiddweller.platform.java.BeanDescriptorProvider;
+import com.rapiddweller.script.PrimitiveType;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Precomputed information for reading the rows of a query result as entities:
+ * The column names, the slot of each column in the {@link EntitySchema} of the entity type,
+ * a typed {@link ResultSet} accessor for each column and the Java type to convert generic values to.
+ * A plan is created once per query when the first row is seen and then used for all rows.
+ * If each column maps to a component of the type and the columns are in the order of the components,
+ * rows are read into compact entities, with integral and floating point values stored unboxed.<br/><br/>
+ * Created: 28.03.2023 08:37:52
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class ReadPlan {
+
+  private static final String STRING_TYPE = "string";
+
+  private final ComplexTypeDescriptor descriptor;
+  private final EntitySchema schema;
+  private final ColumnReader[] readers;
+  private final boolean compact;
+
+  public ReadPlan(ResultSetMetaData metaData, ComplexTypeDescriptor descriptor) throws SQLException {
+    this.descriptor = descriptor;
+    this.schema = (descriptor != null ? descriptor.getSchema() : null);
+    BeanDescriptorProvider beanProvider =
+        (descriptor != null ? descriptor.getDataModel().getBeanDescriptorProvider() : null);
+    int columnCount = metaData.getColumnCount();
+    this.readers = new ColumnReader[columnCount];
+    boolean slotOrder = (schema != null);
+    int lastSlot = -1;
+    for (int i = 0; i < columnCount; i++) {
+      String columnName = metaData.getColumnName(i + 1);
+      String typeName = primitiveTypeName(columnName);
+      Class<?> javaType = (beanProvider != null ? beanProvider.concreteType(typeName) : null);
+      int slot = (schema != null ? schema.slotOf(columnName) : -1);
+      slotOrder &= (slot > lastSlot);
+      lastSlot = slot;
+      readers[i] = new ColumnReader(columnName, i + 1, slot, ValueReader.forType(typeName, javaType), javaType);
+    }
+    this.compact = slotOrder;
+  }
+
+  /** Tells if rows are read into compact entities. */
+  public boolean isCompact() {
+    return compact;
+  }
+
+  /** Reads the current row of the result set. */
+  public Entity read(ResultSet resultSet) throws SQLException {
+    if (compact) {
+      Entity entity = new Entity(schema);
+      for (ColumnReader reader : readers) {
+        reader.valueReader.readSlot(resultSet, reader.index, entity, reader.slot);
+      }
+      return entity;
+    } else {
+      Entity entity = new Entity(descriptor);
+      for (ColumnReader reader : readers) {
+        entity.setComponent(reader.name, reader.read(resultSet));
+      }
+      return entity;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + (descriptor != null ? descriptor.getName() : "?") + ", "
+        + readers.length + " columns" + (compact ? ", compact" : "") + ']';
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private String primitiveTypeName(String columnName) {
+    if (descriptor == null) {
+      return STRING_TYPE;
+    }
+    ComponentDescriptor component = descriptor.getComponent(columnName);
+    if (component == null || !(component.getTypeDescriptor() instanceof SimpleTypeDescriptor)) {
+      return STRING_TYPE;
+    }
+    PrimitiveType primitiveType = ((SimpleTypeDescriptor) component.getTypeDescriptor()).getPrimitiveType();
+    return (primitiveType != null ? primitiveType.getName() : STRING_TYPE);
+  }
+
+  // ColumnReader class ----------------------------------------------------------------------------------------------
+
+  /** Reads the value of one result set column and converts it to the Java type of the component. */
+  static final class ColumnReader {
+
+    final String name;
+    final int index;
+    final int slot;
+    final ValueReader valueReader;
+    final Class<?> javaType;
+
+    ColumnReader(String name, int index, int slot, ValueReader valueReader, Class<?> javaType) {
+      this.name = name;
+      this.index = index;
+      this.slot = slot;
+      this.valueReader = valueReader;
+      this.javaType = javaType;
+    }
+
+    Object read(ResultSet resultSet) throws SQLException {
+      Object value = valueReader.read(resultSet, index);
+      if (valueReader == ValueReader.OBJECT && javaType != null) {
+        value = AnyConverter.convert(value, javaType);
+      }
+      return value;
+    }
+  }
+
+  // ValueReader enum ------------------------------------------------------------------------------------------------
+
+  /** Typed result set accessors which avoid the generic {@link ResultSet#getObject(int)} and its conversion. */
+  enum ValueReader {
+
+    STRING {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getString(index);
+      }
+    },
+    DATE {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getDate(index);
+      }
+    },
+    TIMESTAMP {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getTimestamp(index);
+      }
+    },
+    BYTES {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getBytes(index);
+      }
+    },
+    INT {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        int value = resultSet.getInt(index);
+        return (resultSet.wasNull() ? null : (Object) value);
+      }
+
+      @Override
+      void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+        readLongSlot(resultSet, index, entity, slot);
+      }
+    },
+    LONG {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        long value = resultSet.getLong(index);
+        return (resultSet.wasNull() ? null : (Object) value);
+      }
+
+      @Override
+      void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+        readLongSlot(resultSet, index, entity, slot);
+      }
+    },
+    SHORT {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        short value = resultSet.getShort(index);
+        return (resultSet.wasNull() ? null : (Object) value);
+      }
+
+      @Override
+      void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+        readLongSlot(resultSet, index, entity, slot);
+      }
+    },
+    BYTE {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        byte value = resultSet.getByte(index);
+        return (resultSet.wasNull() ? null : (Object) value);
+      }
+
+      @Override
+      void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+        readLongSlot(resultSet, index, entity, slot);
+      }
+    },
+    DOUBLE {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        double value = resultSet.getDouble(index);
+        return (resultSet.wasNull() ? null : (Object) value);
+      }
+
+      @Override
+      void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+        readDoubleSlot(resultSet, index, entity, slot);
+      }
+    },
+    FLOAT {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        float value = resultSet.getFloat(index);
+        return (resultSet.wasNull() ? null : (Object) value);
+      }
+
+      @Override
+      void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+        readDoubleSlot(resultSet, index, entity, slot);
+      }
+    },
+    BIG_DECIMAL {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getBigDecimal(index);
+      }
+    },
+    OBJECT {
+      @Override
+      Object read(ResultSet resultSet, int index) throws SQLException {
+        return resultSet.getObject(index);
+      }
+    };
+
+    abstract Object read(ResultSet resultSet, int index) throws SQLException;
+
+    /** Reads a column value into a slot of a compact entity. */
+    void readSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+      entity.setSlotValue(slot, read(resultSet, index));
+    }
+
+    static void readLongSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+      long value = resultSet.getLong(index);
+      if (resultSet.wasNull()) {
+        entity.setSlotValue(slot, null);
+      } else {
+        entity.setLong(slot, value);
+      }
+    }
+
+    static void readDoubleSlot(ResultSet resultSet, int index, Entity entity, int slot) throws SQLException {
+      double value = resultSet.getDouble(index);
+      if (resultSet.wasNull()) {
+        entity.setSlotValue(slot, null);
+      } else {
+        entity.setDouble(slot, value);
+      }
+    }
+
+    /** Chooses the accessor for a Benerator primitive type. Numeric accessors are only used
+     *  if the type is mapped to the according Java wrapper class, otherwise values are read
+     *  with getObject() and converted to the mapped type. */
+    static ValueReader forType(String primitiveType, Class<?> javaType) {
+      switch (primitiveType) {
+        case STRING_TYPE: return STRING;
+        case "date": return DATE;
+        case "timestamp": return TIMESTAMP;
+        case "binary": return BYTES;
+        case "int": return (javaType == Integer.class ? INT : OBJECT);
+        case "long": return (javaType == Long.class ? LONG : OBJECT);
+        case "short": return (javaType == Short.class ? SHORT : OBJECT);
+        case "byte": return (javaType == Byte.class ? BYTE : OBJECT);
+        case "double": return (javaType == Double.class ? DOUBLE : OBJECT);
+        case "float": return (javaType == Float.class ? FLOAT : OBJECT);
+        case "big_decimal": return (javaType == BigDecimal.class ? BIG_DECIMAL : OBJECT);
+        default: return OBJECT;
+      }
+    }
+  }
+
+}
@@ -26,16 +26,10 @@
 
 package com.rapiddweller.platform.db;
 
-import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
-import com.rapiddweller.model.data.ComponentDescriptor;
-import com.rapiddweller.model.data.DataModel;
 import com.rapiddweller.model.data.Entity;
-import com.rapiddweller.model.data.SimpleTypeDescriptor;
-import com.rapiddweller.script.PrimitiveType;
 
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 
 /**
@@ -46,59 +40,14 @@
  */
 public class ResultSet2EntityConverter {
 
-  private static final String STRING_TYPE = "string";
-
   private ResultSet2EntityConverter() {
     // private constructor to prevent instantiation
   }
 
+  /** Converts the current row of a result set. For converting many rows of the same query,
+   *  create a {@link ReadPlan} once and use it for all rows. */
   public static Entity convert(ResultSet resultSet, ComplexTypeDescriptor descriptor) throws SQLException {
-    Entity entity = new Entity(descriptor);
-    ResultSetMetaData metaData = resultSet.getMetaData();
-    int columnCount = metaData.getColumnCount();
-    for (int columnIndex = 1; columnIndex <= columnCount; columnIndex++) {
-      String columnName = metaData.getColumnName(columnIndex);
-      String typeName;
-      if (descriptor != null) {
-        ComponentDescriptor component = descriptor.getComponent(columnName);
-        if (component != null) {
-          SimpleTypeDescriptor type = (SimpleTypeDescriptor) component.getTypeDescriptor();
-          PrimitiveType primitiveType = type.getPrimitiveType();
-          typeName = (primitiveType != null ? primitiveType.getName() : STRING_TYPE);
-        } else {
-          typeName = STRING_TYPE;
-        }
-      } else {
-        typeName = STRING_TYPE;
-      }
-      DataModel dataModel = (descriptor != null ? descriptor.getDataModel() : null);
-      Object javaValue = javaValue(resultSet, columnIndex, typeName, dataModel);
-      entity.setComponent(columnName, javaValue);
-    }
-    return entity;
-  }
-
-  // TODO perf: use a dedicated converter for each column
-  private static Object javaValue(ResultSet resultSet, int columnIndex,
-                                  String primitiveType, DataModel dataModel)
-      throws SQLException {
-    if ("date".equals(primitiveType)) {
-      return resultSet.getDate(columnIndex);
-    } else if ("timestamp".equals(primitiveType)) {
-      return resultSet.getTimestamp(columnIndex);
-    } else if (STRING_TYPE.equals(primitiveType)) {
-      return resultSet.getString(columnIndex);
-    } else if ("binary".equals(primitiveType)) {
-      return resultSet.getBytes(columnIndex);
-    }
-    // try generic conversion
-    Object driverValue = resultSet.getObject(columnIndex);
-    Object javaValue = driverValue;
-    if (dataModel != null) {
-      Class<?> javaType = dataModel.getBeanDescriptorProvider().concreteType(primitiveType);
-      javaValue = AnyConverter.convert(driverValue, javaType);
-    }
-    return javaValue;
+    return new ReadPlan(resultSet.getMetaData(), descriptor).read(resultSet);
   }
 
 }
@@ -38,6 +38,7 @@
 
 /**
  * Iterates a ResultSet returning Entity objects.
+ * The rows are read with a {@link ReadPlan} which is created when the first row is seen.
  * @author Volker Bergmann
  * @since 0.3.4
  */
@@ -47,6 +48,9 @@ public class ResultSetEntityIterator implements DataIterator<Entity> {
 
   private final ComplexTypeDescriptor descriptor;
 
+  private ResultSet planResultSet;
+  private ReadPlan plan;
+
   public ResultSetEntityIterator(DataIterator<ResultSet> source, ComplexTypeDescriptor descriptor) {
     this.source = source;
     this.descriptor = descriptor;
@@ -65,7 +69,11 @@ public DataContainer<Entity> next(DataContainer<Entity> container) {
         return null;
       }
       ResultSet resultSet = feed.getData();
-      Entity result = ResultSet2EntityConverter.convert(resultSet, descriptor);
+      if (resultSet != planResultSet) {
+        plan = new ReadPlan(resultSet.getMetaData(), descriptor);
+        planResultSet = resultSet;
+      }
+      Entity result = plan.read(resultSet);
       return container.setData(result);
     } catch (SQLException e) {
       throw BeneratorExceptionFactory.getInstance().dbQueryFailed("Result set access failed", e);
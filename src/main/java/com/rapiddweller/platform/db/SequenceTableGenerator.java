@@ -33,6 +33,7 @@
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.benerator.util.UnsafeNonNullGenerator;
 import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.converter.AnyConverter;
 import com.rapiddweller.format.DataContainer;
 import com.rapiddweller.format.DataIterator;
 import com.rapiddweller.format.DataSource;
@@ -46,10 +47,19 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 
 /**
- * Uses a database table to fetch and increment values like a database sequence.<br/><br/>
+ * Uses a database table to fetch and increment values like a database sequence.
+ * With an <code>allocationSize</code> greater than 1, the generator reserves that many values
+ * per database round trip, advancing the table value with an optimistic compare-and-set update,
+ * and serves the reserved values from memory, like a Hi/Lo generator.
+ * Blocks are kept separately for each evaluated dynamic selector and each parameter set
+ * of {@link #generateWithParams(Object...)}. Values of a block which are not used
+ * before the generator is closed are lost.<br/><br/>
  * Created: 09.08.2010 14:44:06
  * @param <E> the type parameter
  * @author Volker Bergmann
@@ -57,7 +67,10 @@
  */
 public class SequenceTableGenerator<E extends Number> extends UnsafeNonNullGenerator<E> {
 
+  private static final int MAX_ALLOCATION_ATTEMPTS = 100;
+
   protected long increment;
+  private int allocationSize;
   private String table;
   private String column;
   private AbstractDBSystem database;
@@ -65,6 +78,8 @@
   private String query;
   private IncrementorStrategy incrementorStrategy;
   private PreparedStatement parameterizedAccessorStatement;
+  private boolean dynamicSelector;
+  private final Map<Object, Block> blocks;
 
   public SequenceTableGenerator() {
     this(null, null, null);
@@ -81,6 +96,8 @@ public SequenceTableGenerator(String table, String column, AbstractDBSystem db,
     this.database = db;
     this.selector = selector;
     this.increment = 1L;
+    this.allocationSize = 1;
+    this.blocks = new HashMap<>();
   }
 
   public void setTable(String table) {
@@ -103,6 +120,15 @@ public void setIncrement(long increment) {
     this.increment = increment;
   }
 
+  public int getAllocationSize() {
+    return allocationSize;
+  }
+
+  /** Sets the number of values to reserve per database round trip. */
+  public void setAllocationSize(int allocationSize) {
+    this.allocationSize = allocationSize;
+  }
+
   // Generator interface implementation ------------------------------------------------------------------------------
 
   @Override
@@ -118,9 +144,13 @@ public void init(GeneratorContext context) throws InvalidGeneratorSetupException
     if (database == null) {
       throw new InvalidGeneratorSetupException("db is null");
     }
+    if (allocationSize < 1) {
+      throw new InvalidGeneratorSetupException("allocationSize must be positive, but is " + allocationSize);
+    }
     // initialize
     query = SQLUtil.renderQuery(database.getCatalog(), database.getSchema(),
         table, column, selector, database.getDialect());
+    dynamicSelector = (selector != null && ScriptUtil.isScript(selector));
     incrementorStrategy = createIncrementor();
     super.init(context);
   }
@@ -128,17 +158,27 @@ public void init(GeneratorContext context) throws InvalidGeneratorSetupException
   private IncrementorStrategy createIncrementor() {
     DatabaseDialect dialect = database.getDialect();
     String renderedTableName = (dialect.quoteTableNames ? '"' + table + '"' : table);
-    String incrementorSql = "update " + renderedTableName + " set " + column + " = ?";
-    if (selector != null) {
-      incrementorSql = ScriptUtil.combineScriptableParts(incrementorSql, " where ", selector);
-    }
-    if (selector == null || !ScriptUtil.isScript(selector)) {
-      return new PreparedStatementStrategy(incrementorSql, database);
+    String updateSql = "update " + renderedTableName + " set " + column + " = ";
+    boolean compareAndSet = isBlockMode();
+    if (!dynamicSelector) {
+      String incrementorSql = updateSql + "?";
+      String condition = (compareAndSet ? column + " = ?" : null);
+      if (selector != null) {
+        condition = (condition != null ? condition + " and (" + selector + ')' : selector);
+      }
+      if (condition != null) {
+        incrementorSql += " where " + condition;
+      }
+      return new PreparedStatementStrategy(incrementorSql, compareAndSet, database);
     } else {
-      return new StatementStrategy(incrementorSql, database);
+      return new StatementStrategy(updateSql, compareAndSet, database);
     }
   }
 
+  private boolean isBlockMode() {
+    return (allocationSize > 1);
+  }
+
   @Override
   @SuppressWarnings({"unchecked", "rawtypes"})
   public E generate() {
@@ -146,22 +186,38 @@ public E generate() {
       return null;
     }
     assertInitialized();
-    DataSource<?> iterable = database.query(query, true, context);
-    DataIterator<?> iterator = null;
-    E result;
-    try {
-      iterator = iterable.iterator();
-      DataContainer<?> container = iterator.next(new DataContainer());
-      if (container == null) {
-        close();
-        return null;
+    Object key = null;
+    if (isBlockMode()) {
+      key = (dynamicSelector ? ScriptUtil.parseUnspecificText(query).evaluate(context) : query);
+      Block block = blocks.get(key);
+      if (block != null && block.hasNext()) {
+        return (E) block.next();
       }
-      result = (E) container.getData();
-      incrementorStrategy.run(result.longValue(), (BeneratorContext) context);
-    } finally {
-      IOUtil.close(iterator);
     }
-    return result;
+    for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++) {
+      DataSource<?> iterable = database.query(query, true, context);
+      DataIterator<?> iterator = null;
+      E result;
+      try {
+        iterator = iterable.iterator();
+        DataContainer<?> container = iterator.next(new DataContainer());
+        if (container == null) {
+          close();
+          return null;
+        }
+        result = (E) container.getData();
+      } finally {
+        IOUtil.close(iterator);
+      }
+      if (!isBlockMode()) {
+        incrementorStrategy.run(result.longValue(), result.longValue() + increment, (BeneratorContext) context);
+        return result;
+      } else if (allocate(result, (BeneratorContext) context)) {
+        blocks.put(key, new Block(result, allocationSize, increment));
+        return result;
+      }
+    }
+    throw allocationFailed();
   }
 
   @SuppressWarnings({"unchecked", "cast"})
@@ -169,34 +225,51 @@ public E generateWithParams(Object... params) {
     if (this.state == GeneratorState.CLOSED) {
       return null;
     }
-    ResultSet resultSet = null;
-    E result = null;
-    try {
-      if (parameterizedAccessorStatement == null) {
-        String queryText = String.valueOf(ScriptUtil.parseUnspecificText(query).evaluate(context));
-        parameterizedAccessorStatement = database.getConnection().prepareStatement(queryText);
+    Object key = null;
+    if (isBlockMode()) {
+      key = Arrays.asList(params.clone());
+      Block block = blocks.get(key);
+      if (block != null && block.hasNext()) {
+        return (E) block.next();
       }
-      for (int i = 0; i < params.length; i++) {
-        parameterizedAccessorStatement.setObject(i + 1, params[i]);
+    }
+    for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++) {
+      ResultSet resultSet = null;
+      E result;
+      try {
+        if (parameterizedAccessorStatement == null) {
+          String queryText = String.valueOf(ScriptUtil.parseUnspecificText(query).evaluate(context));
+          parameterizedAccessorStatement = database.getConnection().prepareStatement(queryText);
+        }
+        for (int i = 0; i < params.length; i++) {
+          parameterizedAccessorStatement.setObject(i + 1, params[i]);
+        }
+        resultSet = parameterizedAccessorStatement.executeQuery();
+        if (!resultSet.next()) {
+          close();
+          return null;
+        }
+        result = (E) resultSet.getObject(1);
+      } catch (SQLException e) {
+        throw BeneratorExceptionFactory.getInstance().dbQueryFailed(
+            "Error fetching value in " + getClass().getSimpleName(), e);
+      } finally {
+        DBUtil.close(resultSet);
       }
-      resultSet = parameterizedAccessorStatement.executeQuery();
-      if (!resultSet.next()) {
-        close();
-        return null;
+      if (!isBlockMode()) {
+        incrementorStrategy.run(result.longValue(), result.longValue() + increment, (BeneratorContext) context, params);
+        return result;
+      } else if (allocate(result, (BeneratorContext) context, params)) {
+        blocks.put(key, new Block(result, allocationSize, increment));
+        return result;
       }
-      result = (E) resultSet.getObject(1);
-      incrementorStrategy.run(result.longValue(), (BeneratorContext) context, params);
-    } catch (SQLException e) {
-      throw BeneratorExceptionFactory.getInstance().dbQueryFailed(
-          "Error fetching value in " + getClass().getSimpleName(), e);
-    } finally {
-      DBUtil.close(resultSet);
     }
-    return result;
+    throw allocationFailed();
   }
 
   @Override
   public void close() {
+    blocks.clear();
     IOUtil.close(incrementorStrategy);
     DBUtil.close(parameterizedAccessorStatement);
     super.close();
@@ -207,10 +280,56 @@ public String toString() {
     return getClass().getSimpleName() + "[" + selector + "]";
   }
 
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Advances the table value by a block of values if it still is the given one.
+   *  @return true if the block was reserved, false if the value was changed concurrently */
+  private boolean allocate(Number currentValue, BeneratorContext context, Object... params) {
+    long current = currentValue.longValue();
+    return incrementorStrategy.run(current, current + allocationSize * increment, context, params);
+  }
+
+  private RuntimeException allocationFailed() {
+    return BeneratorExceptionFactory.getInstance().operationFailed("Failed to allocate a block of "
+        + allocationSize + " values in " + table + '.' + column + " after "
+        + MAX_ALLOCATION_ATTEMPTS + " attempts", null);
+  }
+
+  // Block class -----------------------------------------------------------------------------------------------------
+
+  /** Values which have been reserved in the database and are served from memory. */
+  static final class Block {
+
+    private final Class<? extends Number> type;
+    private final long increment;
+    private long next;
+    private long remaining;
+
+    Block(Number first, int size, long increment) {
+      this.type = first.getClass();
+      this.increment = increment;
+      this.next = first.longValue() + increment;
+      this.remaining = size - 1L;
+    }
+
+    boolean hasNext() {
+      return (remaining > 0);
+    }
+
+    Number next() {
+      long value = next;
+      next += increment;
+      remaining--;
+      return (type == Long.class ? (Number) value : AnyConverter.convert(value, type));
+    }
+  }
+
   // IncrementorStrategy ---------------------------------------------------------------------------------------------
 
   interface IncrementorStrategy extends Closeable {
-    void run(long currentValue, BeneratorContext context, Object... params);
+    /** Sets the table value to newValue.
+     *  @return false if a compare-and-set update did not find the currentValue */
+    boolean run(long currentValue, long newValue, BeneratorContext context, Object... params);
 
     @Override
     void close();
@@ -220,8 +339,10 @@ interface IncrementorStrategy extends Closeable {
   class PreparedStatementStrategy implements IncrementorStrategy {
 
     private final PreparedStatement statement;
+    private final boolean compareAndSet;
 
-    public PreparedStatementStrategy(String incrementorSql, AbstractDBSystem db) {
+    public PreparedStatementStrategy(String incrementorSql, boolean compareAndSet, AbstractDBSystem db) {
+      this.compareAndSet = compareAndSet;
       try {
         statement = db.getConnection().prepareStatement(incrementorSql);
       } catch (SQLException e) {
@@ -231,14 +352,18 @@ public PreparedStatementStrategy(String incrementorSql, AbstractDBSystem db) {
     }
 
     @Override
-    public void run(long currentValue, BeneratorContext context,
-                    Object... params) {
+    public boolean run(long currentValue, long newValue, BeneratorContext context,
+                       Object... params) {
       try {
-        statement.setLong(1, currentValue + increment);
-        for (int i = 0; i < params.length; i++) {
-          statement.setObject(2 + i, params[i]);
+        int index = 1;
+        statement.setLong(index++, newValue);
+        if (compareAndSet) {
+          statement.setLong(index++, currentValue);
         }
-        statement.executeUpdate();
+        for (Object param : params) {
+          statement.setObject(index++, param);
+        }
+        return (statement.executeUpdate() > 0);
       } catch (SQLException e) {
         throw BeneratorExceptionFactory.getInstance().operationFailed("Failed to run SQL", e);
       }
@@ -255,8 +380,10 @@ class StatementStrategy implements IncrementorStrategy {
 
     private final Statement statement;
     private final String sql;
+    private final boolean compareAndSet;
 
-    public StatementStrategy(String sql, AbstractDBSystem db) {
+    public StatementStrategy(String sql, boolean compareAndSet, AbstractDBSystem db) {
+      this.compareAndSet = compareAndSet;
       try {
         this.statement = db.getConnection().createStatement();
         this.sql = sql;
@@ -267,14 +394,17 @@ public StatementStrategy(String sql, AbstractDBSystem db) {
     }
 
     @Override
-    public void run(long currentValue, BeneratorContext context,
-                    Object... params) {
+    public boolean run(long currentValue, long newValue, BeneratorContext context,
+                       Object... params) {
       try {
-        String cmd = sql.replace("?",
-            String.valueOf(currentValue + increment));
+        String cmd = sql + newValue;
+        if (compareAndSet) {
+          cmd += " where " + column + " = " + currentValue;
+        }
+        cmd = ScriptUtil.combineScriptableParts(cmd, (compareAndSet ? " and (" : " where ("), selector, ")");
         cmd = ScriptUtil.parseUnspecificText(cmd).evaluate(context)
             .toString();
-        statement.executeUpdate(cmd);
+        return (statement.executeUpdate(cmd) > 0);
       } catch (SQLException e) {
         throw BeneratorExceptionFactory.getInstance().operationFailed(
             "Statement execution failed: " + sql, e);
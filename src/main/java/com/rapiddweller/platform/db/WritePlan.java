@@ -0,0 +1,259 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.converter.AnyConverter;
+import com.rapiddweller.jdbacl.ColumnInfo;
+import com.rapiddweller.model.data.ComponentSlots;
+import com.rapiddweller.model.data.Entity;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Precomputed information for writing entities of one type to a database table:
+ * The columns to write in parameter order, the JDBC type to convert each value to
+ * and a typed setter for each statement parameter.
+ * A plan is created once per entity type and operation (insert or update),
+ * so the per-entity work reduces to a loop of value conversions and setter calls.
+ * Column values are read by the slot indices of the entities' schema
+ * and primitive values of compact entities are set without boxing.<br/><br/>
+ * Created: 20.03.2023 09:12:44
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class WritePlan {
+
+  private final String tableName;
+  private final List<ColumnInfo> columnInfos;
+  private final ColumnWriter[] writers;
+  private final ComponentSlots slots;
+
+  /** @param oracle tells if the plan is used for an Oracle database, which is not able to perform
+   *               setNull() on NCLOB and NVARCHAR2 columns */
+  public WritePlan(String tableName, List<ColumnInfo> columnInfos, boolean oracle) {
+    this.tableName = tableName;
+    this.columnInfos = columnInfos;
+    this.writers = new ColumnWriter[columnInfos.size()];
+    for (int i = 0; i < writers.length; i++) {
+      ColumnInfo info = columnInfos.get(i);
+      boolean criticalOracleType = (oracle && (info.sqlType == Types.NCLOB || info.sqlType == Types.OTHER));
+      writers[i] = new ColumnWriter(info, criticalOracleType);
+    }
+    String[] columnNames = new String[writers.length];
+    for (int i = 0; i < writers.length; i++) {
+      columnNames[i] = writers[i].name;
+    }
+    this.slots = new ComponentSlots(columnNames);
+  }
+
+  public List<ColumnInfo> getColumnInfos() {
+    return columnInfos;
+  }
+
+  /** Sets the JDBC values of an entity as the parameters of a prepared statement. */
+  public void apply(Entity entity, PreparedStatement statement) {
+    int[] entitySlots = slots.slotsOf(entity);
+    for (int i = 0; i < writers.length; i++) {
+      ColumnWriter writer = writers[i];
+      try {
+        int slot = (entitySlots != null ? entitySlots[i] : -1);
+        if (slot >= 0 && entity.isPrimitive(slot) && writer.setter == JdbcSetter.LONG
+            && entity.getSchema().isIntegral(slot)) {
+          statement.setLong(i + 1, entity.getLong(slot));
+        } else if (slot >= 0 && entity.isPrimitive(slot) && writer.setter == JdbcSetter.DOUBLE) {
+          statement.setDouble(i + 1, entity.getDouble(slot));
+        } else {
+          writer.write(writer.jdbcValue(slots.get(entity, entitySlots, i)), i + 1, statement);
+        }
+      } catch (SQLException e) {
+        throw BeneratorExceptionFactory.getInstance().illegalArgument(
+            "error setting column " + tableName + '.' + writer.name, e);
+      }
+    }
+  }
+
+  /** Provides the JDBC values of an entity in the order of the plan's columns. */
+  public Object[] jdbcValues(Entity entity) {
+    int[] entitySlots = slots.slotsOf(entity);
+    Object[] values = new Object[writers.length];
+    for (int i = 0; i < writers.length; i++) {
+      values[i] = writers[i].jdbcValue(slots.get(entity, entitySlots, i));
+    }
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + tableName + ", " + columnInfos.size() + " columns]";
+  }
+
+  // ColumnWriter class ----------------------------------------------------------------------------------------------
+
+  /** Converts an entity component to its JDBC type and sets it as statement parameter. */
+  static final class ColumnWriter {
+
+    final String name;
+    final int sqlType;
+    final Class<?> type;
+    final boolean setNullAsObject;
+    final JdbcSetter setter;
+
+    ColumnWriter(ColumnInfo info, boolean setNullAsObject) {
+      this.name = info.name;
+      this.sqlType = info.sqlType;
+      this.type = info.type;
+      this.setNullAsObject = setNullAsObject;
+      this.setter = (setNullAsObject ? JdbcSetter.OBJECT : JdbcSetter.forType(type));
+    }
+
+    Object jdbcValue(Object value) {
+      if (type != null && value != null && !type.isInstance(value)) {
+        value = AnyConverter.convert(value, type);
+      }
+      return value;
+    }
+
+    void write(Object value, int parameterIndex, PreparedStatement statement) throws SQLException {
+      if (value != null) {
+        setter.set(statement, parameterIndex, value);
+      } else if (setNullAsObject) {
+        statement.setObject(parameterIndex, null);
+      } else {
+        statement.setNull(parameterIndex, sqlType);
+      }
+    }
+  }
+
+  // JdbcSetter enum -------------------------------------------------------------------------------------------------
+
+  /** Typed JDBC setters which avoid the type dispatch of {@link PreparedStatement#setObject(int, Object)}. */
+  enum JdbcSetter {
+
+    STRING {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setString(index, (String) value);
+      }
+    },
+    INT {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setInt(index, ((Number) value).intValue());
+      }
+    },
+    LONG {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setLong(index, ((Number) value).longValue());
+      }
+    },
+    SHORT {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setShort(index, ((Number) value).shortValue());
+      }
+    },
+    BYTE {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setByte(index, ((Number) value).byteValue());
+      }
+    },
+    DOUBLE {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setDouble(index, ((Number) value).doubleValue());
+      }
+    },
+    FLOAT {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setFloat(index, ((Number) value).floatValue());
+      }
+    },
+    BOOLEAN {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setBoolean(index, (Boolean) value);
+      }
+    },
+    BIG_DECIMAL {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setBigDecimal(index, (BigDecimal) value);
+      }
+    },
+    TIMESTAMP {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setTimestamp(index, (Timestamp) value);
+      }
+    },
+    DATE {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setDate(index, (java.sql.Date) value);
+      }
+    },
+    TIME {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setTime(index, (Time) value);
+      }
+    },
+    BYTES {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setBytes(index, (byte[]) value);
+      }
+    },
+    OBJECT {
+      @Override
+      void set(PreparedStatement statement, int index, Object value) throws SQLException {
+        statement.setObject(index, value);
+      }
+    };
+
+    abstract void set(PreparedStatement statement, int index, Object value) throws SQLException;
+
+    static JdbcSetter forType(Class<?> type) {
+      if (type == String.class) {
+        return STRING;
+      } else if (type == Integer.class) {
+        return INT;
+      } else if (type == Long.class) {
+        return LONG;
+      } else if (type == Short.class) {
+        return SHORT;
+      } else if (type == Byte.class) {
+        return BYTE;
+      } else if (type == Double.class) {
+        return DOUBLE;
+      } else if (type == Float.class) {
+        return FLOAT;
+      } else if (type == Boolean.class) {
+        return BOOLEAN;
+      } else if (type == BigDecimal.class) {
+        return BIG_DECIMAL;
+      } else if (type == Timestamp.class) {
+        return TIMESTAMP;
+      } else if (type == java.sql.Date.class) {
+        return DATE;
+      } else if (type == Time.class) {
+        return TIME;
+      } else if (type == byte[].class) {
+        return BYTES;
+      } else {
+        return OBJECT; // e.g. PostgreSQL custom types, UUIDs and types unknown at plan time
+      }
+    }
+  }
+
+}
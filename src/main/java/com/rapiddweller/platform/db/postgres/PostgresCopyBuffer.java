@@ -0,0 +1,120 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db.postgres;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.jdbacl.ColumnInfo;
+import com.rapiddweller.jdbacl.model.DBTable;
+import com.rapiddweller.platform.db.BulkInsertBuffer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.util.PGobject;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link BulkInsertBuffer} which streams its rows to a PostgreSQL database
+ * with a COPY ... FROM STDIN command in CSV format. This is the fastest way
+ * of inserting large numbers of rows into PostgreSQL.<br/><br/>
+ * Created: 19.03.2023 12:03:29
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class PostgresCopyBuffer extends BulkInsertBuffer {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final String copySql;
+  private final StringBuilder csv;
+
+  public PostgresCopyBuffer(DBTable table, String tableSpec, List<ColumnInfo> columnInfos, int capacity) {
+    super(table, columnInfos, capacity);
+    this.copySql = renderCopySql(tableSpec, columnInfos);
+    this.csv = new StringBuilder();
+  }
+
+  @Override
+  protected void write(List<Object[]> rows, Connection connection) throws SQLException {
+    csv.setLength(0);
+    for (Object[] row : rows) {
+      appendCsvRow(row, csv);
+    }
+    try {
+      CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+      copyManager.copyIn(copySql, new StringReader(csv.toString()));
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().operationFailed("Error copying rows into " + table.getName(), e);
+    }
+  }
+
+  // rendering helpers -----------------------------------------------------------------------------------------------
+
+  static String renderCopySql(String tableSpec, List<ColumnInfo> columnInfos) {
+    StringBuilder builder = new StringBuilder("COPY ").append(tableSpec).append(" (");
+    for (int i = 0; i < columnInfos.size(); i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append('"').append(columnInfos.get(i).name).append('"');
+    }
+    return builder.append(") FROM STDIN WITH (FORMAT csv)").toString();
+  }
+
+  static void appendCsvRow(Object[] row, StringBuilder builder) {
+    for (int i = 0; i < row.length; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      appendCsvValue(row[i], builder);
+    }
+    builder.append('\n');
+  }
+
+  /** Renders a value in PostgreSQL's CSV format, in which an unquoted empty value means null. */
+  static void appendCsvValue(Object value, StringBuilder builder) {
+    if (value == null) {
+      return;
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      builder.append(value);
+    } else if (value instanceof byte[]) {
+      appendBytea((byte[]) value, builder);
+    } else {
+      String text;
+      if (value instanceof PGobject) {
+        text = ((PGobject) value).getValue();
+      } else if (value instanceof Date && !(value instanceof java.sql.Date) && !(value instanceof java.sql.Time)
+          && !(value instanceof Timestamp)) {
+        text = new Timestamp(((Date) value).getTime()).toString();
+      } else {
+        text = value.toString();
+      }
+      if (text == null) {
+        return;
+      }
+      builder.append('"');
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c == '"') {
+          builder.append('"');
+        }
+        builder.append(c);
+      }
+      builder.append('"');
+    }
+  }
+
+  private static void appendBytea(byte[] bytes, StringBuilder builder) {
+    builder.append("\\x");
+    for (byte b : bytes) {
+      builder.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.memstore;
+
+import com.rapiddweller.model.data.ComponentSlots;
+import com.rapiddweller.model.data.Entity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index on one column of the entities in an {@link EntityStore}.
+ * Numbers are indexed by their numerical value, so that an Integer 3 matches a Long 3.
+ * Entities with a null value in the column are not indexed.
+ * The column value is read by its slot index in the entities' schema.<br/><br/>
+ * Created: 21.03.2023 08:44:17
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class EntityIndex {
+
+  private final String column;
+  private final ComponentSlots slots;
+  private final Map<Object, List<Entity>> entitiesByValue;
+  private final Map<Entity, Object> keysByEntity;
+  private boolean numericKeys;
+  private boolean otherKeys;
+
+  public EntityIndex(String column) {
+    this.column = column;
+    this.slots = new ComponentSlots(column);
+    this.entitiesByValue = new HashMap<>();
+    this.keysByEntity = new IdentityHashMap<>();
+    this.numericKeys = false;
+    this.otherKeys = false;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public void add(Entity entity) {
+    Object key = normalize(slots.get(entity, slots.slotsOf(entity), 0));
+    if (key == null) {
+      return;
+    }
+    if (key instanceof Number) {
+      numericKeys = true;
+    } else {
+      otherKeys = true;
+    }
+    entitiesByValue.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entity);
+    keysByEntity.put(entity, key);
+  }
+
+  public void remove(Entity entity) {
+    Object key = keysByEntity.remove(entity);
+    if (key == null) {
+      return;
+    }
+    List<Entity> list = entitiesByValue.get(key);
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i) == entity) {
+        list.remove(i);
+        break;
+      }
+    }
+    if (list.isEmpty()) {
+      entitiesByValue.remove(key);
+    }
+  }
+
+  public void clear() {
+    entitiesByValue.clear();
+    keysByEntity.clear();
+    numericKeys = false;
+    otherKeys = false;
+  }
+
+  /** Tells if the index is able to find the entities of which the column value equals the given value.
+   *  It is not, if the value is null or if numbers and other types are compared with each other,
+   *  since scripts may convert them for comparison. */
+  public boolean canLookup(Object value) {
+    if (value == null) {
+      return false;
+    }
+    return (normalize(value) instanceof Number ? !otherKeys : !numericKeys);
+  }
+
+  /** Returns the entities with the given column value in the order of their insertion.
+   *  Call {@link #canLookup(Object)} to check if the index can be used for a value. */
+  public List<Entity> lookup(Object value) {
+    List<Entity> result = entitiesByValue.get(normalize(value));
+    return (result != null ? Collections.unmodifiableList(result) : Collections.emptyList());
+  }
+
+  public int size() {
+    return keysByEntity.size();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + column + ']';
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  static Object normalize(Object value) {
+    if (!(value instanceof Number)) {
+      return value;
+    }
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).longValue();
+    }
+    if (value instanceof BigInteger) {
+      BigInteger bigInt = (BigInteger) value;
+      return (bigInt.bitLength() < 64 ? (Object) bigInt.longValue() : bigInt);
+    }
+    if (value instanceof BigDecimal) {
+      BigDecimal decimal = ((BigDecimal) value).stripTrailingZeros();
+      if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() < 19) {
+        return decimal.longValue();
+      }
+      return decimal.doubleValue();
+    }
+    double d = ((Number) value).doubleValue();
+    if (d == Math.rint(d) && Math.abs(d) < 1e18) {
+      return (long) d;
+    }
+    return d;
+  }
+
+}
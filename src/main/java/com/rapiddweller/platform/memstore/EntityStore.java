@@ -2,11 +2,13 @@
 
 package com.rapiddweller.platform.memstore;
 
+import com.rapiddweller.common.collection.OrderedNameMap;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.Entity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Abstract parent class for in-memory entity storage.<br/><br/>
@@ -17,9 +19,11 @@
 public abstract class EntityStore implements Iterable<Entity> {
 
   private final ComplexTypeDescriptor type;
+  private final Map<String, EntityIndex> indexes;
 
   protected EntityStore(ComplexTypeDescriptor type) {
     this.type = type;
+    this.indexes = OrderedNameMap.createCaseInsensitiveMap();
   }
 
   public ComplexTypeDescriptor getType() {
@@ -31,4 +35,49 @@ public ComplexTypeDescriptor getType() {
   public abstract int size();
   public abstract Map<Object, Entity> idMap();
 
+  /** Removes all entities which match the filter and updates the indexes.
+   *  @return true if any entity was removed */
+  public abstract boolean removeIf(Predicate<Entity> filter);
+
+  // index support ---------------------------------------------------------------------------------------------------
+
+  /** Creates a hash index on a column, which is used to answer queries of the form
+   *  '_candidate.column == value'. Entities stored earlier are indexed immediately. */
+  public void addIndex(String column) {
+    if (indexes.containsKey(column)) {
+      return;
+    }
+    EntityIndex index = new EntityIndex(column);
+    for (Entity entity : this) {
+      index.add(entity);
+    }
+    indexes.put(column, index);
+  }
+
+  /** @return the index of the column or null if the column is not indexed */
+  public EntityIndex getIndex(String column) {
+    return indexes.get(column);
+  }
+
+  protected void index(Entity entity) {
+    for (EntityIndex index : indexes.values()) {
+      index.add(entity);
+    }
+  }
+
+  protected void unindex(Entity entity) {
+    for (EntityIndex index : indexes.values()) {
+      index.remove(entity);
+    }
+  }
+
+  protected void reindex() {
+    for (EntityIndex index : indexes.values()) {
+      index.clear();
+      for (Entity entity : this) {
+        index.add(entity);
+      }
+    }
+  }
+
 }
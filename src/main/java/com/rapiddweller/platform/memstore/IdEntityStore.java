@@ -9,6 +9,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * {@link EntityStore} for entities with an id.<br/><br/>
@@ -18,7 +19,7 @@
  */
 public class IdEntityStore extends EntityStore {
 
-  private final OrderedMap<Object, Entity> entities;
+  private OrderedMap<Object, Entity> entities;
 
   public IdEntityStore(ComplexTypeDescriptor type) {
     super(type);
@@ -33,7 +34,28 @@ public void store(Entity entity) {
     if (idComponentValues == null) {
       idComponentValues = entity.getComponents().values();
     }
-    entities.put(idComponentValues, entity);
+    Entity replaced = entities.put(idComponentValues, entity);
+    if (replaced != null) {
+      unindex(replaced);
+    }
+    index(entity);
+  }
+
+  @Override
+  public boolean removeIf(Predicate<Entity> filter) {
+    // rebuilding the map is linear, while removing entries from an OrderedMap is not
+    OrderedMap<Object, Entity> retained = new OrderedMap<>();
+    for (Map.Entry<Object, Entity> entry : entities.entrySet()) {
+      if (!filter.test(entry.getValue())) {
+        retained.put(entry.getKey(), entry.getValue());
+      }
+    }
+    if (retained.size() == entities.size()) {
+      return false;
+    }
+    entities = retained;
+    reindex();
+    return true;
   }
 
   @Override
@@ -0,0 +1,50 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.memstore;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.DataSource;
+import com.rapiddweller.format.util.AbstractDataSource;
+import com.rapiddweller.format.util.DataSourceFromIterable;
+import com.rapiddweller.model.data.Entity;
+
+/**
+ * Answers a query of the form '_candidate.column == value' with an {@link EntityIndex}.
+ * The value expression is evaluated once on each call to {@link #iterator()}.
+ * If the index cannot be used for the resulting value, the query falls back to a scan.<br/><br/>
+ * Created: 21.03.2023 09:26:52
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class IndexLookupDataSource extends AbstractDataSource<Entity> {
+
+  private final EntityIndex index;
+  private final Expression<?> valueEx;
+  private final DataSource<Entity> scan;
+  private final Context context;
+
+  public IndexLookupDataSource(EntityIndex index, Expression<?> valueEx, DataSource<Entity> scan, Context context) {
+    super(Entity.class);
+    this.index = index;
+    this.valueEx = valueEx;
+    this.scan = scan;
+    this.context = context;
+  }
+
+  @Override
+  public DataIterator<Entity> iterator() {
+    Object value = valueEx.evaluate(context);
+    if (!index.canLookup(value)) {
+      return scan.iterator();
+    }
+    return new DataSourceFromIterable<>(index.lookup(value), Entity.class).iterator();
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + index.getColumn() + " == " + valueEx + ']';
+  }
+
+}
@@ -46,6 +46,7 @@
 import com.rapiddweller.format.util.DataSourceFromIterable;
 import com.rapiddweller.format.util.DataSourceProxy;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.ComponentSlots;
 import com.rapiddweller.model.data.DataModel;
 import com.rapiddweller.model.data.Entity;
 import com.rapiddweller.model.data.TypeDescriptor;
@@ -54,8 +55,13 @@
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Simple heap-based implementation of the AbstractStorageSystem interface.<br/><br/>
@@ -70,14 +76,20 @@ public class MemStore extends AbstractStorageSystem {
 
   static boolean ignoreClose = false; // for testing
 
+  /** Matches selectors of the form '_candidate.column == value' in which value is a literal or a variable reference */
+  private static final Pattern INDEXABLE_SELECTOR = Pattern.compile(
+      "\\s*\\{?\\s*_candidate\\.(\\w+)\\s*==\\s*('[^']*'|\"[^\"]*\"|-?\\d+(\\.\\d+)?|[A-Za-z_][\\w.]*)\\s*}?\\s*");
+
   private final String id;
   private final OrderedNameMap<ComplexTypeDescriptor> types;
   private final Map<String, EntityStore> entitiesByType;
+  private final Map<String, List<String>> indexedColumns;
 
   public MemStore(String id, DataModel dataModel) {
     this.setDataModel(dataModel);
     this.types = OrderedNameMap.createCaseInsensitiveMap();
     this.entitiesByType = OrderedNameMap.createCaseInsensitiveMap();
+    this.indexedColumns = OrderedNameMap.createCaseInsensitiveMap();
     this.id = id;
   }
 
@@ -117,19 +129,33 @@ public int entityCount(String type) {
     return entitiesByType.get(type).size();
   }
 
+  /** Declares a hash index on a column of an entity type.
+   *  Queries with selectors of the form '_candidate.column == value' are then answered by index lookup. */
+  public void addIndex(String entityType, String column) {
+    List<String> columns = indexedColumns.computeIfAbsent(entityType, k -> new ArrayList<>());
+    if (!columns.contains(column)) {
+      columns.add(column);
+    }
+    EntityStore entityStore = entitiesByType.get(entityType);
+    if (entityStore != null) {
+      entityStore.addIndex(column);
+    }
+  }
+
   public void filter(String entityName, String filterColumn, DataSource<Entity> list) {
-    ArrayList<Object> filterList = new ArrayList<>();
+    Set<Object> filterValues = new HashSet<>();
     DataIterator<Entity> iterator = list.iterator();
     DataContainer<Entity> container = new DataContainer<>();
     while ((container = iterator.next(container)) != null) {
       Entity entity = container.getData();
-      filterList.add(entity.get(filterColumn));
+      filterValues.add(entity.get(filterColumn));
     }
-    this.getEntities(entityName).removeIf(entity -> !filterList.contains(entity.get(filterColumn)));
+    ComponentSlots filterSlots = new ComponentSlots(filterColumn);
+    removeIf(entityName, entity -> !filterValues.contains(filterSlots.get(entity, filterSlots.slotsOf(entity), 0)));
   }
 
   public void removeNotExistingIds(String entityName, String filterColumn, String filterTable, Object db) {
-    ArrayList<Object> filterList = new ArrayList<>();
+    Set<Object> filterValues = new HashSet<>();
     DataIterator<Entity> iterator = null;
     if (db.getClass() == DefaultDBSystem.class) {
       iterator = ((AbstractStorageSystem) db).queryEntities("1", String.format("SELECT DISTINCT \"%s\" FROM \"%s\"", filterColumn, filterTable), null)
@@ -141,9 +167,10 @@ public void removeNotExistingIds(String entityName, String filterColumn, String
       DataContainer<Entity> container = new DataContainer<>();
       while ((container = iterator.next(container)) != null) {
         Entity entity = container.getData();
-        filterList.add(entity.get(filterColumn));
+        filterValues.add(entity.get(filterColumn));
       }
-      this.getEntities(entityName).removeIf(entity -> !filterList.contains(entity.get(filterColumn)));
+      ComponentSlots filterSlots = new ComponentSlots(filterColumn);
+      removeIf(entityName, entity -> !filterValues.contains(filterSlots.get(entity, filterSlots.slotsOf(entity), 0)));
     }
   }
 
@@ -151,8 +178,9 @@ public int sumEntityColumn(String type, String column) {
     int result = 0;
     EntityStore e = entitiesByType.get(type);
     if (e != null) {
+      ComponentSlots columnSlots = new ComponentSlots(column);
       for (Entity entity : e.entities()) {
-        Object value = entity.get(column);
+        Object value = columnSlots.get(entity, columnSlots.slotsOf(entity), 0);
         if (value != null && value.getClass() == Integer.class) {
           result += (Integer) value;
         } else if (value != null && value.getClass() == Double.class) {
@@ -181,10 +209,19 @@ public int sumEntityColumn(String type, String column) {
 
   @Override
   public DataSource<Entity> queryEntities(String entityType, String selector, Context context) {
-    DataSource<Entity> result = new DataSourceFromIterable<>(entitiesByType.get(entityType), Entity.class);
+    EntityStore entityStore = entitiesByType.get(entityType);
+    DataSource<Entity> result = new DataSourceFromIterable<>(entityStore, Entity.class);
     if (!StringUtil.isEmpty(selector)) {
       Expression<Boolean> filterEx = new ScriptExpression<>(ScriptUtil.parseScriptText(selector));
       result = new FilterExDataSource<>(result, filterEx, context);
+      Matcher matcher = INDEXABLE_SELECTOR.matcher(selector);
+      if (entityStore != null && matcher.matches() && !matcher.group(2).startsWith("_candidate")) {
+        EntityIndex index = entityStore.getIndex(matcher.group(1));
+        if (index != null) {
+          Expression<Object> valueEx = new ScriptExpression<>(ScriptUtil.parseScriptText(matcher.group(2)));
+          result = new IndexLookupDataSource(index, valueEx, result, context);
+        }
+      }
     }
     return result;
   }
@@ -269,10 +306,25 @@ public List<Entity> getEntities(String entityType) {
 
   private EntityStore createEntityStore(ComplexTypeDescriptor type) {
     String[] idComponentNames = type.getIdComponentNames();
+    EntityStore entityStore;
     if (ArrayUtil.isEmpty(idComponentNames)) {
-      return new UnidentifiedEntityStore(type);
+      entityStore = new UnidentifiedEntityStore(type);
     } else {
-      return new IdEntityStore(type);
+      entityStore = new IdEntityStore(type);
+    }
+    List<String> columns = indexedColumns.get(type.getName());
+    if (columns != null) {
+      for (String column : columns) {
+        entityStore.addIndex(column);
+      }
+    }
+    return entityStore;
+  }
+
+  private void removeIf(String entityType, Predicate<Entity> filter) {
+    EntityStore entityStore = entitiesByType.get(entityType);
+    if (entityStore != null) {
+      entityStore.removeIf(filter);
     }
   }
 
@@ -36,6 +36,7 @@
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.ConversionException;
 import com.rapiddweller.common.StringUtil;
+import com.rapiddweller.common.exception.ExceptionFactory;
 import com.rapiddweller.common.xml.XMLUtil;
 import com.rapiddweller.format.xml.AttrInfoSupport;
 import org.w3c.dom.Element;
@@ -43,6 +44,7 @@
 import java.util.Map;
 
 import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_ID;
+import static com.rapiddweller.benerator.engine.DescriptorConstants.ATT_INDEXES;
 import static com.rapiddweller.benerator.engine.DescriptorConstants.EL_MEMSTORE;
 import static com.rapiddweller.benerator.engine.parser.xml.DescriptorParserUtil.getAttributeAsString;
 
@@ -58,6 +60,7 @@ public class MemStoreParser extends AbstractBeneratorDescriptorParser {
   static {
     ATTR_INFO = new AttrInfoSupport(BeneratorErrorIds.SYN_MEMSTORE_ILLEGAL_ATTR);
     ATTR_INFO.add(ATT_ID, true, BeneratorErrorIds.SYN_MEMSTORE_ID);
+    ATTR_INFO.add(ATT_INDEXES, false, BeneratorErrorIds.SYN_MEMSTORE_INDEXES);
   }
 
   public MemStoreParser() {
@@ -69,7 +72,8 @@ public MemStoreStatement doParse(Element element, Element[] parentXmlPath, State
     checkAttributeSupport(XMLUtil.getAttributes(element));
     try {
       String id = DescriptorParserUtil.getAttributeAsString(ATT_ID, element);
-      return new MemStoreStatement(id, context.getResourceManager());
+      String[][] indexes = parseIndexes(element);
+      return new MemStoreStatement(id, indexes, context.getResourceManager());
     } catch (ConversionException e) {
       throw BeneratorExceptionFactory.getInstance().configurationError("Error parsing memstore definition", e);
     }
@@ -80,10 +84,32 @@ private static void checkAttributeSupport(Map<String, String> attributes) {
       throw BeneratorExceptionFactory.getInstance().configurationError("No id specified for <store>");
     }
     for (String key : attributes.keySet()) {
-      if (!"id".equals(key)) {
+      if (!ATT_ID.equals(key) && !ATT_INDEXES.equals(key)) {
         throw BeneratorExceptionFactory.getInstance().configurationError("Not a supported attribute of <store>: " + key);
       }
     }
   }
 
+  /** Parses an index specification like 'person.name, order.customer_id'
+   *  into pairs of entity type and column name. */
+  static String[][] parseIndexes(Element element) {
+    String spec = getAttributeAsString(ATT_INDEXES, element);
+    if (StringUtil.isEmpty(spec)) {
+      return new String[0][];
+    }
+    String[] tokens = spec.split(",");
+    String[][] indexes = new String[tokens.length][];
+    for (int i = 0; i < tokens.length; i++) {
+      String token = tokens[i].trim();
+      int sep = token.lastIndexOf('.');
+      if (sep <= 0 || sep == token.length() - 1) {
+        throw ExceptionFactory.getInstance().syntaxErrorForXmlElement(
+            "Illegal index specification '" + token + "', expected 'type.column'", null,
+            BeneratorErrorIds.SYN_MEMSTORE_INDEXES, element);
+      }
+      indexes[i] = new String[] { token.substring(0, sep), token.substring(sep + 1) };
+    }
+    return indexes;
+  }
+
 }
@@ -45,13 +45,20 @@ public class MemStoreStatement implements Statement {
   private static final Logger logger = LoggerFactory.getLogger(MemStoreStatement.class);
 
   private final String id;
+  private final String[][] indexes;
   ResourceManager resourceManager;
 
   public MemStoreStatement(String id, ResourceManager resourceManager) {
+    this(id, new String[0][], resourceManager);
+  }
+
+  /** @param indexes pairs of entity type and column name to create indexes for */
+  public MemStoreStatement(String id, String[][] indexes, ResourceManager resourceManager) {
     if (id == null) {
       throw BeneratorExceptionFactory.getInstance().configurationError("No store id defined");
     }
     this.id = id;
+    this.indexes = indexes;
     this.resourceManager = resourceManager;
   }
 
@@ -59,6 +66,9 @@ public MemStoreStatement(String id, ResourceManager resourceManager) {
   public boolean execute(BeneratorContext context) {
     logger.debug("Instantiating store with id '{}'", id);
     MemStore store = new MemStore(id, context.getDataModel());
+    for (String[] index : indexes) {
+      store.addIndex(index[0], index[1]);
+    }
     // register this object on all relevant managers and in the context
     context.setGlobal(id, store);
     context.getDataModel().addDescriptorProvider(store);
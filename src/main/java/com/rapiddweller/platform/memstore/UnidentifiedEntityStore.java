@@ -9,6 +9,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * {@link EntityStore} for entity types without id.<br/><br/>
@@ -28,6 +29,16 @@ public UnidentifiedEntityStore(ComplexTypeDescriptor type) {
   @Override
   public void store(Entity entity) {
     entities.add(entity);
+    index(entity);
+  }
+
+  @Override
+  public boolean removeIf(Predicate<Entity> filter) {
+    boolean removed = entities.removeIf(filter);
+    if (removed) {
+      reindex();
+    }
+    return removed;
   }
 
   @Override
@@ -1,6 +1,5 @@
 package com.rapiddweller.platform.mongodb;
 
-import com.mongodb.client.model.Filters;
 import com.rapiddweller.benerator.Consumer;
 import com.rapiddweller.benerator.consumer.NoConsumer;
 import com.rapiddweller.benerator.engine.BeneratorContext;
@@ -19,6 +18,7 @@
 import com.rapiddweller.platform.mongodb.converter.DocumentToObjectConverter;
 import com.rapiddweller.platform.mongodb.converter.DocumentIdToEntityConverter;
 import com.rapiddweller.platform.mongodb.converter.DocumentToEntityConverter;
+import com.rapiddweller.platform.mongodb.client.MongoDBBulkWriter;
 import com.rapiddweller.platform.mongodb.client.MongoDBClient;
 import com.rapiddweller.platform.mongodb.client.MongoDBClientProvider;
 import com.rapiddweller.platform.mongodb.datasource.MongoDBDataSource;
@@ -37,6 +37,7 @@ public class MongoDBSystem extends CustomStorageSystem {
   private final MongoDBClientProvider mongoDBClientProvider;
   private final MongoDBClient mongoDBClient;
   private final Map<String, List<String>> entityPaths = new HashMap<>();
+  private MongoDBBulkWriter writer;
 
   public MongoDBSystem(DataModel dataModel, String id, String host, Integer port, String database, String user,
                        String password, String authenticationDatabase, String authMechanism, Boolean clean) {
@@ -49,6 +50,7 @@ public MongoDBSystem(DataModel dataModel, String id, String host, Integer port,
     }
     mongoDBClientProvider = new MongoDBClientProvider(host, port, database, user, password, authenticationDatabase, authMechanism);
     mongoDBClient = mongoDBClientProvider.createMongoDBClient();
+    writer = new MongoDBBulkWriter(mongoDBClient::getCollection, MongoDBBulkWriter.DEFAULT_BATCH_SIZE);
     if (TRUE.equals(clean)) {
       mongoDBClient.cleanDatabase();
     }
@@ -80,6 +82,7 @@ public MongoDBSystem(String id, String environmentName, String systemName, Bener
             getOrElseReturnDefault(def, "authenticationMechanism", "SCRAM-SHA-1")
         );
         mongoDBClient = mongoDBClientProvider.createMongoDBClient();
+        writer = new MongoDBBulkWriter(mongoDBClient::getCollection, MongoDBBulkWriter.DEFAULT_BATCH_SIZE);
         if (TRUE.equals(parseBoolean(Optional.ofNullable(def.getProperty("clean")).orElse("false")))) {
           mongoDBClient.cleanDatabase();
         }
@@ -93,6 +96,17 @@ public MongoDBSystem(String id, String environmentName, String systemName, Bener
     }
   }
 
+  public int getBatchSize() {
+    return writer.getBatchSize();
+  }
+
+  /** Sets the maximum number of documents to collect per collection before writing them in bulk.
+   *  A value of 1 or less makes each document be written immediately. */
+  public void setBatchSize(int batchSize) {
+    writer.flush();
+    writer = new MongoDBBulkWriter(mongoDBClient::getCollection, batchSize);
+  }
+
   private static String getOrElseThrowConfigurationError(SystemRef systemRef, String key) {
     return Optional.ofNullable(systemRef.getProperty(key))
         .orElseThrow(() -> EXCEPTION_FACTORY.configurationError(format(
@@ -109,6 +123,7 @@ private static String getOrElseReturnDefault(SystemRef systemRef, String key, St
 
   @Override
   public DataSource<Entity> queryEntities(String collection, String query, Context context) {
+    writer.flush();
     MongoDBDataSource mongoDBDataSource = new MongoDBDataSource(mongoDBClientProvider, collection, query, context);
     ComplexTypeDescriptor descriptor = (ComplexTypeDescriptor) getTypeDescriptor(collection);
     if (descriptor == null) {
@@ -122,6 +137,7 @@ public DataSource<Entity> queryEntities(String collection, String query, Context
 
   @Override
   public DataSource<Object> queryEntityIds(String entity, String query, Context context) {
+    writer.flush();
     String collection = getCollection(entity);
     MongoDBDataSource mongoDBDataSource = new MongoDBDataSource(mongoDBClientProvider, collection, query, context);
     DocumentIdToEntityConverter documentIdToEntityConverter = createDocumentIdToEntityConverter(collection);
@@ -148,6 +164,7 @@ private List<String> getIdFieldPath(String entity) {
 
   @Override
   public DataSource<Object> query(String query, boolean simplify, Context context) {
+    writer.flush();
     MongoDBDataSource mongoDBDataSource = new MongoDBDataSource(mongoDBClientProvider, null, query, context);
     DocumentToObjectConverter documentConverter = new DocumentToObjectConverter(simplify);
     return new ConvertingDataSource<>(mongoDBDataSource, documentConverter);
@@ -157,14 +174,14 @@ public DataSource<Object> query(String query, boolean simplify, Context context)
   public void store(Entity entity) {
     String entityType = getEntityType(entity);
     addTypeDescriptor(entity.descriptor);
-    mongoDBClient.insertDocument(entityType, convertEntityToDocument(entity));
+    writer.insert(entityType, convertEntityToDocument(entity));
   }
 
   @Override
   public void update(Entity entity) {
     String entityType = getEntityType(entity);
     addTypeDescriptor(entity.descriptor);
-    mongoDBClient.replaceDocument(entityType, Filters.eq("_id", entity.get("_id")), convertEntityToDocument(entity));
+    writer.replace(entityType, entity.get("_id"), convertEntityToDocument(entity));
   }
 
   private String getEntityType(Entity entity) {
@@ -228,12 +245,16 @@ private boolean isUnknownType(TypeDescriptor typeDescriptor) {
 
   @Override
   public void flush() {
-    // not needed
+    writer.flush();
   }
 
   @Override
   public void close() {
-    mongoDBClient.close();
+    try {
+      writer.close();
+    } finally {
+      mongoDBClient.close();
+    }
   }
 
   public Consumer inserter(String target) {
@@ -243,6 +264,7 @@ public Consumer inserter(String target) {
   }
 
   public Consumer deleter(String target) {
+    writer.flush();
     mongoDBClient.getDatabase(this.mongoDBClientProvider.getDatabase()).getCollection(target).drop();
     return new NoConsumer();
   }
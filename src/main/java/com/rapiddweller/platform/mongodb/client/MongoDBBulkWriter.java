@@ -0,0 +1,208 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.mongodb.client;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Collects documents to be inserted or replaced per collection and writes them in bulk:
+ * Inserts with an unordered insertMany(), replacements with an unordered bulkWrite().
+ * A collection's buffer is written when it reaches the batch size and on {@link #flush()}.
+ * Since the server may apply the operations of an unordered bulk in any order,
+ * a buffer holds either inserts or replacements, and it is written before it would
+ * receive a second replacement of the same document.
+ * With a batch size of 1 or less, each document is written immediately.
+ * When a bulk write fails for some documents, the others are written nevertheless,
+ * the failures are logged and reported by an exception.<br/><br/>
+ * Created: 05.04.2023 09:14:26
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MongoDBBulkWriter implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(MongoDBBulkWriter.class);
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  /** The maximum number of write errors to log for a single bulk write */
+  private static final int MAX_LOGGED_ERRORS = 10;
+
+  private final Function<String, MongoCollection<Document>> collections;
+  private final int batchSize;
+  private final Map<String, Buffer> buffers;
+
+  public MongoDBBulkWriter(Function<String, MongoCollection<Document>> collections, int batchSize) {
+    this.collections = collections;
+    this.batchSize = batchSize;
+    this.buffers = new LinkedHashMap<>();
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  // interface -------------------------------------------------------------------------------------------------------
+
+  public synchronized void insert(String collectionName, Document document) {
+    if (batchSize <= 1) {
+      collections.apply(collectionName).insertOne(document);
+      return;
+    }
+    Buffer buffer = buffer(collectionName);
+    if (buffer.hasReplacements()) {
+      buffer.write();
+    }
+    buffer.inserts.add(document);
+    if (buffer.size() >= batchSize) {
+      buffer.write();
+    }
+  }
+
+  public synchronized void replace(String collectionName, Object id, Document document) {
+    if (batchSize <= 1) {
+      collections.apply(collectionName).replaceOne(Filters.eq("_id", id), document);
+      return;
+    }
+    Buffer buffer = buffer(collectionName);
+    if (buffer.hasInserts() || buffer.replacedIds.contains(id)) {
+      buffer.write();
+    }
+    buffer.replacements.add(new ReplaceOneModel<>(Filters.eq("_id", id), document));
+    buffer.replacedIds.add(id);
+    if (buffer.size() >= batchSize) {
+      buffer.write();
+    }
+  }
+
+  /** Returns the number of documents which are buffered and not yet written. */
+  public synchronized int pendingCount() {
+    int count = 0;
+    for (Buffer buffer : buffers.values()) {
+      count += buffer.size();
+    }
+    return count;
+  }
+
+  /** Writes the buffered documents of all collections. If writing fails for some collection,
+   *  the others are written nevertheless and the first failure is thrown afterwards. */
+  public synchronized void flush() {
+    RuntimeException failure = null;
+    for (Buffer buffer : buffers.values()) {
+      try {
+        buffer.write();
+      } catch (RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      flush();
+    } finally {
+      buffers.clear();
+    }
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private Buffer buffer(String collectionName) {
+    return buffers.computeIfAbsent(collectionName, Buffer::new);
+  }
+
+  private static RuntimeException bulkWriteFailed(
+      String collectionName, int count, MongoBulkWriteException e, List<?> documents) {
+    List<BulkWriteError> errors = e.getWriteErrors();
+    for (int i = 0; i < errors.size() && i < MAX_LOGGED_ERRORS; i++) {
+      BulkWriteError error = errors.get(i);
+      logger.error("Failed to write document #{} of a bulk to collection '{}': {} (error code {}): {}",
+          error.getIndex(), collectionName, error.getMessage(), error.getCode(), documents.get(error.getIndex()));
+    }
+    if (errors.size() > MAX_LOGGED_ERRORS) {
+      logger.error("{} more write errors on collection '{}'", errors.size() - MAX_LOGGED_ERRORS, collectionName);
+    }
+    String message = "Bulk write to collection '" + collectionName + "' failed for " + errors.size()
+        + " of " + count + " documents";
+    if (e.getWriteConcernError() != null) {
+      message += ", write concern error: " + e.getWriteConcernError().getMessage();
+    }
+    return BeneratorExceptionFactory.getInstance().operationFailed(message, e);
+  }
+
+  private class Buffer {
+
+    private final String collectionName;
+    private final List<Document> inserts;
+    private final List<WriteModel<Document>> replacements;
+    private final Set<Object> replacedIds;
+
+    Buffer(String collectionName) {
+      this.collectionName = collectionName;
+      this.inserts = new ArrayList<>();
+      this.replacements = new ArrayList<>();
+      this.replacedIds = new HashSet<>();
+    }
+
+    boolean hasInserts() {
+      return !inserts.isEmpty();
+    }
+
+    boolean hasReplacements() {
+      return !replacements.isEmpty();
+    }
+
+    int size() {
+      return inserts.size() + replacements.size();
+    }
+
+    void write() {
+      if (hasInserts()) {
+        List<Document> documents = new ArrayList<>(inserts);
+        inserts.clear();
+        try {
+          collections.apply(collectionName).insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+          throw bulkWriteFailed(collectionName, documents.size(), e, documents);
+        }
+      }
+      if (hasReplacements()) {
+        List<WriteModel<Document>> models = new ArrayList<>(replacements);
+        replacements.clear();
+        replacedIds.clear();
+        try {
+          collections.apply(collectionName).bulkWrite(models, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+          throw bulkWriteFailed(collectionName, models.size(), e, models);
+        }
+      }
+    }
+
+  }
+
+}
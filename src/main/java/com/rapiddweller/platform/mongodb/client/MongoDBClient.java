@@ -1,6 +1,7 @@
 package com.rapiddweller.platform.mongodb.client;
 
 import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.rapiddweller.platform.mongodb.datasource.MongoDBRunCommandResult;
 import org.bson.Document;
@@ -48,6 +49,10 @@ private static List<Document> getDocuments(Document cursor) {
 
     }
 
+    public MongoCollection<Document> getCollection(String collectionName) {
+        return this.getDatabase(this.database).getCollection(collectionName);
+    }
+
     public void insertDocument(String collectionName, Document document) {
         this.getDatabase(this.database).getCollection(collectionName).insertOne(document);
     }
@@ -34,6 +34,7 @@
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.FileUtil;
 import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.common.SystemInfo;
 import com.rapiddweller.common.accessor.FeatureAccessor;
 import com.rapiddweller.common.context.ContextAware;
 import com.rapiddweller.common.context.DefaultContext;
@@ -47,15 +48,30 @@
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
 /**
  * Exports generated data using template files,
- * for example based on the FreeMarker Template Language.<br/><br/>
+ * for example based on the FreeMarker Template Language.
+ * By default, all consumed entities are collected in a tree of {@link TemplateRecord}s
+ * and the template is rendered once when the exporter is closed.
+ * In {@link #setStreaming(boolean) streaming} mode, the template is split into a header,
+ * a record and a footer section by the markers {@value #RECORD_MARKER} and {@value #FOOTER_MARKER}:
+ * The header is written when the first entity arrives, the record section is rendered for each
+ * top-level entity (with its nested entities) as soon as it is complete, exposing it as variable
+ * 'record', and the footer is written on close with the number of records in the variable 'recordCount'.
+ * So memory consumption does not grow with the amount of exported data.
+ * Parsed templates are cached and shared among exporter instances.<br/><br/>
  * Created: 27.06.2014 16:50:44
  * @author Volker Bergmann
  * @since 0.9.7
@@ -64,15 +80,34 @@ public class TemplateFileEntityExporter implements Consumer, ContextAware {
 
   private static final Logger logger = LoggerFactory.getLogger(TemplateFileEntityExporter.class);
 
+  public static final String RECORD_MARKER = "<#-- @record -->";
+  public static final String FOOTER_MARKER = "<#-- @footer -->";
+
+  private static final int TEMPLATE_CACHE_SIZE = 100;
+
+  /** Parsed templates by mode and resolved template URI, limited to the most recently used ones.
+   *  Access must be synchronized on the map. */
+  private static final Map<String, ParsedTemplate> TEMPLATE_CACHE =
+      new LinkedHashMap<String, ParsedTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedTemplate> eldest) {
+          return (size() > TEMPLATE_CACHE_SIZE);
+        }
+      };
+
   // attributes ------------------------------------------------------------------------------------------------------
 
   private String templateUri;
   private String uri;
   private String encoding;
   private Class<? extends TemplateRecord> recordType;
+  private boolean streaming;
 
   private TemplateRecord root;
   private Stack<TemplateRecord> stack;
+  private Writer out;
+  private Script[] sections;
+  private long recordCount;
 
   private BeneratorContext context;
 
@@ -81,6 +116,7 @@ public class TemplateFileEntityExporter implements Consumer, ContextAware {
 
   public TemplateFileEntityExporter() {
     this.recordType = DefaultTemplateRecord.class;
+    this.streaming = false;
   }
 
 
@@ -136,6 +172,16 @@ public void setRecordType(Class<? extends TemplateRecord> recordType) {
     this.recordType = recordType;
   }
 
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  /** Specifies if each top-level entity is rendered as soon as it is complete,
+   *  requiring a template with a record section. */
+  public void setStreaming(boolean streaming) {
+    this.streaming = streaming;
+  }
+
 
   // Consumer interface implementation -------------------------------------------------------------------------------
 
@@ -158,7 +204,9 @@ public void startConsuming(ProductWrapper<?> wrapper) {
     TemplateRecord productRecord = entityToRecord(product);
     String featureName = product.type();
     TemplateRecord parentRecord = stack.peek();
-    updateFeature(featureName, parentRecord, productRecord);
+    if (!streaming || parentRecord != root) { // in streaming mode, top-level records are not collected
+      updateFeature(featureName, parentRecord, productRecord);
+    }
     stack.push(productRecord);
   }
 
@@ -169,25 +217,34 @@ public void finishConsuming(ProductWrapper<?> wrapper) {
       throw ExceptionFactory.getInstance().configurationError(
           "Trying to pop product from empty stack: '" + product + "'");
     }
-    stack.pop();
+    TemplateRecord record = stack.pop();
+    if (streaming && stack.size() == 1) {
+      renderRecord(record);
+    }
   }
 
   @Override
   public void close() {
-    if (root != null) {
+    if (streaming) {
+      if (root == null) {
+        init();
+      }
+      if (out != null) {
+        Context subContext = new DefaultContext(context);
+        subContext.set("recordCount", recordCount);
+        render(sections[2], subContext);
+        IOUtil.close(out);
+        out = null;
+        logger.debug("Wrote {} records to file {}", recordCount, uri);
+      }
+    } else if (root != null) {
       logger.debug("Writing file {}", uri);
       try {
-        Script template = ScriptUtil.readFile(context.resolveRelativeUri(templateUri));
+        Script template = templateSections()[0];
         mapRootToContext();
         Context subContext = new DefaultContext(context);
         String text = ToStringConverter.convert(template.evaluate(subContext), "");
-        String targetUri = context.resolveRelativeUri(uri);
-        String targetPath = targetUri.replace('/', File.separatorChar);
-        File folder = new File(targetPath).getParentFile();
-        if (folder != null) {
-          folder.mkdirs();
-        }
-        IOUtil.writeTextFile(targetPath, text, encoding);
+        IOUtil.writeTextFile(targetPath(), text, encoding);
       } catch (ScriptException e) {
         throw ExceptionFactory.getInstance().configurationError(
             "Error evaluating template " + templateUri, e);
@@ -209,6 +266,94 @@ private void init() {
     this.root = BeanUtil.newInstance(recordType);
     this.stack = new Stack<>();
     this.stack.push(root);
+    if (streaming) {
+      this.sections = templateSections();
+      this.recordCount = 0;
+      try {
+        this.out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(targetPath()),
+            (encoding != null ? encoding : SystemInfo.getFileEncoding())));
+      } catch (IOException e) {
+        throw BeneratorExceptionFactory.getInstance().fileCreationFailed("Error creating file " + uri, e);
+      }
+      render(sections[0], new DefaultContext(context));
+    }
+  }
+
+  private void renderRecord(TemplateRecord record) {
+    Context subContext = new DefaultContext(context);
+    subContext.set("record", record);
+    render(sections[1], subContext);
+    recordCount++;
+  }
+
+  private void render(Script section, Context subContext) {
+    try {
+      section.execute(subContext, out);
+    } catch (IOException e) {
+      throw BeneratorExceptionFactory.getInstance().operationFailed("Error writing file " + uri, e);
+    } catch (ScriptException e) {
+      throw ExceptionFactory.getInstance().configurationError(
+          "Error evaluating template " + templateUri, e);
+    }
+  }
+
+  private String targetPath() {
+    String targetUri = context.resolveRelativeUri(uri);
+    String targetPath = targetUri.replace('/', File.separatorChar);
+    File folder = new File(targetPath).getParentFile();
+    if (folder != null) {
+      folder.mkdirs();
+    }
+    return targetPath;
+  }
+
+  /** Parses the template or, in streaming mode, its header, record and footer section,
+   *  reusing the result for all exporters with the same template URI as long as its text is unchanged. */
+  private Script[] templateSections() {
+    String resolvedUri = context.resolveRelativeUri(templateUri);
+    String text = IOUtil.getContentOfURI(resolvedUri);
+    String engineId = templateUri.substring(templateUri.lastIndexOf('.') + 1);
+    String key = (streaming ? "sections:" : "full:") + resolvedUri;
+    synchronized (TEMPLATE_CACHE) {
+      ParsedTemplate template = TEMPLATE_CACHE.get(key);
+      if (template == null || !template.text.equals(text)) {
+        template = new ParsedTemplate(text, parseTemplate(text, engineId));
+        TEMPLATE_CACHE.put(key, template);
+      }
+      return template.sections;
+    }
+  }
+
+  private Script[] parseTemplate(String text, String engineId) {
+    if (!streaming) {
+      return new Script[] { ScriptUtil.parseScriptText(text, engineId) };
+    }
+    int recordIndex = text.indexOf(RECORD_MARKER);
+    if (recordIndex < 0) {
+      throw ExceptionFactory.getInstance().configurationError("Template " + templateUri
+          + " has no record section, it must be marked with " + RECORD_MARKER + " for streaming");
+    }
+    int recordStart = recordIndex + RECORD_MARKER.length();
+    int footerIndex = text.indexOf(FOOTER_MARKER, recordStart);
+    String header = text.substring(0, recordIndex);
+    String record = (footerIndex >= 0 ? text.substring(recordStart, footerIndex) : text.substring(recordStart));
+    String footer = (footerIndex >= 0 ? text.substring(footerIndex + FOOTER_MARKER.length()) : "");
+    return new Script[] {
+        ScriptUtil.parseScriptText(header, engineId),
+        ScriptUtil.parseScriptText(skipLineBreak(record), engineId),
+        ScriptUtil.parseScriptText(skipLineBreak(footer), engineId)
+    };
+  }
+
+  /** Removes the line break which follows a section marker. */
+  private static String skipLineBreak(String section) {
+    if (section.startsWith("\r\n")) {
+      return section.substring(2);
+    } else if (section.startsWith("\n")) {
+      return section.substring(1);
+    } else {
+      return section;
+    }
   }
 
   private TemplateRecord entityToRecord(Entity entity) {
@@ -225,4 +370,16 @@ private void mapRootToContext() {
     }
   }
 
+  /** Keeps the parsed sections of a template together with the text they were parsed from. */
+  private static class ParsedTemplate {
+
+    final String text;
+    final Script[] sections;
+
+    ParsedTemplate(String text, Script[] sections) {
+      this.text = text;
+      this.sections = sections;
+    }
+  }
+
 }
@@ -37,9 +37,6 @@
 import com.rapiddweller.format.DataIterator;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.Entity;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -55,7 +52,8 @@ public class AllSheetsXLSEntityIterator implements DataIterator<Entity>, Context
 
   private final String uri;
 
-  private final Workbook workbook;
+  private final SheetRowSource sheets;
+  private final String[] sheetNames;
 
   private final boolean formatted;
   private boolean rowBased;
@@ -85,7 +83,8 @@ public AllSheetsXLSEntityIterator(
     this.emptyMarker = (entityDescriptor != null &&
         entityDescriptor.getEmptyMarker() != null ?
         entityDescriptor.getEmptyMarker() : null);
-    this.workbook = WorkbookFactory.create(IOUtil.getInputStreamForURI(uri));
+    this.sheets = SingleSheetXLSEntityIterator.openRowSource(uri);
+    this.sheetNames = sheets.getSheetNames();
     this.sheetNo = -1;
     this.formatted = formatted;
   }
@@ -103,6 +102,7 @@ public static List<Entity> parseAll(String uri, Converter<String, ?> preprocesso
     while ((container = iterator.next(container)) != null) {
       list.add(container.getData());
     }
+    iterator.close();
     return list;
   }
 
@@ -155,6 +155,8 @@ public synchronized DataContainer<Entity> next(
   @Override
   public synchronized void close() {
     IOUtil.close(source);
+    source = null;
+    sheets.close();
   }
 
 
@@ -169,7 +171,8 @@ public String toString() {
 
   private void nextSheet() {
     // check if a sheet is available
-    if (sheetNo >= workbook.getNumberOfSheets() - 1) {
+    if (sheetNo >= sheetNames.length - 1) {
+      IOUtil.close(source);
       source = null;
       return;
     }
@@ -183,8 +186,7 @@ private void nextSheet() {
     this.sheetNo++;
 
     // create iterator
-    Sheet sheet = workbook.getSheetAt(sheetNo);
-    source = new SingleSheetXLSEntityIterator(sheet, preprocessor,
+    source = new SingleSheetXLSEntityIterator(uri, sheets, false, sheetNames[sheetNo], preprocessor,
         entityDescriptor, context, rowBased, formatted, emptyMarker);
   }
 
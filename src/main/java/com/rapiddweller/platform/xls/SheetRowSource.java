@@ -0,0 +1,30 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.format.DataIterator;
+
+import java.io.Closeable;
+
+/**
+ * Provides the rows of the sheets of an Excel document as arrays of cell values.<br/><br/>
+ * Created: 29.03.2023 08:12:40
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+interface SheetRowSource extends Closeable {
+
+  /** @return the names of the sheets in document order */
+  String[] getSheetNames();
+
+  /** Creates an iterator for the rows of the sheet with the given name.
+   *  Cells are provided as String, Double, Date or Boolean or, if formatted is true, as formatted text.
+   *  String cells are processed by the preprocessor and the emptyMarker is mapped to an empty string. */
+  DataIterator<Object[]> rowIterator(String sheetName, boolean formatted,
+                                     Converter<String, ?> preprocessor, String emptyMarker);
+
+  @Override
+  void close();
+
+}
@@ -27,6 +27,7 @@
 package com.rapiddweller.platform.xls;
 
 import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.CollectionUtil;
@@ -39,14 +40,12 @@
 import com.rapiddweller.format.DataIterator;
 import com.rapiddweller.format.util.OrthogonalArrayIterator;
 import com.rapiddweller.format.util.ThreadLocalDataContainer;
-import com.rapiddweller.format.xls.XLSLineIterator;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.ComponentDescriptor;
 import com.rapiddweller.model.data.DataModel;
 import com.rapiddweller.model.data.Entity;
 import com.rapiddweller.platform.array.Array2EntityConverter;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 
 import java.io.IOException;
@@ -55,15 +54,19 @@
 import java.util.List;
 
 /**
- * Iterates a single sheet of an XLS document and maps its rows to entities.<br/><br/>
+ * Iterates a single sheet of an XLS document and maps its rows to entities.
+ * When reading an XLSX file by its uri, the file is parsed in a streaming manner by an
+ * {@link XLSXStreamingRowSource} unless the system property {@link BeneratorOpts#OPTS_STREAM_XLSX}
+ * is set to false.<br/><br/>
  * Created: 23.06.2014 17:20:19
  * @author Volker Bergmann
  * @since 0.9.5
  */
 public class SingleSheetXLSEntityIterator implements DataIterator<Entity> {
 
-  private String uri;
-  private final Workbook workbook;
+  private final String uri;
+  private final SheetRowSource sheets;
+  private final boolean ownsSheets;
   private final boolean rowBased;
   private final boolean formatted;
   private final String emptyMarker;
@@ -87,9 +90,8 @@ public SingleSheetXLSEntityIterator(String uri, String sheetName,
                                       boolean rowBased, boolean formatted,
                                       String emptyMarker)
       throws IOException {
-    this(loadSheet(uri, sheetName), preprocessor, entityType, context,
+    this(uri, openRowSource(uri), true, sheetName, preprocessor, entityType, context,
         rowBased, formatted, emptyMarker);
-    this.uri = uri;
   }
 
   public SingleSheetXLSEntityIterator(Sheet sheet,
@@ -98,18 +100,36 @@ public SingleSheetXLSEntityIterator(Sheet sheet,
                                       BeneratorContext context,
                                       boolean rowBased, boolean formatted,
                                       String emptyMarker) {
-    this.workbook = sheet.getWorkbook();
+    this(null, new WorkbookRowSource(sheet.getWorkbook()), false, sheet.getSheetName(), preprocessor,
+        entityDescriptor, context, rowBased, formatted, emptyMarker);
+  }
+
+  SingleSheetXLSEntityIterator(String uri, SheetRowSource sheets, boolean ownsSheets, String sheetName,
+                               Converter<String, ?> preprocessor,
+                               ComplexTypeDescriptor entityDescriptor,
+                               BeneratorContext context,
+                               boolean rowBased, boolean formatted,
+                               String emptyMarker) {
+    this.uri = uri;
+    this.sheets = sheets;
+    this.ownsSheets = ownsSheets;
     this.preprocessor = preprocessor;
     this.context = context;
     this.rowBased = rowBased;
     this.formatted = formatted;
     this.emptyMarker = emptyMarker;
-    this.source = createRawIterator(sheet, rowBased, preprocessor);
+    if (!ArrayUtil.contains(sheetName, sheets.getSheetNames())) {
+      if (ownsSheets) {
+        sheets.close();
+      }
+      throw BeneratorExceptionFactory.getInstance().configurationError("Sheet '" + sheetName + "' not found in file " + uri);
+    }
+    this.source = createRawIterator(sheetName);
 
     // if not specified explicitly, determine entity type by sheet name
     this.entityDescriptor = entityDescriptor;
     if (this.entityDescriptor == null) {
-      String entityTypeName = sheet.getSheetName();
+      String entityTypeName = sheetName;
       if (context != null) {
         DataModel dataModel = context.getDataModel();
         this.entityDescriptor = (ComplexTypeDescriptor) dataModel
@@ -154,9 +174,10 @@ public static List<Entity> parseAll(String uri, String sheetName,
                                       boolean rowBased, boolean formatted,
                                       String emptyMarker)
       throws IOException {
-    Sheet sheet = loadSheet(uri, sheetName);
-    return parseAll(sheet, preprocessor, type, context, rowBased, formatted,
-        emptyMarker);
+    try (SingleSheetXLSEntityIterator iterator = new SingleSheetXLSEntityIterator(uri, sheetName,
+        preprocessor, type, context, rowBased, formatted, emptyMarker)) {
+      return iterator.parseAll();
+    }
   }
 
   public static List<Entity> parseAll(Sheet sheet,
@@ -165,27 +186,19 @@ public static List<Entity> parseAll(Sheet sheet,
                                       BeneratorContext context,
                                       boolean rowBased, boolean formatted,
                                       String emptyMarker) {
-    List<Entity> list = new ArrayList<>();
     SingleSheetXLSEntityIterator iterator =
         new SingleSheetXLSEntityIterator(sheet, preprocessor, type,
             context, rowBased, formatted, emptyMarker);
-    DataContainer<Entity> container = new DataContainer<>();
-    while ((container = iterator.next(container)) != null) {
-      list.add(container.getData());
-    }
-    return list;
+    return iterator.parseAll();
   }
 
-  private static Sheet loadSheet(String uri, String sheetName)
-      throws IOException {
+  /** Opens an XLSX file for streaming access or loads an XLS file into memory. */
+  static SheetRowSource openRowSource(String uri) throws IOException {
+    if (BeneratorOpts.isStreamingXlsx() && uri.toLowerCase().endsWith(".xlsx")) {
+      return new XLSXStreamingRowSource(uri);
+    }
     try (InputStream stream = IOUtil.getInputStreamForURI(uri)) {
-      try (Workbook workbook = WorkbookFactory.create(stream)) {
-        Sheet sheet = workbook.getSheet(sheetName);
-        if (sheet == null) {
-          throw BeneratorExceptionFactory.getInstance().configurationError("Sheet '" + sheetName + "' not found in file " + uri);
-        }
-        return sheet;
-      }
+      return new WorkbookRowSource(WorkbookFactory.create(stream));
     }
   }
 
@@ -237,6 +250,9 @@ public DataContainer<Entity> next(DataContainer<Entity> container) {
   @Override
   public void close() {
     IOUtil.close(source);
+    if (ownsSheets) {
+      sheets.close();
+    }
   }
 
   private void parseHeaders() {
@@ -244,13 +260,17 @@ private void parseHeaders() {
     this.headers = (tmp != null ? normalizeHeaders(tmp.getData()) : null);
   }
 
-  private DataIterator<Object[]> createRawIterator(Sheet sheet,
-                                                   boolean rowBased,
-                                                   Converter<String, ?> preprocessor) {
-    XLSLineIterator iterator = new XLSLineIterator(sheet, false, formatted, preprocessor);
-    if (emptyMarker != null) {
-      iterator.setEmptyMarker(emptyMarker);
+  private List<Entity> parseAll() {
+    List<Entity> list = new ArrayList<>();
+    DataContainer<Entity> container = new DataContainer<>();
+    while ((container = next(container)) != null) {
+      list.add(container.getData());
     }
+    return list;
+  }
+
+  private DataIterator<Object[]> createRawIterator(String sheetName) {
+    DataIterator<Object[]> iterator = sheets.rowIterator(sheetName, formatted, preprocessor, emptyMarker);
     if (!rowBased) {
       return new OrthogonalArrayIterator<>(iterator);
     }
@@ -280,15 +300,16 @@ private void resolveCollections(Object[] rawData) {
   }
 
   private Entity[] mapTabToArray(String tabName, ComplexTypeDescriptor type) {
-    Sheet sheet = getSheet(tabName);
-    List<Entity> elements = parseAll(sheet, preprocessor, type, context, rowBased, formatted, emptyMarker);
-    return CollectionUtil.toArray(elements, Entity.class);
+    String sheetName = getSheetName(tabName);
+    try (SingleSheetXLSEntityIterator tabIterator = new SingleSheetXLSEntityIterator(uri, sheets, false, sheetName,
+        preprocessor, type, context, rowBased, formatted, emptyMarker)) {
+      return CollectionUtil.toArray(tabIterator.parseAll(), Entity.class);
+    }
   }
 
-  private Sheet getSheet(String tabName) {
-    for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-      Sheet candidate = workbook.getSheetAt(i);
-      if (candidate.getSheetName().trim().equalsIgnoreCase(tabName.trim())) {
+  private String getSheetName(String tabName) {
+    for (String candidate : sheets.getSheetNames()) {
+      if (candidate.trim().equalsIgnoreCase(tabName.trim())) {
         return candidate;
       }
     }
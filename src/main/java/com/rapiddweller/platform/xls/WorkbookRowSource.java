@@ -0,0 +1,54 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.xls.XLSLineIterator;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * {@link SheetRowSource} implementation which reads the rows of a POI {@link Workbook} in memory.<br/><br/>
+ * Created: 29.03.2023 08:20:17
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+class WorkbookRowSource implements SheetRowSource {
+
+  private final Workbook workbook;
+
+  WorkbookRowSource(Workbook workbook) {
+    this.workbook = workbook;
+  }
+
+  @Override
+  public String[] getSheetNames() {
+    String[] names = new String[workbook.getNumberOfSheets()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = workbook.getSheetName(i);
+    }
+    return names;
+  }
+
+  @Override
+  public DataIterator<Object[]> rowIterator(String sheetName, boolean formatted,
+                                            Converter<String, ?> preprocessor, String emptyMarker) {
+    XLSLineIterator iterator = new XLSLineIterator(workbook.getSheet(sheetName), false, formatted, preprocessor);
+    if (emptyMarker != null) {
+      iterator.setEmptyMarker(emptyMarker);
+    }
+    return iterator;
+  }
+
+  @Override
+  public void close() {
+    IOUtil.close(workbook);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName();
+  }
+
+}
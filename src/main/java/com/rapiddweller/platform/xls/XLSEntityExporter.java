@@ -37,27 +37,34 @@
 import com.rapiddweller.script.PrimitiveType;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFCellStyle;
-import org.apache.poi.hssf.usermodel.HSSFDataFormat;
-import org.apache.poi.hssf.usermodel.HSSFRichTextString;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 /**
- * Exports entities to Excel sheets.<br/><br/>
+ * Exports entities to Excel sheets.
+ * If the uri ends with '.xlsx', the file is written in streaming mode with an {@link SXSSFWorkbook},
+ * which keeps only the last {@link #setRowWindow(int) rowWindow} rows of each sheet in memory and
+ * flushes older rows to temporary files, otherwise the whole workbook is built in memory in XLS format.
+ * When a sheet has reached the row limit of the file format (or {@link #setMaxRowsPerSheet(int)}),
+ * export continues in a new sheet named with a numeric suffix, e.g. 'product_2'.<br/><br/>
  * Created at 07.05.2008 13:31:15
  * @author Volker Bergmann
  * @since 0.5.3
@@ -69,11 +76,17 @@ public class XLSEntityExporter extends FormattingConsumer implements FileExporte
   // defaults --------------------------------------------------------------------------------------------------------
 
   private static final String DEFAULT_URI = "export.xls";
+  private static final int DEFAULT_ROW_WINDOW = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
 
   // attributes ------------------------------------------------------------------------------------------------------
 
   private String uri;
-  private HSSFWorkbook workbook;
+  private int rowWindow;
+  private boolean compressTempFiles;
+  private int maxRowsPerSheet;
+  private Workbook workbook;
+  private final Map<String, SheetWriter> sheetWriters;
+  private final Map<String, CellStyle> cellStyles;
 
   // constructors ----------------------------------------------------------------------------------------------------
 
@@ -83,6 +96,11 @@ public XLSEntityExporter() {
 
   public XLSEntityExporter(String uri) {
     this.uri = uri;
+    this.rowWindow = DEFAULT_ROW_WINDOW;
+    this.compressTempFiles = true;
+    this.maxRowsPerSheet = 0;
+    this.sheetWriters = new HashMap<>();
+    this.cellStyles = new HashMap<>();
     setDatePattern("m/d/yy");
     setDecimalPattern("#,##0.##");
     setIntegralPattern("0");
@@ -101,12 +119,40 @@ public String getUri() {
     return uri;
   }
 
-  // Consumer interface ----------------------------------------------------------------------------------------------
-
   public void setUri(String uri) {
     this.uri = uri;
   }
 
+  public int getRowWindow() {
+    return rowWindow;
+  }
+
+  /** Sets the number of rows per sheet which are kept in memory in XLSX streaming mode. */
+  public void setRowWindow(int rowWindow) {
+    this.rowWindow = rowWindow;
+  }
+
+  public boolean isCompressTempFiles() {
+    return compressTempFiles;
+  }
+
+  /** Specifies if the temporary files of XLSX streaming mode are gzip-compressed. */
+  public void setCompressTempFiles(boolean compressTempFiles) {
+    this.compressTempFiles = compressTempFiles;
+  }
+
+  public int getMaxRowsPerSheet() {
+    return maxRowsPerSheet;
+  }
+
+  /** Sets the maximum number of rows per sheet including the header row.
+   *  0 stands for the limit of the file format: 65,536 rows for XLS and 1,048,576 rows for XLSX. */
+  public void setMaxRowsPerSheet(int maxRowsPerSheet) {
+    this.maxRowsPerSheet = maxRowsPerSheet;
+  }
+
+  // Consumer interface ----------------------------------------------------------------------------------------------
+
   @Override
   public void startProductConsumption(Object object) {
     logger.debug("exporting {}", object);
@@ -114,22 +160,21 @@ public void startProductConsumption(Object object) {
       throw BeneratorExceptionFactory.getInstance().illegalArgument("Expecting Entity");
     }
     Entity entity = (Entity) object;
-    HSSFSheet sheet = getOrCreateSheet(entity);
-    HSSFRow row = sheet.createRow(sheet.getLastRowNum() + 1);
+    SheetWriter writer = getOrCreateSheetWriter(entity);
+    Row row = writer.nextRow(entity);
     int i = 0;
     for (Map.Entry<String, Object> component : getComponents(entity)) {
-      render(row, i++, component.getValue());
+      render(row, i, component.getValue(), writer.columnStyle(i));
+      i++;
     }
   }
 
-  // private helpers -------------------------------------------------------------------------------------------------
-
   @Override
   public void close() {
     if (workbook == null) {
-      workbook = new HSSFWorkbook(); // if no data was added, create an empty Excel document
-    } else {
-      XLSUtil.autoSizeColumns(workbook);
+      workbook = createWorkbook(); // if no data was added, create an empty Excel document
+    } else if (!isStreaming()) {
+      XLSUtil.autoSizeColumns((HSSFWorkbook) workbook);
     }
 
     File directory = new File(uri);
@@ -148,38 +193,55 @@ public void close() {
       workbook.write(out);
     } catch (IOException e) {
       throw BeneratorExceptionFactory.getInstance().configurationError("Error writing XLS file", e);
+    } finally {
+      if (workbook instanceof SXSSFWorkbook) {
+        ((SXSSFWorkbook) workbook).dispose(); // delete the temporary files
+      }
+      sheetWriters.clear();
+      cellStyles.clear();
     }
   }
 
-  private HSSFSheet getOrCreateSheet(Entity entity) {
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private boolean isStreaming() {
+    return (uri != null && uri.toLowerCase().endsWith(".xlsx"));
+  }
+
+  private SheetWriter getOrCreateSheetWriter(Entity entity) {
     // create file
     if (workbook == null) {
-      createWorkbook();
+      workbook = createWorkbook();
     }
-    String sheetName = entity.type();
-    HSSFSheet sheet = workbook.getSheet(sheetName);
-    if (sheet == null) {
-      sheet = workbook.createSheet(sheetName);
-      writeHeaderRow(entity, sheet);
+    String typeName = entity.type();
+    SheetWriter writer = sheetWriters.get(typeName);
+    if (writer == null) {
+      writer = new SheetWriter(typeName, columnStyles(entity));
+      sheetWriters.put(typeName, writer);
+    }
+    return writer;
+  }
+
+  private Workbook createWorkbook() {
+    if (isStreaming()) {
+      SXSSFWorkbook result = new SXSSFWorkbook(rowWindow);
+      result.setCompressTempFiles(compressTempFiles);
+      return result;
+    } else {
+      return new HSSFWorkbook();
     }
-    return sheet;
   }
 
-  private void createWorkbook() {
-    this.workbook = new HSSFWorkbook();
-    HSSFCellStyle dateCellStyle = workbook.createCellStyle();
-    HSSFDataFormat format = workbook.createDataFormat();
-    short dateFormat = format.getFormat(getDatePattern());
-    dateCellStyle.setDataFormat(dateFormat);
+  private int rowLimit() {
+    int formatLimit = workbook.getSpreadsheetVersion().getMaxRows();
+    return (maxRowsPerSheet > 0 ? Math.min(maxRowsPerSheet, formatLimit) : formatLimit);
   }
 
-  private void writeHeaderRow(Entity entity, HSSFSheet sheet) {
-    HSSFRow headerRow = sheet.createRow(0);
-    int colnum = 0;
+  /** Determines the cell style of each component column, sharing styles with the same format across sheets. */
+  private CellStyle[] columnStyles(Entity entity) {
+    List<CellStyle> styles = new ArrayList<>();
     for (Map.Entry<String, Object> component : getComponents(entity)) {
-      String componentName = component.getKey();
-      headerRow.createCell(colnum).setCellValue(new HSSFRichTextString(componentName));
-      ComponentDescriptor cd = entity.descriptor().getComponent(componentName);
+      ComponentDescriptor cd = entity.descriptor().getComponent(component.getKey());
       PrimitiveType primitiveType;
       if (cd.getTypeDescriptor() instanceof SimpleTypeDescriptor) {
         primitiveType = ((SimpleTypeDescriptor) cd.getTypeDescriptor()).getPrimitiveType();
@@ -188,30 +250,43 @@ private void writeHeaderRow(Entity entity, HSSFSheet sheet) {
             "failed to export " + entity.type() + '.' + cd.getName());
       }
       Class<?> javaType = (primitiveType != null ? primitiveType.getJavaType() : String.class);
-      String formatString = null;
-      if (BeanUtil.isIntegralNumberType(javaType)) {
-        formatString = getIntegralPattern();
-      } else if (BeanUtil.isDecimalNumberType(javaType)) {
-        formatString = getDecimalPattern();
-      } else if (Time.class.isAssignableFrom(javaType)) {
-        formatString = getTimePattern();
-      } else if (Timestamp.class.isAssignableFrom(javaType)) {
-        formatString = getTimestampPattern();
-      } else if (Date.class.isAssignableFrom(javaType)) {
-        formatString = getDatePattern();
-      }
-      if (formatString != null) {
-        HSSFDataFormat dataFormat = workbook.createDataFormat();
-        CellStyle columnStyle = workbook.createCellStyle();
-        columnStyle.setDataFormat(dataFormat.getFormat(formatString));
-        sheet.setDefaultColumnStyle(colnum, columnStyle);
-      }
-      colnum++;
+      styles.add(cellStyle(formatString(javaType)));
+    }
+    return styles.toArray(new CellStyle[0]);
+  }
+
+  private String formatString(Class<?> javaType) {
+    if (BeanUtil.isIntegralNumberType(javaType)) {
+      return getIntegralPattern();
+    } else if (BeanUtil.isDecimalNumberType(javaType)) {
+      return getDecimalPattern();
+    } else if (Time.class.isAssignableFrom(javaType)) {
+      return getTimePattern();
+    } else if (Timestamp.class.isAssignableFrom(javaType)) {
+      return getTimestampPattern();
+    } else if (Date.class.isAssignableFrom(javaType)) {
+      return getDatePattern();
+    } else {
+      return null;
+    }
+  }
+
+  private CellStyle cellStyle(String formatString) {
+    if (formatString == null) {
+      return null;
     }
+    return cellStyles.computeIfAbsent(formatString, f -> {
+      CellStyle style = workbook.createCellStyle();
+      style.setDataFormat(workbook.createDataFormat().getFormat(f));
+      return style;
+    });
   }
 
-  private void render(HSSFRow row, int column, Object value) {
-    HSSFCell cell = row.createCell(column);
+  private void render(Row row, int column, Object value, CellStyle style) {
+    Cell cell = row.createCell(column);
+    if (style != null) {
+      cell.setCellStyle(style);
+    }
     if (value instanceof Number) {
       cell.setCellValue(((Number) value).doubleValue());
     } else if (value instanceof Date) {
@@ -219,8 +294,58 @@ private void render(HSSFRow row, int column, Object value) {
     } else if (value instanceof Boolean) {
       cell.setCellValue((Boolean) value);
     } else {
-      String s = plainConverter.convert(value);
-      cell.setCellValue(new HSSFRichTextString(s));
+      cell.setCellValue(plainConverter.convert(value));
+    }
+  }
+
+  // SheetWriter class -----------------------------------------------------------------------------------------------
+
+  /** Appends the rows of one entity type, rolling over to a new sheet when the current one is full. */
+  private class SheetWriter {
+
+    private final String typeName;
+    private final CellStyle[] columnStyles;
+    private final int rowLimit;
+    private Sheet sheet;
+    private int sheetCount;
+    private int rowCount;
+
+    SheetWriter(String typeName, CellStyle[] columnStyles) {
+      this.typeName = typeName;
+      this.columnStyles = columnStyles;
+      this.rowLimit = Math.max(2, rowLimit());
+      this.sheet = null;
+      this.sheetCount = 0;
+      this.rowCount = 0;
+    }
+
+    CellStyle columnStyle(int column) {
+      return (column < columnStyles.length ? columnStyles[column] : null);
+    }
+
+    Row nextRow(Entity entity) {
+      if (sheet == null || rowCount >= rowLimit) {
+        startSheet(entity);
+      }
+      return sheet.createRow(rowCount++);
+    }
+
+    private void startSheet(Entity entity) {
+      sheetCount++;
+      String sheetName = (sheetCount == 1 ? typeName : typeName + '_' + sheetCount);
+      logger.debug("Starting sheet {}", sheetName);
+      sheet = workbook.createSheet(sheetName);
+      Row headerRow = sheet.createRow(0);
+      int colnum = 0;
+      for (Map.Entry<String, Object> component : getComponents(entity)) {
+        headerRow.createCell(colnum).setCellValue(component.getKey());
+        CellStyle style = columnStyle(colnum);
+        if (style != null) {
+          sheet.setDefaultColumnStyle(colnum, style);
+        }
+        colnum++;
+      }
+      rowCount = 1;
     }
   }
 
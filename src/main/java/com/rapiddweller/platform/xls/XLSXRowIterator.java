@@ -0,0 +1,262 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls the rows of an XLSX sheet from its XML representation with a StAX parser
+ * and provides each row as an array of cell values. Only the current row is held in memory.
+ * Iteration starts with the first row which is present in the XML. Rows missing after that
+ * (because they are completely empty) are provided as empty arrays, missing cells within a row as null.<br/><br/>
+ * Created: 29.03.2023 08:47:03
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+class XLSXRowIterator implements DataIterator<Object[]> {
+
+  private static final Object[] EMPTY_ROW = new Object[0];
+
+  private final InputStream in;
+  private XMLStreamReader reader;
+  private final SharedStrings sharedStrings;
+  private final StylesTable styles;
+  private final boolean formatted;
+  private final Converter<String, ?> preprocessor;
+  private final String emptyMarker;
+  private final DataFormatter formatter;
+  private final List<Object> cells;
+
+  private int nextRowIndex;
+  private int bufferedRowIndex;
+  private Object[] bufferedRow;
+
+  XLSXRowIterator(InputStream in, SharedStrings sharedStrings, StylesTable styles, boolean formatted,
+                  Converter<String, ?> preprocessor, String emptyMarker) throws XMLStreamException {
+    this.in = in;
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    this.reader = factory.createXMLStreamReader(in);
+    this.sharedStrings = sharedStrings;
+    this.styles = styles;
+    this.formatted = formatted;
+    this.preprocessor = preprocessor;
+    this.emptyMarker = emptyMarker;
+    this.formatter = (formatted ? new DataFormatter() : null);
+    this.cells = new ArrayList<>();
+    this.nextRowIndex = -1;
+    this.bufferedRow = null;
+  }
+
+  // DataIterator interface implementation ---------------------------------------------------------------------------
+
+  @Override
+  public Class<Object[]> getType() {
+    return Object[].class;
+  }
+
+  @Override
+  public DataContainer<Object[]> next(DataContainer<Object[]> container) {
+    if (bufferedRow == null && !readRow()) {
+      return null;
+    }
+    if (nextRowIndex++ < bufferedRowIndex) {
+      return container.setData(EMPTY_ROW); // fill a gap of empty rows
+    }
+    Object[] row = bufferedRow;
+    bufferedRow = null;
+    return container.setData(row);
+  }
+
+  @Override
+  public void close() {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // ignore, the underlying stream is closed anyway
+      }
+      reader = null;
+    }
+    IOUtil.close(in);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName();
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  /** Reads the next row element into the buffer.
+   *  @return false if the end of the sheet data has been reached */
+  private boolean readRow() {
+    if (reader == null) {
+      return false;
+    }
+    try {
+      while (reader.hasNext()) {
+        if (reader.next() == XMLStreamConstants.START_ELEMENT && "row".equals(reader.getLocalName())) {
+          String r = reader.getAttributeValue(null, "r");
+          bufferedRowIndex = (r != null ? Integer.parseInt(r) - 1 : Math.max(nextRowIndex, 0));
+          if (nextRowIndex < 0) {
+            nextRowIndex = bufferedRowIndex; // iteration starts with the first row present
+          }
+          bufferedRow = readCells();
+          return true;
+        }
+      }
+      close();
+      return false;
+    } catch (XMLStreamException e) {
+      throw BeneratorExceptionFactory.getInstance().fileAccessException("Error parsing XLSX sheet", e);
+    }
+  }
+
+  private Object[] readCells() throws XMLStreamException {
+    cells.clear();
+    int event;
+    while ((event = reader.next()) != XMLStreamConstants.END_DOCUMENT) {
+      if (event == XMLStreamConstants.START_ELEMENT && "c".equals(reader.getLocalName())) {
+        int column = columnIndex(reader.getAttributeValue(null, "r"), cells.size());
+        String type = reader.getAttributeValue(null, "t");
+        String style = reader.getAttributeValue(null, "s");
+        Object value = readCell(type, style);
+        while (cells.size() < column) {
+          cells.add(null);
+        }
+        cells.add(value);
+      } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(reader.getLocalName())) {
+        break;
+      }
+    }
+    return cells.toArray();
+  }
+
+  /** Reads the content of a cell element up to its end tag and converts it. */
+  private Object readCell(String type, String style) throws XMLStreamException {
+    String text = null;
+    StringBuilder inlineText = null;
+    int event;
+    while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT || !"c".equals(reader.getLocalName())) {
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        String element = reader.getLocalName();
+        if ("v".equals(element)) {
+          text = reader.getElementText();
+        } else if ("t".equals(element)) { // a text run of an inline string
+          if (inlineText == null) {
+            inlineText = new StringBuilder();
+          }
+          inlineText.append(reader.getElementText());
+        } else if ("rPh".equals(element)) {
+          skipElement(); // phonetic text is not part of the cell value
+        }
+      }
+    }
+    if ("inlineStr".equals(type)) {
+      return (inlineText != null ? stringValue(inlineText.toString()) : null);
+    }
+    if (text == null) {
+      return null; // blank cell
+    }
+    if (type == null || "n".equals(type)) {
+      return numericValue(Double.parseDouble(text), style);
+    }
+    switch (type) {
+      case "s": return stringValue(sharedStrings.getItemAt(Integer.parseInt(text)).getString());
+      case "b": return booleanValue("1".equals(text));
+      case "str": // formula with string result
+      case "e": // error
+      default: return stringValue(text);
+    }
+  }
+
+  private Object stringValue(String text) {
+    if (emptyMarker != null && emptyMarker.equals(text)) {
+      text = "";
+    }
+    return (preprocessor != null ? preprocessor.convert(text) : text);
+  }
+
+  private Object booleanValue(boolean value) {
+    return (formatted ? (value ? "TRUE" : "FALSE") : (Object) value);
+  }
+
+  private Object numericValue(double value, String style) {
+    int formatIndex = 0;
+    String formatString = null;
+    if (style != null && styles != null) {
+      XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+      if (cellStyle != null) {
+        formatIndex = cellStyle.getDataFormat();
+        formatString = cellStyle.getDataFormatString();
+      }
+    }
+    if (formatString == null) {
+      formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+    }
+    if (formatted) {
+      return formatter.formatRawCellContents(value, formatIndex, formatString);
+    } else if (formatString != null && DateUtil.isADateFormat(formatIndex, formatString)) {
+      return DateUtil.getJavaDate(value);
+    } else {
+      return mapNumberType(value);
+    }
+  }
+
+  /** Maps integral values to Integer or Long like XLSUtil does for loaded workbooks. */
+  private static Number mapNumberType(double value) {
+    if (Math.rint(value) == value) {
+      if (value <= Integer.MAX_VALUE && value >= Integer.MIN_VALUE) {
+        return (int) value;
+      } else if (value <= Long.MAX_VALUE && value >= Long.MIN_VALUE) {
+        return (long) value;
+      }
+    }
+    return value;
+  }
+
+  private void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /** Determines the column index from a cell reference like 'B7' or uses the default if no reference is given. */
+  private static int columnIndex(String cellReference, int defaultIndex) {
+    if (cellReference == null) {
+      return defaultIndex;
+    }
+    int end = 0;
+    while (end < cellReference.length() && Character.isLetter(cellReference.charAt(end))) {
+      end++;
+    }
+    return CellReference.convertColStringToIndex(cellReference.substring(0, end));
+  }
+
+}
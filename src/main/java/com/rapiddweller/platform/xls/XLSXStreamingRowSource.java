@@ -0,0 +1,106 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
+import com.rapiddweller.common.Converter;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataIterator;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link SheetRowSource} implementation which reads XLSX documents without building a workbook in memory:
+ * It loads the shared strings table and the cell styles of the document and
+ * parses the XML of each sheet in a streaming manner, so memory consumption does not depend on the row count.
+ * Cells which have a formula provide the result value which was cached when the document was saved.<br/><br/>
+ * Created: 29.03.2023 08:31:56
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+class XLSXStreamingRowSource implements SheetRowSource {
+
+  private final String uri;
+  private final OPCPackage pkg;
+  private final XSSFReader reader;
+  private final SharedStrings sharedStrings;
+  private final StylesTable styles;
+  private final String[] sheetNames;
+
+  XLSXStreamingRowSource(String uri) {
+    this.uri = uri;
+    try {
+      File file = new File(uri);
+      if (file.isFile()) {
+        this.pkg = OPCPackage.open(file, PackageAccess.READ); // accesses zip entries on demand
+      } else {
+        try (InputStream in = IOUtil.getInputStreamForURI(uri)) {
+          this.pkg = OPCPackage.open(in);
+        }
+      }
+      this.reader = new XSSFReader(pkg);
+      this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+      this.styles = reader.getStylesTable();
+      this.sheetNames = readSheetNames();
+    } catch (Exception e) {
+      throw BeneratorExceptionFactory.getInstance().fileAccessException("Error opening XLSX file " + uri, e);
+    }
+  }
+
+  @Override
+  public String[] getSheetNames() {
+    return sheetNames;
+  }
+
+  @Override
+  public DataIterator<Object[]> rowIterator(String sheetName, boolean formatted,
+                                            Converter<String, ?> preprocessor, String emptyMarker) {
+    try {
+      XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+      while (iterator.hasNext()) {
+        InputStream in = iterator.next();
+        if (iterator.getSheetName().equals(sheetName)) {
+          return new XLSXRowIterator(in, sharedStrings, styles, formatted, preprocessor, emptyMarker);
+        }
+        IOUtil.close(in);
+      }
+    } catch (Exception e) {
+      throw BeneratorExceptionFactory.getInstance().fileAccessException(
+          "Error reading sheet '" + sheetName + "' of " + uri, e);
+    }
+    throw BeneratorExceptionFactory.getInstance().configurationError(
+        "Sheet '" + sheetName + "' not found in file " + uri);
+  }
+
+  @Override
+  public void close() {
+    pkg.revert(); // closes a read-only package without attempting to save it
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + uri + ']';
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private String[] readSheetNames() throws Exception {
+    List<String> names = new ArrayList<>();
+    XSSFReader.SheetIterator iterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+    while (iterator.hasNext()) {
+      IOUtil.close(iterator.next());
+      names.add(iterator.getSheetName());
+    }
+    return names.toArray(new String[0]);
+  }
+
+}
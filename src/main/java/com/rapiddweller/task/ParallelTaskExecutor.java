@@ -0,0 +1,267 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.task;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.ErrorHandler;
+import com.rapiddweller.common.HF;
+import com.rapiddweller.common.exception.ExceptionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multithreaded {@link Task} executor which runs one worker thread per task instance.
+ * Each worker is supposed to use its own {@link Task} and {@link Context} instance,
+ * so the tasks need not be thread-safe by themselves. The requested invocation count
+ * is split into pages which are fetched by the workers from a shared counter,
+ * so faster workers take over the remaining work of slower ones.<br/><br/>
+ * Created: 14.03.2023 10:47:12
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class ParallelTaskExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParallelTaskExecutor.class);
+
+  private final List<Worker> workers;
+  private final List<PageListener> pageListeners;
+  private final long pageSize;
+  private final ErrorHandler errorHandler;
+  private final boolean infoLog;
+  private final AtomicLong queuedInvocations;
+  private final AtomicBoolean cancelled;
+  private Long requestedInvocations;
+
+  private ParallelTaskExecutor(List<? extends Task> tasks, List<? extends Context> contexts,
+                               List<PageListener> pageListeners, long pageSize,
+                               ErrorHandler errorHandler, boolean infoLog) {
+    if (tasks.isEmpty() || tasks.size() != contexts.size()) {
+      throw ExceptionFactory.getInstance().illegalArgument(
+          "Expected one context per task, but got " + tasks.size() + " task(s) and " + contexts.size() + " context(s)");
+    }
+    this.workers = new ArrayList<>(tasks.size());
+    for (int i = 0; i < tasks.size(); i++) {
+      this.workers.add(new Worker(i + 1, tasks.get(i), contexts.get(i)));
+    }
+    this.pageListeners = pageListeners;
+    this.pageSize = pageSize;
+    this.errorHandler = errorHandler;
+    this.infoLog = infoLog;
+    this.queuedInvocations = new AtomicLong();
+    this.cancelled = new AtomicBoolean(false);
+  }
+
+  public static void execute(List<? extends Task> tasks, List<? extends Context> contexts,
+                             Long requestedInvocations, Long minInvocations,
+                             List<PageListener> pageListeners, long pageSize,
+                             ErrorHandler errorHandler, boolean infoLog) {
+    ParallelTaskExecutor executor = new ParallelTaskExecutor(tasks, contexts, pageListeners, pageSize, errorHandler, infoLog);
+    executor.run(requestedInvocations, minInvocations);
+  }
+
+  private void run(Long requestedInvocations, Long minInvocations) {
+    Task target = workers.get(0).target;
+    log(executionInfo(target, requestedInvocations, minInvocations));
+    long countValue = run(requestedInvocations);
+    if (minInvocations != null && countValue < minInvocations) {
+      throw new TaskUnavailableException(target, minInvocations, countValue);
+    }
+    logWorkerPerformance();
+  }
+
+  private long run(Long requestedInvocations) {
+    if (requestedInvocations != null && requestedInvocations == 0) {
+      return 0;
+    }
+    this.requestedInvocations = requestedInvocations;
+    this.queuedInvocations.set(requestedInvocations != null ? requestedInvocations : 0);
+    AtomicInteger threadNo = new AtomicInteger();
+    String taskName = workers.get(0).target.getTaskName();
+    ExecutorService executorService = Executors.newFixedThreadPool(workers.size(),
+        r -> new Thread(r, taskName + "-worker-" + threadNo.incrementAndGet()));
+    try {
+      List<Future<Long>> futures = new ArrayList<>(workers.size());
+      for (Worker worker : workers) {
+        futures.add(executorService.submit(worker::run));
+      }
+      long actualCount = 0;
+      for (Future<Long> future : futures) {
+        actualCount += future.get();
+      }
+      return actualCount;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw ExceptionFactory.getInstance().operationCancelled("Interrupted execution of task " + taskName);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else {
+        throw ExceptionFactory.getInstance().operationFailed("Error in execution of task " + taskName, cause);
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  /** Reserves the invocations of the next page for a worker. Pages go to the worker which asks first,
+   *  so the assignment of invocations to workers (and their random streams) is not reproducible.
+   *  @return the number of invocations to perform, or 0 if there is no more work */
+  private long nextPageSize() {
+    if (cancelled.get()) {
+      return 0;
+    }
+    if (requestedInvocations == null) {
+      return (pageSize > 0 ? pageSize : 1);
+    }
+    long chunkSize = (pageSize > 0 ? pageSize : (requestedInvocations + workers.size() - 1) / workers.size());
+    long current;
+    long size;
+    do {
+      current = queuedInvocations.get();
+      if (current <= 0) {
+        return 0;
+      }
+      size = Math.min(chunkSize, current);
+    } while (!queuedInvocations.compareAndSet(current, current - size));
+    return size;
+  }
+
+  private void returnInvocations(long count) {
+    if (requestedInvocations != null && count > 0) {
+      queuedInvocations.addAndGet(count);
+    }
+  }
+
+  private void pageStarting(Worker worker) {
+    if (logger.isDebugEnabled()) {
+      logger.debug("Starting page {} of {} in thread #{}", worker.pageCount + 1, worker.target.getTaskName(), worker.id);
+    }
+    if (pageListeners != null) {
+      synchronized (pageListeners) {
+        for (PageListener listener : pageListeners) {
+          listener.pageStarting();
+        }
+      }
+    }
+  }
+
+  private void pageFinished(Worker worker) {
+    logger.debug("Page {} of {} finished in thread #{}", worker.pageCount, worker.target.getTaskName(), worker.id);
+    if (pageListeners != null) {
+      synchronized (pageListeners) {
+        for (PageListener listener : pageListeners) {
+          listener.pageFinished();
+        }
+      }
+    }
+  }
+
+  private String executionInfo(Task task, Long maxInvocations, Long minInvocations) {
+    String invocationInfo =
+        (maxInvocations == null ? "as long as available" : HF.pluralize(maxInvocations, "time"));
+    if (minInvocations != null && minInvocations > 0 && (maxInvocations == null || maxInvocations > minInvocations)) {
+      invocationInfo += " requiring at least " + minInvocations + " generations";
+    }
+    invocationInfo += " with page size " + HF.format(pageSize) + " in " + HF.pluralize(workers.size(), "thread");
+    return "Running task " + task + " " + invocationInfo;
+  }
+
+  private void logWorkerPerformance() {
+    for (Worker worker : workers) {
+      long rate = (worker.elapsedMillis > 0 ? worker.count * 1000 / worker.elapsedMillis : worker.count);
+      log("Thread #" + worker.id + " of " + worker.target.getTaskName() + " executed " + HF.pluralize(worker.count, "time")
+          + " in " + HF.pluralize(worker.pageCount, "page") + " within " + worker.elapsedMillis + " ms (" + HF.format(rate) + "/s)");
+    }
+  }
+
+  private void log(String message) {
+    if (infoLog) {
+      logger.info(message);
+    } else {
+      logger.debug(message);
+    }
+  }
+
+
+  // java.lang.Object overrides --------------------------------------------------------------------------------------
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + '[' + workers.size() + " threads]";
+  }
+
+
+  // Worker class ----------------------------------------------------------------------------------------------------
+
+  private class Worker {
+
+    private final int id;
+    private final StateTrackingTaskProxy<Task> target;
+    private final Context context;
+    private long count;
+    private long pageCount;
+    private long elapsedMillis;
+
+    Worker(int id, Task task, Context context) {
+      this.id = id;
+      this.target = new StateTrackingTaskProxy<>(task);
+      this.context = context;
+    }
+
+    long run() {
+      long startTime = System.currentTimeMillis();
+      try {
+        while (target.isAvailable()) {
+          long currentPageSize = nextPageSize();
+          if (currentPageSize <= 0) {
+            break;
+          }
+          long pageResult = runPage(currentPageSize);
+          count += pageResult;
+          if (!target.isAvailable()) {
+            // let other workers take over the part of the page this one could not provide
+            returnInvocations(currentPageSize - pageResult);
+          }
+        }
+        return count;
+      } catch (RuntimeException e) {
+        cancelled.set(true);
+        throw e;
+      } finally {
+        elapsedMillis = System.currentTimeMillis() - startTime;
+      }
+    }
+
+    private long runPage(long currentPageSize) {
+      boolean paged = (pageSize > 0);
+      if (paged) {
+        pageStarting(this);
+      }
+      long result = 0;
+      try {
+        result = TaskExecutor.runWithoutPage(target, currentPageSize, context, errorHandler);
+      } catch (Exception e) {
+        errorHandler.handleError("Error in execution of task " + target.getTaskName() + " in thread #" + id, e);
+      } finally {
+        pageCount++;
+        if (paged) {
+          target.pageFinished();
+          pageFinished(this);
+        }
+      }
+      return result;
+    }
+  }
+
+}
@@ -78,7 +78,7 @@ public static void execute(Task task, Context context, Long requestedInvocations
     runner.run(requestedInvocations, minInvocations);
   }
 
-  private static long runWithoutPage(Task target, Long invocationCount, Context context, ErrorHandler errorHandler) {
+  static long runWithoutPage(Task target, Long invocationCount, Context context, ErrorHandler errorHandler) {
     long actualCount = 0;
     for (int i = 0; invocationCount == null || i < invocationCount; i++) {
       TaskResult stepResult = target.execute(context, errorHandler);
@@ -0,0 +1,67 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.benchmark;
+
+import com.rapiddweller.benerator.engine.BeneratorMonitor;
+import com.rapiddweller.benerator.engine.statement.SchedulingPolicy;
+import com.rapiddweller.benerator.test.AbstractBeneratorIntegrationTest;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the throughput of the built-in 'gen-string' benchmark with the different {@link SchedulingPolicy}s.
+ * Each invocation generates {@value #COUNT} rows.<br/><br/>
+ * Created: 17.03.2023 16:40:22
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class SchedulingPolicyPerfTest extends AbstractBeneratorIntegrationTest {
+
+  private static final int COUNT = 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  /** Verifies that at least 5,000 rows per second are generated without scheduling */
+  @Test
+  @PerfTest(invocations = 20)
+  @Required(throughput = 5)
+  public void testNone() {
+    run(SchedulingPolicy.NONE);
+  }
+
+  /** Verifies that yielding after each page keeps a throughput of at least 5,000 rows per second */
+  @Test
+  @PerfTest(invocations = 20)
+  @Required(throughput = 5)
+  public void testYieldPerPage() {
+    run(SchedulingPolicy.YIELD_PER_PAGE);
+  }
+
+  /** Verifies that cooperative scheduling keeps a throughput of at least 5,000 rows per second */
+  @Test
+  @PerfTest(invocations = 20)
+  @Required(throughput = 5)
+  public void testCooperative() {
+    run(SchedulingPolicy.COOPERATIVE);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void run(SchedulingPolicy policy) {
+    String xml = IOUtil.getContentOfURI(BenchmarkRunner.RESOURCE_FOLDER + "/gen-string.ben.xml");
+    xml = xml.replace("{count}", String.valueOf(COUNT));
+    xml = xml.replace("threads=\"{threads}\"", "threads=\"1\" scheduling=\"" + policy.getName() + "\"");
+    xml = xml.replace("pageSize=\"100000\"", "pageSize=\"100\"");
+    BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
+    parseAndExecuteXmlString(xml);
+    assertEquals(COUNT, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
+  }
+
+}
@@ -0,0 +1,141 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.dataset;
+
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.common.Encodings;
+import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.csv.CSVLineIterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link DatasetSnapshot}.<br/><br/>
+ * Created: 31.03.2023 10:05:37
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class DatasetSnapshotTest {
+
+  private static final File DIR = new File("target", DatasetSnapshotTest.class.getSimpleName());
+  private static final File CSV = new File(DIR, "data.csv");
+  private static final String CITY_FILE = "/com/rapiddweller/domain/address/city_DE.csv";
+
+  @Before
+  public void setUp() throws Exception {
+    DIR.mkdirs();
+    IOUtil.writeTextFile(CSV.getPath(), "id;name;note\n1;Alice;x\n2;Bob\n3;Alice;y\n");
+    System.setProperty(BeneratorOpts.OPTS_SNAPSHOT_DIR, DIR.getPath());
+  }
+
+  @After
+  public void tearDown() {
+    System.clearProperty(BeneratorOpts.OPTS_SNAPSHOT_DIR);
+    BeneratorOpts.setDatasetSnapshots(true);
+    FileUtil.deleteDirectory(DIR);
+  }
+
+  @Test
+  public void testRoundTrip() {
+    DatasetSnapshot snapshot = DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8);
+    assertNotNull(snapshot);
+    assertArrayEquals(new String[] { "id", "name", "note" }, snapshot.getColumnNames());
+    assertEquals(1, snapshot.columnIndex("name"));
+    assertEquals(-1, snapshot.columnIndex("age"));
+    assertEquals(3, snapshot.getRowCount());
+    assertEquals(3, snapshot.getCellCount(0));
+    assertEquals(2, snapshot.getCellCount(1));
+    assertEquals("Alice", snapshot.get(0, 1));
+    assertEquals("x", snapshot.get(0, 2));
+    assertEquals("Bob", snapshot.get(1, 1));
+    assertNull(snapshot.get(1, 2));
+    assertNull(snapshot.get(1, -1));
+    assertEquals("3", snapshot.get(2, 0));
+  }
+
+  @Test
+  public void testStringsAreShared() {
+    DatasetSnapshot snapshot = DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8);
+    assertNotNull(snapshot);
+    assertSame(snapshot.get(0, 1), snapshot.get(2, 1));
+  }
+
+  @Test
+  public void testReuseAndRecompilation() throws Exception {
+    DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8);
+    File[] files = DIR.listFiles((dir, name) -> name.endsWith(".snapshot"));
+    assertNotNull(files);
+    assertEquals(1, files.length);
+    assertNull(DatasetSnapshot.map(files[0], 0L, 0L, ";UTF-8")); // a snapshot of a different file version is ignored
+    IOUtil.writeTextFile(CSV.getPath(), "id;name\n4;Charly\n");
+    DatasetSnapshot snapshot = DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8);
+    assertNotNull(snapshot);
+    assertEquals(1, snapshot.getRowCount());
+    assertEquals("Charly", snapshot.get(0, 1));
+  }
+
+  @Test
+  public void testRecompilationOnModificationTime() throws Exception {
+    DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8);
+    IOUtil.writeTextFile(CSV.getPath(), "id;name;note\n1;Alice;x\n2;Eve\n3;Alice;y\n"); // same size
+    assertTrue(CSV.setLastModified(CSV.lastModified() + 2000));
+    DatasetSnapshot snapshot = DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8);
+    assertNotNull(snapshot);
+    assertEquals("Eve", snapshot.get(1, 1));
+  }
+
+  @Test
+  public void testSnapshotFileNamedByLocationHash() throws Exception {
+    File otherDir = new File(DIR, "other");
+    otherDir.mkdirs();
+    File otherCsv = new File(otherDir, CSV.getName());
+    IOUtil.writeTextFile(otherCsv.getPath(), "id;name\n5;Dave\n");
+    File file1 = DatasetSnapshot.snapshotFile(DatasetSnapshot.Source.of(CSV.getPath()));
+    File file2 = DatasetSnapshot.snapshotFile(DatasetSnapshot.Source.of(otherCsv.getPath()));
+    assertNotEquals(file1, file2);
+    assertTrue(file1.getName().startsWith("data.csv-"));
+    assertEquals(file1, DatasetSnapshot.snapshotFile(DatasetSnapshot.Source.of(CSV.getAbsolutePath())));
+    assertEquals("Dave", DatasetSnapshot.load(otherCsv.getPath(), ';', Encodings.UTF_8).get(0, 1));
+    assertEquals("Alice", DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8).get(0, 1));
+  }
+
+  @Test
+  public void testDisabled() {
+    BeneratorOpts.setDatasetSnapshots(false);
+    assertNull(DatasetSnapshot.load(CSV.getPath(), ';', Encodings.UTF_8));
+  }
+
+  @Test
+  public void testCityFileEqualsCSV() {
+    DatasetSnapshot snapshot = DatasetSnapshot.load(CITY_FILE, ';', Encodings.UTF_8);
+    assertNotNull(snapshot);
+    try (CSVLineIterator iterator = new CSVLineIterator(CITY_FILE, ';', Encodings.UTF_8)) {
+      DataContainer<String[]> container = iterator.next(new DataContainer<>());
+      assertArrayEquals(container.getData(), snapshot.getColumnNames());
+      int row = 0;
+      while ((container = iterator.next(container)) != null) {
+        String[] cells = container.getData();
+        assertEquals(cells.length, snapshot.getCellCount(row));
+        for (int column = 0; column < cells.length; column++) {
+          assertEquals(cells[column], snapshot.get(row, column));
+        }
+        row++;
+      }
+      assertEquals(row, snapshot.getRowCount());
+    }
+  }
+
+}
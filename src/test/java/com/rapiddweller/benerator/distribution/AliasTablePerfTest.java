@@ -0,0 +1,74 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution;
+
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the sampling throughput of the {@link AliasTable}.
+ * Each invocation draws {@value #DRAWS} samples.<br/><br/>
+ * Created: 22.03.2023 09:40:33
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class AliasTablePerfTest {
+
+  private static final int DRAWS = 1000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private Random random;
+  private AliasTable smallTable;
+  private AliasTable largeTable;
+
+  @Before
+  public void setUp() {
+    random = new Random(42);
+    smallTable = new AliasTable(randomWeights(100));
+    largeTable = new AliasTable(randomWeights(100000));
+  }
+
+  /** Verifies that at least 1,000,000 samples per second are drawn from 100 weights */
+  @Test
+  @PerfTest(invocations = 1000)
+  @Required(throughput = 1000)
+  public void testSmallTable() {
+    draw(smallTable, 100);
+  }
+
+  /** Verifies that at least 1,000,000 samples per second are drawn from 100,000 weights */
+  @Test
+  @PerfTest(invocations = 1000)
+  @Required(throughput = 1000)
+  public void testLargeTable() {
+    draw(largeTable, 100000);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void draw(AliasTable table, int size) {
+    for (int i = 0; i < DRAWS; i++) {
+      int sample = table.sample(random);
+      assertTrue(sample >= 0 && sample < size);
+    }
+  }
+
+  private double[] randomWeights(int size) {
+    double[] weights = new double[size];
+    for (int i = 0; i < size; i++) {
+      weights[i] = 1 + random.nextInt(1000);
+    }
+    return weights;
+  }
+
+}
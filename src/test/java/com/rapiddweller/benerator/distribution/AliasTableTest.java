@@ -0,0 +1,100 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution;
+
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link AliasTable}.<br/><br/>
+ * Created: 22.03.2023 09:02:15
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class AliasTableTest {
+
+  @Test
+  public void testProbabilities() {
+    AliasTable table = new AliasTable(new double[] { 1, 2, 3, 0, 4 });
+    assertEquals(5, table.size());
+    assertEquals(0.1, table.probabilityOf(0), 1e-12);
+    assertEquals(0.2, table.probabilityOf(1), 1e-12);
+    assertEquals(0.3, table.probabilityOf(2), 1e-12);
+    assertEquals(0.0, table.probabilityOf(3), 1e-12);
+    assertEquals(0.4, table.probabilityOf(4), 1e-12);
+  }
+
+  @Test
+  public void testPrecisionWithManyWeights() {
+    int n = 200000;
+    double[] weights = new double[n];
+    double sum = 0;
+    for (int i = 0; i < n; i++) {
+      weights[i] = (i % 1000 == 0 ? 1000 : 1);
+      sum += weights[i];
+    }
+    AliasTable table = new AliasTable(weights);
+    for (int i = 0; i < n; i += 997) {
+      assertEquals(weights[i] / sum, table.probabilityOf(i), 1e-12);
+    }
+  }
+
+  @Test
+  public void testZeroWeights() {
+    AliasTable table = new AliasTable(new double[] { 0, 0, 0, 0 });
+    for (int i = 0; i < 4; i++) {
+      assertEquals(0.25, table.probabilityOf(i), 1e-12);
+    }
+  }
+
+  @Test
+  public void testSingleWeight() {
+    AliasTable table = new AliasTable(new double[] { 7 });
+    Random random = new Random();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, table.sample(random));
+    }
+  }
+
+  @Test
+  public void testSampling() {
+    AliasTable table = new AliasTable(new double[] { 1, 0, 3 });
+    Random random = new Random(42);
+    int[] counts = new int[3];
+    int n = 100000;
+    for (int i = 0; i < n; i++) {
+      counts[table.sample(random)]++;
+    }
+    assertEquals(0.25, counts[0] / (double) n, 0.01);
+    assertEquals(0, counts[1]);
+    assertEquals(0.75, counts[2] / (double) n, 0.01);
+  }
+
+  @Test
+  public void testSamplingFromUniformValues() {
+    AliasTable table = new AliasTable(new double[] { 1, 0, 3 });
+    int[] counts = new int[3];
+    int n = 120000;
+    for (int i = 0; i < n; i++) {
+      counts[table.sample(i / (double) n)]++; // an evenly spaced grid reproduces the probabilities
+    }
+    assertEquals(0.25, counts[0] / (double) n, 0.001);
+    assertEquals(0, counts[1]);
+    assertEquals(0.75, counts[2] / (double) n, 0.001);
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testNegativeWeight() {
+    new AliasTable(new double[] { 1, -1 });
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testEmpty() {
+    new AliasTable(new double[0]);
+  }
+
+}
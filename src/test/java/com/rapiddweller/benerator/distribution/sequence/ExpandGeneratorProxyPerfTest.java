@@ -0,0 +1,86 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.Generator;
+import com.rapiddweller.benerator.primitive.IncrementGenerator;
+import com.rapiddweller.benerator.test.GeneratorTest;
+import com.rapiddweller.benerator.wrapper.ProductWrapper;
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests the throughput of the {@link ExpandGeneratorProxy} and the {@link LongExpandGeneratorProxy}
+ * for unique long values with a cache of {@value #DEFAULT_CACHE_SIZE} values.
+ * Each invocation draws {@value #DRAWS} values, the first one also fills the proxy's cache.<br/><br/>
+ * Created: 04.04.2023 10:02:55
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class ExpandGeneratorProxyPerfTest extends GeneratorTest {
+
+  private static final int DEFAULT_CACHE_SIZE = 1000000;
+  private static final int CACHE_SIZE = Integer.getInteger("ExpandGeneratorProxyPerfTest.cacheSize", DEFAULT_CACHE_SIZE);
+  private static final int BUCKET_SIZE = ExpandGeneratorProxy.defaultBucketSize(CACHE_SIZE);
+  private static final int DRAWS = 10000;
+  private static final int INVOCATIONS = 100;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private Generator<Long> generator;
+  private final ProductWrapper<Long> wrapper = new ProductWrapper<>();
+
+  @After
+  public void tearDown() {
+    if (generator != null) {
+      generator.close();
+    }
+  }
+
+  /** Verifies that the {@link LongExpandGeneratorProxy} provides at least 500,000 values per second */
+  @Test
+  @PerfTest(invocations = INVOCATIONS)
+  @Required(throughput = 50)
+  public void testLongExpandGeneratorProxy() {
+    if (generator == null) {
+      generator = init(new LongExpandGeneratorProxy(source(), 0, CACHE_SIZE, BUCKET_SIZE));
+    }
+    draw();
+  }
+
+  /** Verifies that the {@link ExpandGeneratorProxy} provides at least 200,000 values per second */
+  @Test
+  @PerfTest(invocations = INVOCATIONS)
+  @Required(throughput = 20)
+  public void testExpandGeneratorProxy() {
+    if (generator == null) {
+      generator = init(new ExpandGeneratorProxy<>(source(), 0, CACHE_SIZE, BUCKET_SIZE));
+    }
+    draw();
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static IncrementGenerator source() {
+    return new IncrementGenerator(1, 1, CACHE_SIZE + (long) INVOCATIONS * DRAWS);
+  }
+
+  private Generator<Long> init(Generator<Long> proxy) {
+    proxy.init(context);
+    return proxy;
+  }
+
+  private void draw() {
+    for (int i = 0; i < DRAWS; i++) {
+      assertNotNull(generator.generate(wrapper));
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.UniqueLongValidator;
+import com.rapiddweller.benerator.distribution.SequenceManager;
+import com.rapiddweller.benerator.primitive.IncrementGenerator;
+import com.rapiddweller.benerator.test.GeneratorTest;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link LongExpandGeneratorProxy}.<br/><br/>
+ * Created: 04.04.2023 09:12:48
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class LongExpandGeneratorProxyTest extends GeneratorTest {
+
+  private static final int N = 100;
+  private static final int CACHE_SIZE = 30;
+  private static final int BUCKET_SIZE = 10;
+
+  @Test
+  public void testEmptySource() {
+    LongExpandGeneratorProxy generator = new LongExpandGeneratorProxy(
+        new IncrementGenerator(1, 1, 0), 0, CACHE_SIZE, BUCKET_SIZE);
+    generator.init(context);
+    assertUnavailable(generator);
+  }
+
+  @Test
+  public void testUnique() {
+    LongExpandGeneratorProxy generator = new LongExpandGeneratorProxy(
+        new IncrementGenerator(1, 1, N), 0, CACHE_SIZE, BUCKET_SIZE);
+    generator.init(context);
+    UniqueLongValidator validator = new UniqueLongValidator(N);
+    for (int i = 0; i < N; i++) {
+      Long product = generator.generate();
+      assertNotNull(product);
+      assertTrue("Not unique: " + product, validator.valid(product));
+      assertTrue(product >= 1 && product <= N);
+    }
+    assertUnavailable(generator);
+  }
+
+  @Test
+  public void testSmallSource() {
+    LongExpandGeneratorProxy generator = new LongExpandGeneratorProxy(
+        new IncrementGenerator(1, 1, 5), 0, CACHE_SIZE, BUCKET_SIZE);
+    generator.init(context);
+    expectUniquelyGeneratedSet(generator, 1L, 2L, 3L, 4L, 5L).withCeasedAvailability();
+  }
+
+  @Test
+  public void testDuplicationQuota() {
+    LongExpandGeneratorProxy generator = new LongExpandGeneratorProxy(
+        new IncrementGenerator(1, 1, N), 0.5f, CACHE_SIZE, BUCKET_SIZE);
+    generator.init(context);
+    Set<Long> products = new HashSet<>();
+    int count = 0;
+    Long product;
+    while ((product = generator.generate()) != null) {
+      assertTrue(product >= 1 && product <= N);
+      products.add(product);
+      count++;
+    }
+    assertEquals(N, products.size());
+    assertTrue(count > N);
+  }
+
+  @Test
+  public void testSequence() {
+    NonNullGenerator<Integer> generator = SequenceManager.EXPAND_SEQUENCE.createNumberGenerator(
+        Integer.class, 1, N, 1, true);
+    generator.init(context);
+    expectUniqueProducts(generator, N).withCeasedAvailability();
+  }
+
+}
@@ -0,0 +1,147 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.distribution.sequence;
+
+import com.rapiddweller.benerator.InvalidGeneratorSetupException;
+import com.rapiddweller.benerator.NonNullGenerator;
+import com.rapiddweller.benerator.distribution.SequenceManager;
+import com.rapiddweller.benerator.test.GeneratorClassTest;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PermutationLongGenerator}.<br/><br/>
+ * Created: 03.04.2023 10:05:18
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class PermutationLongGeneratorTest extends GeneratorClassTest {
+
+  public PermutationLongGeneratorTest() {
+    super(PermutationLongGenerator.class);
+  }
+
+  @Test
+  public void testInstantiation() {
+    new PermutationLongGenerator();
+    new PermutationLongGenerator(0, 10);
+    new PermutationLongGenerator(0, 10, 1, 42L);
+  }
+
+  @Test(expected = InvalidGeneratorSetupException.class)
+  public void testGranularity0() {
+    createAndInit(0, 3, 0, 42L);
+  }
+
+  @Test
+  public void testSingleValue() {
+    expectGeneratedSequence(createAndInit(5, 5, 1, 42L), 5L).withCeasedAvailability();
+  }
+
+  @Test
+  public void testSmallRanges() {
+    for (int max = 0; max < 100; max++) {
+      PermutationLongGenerator generator = createAndInit(-3, max, 1, 42L);
+      expectUniqueProducts(generator, max + 4).withCeasedAvailability();
+    }
+  }
+
+  @Test
+  public void testGranularity() {
+    PermutationLongGenerator generator = createAndInit(1, 9, 2, 42L);
+    expectUniquelyGeneratedSet(generator, 1L, 3L, 5L, 7L, 9L).withCeasedAvailability();
+  }
+
+  @Test
+  public void testLargeRange() {
+    PermutationLongGenerator generator = createAndInit(1, 1000000, 1, 42L);
+    Set<Long> values = new HashSet<>();
+    for (int i = 0; i < 1000000; i++) {
+      long value = generator.generate();
+      assertTrue(value >= 1 && value <= 1000000);
+      assertTrue(values.add(value));
+    }
+    assertUnavailable(generator);
+  }
+
+  @Test
+  public void testFullRange() {
+    PermutationLongGenerator generator = createAndInit(Long.MIN_VALUE, Long.MAX_VALUE, 1, 42L);
+    assertEquals(0, generator.getSize());
+    expectUniqueProducts(generator, 1000).withContinuedAvailability();
+  }
+
+  @Test
+  public void testKey() {
+    PermutationLongGenerator generator1 = createAndInit(0, 1000, 1, 42L);
+    PermutationLongGenerator generator2 = createAndInit(0, 1000, 1, 42L);
+    PermutationLongGenerator generator3 = createAndInit(0, 1000, 1, 43L);
+    boolean different = false;
+    for (int i = 0; i < 100; i++) {
+      long value = generator1.generate();
+      assertEquals(value, (long) generator2.generate());
+      different |= (value != generator3.generate());
+    }
+    assertTrue(different);
+  }
+
+  @Test
+  public void testRandomAccess() {
+    PermutationLongGenerator generator = createAndInit(0, 999, 1, 42L);
+    long[] values = new long[1000];
+    for (int i = 0; i < 1000; i++) {
+      values[i] = generator.generate();
+    }
+    assertEquals(values[500], generator.valueAt(500));
+    generator.seek(998);
+    assertEquals(998, generator.getCursor());
+    assertEquals(values[998], (long) generator.generate());
+    assertEquals(values[999], (long) generator.generate());
+    assertUnavailable(generator);
+    generator.reset();
+    assertEquals(values[0], (long) generator.generate());
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testIllegalIndex() {
+    createAndInit(0, 9, 1, 42L).valueAt(10);
+  }
+
+  @Test
+  public void testNotSorted() {
+    PermutationLongGenerator generator = createAndInit(0, 999, 1, 42L);
+    long previous = generator.generate();
+    int ascending = 0;
+    for (int i = 1; i < 1000; i++) {
+      long value = generator.generate();
+      if (value > previous) {
+        ascending++;
+      }
+      previous = value;
+    }
+    assertTrue(ascending > 300 && ascending < 700);
+  }
+
+  @Test
+  public void testSequence() {
+    NonNullGenerator<Integer> generator = SequenceManager.PERMUTE_SEQUENCE.createNumberGenerator(
+        Integer.class, 1, 50, 1, true);
+    generator.init(context);
+    expectUniqueProducts(generator, 50).withCeasedAvailability();
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private PermutationLongGenerator createAndInit(long min, long max, long granularity, Long key) {
+    PermutationLongGenerator generator = new PermutationLongGenerator(min, max, granularity, key);
+    generator.init(context);
+    return generator;
+  }
+
+}
@@ -27,7 +27,9 @@
 package com.rapiddweller.benerator.distribution.sequence;
 
 import com.rapiddweller.benerator.IllegalGeneratorStateException;
+import com.rapiddweller.benerator.distribution.AbstractWeightFunction;
 import com.rapiddweller.benerator.distribution.WeightedLongGenerator;
+import com.rapiddweller.benerator.distribution.function.ConstantFunction;
 import com.rapiddweller.benerator.test.GeneratorClassTest;
 import org.junit.Test;
 
@@ -54,6 +56,60 @@ public void testRandomSequence() throws IllegalGeneratorStateException {
     checkUniformDistribution(-5, -1, 2, 10000, 0.1, -5, -3, -1);
   }
 
+  @Test
+  public void testWeightFunction() {
+    WeightedLongGenerator generator = new WeightedLongGenerator(1, 4, 1, new AbstractWeightFunction() {
+      @Override
+      public double value(double param) {
+        return (param == 3 ? 0 : param);
+      }
+    });
+    generator.init(context);
+    expectRelativeWeights(generator, 10000, 1L, 1, 2L, 2, 3L, 0, 4L, 4);
+  }
+
+  @Test
+  public void testZeroWeights() {
+    WeightedLongGenerator generator = new WeightedLongGenerator(1, 3, 1, new ConstantFunction(0));
+    generator.init(context);
+    expectRelativeWeights(generator, 10000, 1L, 1, 2L, 1, 3L, 1);
+  }
+
+  @Test
+  public void testNegativeWeights() {
+    WeightedLongGenerator generator = new WeightedLongGenerator(1, 3, 1, new AbstractWeightFunction() {
+      @Override
+      public double value(double param) {
+        return (param == 2 ? -1 : 2);
+      }
+    });
+    generator.init(context);
+    expectRelativeWeights(generator, 10000, 1L, 1, 2L, 0, 3L, 1);
+  }
+
+  @Test
+  public void testNegativeWeightsWithZeroSum() {
+    WeightedLongGenerator generator = new WeightedLongGenerator(0, 1, 1, new AbstractWeightFunction() {
+      @Override
+      public double value(double param) {
+        return (param == 0 ? -1 : 1);
+      }
+    });
+    generator.init(context);
+    expectRelativeWeights(generator, 10000, 0L, 1, 1L, 1);
+  }
+
+  @Test(expected = IllegalGeneratorStateException.class)
+  public void testNegativeWeightSum() {
+    WeightedLongGenerator generator = new WeightedLongGenerator(0, 1, 1, new AbstractWeightFunction() {
+      @Override
+      public double value(double param) {
+        return (param == 0 ? -2 : 1);
+      }
+    });
+    generator.init(context);
+  }
+
   // private helpers -------------------------------------------------------------------------------------------------
 
   private void checkUniformDistribution(int min, int max, int granularity,
@@ -26,9 +26,17 @@
 
 package com.rapiddweller.benerator.engine;
 
+import com.rapiddweller.benerator.util.UniquenessTracker;
+import com.rapiddweller.benerator.util.UniquenessTrackers;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link BeneratorMonitor}.<br/><br/>
@@ -52,4 +60,81 @@ public void testGenerationCount() {
     assertEquals(189, monitor.getTotalGenerationCount());
   }
 
+  @Test
+  public void testTaskGenerationCount() {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    monitor.reset();
+    monitor.countGenerations("person", 10);
+    monitor.countGenerations("address", 5);
+    monitor.countGenerations("person", 3);
+    assertEquals(18, monitor.getTotalGenerationCount());
+    assertEquals(13, monitor.getTaskGenerationCount("person"));
+    assertEquals(5, monitor.getTaskGenerationCount("address"));
+    assertEquals(0, monitor.getTaskGenerationCount("other"));
+    assertArrayEquals(new String[] { "address=5", "person=13" }, monitor.getTaskGenerationCounts());
+  }
+
+  @Test
+  public void testResetKeepsTaskCounters() {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    GenerationCounter taskCounter = monitor.getTaskCounter("resetTest");
+    monitor.countGenerations(taskCounter, 7);
+    monitor.reset();
+    assertEquals(0, monitor.getTaskGenerationCount("resetTest"));
+    monitor.countGenerations(taskCounter, 3);
+    assertEquals(3, monitor.getTaskGenerationCount("resetTest"));
+    assertEquals(3, monitor.getTotalGenerationCount());
+  }
+
+  @Test
+  public void testJmxAttributes() throws Exception {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    monitor.reset();
+    monitor.countGenerations("jmxTest", 4);
+    Object counts = ManagementFactory.getPlatformMBeanServer().getAttribute(
+        BeneratorMonitor.OBJECT_NAME, "TaskGenerationCounts");
+    assertArrayEquals(new String[] { "jmxTest=4" }, (String[]) counts);
+  }
+
+  @Test
+  public void testConcurrentCounting() throws Exception {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    monitor.reset();
+    GenerationCounter taskCounter = monitor.getTaskCounter("concurrent");
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 10000; j++) {
+          monitor.countGenerations(taskCounter, 1);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(80000, monitor.getTotalGenerationCount());
+    assertEquals(80000, monitor.getTaskGenerationCount("concurrent"));
+  }
+
+  @Test
+  public void testUniquenessStatistics() {
+    BeneratorMonitor monitor = BeneratorMonitor.INSTANCE;
+    BeneratorOpts.setUniquenessTracker(BeneratorOpts.UNIQUENESS_TRACKER_FINGERPRINT);
+    try (UniquenessTracker<String> tracker = UniquenessTrackers.create(String.class)) {
+      long count = monitor.getUniqueValueCount();
+      tracker.add("Alice");
+      tracker.add("Bob");
+      tracker.add("Alice");
+      assertEquals(count + 2, monitor.getUniqueValueCount());
+      assertTrue(monitor.getUniquenessFalsePositiveRate() >= tracker.falsePositiveRate());
+      assertTrue(tracker.falsePositiveRate() > 0);
+      assertTrue(monitor.getUniquenessMemoryUsage() >= tracker.memoryUsage());
+    } finally {
+      BeneratorOpts.setUniquenessTracker(BeneratorOpts.UNIQUENESS_TRACKER_HASHSET);
+    }
+  }
+
 }
@@ -26,8 +26,12 @@
 
 package com.rapiddweller.benerator.engine;
 
+import com.rapiddweller.benerator.BeneratorFactory;
+import com.rapiddweller.benerator.sensor.ContextLookupCounter;
 import com.rapiddweller.benerator.wrapper.ProductWrapper;
 import com.rapiddweller.common.BeanUtil;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.context.DefaultContext;
 import com.rapiddweller.domain.person.GivenNameGenerator;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,6 +40,7 @@
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -180,6 +185,111 @@ public void testKeySet() {
     assertTrue(keySet.contains("line.separator"));
   }
 
+  @Test
+  public void testSlots() {
+    AbstractBeneratorSubContext sub = (AbstractBeneratorSubContext) child;
+    int slot = sub.declare("count");
+    assertEquals(slot, sub.declare("COUNT"));
+    assertFalse(sub.contains("count"));
+    sub.setSlotValue(slot, 5);
+    assertEquals(5, sub.get("Count"));
+    assertTrue(sub.contains("count"));
+    assertTrue(sub.keySet().contains("count"));
+    // sub contexts of the same product share the layout
+    AbstractBeneratorSubContext sibling = new DefaultBeneratorSubContext("person", parent);
+    assertSame(sub.getSlotLayout(), sibling.getSlotLayout());
+    assertNull(sibling.get("count"));
+    sibling.setSlotValue(slot, 6);
+    assertEquals(6, sibling.get("count"));
+    assertEquals(5, sub.get("count"));
+  }
+
+  @Test
+  public void testResolve() {
+    BeneratorContext root = new DefaultBeneratorContext();
+    AbstractBeneratorSubContext outer = (AbstractBeneratorSubContext) root.createSubContext("outer");
+    AbstractBeneratorSubContext inner = (AbstractBeneratorSubContext) outer.createSubContext("inner");
+    outer.set("x", 1);
+    root.set("g", 2);
+    VariableRef x = inner.resolve("x");
+    assertEquals(1, x.getDepth());
+    assertEquals(1, x.get(inner));
+    assertTrue(x.isValidFor(inner));
+    // variables of the root context and current products are not resolved to slots
+    assertNull(inner.resolve("g"));
+    assertNull(inner.resolve("this"));
+    assertNull(inner.resolve("outer"));
+    // a local declaration shadows the parent's variable and invalidates the reference
+    inner.set("x", 3);
+    assertFalse(x.isValidFor(inner));
+    x = inner.resolve("x");
+    assertEquals(0, x.getDepth());
+    assertEquals(3, x.get(inner));
+    assertEquals(1, outer.get("x"));
+  }
+
+  @Test
+  public void testLookupCounter() {
+    AbstractBeneratorSubContext sub = (AbstractBeneratorSubContext) child;
+    sub.set("v", 1);
+    VariableRef ref = sub.resolve("v");
+    ContextLookupCounter.setEnabled(true);
+    try {
+      ContextLookupCounter.reset();
+      assertEquals(1, sub.get("v"));
+      assertEquals(1, ContextLookupCounter.getNameLookups());
+      assertEquals("globalValue", sub.get("globalVar"));
+      assertEquals(3, ContextLookupCounter.getNameLookups());
+      assertEquals(1, ref.get(sub));
+      assertEquals(1, ContextLookupCounter.getSlotLookups());
+    } finally {
+      ContextLookupCounter.setEnabled(false);
+      ContextLookupCounter.reset();
+    }
+  }
+
+  @Test
+  public void testLookupCounterFollowsProfilingSetting() {
+    String profile = System.getProperty("profile");
+    try {
+      System.setProperty("profile", "true");
+      ContextLookupCounter.startRun();
+      assertTrue(ContextLookupCounter.isEnabled());
+      System.setProperty("profile", "false");
+      ContextLookupCounter.startRun();
+      assertFalse(ContextLookupCounter.isEnabled());
+    } finally {
+      if (profile != null) {
+        System.setProperty("profile", profile);
+      } else {
+        System.clearProperty("profile");
+      }
+      ContextLookupCounter.startRun();
+    }
+  }
+
+  @Test
+  public void testCustomGenerationContext() {
+    Context custom = new DefaultContext();
+    BeneratorFactory.setInstance(new DefaultBeneratorFactory() {
+      @Override
+      public Context createGenerationContext() {
+        return custom;
+      }
+    });
+    try {
+      AbstractBeneratorSubContext sub = new DefaultBeneratorSubContext("custom", parent);
+      sub.set("v", 1);
+      assertEquals(1, custom.get("v"));
+      assertEquals(1, sub.get("v"));
+      assertTrue(sub.keySet().contains("v"));
+      assertEquals(-1, sub.declare("w"));
+      assertNull(sub.resolve("v"));
+    } finally {
+      BeneratorFactory.setInstance(new DefaultBeneratorFactory());
+    }
+  }
+
   @Test
   public void testGetNull() {
     assertNull(child.get(null));
@@ -60,6 +60,8 @@ public class TranscodingIntegrationTest extends AbstractBeneratorIntegrationTest
   private static final String DESCRIPTOR3_FILE_NAME = PARENT_FOLDER + "/transcode_partially.ben.xml";
   private static final String DESCRIPTOR4_FILE_NAME = PARENT_FOLDER + "/transcode_partially_to_non_empty_target.ben.xml";
   private static final String DESCRIPTOR5_FILE_NAME = PARENT_FOLDER + "/transcode_partially_with_cascade.ben.xml";
+  private static final String DESCRIPTOR6_FILE_NAME = PARENT_FOLDER + "/transcode_with_batched_cascade.ben.xml";
+  private static final String DESCRIPTOR7_FILE_NAME = PARENT_FOLDER + "/transcode_with_mmap_key_mapper.ben.xml";
 
   @After
   public void clearDB() throws ConnectFailedException, SQLException {
@@ -220,6 +222,74 @@ public void testPartialTranscodeWithCascade() throws Exception {
     }
   }
 
+  @Test
+  public void testBatchedCascade() throws Exception {
+    DescriptorRunner runner = null;
+    try {
+      // run descriptor file
+      runner = new DescriptorRunner(DESCRIPTOR6_FILE_NAME, context);
+      runner.run();
+      AbstractDBSystem t = (AbstractDBSystem) context.get("t");
+
+      // check countries
+      DataSource<Entity> iterable = t.queryEntities("COUNTRY", null, context);
+      DataIterator<Entity> iterator = iterable.iterator();
+      assertNextCountry(1, "United States", iterator);
+      assertNextCountry(2, "Germany", iterator);
+      assertNull(iterator.next(new DataContainer<>()));
+      ((Closeable) iterator).close();
+
+      // check states: the states of all countries are transcoded in one batch
+      iterable = t.queryEntities("STATE", null, context);
+      iterator = iterable.iterator();
+      assertNextState(3, 1, "California", iterator);
+      assertNextState(4, 1, "Florida", iterator);
+      assertNextState(5, 2, "Bayern", iterator);
+      assertNextState(6, 2, "Hamburg", iterator);
+      assertNull(iterator.next(new DataContainer<>()));
+      ((Closeable) iterator).close();
+
+      // check cities
+      iterable = t.queryEntities("CITY", null, context);
+      iterator = iterable.iterator();
+      assertNextCity(7, 5, "München", iterator);
+      assertNextCity(8, 5, "Ingolstadt", iterator);
+      assertNull(iterator.next(new DataContainer<>()));
+      ((Closeable) iterator).close();
+    } finally {
+      IOUtil.close(runner);
+    }
+  }
+
+  @Test
+  public void testMappedKeyMapper() throws Exception {
+    DescriptorRunner runner = null;
+    try {
+      // run descriptor file
+      runner = new DescriptorRunner(DESCRIPTOR7_FILE_NAME, context);
+      runner.run();
+      AbstractDBSystem t = (AbstractDBSystem) context.get("t");
+      // check countries
+      DataSource<Entity> iterable = t.queryEntities("COUNTRY", null, context);
+      DataIterator<Entity> iterator = iterable.iterator();
+      assertNextCountry(1, "United States", iterator);
+      assertNextCountry(2, "Germany", iterator);
+      assertNull(iterator.next(new DataContainer<>()));
+      ((Closeable) iterator).close();
+      // check that the state's foreign keys have been mapped
+      iterable = t.queryEntities("STATE", null, context);
+      iterator = iterable.iterator();
+      assertNextState(3, 1, "California", iterator);
+      assertNextState(4, 1, "Florida", iterator);
+      assertNextState(5, 2, "Bayern", iterator);
+      assertNextState(6, 2, "Hamburg", iterator);
+      assertNull(iterator.next(new DataContainer<>()));
+      ((Closeable) iterator).close();
+    } finally {
+      IOUtil.close(runner);
+    }
+  }
+
 
   // helpers ---------------------------------------------------------------------------------------------------------
 
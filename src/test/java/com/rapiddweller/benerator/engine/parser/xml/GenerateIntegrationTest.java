@@ -101,6 +101,89 @@ public void testPaging() {
     assertEquals(100L, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
   }
 
+  @Test
+  public void testThreads() {
+    BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
+    Statement statement = parseXmlString(
+        "<generate type='dummy' count='{c}' pageSize='{ps}' threads='4' consumer='cons'>" +
+            "   <attribute name='x' type='int' min='1' max='10'/>" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    context.setGlobal("c", 1000);
+    context.setGlobal("ps", 30);
+    statement.execute(context);
+    assertEquals(1000, consumer.startConsumingCount.get());
+    assertEquals(1000, consumer.finishConsumingCount.get());
+    assertEquals(1000, consumer.getProducts().size());
+    assertEquals(1000L, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
+  }
+
+  @Test
+  public void testThreadsWithId() {
+    Statement statement = parseXmlString(
+        "<generate type='dummy' count='100' pageSize='10' threads='4' consumer='cons'>" +
+            "   <id name='id' type='long'/>" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    List<?> products = consumer.getProducts();
+    assertEquals(100, products.size());
+    for (int i = 0; i < products.size(); i++) {
+      assertEquals(i + 1L, ((Entity) products.get(i)).get("id"));
+    }
+  }
+
+  @Test
+  public void testThreadsInParallel() {
+    Statement statement = parseXmlString(
+        "<generate type='dummy' count='200' pageSize='10' threads='4' consumer='cons'>" +
+            "   <attribute name='x' type='int' min='1' max='10'/>" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true, 1, 1, 2);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(200, consumer.getProducts().size());
+    assertTrue("Expected several threads, but only " + consumer.getThreadCount() + " was used",
+        consumer.getThreadCount() > 1);
+  }
+
+  @Test
+  public void testThreadsWithSequence() {
+    Statement statement = parseXmlString(
+        "<generate type='dummy' count='100' pageSize='10' threads='4' consumer='cons'>" +
+            "   <attribute name='x' type='int' distribution='increment'/>" +
+            "</generate>");
+    ConsumerMock consumer = new ConsumerMock(true, 1, 1, 2);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    List<?> products = consumer.getProducts();
+    assertEquals(100, products.size());
+    assertEquals(1, consumer.getThreadCount());
+    for (int i = 0; i < products.size(); i++) {
+      assertEquals(i + 1, ((Entity) products.get(i)).get("x"));
+    }
+  }
+
+  @Test
+  public void testScheduling() {
+    BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
+    Statement statement = parseXmlString(
+        "<generate type='dummy' count='10' pageSize='3' scheduling='none' consumer='cons'/>");
+    ConsumerMock consumer = new ConsumerMock(false);
+    context.setGlobal("cons", consumer);
+    statement.execute(context);
+    assertEquals(10, consumer.startConsumingCount.get());
+    assertEquals(10L, BeneratorMonitor.INSTANCE.getTotalGenerationCount());
+  }
+
+  @Test(expected = SyntaxError.class)
+  public void testIllegalScheduling() {
+    Statement statement = parseXmlString("<generate type='dummy' count='10' scheduling='sometimes' consumer='NoConsumer'/>");
+    statement.execute(context);
+  }
+
   @Test
   public void testConverter() {
     BeneratorMonitor.INSTANCE.setTotalGenerationCount(0);
@@ -38,6 +38,11 @@
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -119,4 +124,43 @@ public void testResolveToOneReference() {
     assertNull(iterator.next(container));
   }
 
+  @Test
+  public void testResolveToManyReferencesInBatch() {
+    CascadeStatement.Reference ref = new CascadeStatement.Reference("referer", new String[] {"referee_id"});
+    List<Entity> parents = Arrays.asList(
+        createEntity("referee", "id", 3), createEntity("referee", "id", 1), createEntity("referee", "id", 2));
+    List<List<Entity>> children = ref.resolveReferences(parents, db, context);
+    assertEquals(3, children.size());
+    assertEquals(Collections.singletonList(createEntity("REFERER", "ID", 5, "REFEREE_ID", 3, "THE_DATE", null)), children.get(0));
+    assertEquals(Collections.emptyList(), children.get(1));
+    assertEquals(Collections.singletonList(createEntity("REFERER", "ID", 4, "REFEREE_ID", 2, "THE_DATE", null)), children.get(2));
+  }
+
+  @Test
+  public void testResolveReferencesInBatchWithOtherKeyRepresentation() {
+    CascadeStatement.Reference ref = new CascadeStatement.Reference("referer", new String[] {"referee_id"});
+    List<Entity> parents = Collections.singletonList(createEntity("referee", "id", new BigDecimal("2.0")));
+    List<List<Entity>> children = ref.resolveReferences(parents, db, context);
+    assertEquals(Collections.singletonList(createEntity("REFERER", "ID", 4, "REFEREE_ID", 2, "THE_DATE", null)), children.get(0));
+  }
+
+  @Test
+  public void testResolveToOneReferencesInBatch() {
+    CascadeStatement.Reference ref = new CascadeStatement.Reference("referer", new String[] {"referee_id"});
+    List<Entity> parents = Arrays.asList(
+        createEntity("referer", "id", 4, "referee_id", 2), createEntity("referer", "id", 6, "referee_id", null));
+    List<List<Entity>> referees = ref.resolveReferences(parents, db, context);
+    assertEquals(2, referees.size());
+    assertEquals(Collections.singletonList(createEntity("REFEREE", "ID", 2, "N", 2)), referees.get(0));
+    assertEquals(Collections.emptyList(), referees.get(1));
+  }
+
+  @Test
+  public void testCreateBatchSelector() {
+    assertEquals("id in ('a', 'b')", CascadeStatement.Reference.createBatchSelector(new String[] {"id"},
+        Arrays.asList(Collections.singletonList("'a'"), Collections.singletonList("'b'"))));
+    assertEquals("(x=1 and y=2) or (x=3 and y=4)", CascadeStatement.Reference.createBatchSelector(new String[] {"x", "y"},
+        Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("3", "4"))));
+  }
+
 }
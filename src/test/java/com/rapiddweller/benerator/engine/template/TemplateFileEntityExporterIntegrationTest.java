@@ -28,11 +28,15 @@
 
 import com.rapiddweller.benerator.Consumer;
 import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
 import com.rapiddweller.benerator.test.AbstractBeneratorIntegrationTest;
+import com.rapiddweller.common.ConfigurationError;
 import com.rapiddweller.common.IOUtil;
 import com.rapiddweller.platform.template.TemplateFileEntityExporter;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * Tests the {@link TemplateFileEntityExporter}.<br/><br/>
  * Created: 27.06.2014 17:42:34
@@ -66,6 +70,44 @@ public void testCountries() {
     System.out.println(content);
   }
 
+  @Test
+  public void testCountries_streaming() {
+    String uri = "target/" + getClass().getName() + "-streaming.txt";
+    String templateUri = "com/rapiddweller/benerator/engine/template/countries-streaming.ftl";
+    BeneratorContext context = parseAndExecuteXmlString(
+        "<setup>" +
+            "<bean id='con' class='TemplateFileEntityExporter'>" +
+            "	<property name='uri' value='" + uri + "'/>" +
+            "	<property name='templateUri' value='" + templateUri + "'/>" +
+            "	<property name='streaming' value='true'/>" +
+            "</bean>" +
+            "<generate type='countries' count='3' consumer='con'>" +
+            "	<id name='id' type='int' />" +
+            "	<attribute name='name' script=\"'C' + id\" />" +
+            "   <generate type='states' count='2' consumer='con'>" +
+            "      <attribute name='name' constant='S' />" +
+            "   </generate>" +
+            "</generate>" +
+            "</setup>");
+    closeCon(context);
+    String content = IOUtil.getContentOfURI(uri).replace("\r\n", "\n");
+    assertEquals("Countries\n" +
+        "C1: S S\n" +
+        "C2: S S\n" +
+        "C3: S S\n" +
+        "3 countries\n", content);
+  }
+
+  @Test(expected = ConfigurationError.class)
+  public void testStreaming_noRecordSection() {
+    TemplateFileEntityExporter exporter = new TemplateFileEntityExporter();
+    exporter.setContext(new DefaultBeneratorContext());
+    exporter.setUri("target/" + getClass().getName() + "-invalid.txt");
+    exporter.setTemplateUri("com/rapiddweller/benerator/engine/template/countries.ftl");
+    exporter.setStreaming(true);
+    exporter.close();
+  }
+
   @Test
   public void testIFTDGN1() {
     BeneratorContext context = parseAndExecuteFile("com/rapiddweller/benerator/engine/template/IFTDGN1.ben.xml");
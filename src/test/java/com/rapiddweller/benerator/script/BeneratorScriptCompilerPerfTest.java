@@ -0,0 +1,96 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.script.DatabeneScriptParser;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the evaluation speed of compiled BeneratorScript expressions.
+ * Each invocation performs {@value #EVALUATIONS} evaluations.<br/><br/>
+ * Created: 25.03.2023 11:02:19
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class BeneratorScriptCompilerPerfTest {
+
+  private static final int EVALUATIONS = 100;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private Context context;
+  private Expression<?> compiled;
+  private Object expectedResult;
+
+  @Before
+  public void setUp() {
+    context = new DefaultContext();
+    context.set("this", new Entity("Order", new DefaultDescriptorProvider("test", new DataModel()),
+        "price", 2.5, "qty", 4));
+    context.set("discount", 0.5);
+    context.set("i", 7);
+  }
+
+  /** Verifies that a compiled multiplication of entity attributes is evaluated at least 100,000 times per second */
+  @Test
+  @PerfTest(invocations = 2000)
+  @Required(throughput = 1000)
+  public void testAttributeProduct() {
+    run("this.price * this.qty");
+  }
+
+  /** Verifies that a compiled arithmetic term is evaluated at least 100,000 times per second */
+  @Test
+  @PerfTest(invocations = 2000)
+  @Required(throughput = 1000)
+  public void testArithmeticTerm() {
+    run("(this.price - discount) * this.qty + 5");
+  }
+
+  /** Verifies that a compiled integral term is evaluated at least 100,000 times per second */
+  @Test
+  @PerfTest(invocations = 2000)
+  @Required(throughput = 1000)
+  public void testIntegralTerm() {
+    run("this.qty % 7 + i * 3 - 1");
+  }
+
+  /** Verifies that a compiled variable reference is evaluated at least 100,000 times per second */
+  @Test
+  @PerfTest(invocations = 2000)
+  @Required(throughput = 1000)
+  public void testVariable() {
+    run("i");
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  /** Compiles the script on the first invocation and verifies that it yields the same result as the interpreter */
+  private void run(String script) {
+    if (compiled == null) {
+      Expression<?> interpreted = DatabeneScriptParser.parseExpression(script);
+      compiled = BeneratorScriptCompiler.compile(script, interpreted);
+      expectedResult = interpreted.evaluate(context);
+    }
+    Object result = null;
+    for (int i = 0; i < EVALUATIONS; i++) {
+      result = compiled.evaluate(context);
+    }
+    assertEquals(expectedResult, result);
+  }
+
+}
@@ -0,0 +1,99 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.Expression;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.script.DatabeneScriptParser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link BeneratorScriptCompiler}.<br/><br/>
+ * Created: 25.03.2023 10:14:52
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class BeneratorScriptCompilerTest {
+
+  private Context context;
+
+  @Before
+  public void setUp() {
+    context = new DefaultContext();
+    Entity order = new Entity("Order", new DefaultDescriptorProvider("test", new DataModel()),
+        "price", 2.5, "qty", 4, "total", 10L, "name", "Alice");
+    context.set("this", order);
+    context.set("i", 7);
+    context.set("l", 3L);
+    context.set("d", 1.5);
+    context.set("s", "x");
+    Map<String, Object> map = new HashMap<>();
+    map.put("n", 5);
+    context.set("m", map);
+  }
+
+  @Test
+  public void testCompiledEqualsInterpreted() {
+    String[] scripts = {
+        "1", "3000000000", "2.5", "i", "-i", "-d",
+        "i + 1", "i - 10", "i * i", "i / 2", "i % 3", "-i % 3",
+        "l + 1", "l * l", "l % 2", "d + d", "d - 0.5", "d * 2", "d / 0.5", "i + d", "l + i",
+        "this.price * this.qty", "this.total - this.qty", "(this.qty + 1) * 2",
+        "m.n + 1", "s + i", "this.name + s",
+        "i - 2 - 3", "i + l * 2", "2 * i + 1", "i / 2 * 2", "(i + d) / 2", "-(i + 1) * 2", "1e3"
+    };
+    for (String script : scripts) {
+      Expression<?> interpreted = DatabeneScriptParser.parseExpression(script);
+      Expression<?> compiled = BeneratorScriptCompiler.compile(script, interpreted);
+      assertTrue("Not compiled: " + script, compiled instanceof CompiledExpression);
+      assertEquals(script, interpreted.evaluate(context), compiled.evaluate(context));
+    }
+  }
+
+  @Test
+  public void testUnsupported() {
+    String[] scripts = { "i == 7", "i > 3 ? 1 : 2", "'abc'", "s.length()", "true", "null", "new java.util.Date()" };
+    for (String script : scripts) {
+      Expression<?> interpreted = DatabeneScriptParser.parseExpression(script);
+      assertSame(script, interpreted, BeneratorScriptCompiler.compile(script, interpreted));
+    }
+  }
+
+  @Test
+  public void testFallback() {
+    // bean properties are resolved by the interpreter
+    String beanScript = "b.value + 1";
+    Expression<?> compiled = BeneratorScriptCompiler.compile(beanScript, DatabeneScriptParser.parseExpression(beanScript));
+    assertTrue(compiled instanceof CompiledExpression);
+    context.set("b", new Bean());
+    assertEquals(4, compiled.evaluate(context));
+  }
+
+  @Test
+  public void testClassReuse() {
+    Expression<?> e1 = BeneratorScriptCompiler.compile("i + 1", DatabeneScriptParser.parseExpression("i + 1"));
+    Expression<?> e2 = BeneratorScriptCompiler.compile("i + 2", DatabeneScriptParser.parseExpression("i + 2"));
+    assertSame(e1.getClass(), e2.getClass());
+    assertEquals(8, e1.evaluate(context));
+    assertEquals(9, e2.evaluate(context));
+  }
+
+  public static class Bean {
+    public int getValue() {
+      return 3;
+    }
+  }
+
+}
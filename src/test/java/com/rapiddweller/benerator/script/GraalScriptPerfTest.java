@@ -0,0 +1,84 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.benerator.script.graaljs.GraalJsScriptFactory;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import com.rapiddweller.format.script.Script;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.DescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the number of rows per second with a JavaScript attribute
+ * which accesses the current entity, in one and in four threads.<br/><br/>
+ * Created: 24.03.2023 10:05:21
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class GraalScriptPerfTest {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private Script script;
+  private DescriptorProvider descriptorProvider;
+  private ThreadLocal<Context> contexts;
+  private AtomicInteger counter;
+
+  @Before
+  public void setUp() {
+    script = new GraalJsScriptFactory().parseText("person.age * 2 + offset");
+    descriptorProvider = new DefaultDescriptorProvider("test", new DataModel());
+    contexts = ThreadLocal.withInitial(() -> {
+      Context context = new DefaultContext();
+      context.set("offset", 1);
+      return context;
+    });
+    counter = new AtomicInteger();
+  }
+
+  @After
+  public void tearDown() {
+    GraalScript.closeContexts();
+  }
+
+  /** Verifies that at least 1,000 rows per second are evaluated in a single thread */
+  @Test
+  @PerfTest(invocations = 5000)
+  @Required(throughput = 1000)
+  public void testSingleThreaded() {
+    evaluate();
+  }
+
+  /** Verifies that at least 1,000 rows per second are evaluated in four threads together */
+  @Test
+  @PerfTest(invocations = 5000, threads = 4)
+  @Required(throughput = 1000)
+  public void testMultiThreaded() {
+    evaluate();
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void evaluate() {
+    int age = counter.incrementAndGet() % 100;
+    Context context = contexts.get();
+    context.set("person", new Entity("Person", descriptorProvider, "name", "Alice", "age", age));
+    assertEquals(2 * age + 1, script.evaluate(context));
+  }
+
+}
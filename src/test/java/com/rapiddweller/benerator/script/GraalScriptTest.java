@@ -0,0 +1,64 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.script;
+
+import com.rapiddweller.benerator.engine.BeneratorContext;
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import com.rapiddweller.benerator.script.graaljs.GraalJsScriptFactory;
+import com.rapiddweller.common.Context;
+import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.format.script.Script;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link GraalScript}.<br/><br/>
+ * Created: 19.04.2023 09:41:17
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class GraalScriptTest {
+
+  @Test
+  public void testSharedVariable() {
+    GraalJsScriptFactory factory = new GraalJsScriptFactory();
+    Script plusOne = factory.parseText("sharedVar + 1");
+    Script timesTen = factory.parseText("sharedVar * 10");
+    Context context = new DefaultContext();
+    context.set("sharedVar", 1);
+    // the first script binds the variable, so the second one never finds it undefined
+    assertEquals(2, plusOne.evaluate(context));
+    assertEquals(10, timesTen.evaluate(context));
+    context.set("sharedVar", 2);
+    assertEquals(20, timesTen.evaluate(context));
+    assertEquals(3, plusOne.evaluate(context));
+    context.set("sharedVar", 3);
+    assertEquals(30, timesTen.evaluate(context));
+  }
+
+  @Test
+  public void testCloseContexts() {
+    Script script = new GraalJsScriptFactory().parseText("closeVar * 2");
+    Context context = new DefaultContext();
+    context.set("closeVar", 4);
+    assertEquals(8, script.evaluate(context));
+    GraalScript.closeContexts();
+    context.set("closeVar", 5);
+    assertEquals(10, script.evaluate(context));
+  }
+
+  @Test
+  public void testCloseOnlyContextsOfClosedBeneratorContext() {
+    Script define = new GraalJsScriptFactory().parseText("var keptVar = 7; keptVar");
+    Script read = new GraalJsScriptFactory().parseText("keptVar");
+    BeneratorContext closedContext = new DefaultBeneratorContext();
+    BeneratorContext openContext = new DefaultBeneratorContext();
+    assertEquals(7, define.evaluate(closedContext));
+    assertEquals(7, define.evaluate(openContext.createSubContext("sub")));
+    closedContext.close();
+    assertEquals(7, read.evaluate(openContext));
+    openContext.close();
+  }
+
+}
@@ -32,11 +32,23 @@
 import com.rapiddweller.benerator.script.graalpy.GraalPyScriptFactory;
 import com.rapiddweller.common.Context;
 import com.rapiddweller.common.context.DefaultContext;
+import com.rapiddweller.format.script.Script;
 import com.rapiddweller.format.script.ScriptUtil;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test the ScriptSupport class.
@@ -66,6 +78,53 @@ public void GraalJsTest() {
         "}}", context));
   }
 
+  @Test
+  public void GraalJsVariableUpdateTest() {
+    ScriptUtil.addFactory("js", new GraalJsScriptFactory());
+    Context context = new DefaultContext();
+    Script script = ScriptUtil.parseScriptText("x * 2", "js");
+    for (int i = 0; i < 10; i++) {
+      context.set("x", i);
+      assertEquals(2 * i, script.evaluate(context));
+    }
+  }
+
+  @Test
+  public void GraalJsEntityTest() {
+    ScriptUtil.addFactory("js", new GraalJsScriptFactory());
+    Context context = new DefaultContext();
+    Entity person = new Entity("Person", new DefaultDescriptorProvider("test", new DataModel()), "name", "Alice", "age", 23);
+    context.set("person", person);
+    assertEquals("Alice", ScriptUtil.evaluate("{js:person.name}", context));
+    assertEquals(24, ScriptUtil.evaluate("{js:person.age + 1}", context));
+    assertSame(person, ScriptUtil.evaluate("{js:person}", context));
+  }
+
+  @Test
+  public void GraalJsMultiThreadedTest() throws Exception {
+    ScriptUtil.addFactory("js", new GraalJsScriptFactory());
+    Script script = ScriptUtil.parseScriptText("x + 1", "js");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int offset = t * 1000;
+      results.add(executor.submit(() -> {
+        Context context = new DefaultContext();
+        for (int i = 0; i < 1000; i++) {
+          context.set("x", offset + i);
+          if (!Integer.valueOf(offset + i + 1).equals(script.evaluate(context))) {
+            return false;
+          }
+        }
+        return true;
+      }));
+    }
+    for (Future<Boolean> result : results) {
+      assertTrue(result.get());
+    }
+    executor.shutdown();
+  }
+
   /**
    * Graal python test.
    */
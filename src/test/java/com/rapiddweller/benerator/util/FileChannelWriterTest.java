@@ -0,0 +1,73 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link FileChannelWriter}.<br/><br/>
+ * Created: 23.03.2023 10:02:48
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class FileChannelWriterTest {
+
+  private static final File FILE = new File("target/FileChannelWriterTest.txt");
+
+  @Before
+  public void setUp() {
+    FILE.getParentFile().mkdirs();
+  }
+
+  @Test
+  public void testWriteLong() throws IOException {
+    try (FileChannelWriter writer = new FileChannelWriter(FILE.toPath(), StandardCharsets.UTF_8, false)) {
+      long[] values = { 0, 7, -1, 10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE };
+      for (long value : values) {
+        writer.writeLong(value);
+        writer.write(',');
+      }
+    }
+    assertEquals("0,7,-1,10,1234567890123,9223372036854775807,-9223372036854775808,", getContent());
+  }
+
+  @Test
+  public void testLargeContent() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    try (FileChannelWriter writer = new FileChannelWriter(FILE.toPath(), StandardCharsets.UTF_8, false)) {
+      // write multi-byte characters across the boundaries of the char and the byte buffer
+      for (int i = 0; i < 200000; i++) {
+        String text = "\u00c4\u20ac\ud83d\ude00" + i;
+        writer.write(text);
+        expected.append(text);
+      }
+    }
+    assertEquals(expected.toString(), getContent());
+  }
+
+  @Test
+  public void testAppend() throws IOException {
+    try (FileChannelWriter writer = new FileChannelWriter(FILE.toPath(), StandardCharsets.UTF_8, false)) {
+      writer.write("abc");
+    }
+    try (FileChannelWriter writer = new FileChannelWriter(FILE.toPath(), StandardCharsets.UTF_8, true)) {
+      writer.write("def".toCharArray(), 1, 2);
+    }
+    assertEquals("abcef", getContent());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static String getContent() throws IOException {
+    return new String(Files.readAllBytes(FILE.toPath()), StandardCharsets.UTF_8);
+  }
+
+}
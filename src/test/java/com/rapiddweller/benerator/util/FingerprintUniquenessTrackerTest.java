@@ -0,0 +1,152 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.common.exception.IllegalArgumentError;
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link FingerprintUniquenessTracker}.<br/><br/>
+ * Created: 01.04.2023 10:41:09
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class FingerprintUniquenessTrackerTest {
+
+  @Test
+  public void testLongs() {
+    try (FingerprintUniquenessTracker<Long> tracker = new FingerprintUniquenessTracker<>(Long.class)) {
+      assertTrue(tracker.add(1L));
+      assertTrue(tracker.add(-1L));
+      assertTrue(tracker.add(0L));
+      assertTrue(tracker.add(Long.MIN_VALUE));
+      assertFalse(tracker.add(1L));
+      assertFalse(tracker.add(0L));
+      assertTrue(tracker.contains(-1L));
+      assertFalse(tracker.contains(2L));
+      assertEquals(4, tracker.size());
+      assertEquals(0., tracker.falsePositiveRate(), 0.); // exact fingerprints
+    }
+  }
+
+  @Test
+  public void testStrings() {
+    try (FingerprintUniquenessTracker<String> tracker = new FingerprintUniquenessTracker<>(String.class)) {
+      assertTrue(tracker.add("Alice"));
+      assertTrue(tracker.add("Bob"));
+      assertTrue(tracker.add(""));
+      assertTrue(tracker.add(null));
+      assertFalse(tracker.add("Alice"));
+      assertFalse(tracker.add(null));
+      assertTrue(tracker.contains("Bob"));
+      assertFalse(tracker.contains("Charly"));
+      assertEquals(4, tracker.size());
+      assertEquals(4 / 0x1p64, tracker.falsePositiveRate(), 1E-30);
+    }
+  }
+
+  @Test
+  public void testFingerprint() {
+    assertEquals(FingerprintUniquenessTracker.fingerprint("Alice"),
+        FingerprintUniquenessTracker.fingerprint(new StringBuilder("Alice")));
+    assertNotEquals(FingerprintUniquenessTracker.fingerprint("ab"), FingerprintUniquenessTracker.fingerprint("ba"));
+    assertNotEquals(FingerprintUniquenessTracker.fingerprint(new BigDecimal("1.0")),
+        FingerprintUniquenessTracker.fingerprint(new BigDecimal("1.00")));
+    assertTrue(FingerprintUniquenessTracker.isExact(Integer.class));
+    assertFalse(FingerprintUniquenessTracker.isExact(String.class));
+  }
+
+  @Test
+  public void testSupportedTypes() {
+    assertTrue(FingerprintUniquenessTracker.supports(Long.class));
+    assertTrue(FingerprintUniquenessTracker.supports(String.class));
+    assertTrue(FingerprintUniquenessTracker.supports(CharSequence.class));
+    assertTrue(FingerprintUniquenessTracker.supports(BigDecimal.class));
+    assertFalse(FingerprintUniquenessTracker.supports(Timestamp.class));
+    assertFalse(FingerprintUniquenessTracker.supports(Object.class));
+  }
+
+  @Test(expected = IllegalArgumentError.class)
+  public void testUnsupportedType() {
+    new FingerprintUniquenessTracker<>(Date.class);
+  }
+
+  @Test
+  public void testHashSetFallback() {
+    BeneratorOpts.setUniquenessTracker(BeneratorOpts.UNIQUENESS_TRACKER_FINGERPRINT);
+    try (UniquenessTracker<String> strings = UniquenessTrackers.create(String.class);
+         UniquenessTracker<Timestamp> timestamps = UniquenessTrackers.create(Timestamp.class)) {
+      assertTrue(strings instanceof FingerprintUniquenessTracker);
+      assertTrue(timestamps instanceof HashSetUniquenessTracker);
+      // timestamps which differ only in their nanos must be distinguished
+      Timestamp timestamp = new Timestamp(1000);
+      assertTrue(timestamps.add(timestamp));
+      Timestamp other = new Timestamp(1000);
+      other.setNanos(1);
+      assertTrue(timestamps.add(other));
+    } finally {
+      BeneratorOpts.setUniquenessTracker(BeneratorOpts.UNIQUENESS_TRACKER_HASHSET);
+    }
+  }
+
+  @Test
+  public void testGrowth() {
+    try (FingerprintUniquenessTracker<Integer> tracker = new FingerprintUniquenessTracker<>(Integer.class)) {
+      for (int i = 0; i < 100000; i++) {
+        assertTrue(tracker.add(i * 3));
+      }
+      for (int i = 0; i < 100000; i++) {
+        assertFalse(tracker.add(i * 3));
+        assertFalse(tracker.contains(i * 3 + 1));
+      }
+      assertEquals(100000, tracker.size());
+      assertEquals(262144 * 8, tracker.memoryUsage());
+      assertEquals(0, tracker.diskUsage());
+    }
+  }
+
+  @Test
+  public void testSpilling() {
+    File dir = new File("target");
+    try (FingerprintUniquenessTracker<String> tracker = new FingerprintUniquenessTracker<>(String.class, 8192, dir)) {
+      for (int i = 0; i < 20000; i++) {
+        assertTrue(tracker.add("v" + i));
+      }
+      assertEquals(8192, tracker.memoryUsage());
+      assertTrue(tracker.diskUsage() > 0);
+      for (int i = 0; i < 20000; i++) {
+        assertFalse(tracker.add("v" + i));
+        assertFalse(tracker.contains("w" + i));
+      }
+      assertEquals(20000, tracker.size());
+      tracker.clear();
+      assertEquals(0, tracker.size());
+      assertEquals(0, tracker.diskUsage());
+      assertTrue(tracker.add("v1"));
+    }
+  }
+
+  @Test
+  public void testReuseAfterClose() {
+    FingerprintUniquenessTracker<Long> tracker = new FingerprintUniquenessTracker<>(Long.class);
+    tracker.add(1L);
+    tracker.close();
+    assertEquals(0, tracker.memoryUsage());
+    tracker.clear();
+    assertTrue(tracker.add(1L));
+    assertFalse(tracker.add(1L));
+    tracker.close();
+  }
+
+}
@@ -0,0 +1,64 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link MappedLongLongMap}.<br/><br/>
+ * Created: 18.03.2023 10:03:51
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MappedLongLongMapTest {
+
+  @Test
+  public void testPutAndGet() {
+    try (MappedLongLongMap map = new MappedLongLongMap(null, 10)) {
+      assertEquals(0, map.size());
+      assertFalse(map.containsKey(1));
+      assertEquals(-1, map.get(1, -1));
+      map.put(1, 100);
+      map.put(-5, 500);
+      map.put(Long.MAX_VALUE, Long.MIN_VALUE);
+      assertEquals(3, map.size());
+      assertTrue(map.containsKey(1));
+      assertEquals(100, map.get(1, -1));
+      assertEquals(500, map.get(-5, -1));
+      assertEquals(Long.MIN_VALUE, map.get(Long.MAX_VALUE, -1));
+      map.put(1, 101);
+      assertEquals(3, map.size());
+      assertEquals(101, map.get(1, -1));
+    }
+  }
+
+  @Test
+  public void testZeroKey() {
+    try (MappedLongLongMap map = new MappedLongLongMap(null, 10)) {
+      assertFalse(map.containsKey(0));
+      map.put(0, 0);
+      assertTrue(map.containsKey(0));
+      assertEquals(0, map.get(0, -1));
+      assertEquals(1, map.size());
+    }
+  }
+
+  @Test
+  public void testGrowth() {
+    try (MappedLongLongMap map = new MappedLongLongMap(null, 10)) {
+      for (long i = 1; i <= 100000; i++) {
+        map.put(i * 7, i);
+      }
+      assertEquals(100000, map.size());
+      for (long i = 1; i <= 100000; i++) {
+        assertEquals(i, map.get(i * 7, -1));
+      }
+      assertFalse(map.containsKey(8));
+    }
+  }
+
+}
@@ -0,0 +1,43 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link MappedStringStore}.<br/><br/>
+ * Created: 21.03.2023 09:58:04
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MappedStringStoreTest {
+
+  @Test
+  public void testAddAndGet() {
+    try (MappedStringStore store = new MappedStringStore(null)) {
+      long a = store.add("Alice");
+      long empty = store.add("");
+      long b = store.add("Böb €");
+      assertEquals("Alice", store.get(a));
+      assertEquals("", store.get(empty));
+      assertEquals("Böb €", store.get(b));
+    }
+  }
+
+  @Test
+  public void testSegmentBoundary() {
+    String text = new String(new char[1000]).replace('\0', 'x');
+    try (MappedStringStore store = new MappedStringStore(null)) {
+      long[] addresses = new long[70000]; // about 70 MB, exceeding the first segment of 64 MB
+      for (int i = 0; i < addresses.length; i++) {
+        addresses[i] = store.add(i + text);
+      }
+      for (int i = 0; i < addresses.length; i++) {
+        assertEquals(i + text, store.get(addresses[i]));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,189 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.benerator.util;
+
+import com.rapiddweller.benerator.RandomProvider;
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.benerator.engine.DefaultBeneratorFactory;
+import com.rapiddweller.benerator.test.AbstractRandomProviderTest;
+import com.rapiddweller.platform.xml.DefaultXMLModule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SplittableRandomProvider}.<br/><br/>
+ * Created: 02.04.2023 10:22:53
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class SplittableRandomProviderTest extends AbstractRandomProviderTest {
+
+  @Override
+  protected RandomProvider getRandom() {
+    return new SplittableRandomProvider(42);
+  }
+
+  @Test
+  public void testReproducibleStreams() {
+    SplittableRandomProvider provider1 = new SplittableRandomProvider(42);
+    provider1.bindStream("person#1");
+    long[] values1 = draw(provider1);
+    SplittableRandomProvider provider2 = new SplittableRandomProvider(42);
+    provider2.randomLong(0, 1000); // values drawn before binding must not make a difference
+    provider2.bindStream("person#1");
+    assertArrayEquals(values1, draw(provider2));
+  }
+
+  @Test
+  public void testIndependentStreams() {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    provider.bindStream("person#1");
+    long[] values1 = draw(provider);
+    provider.bindStream("person#2");
+    long[] values2 = draw(provider);
+    provider.bindStream("person#1"); // a repeated binding gets a new stream
+    long[] values3 = draw(provider);
+    assertFalse(Arrays.equals(values1, values2));
+    assertFalse(Arrays.equals(values1, values3));
+    SplittableRandomProvider other = new SplittableRandomProvider(43);
+    other.bindStream("person#1");
+    assertFalse(Arrays.equals(values1, draw(other)));
+  }
+
+  @Test
+  public void testThreadStreams() throws Exception {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    provider.bindStream("task#1");
+    long[] mainValues = draw(provider);
+    AtomicReference<long[]> threadValues = new AtomicReference<>();
+    Thread thread = new Thread(() -> {
+      provider.bindStream("task#2");
+      threadValues.set(draw(provider));
+    });
+    thread.start();
+    thread.join();
+    SplittableRandomProvider reference = new SplittableRandomProvider(42);
+    reference.bindStream("task#2");
+    assertArrayEquals(draw(reference), threadValues.get());
+    assertFalse(Arrays.equals(mainValues, threadValues.get()));
+  }
+
+  @Test
+  public void testDerive() {
+    RandomProvider derived1 = new SplittableRandomProvider(42).derive("person.age");
+    RandomProvider derived2 = new SplittableRandomProvider(42).derive("person.age");
+    assertArrayEquals(draw(derived1), draw(derived2));
+    RandomProvider other = new SplittableRandomProvider(42).derive("person.name");
+    assertFalse(Arrays.equals(draw(new SplittableRandomProvider(42).derive("person.age")), draw(other)));
+  }
+
+  @Test
+  public void testDerivedStreamIndependentOfOtherGenerators() {
+    SplittableRandomProvider provider1 = new SplittableRandomProvider(42);
+    RandomProvider age1 = provider1.derive("person.age");
+    provider1.bindStream("person#1");
+    long[] values1 = draw(age1);
+    SplittableRandomProvider provider2 = new SplittableRandomProvider(42);
+    RandomProvider name2 = provider2.derive("person.name");
+    RandomProvider age2 = provider2.derive("person.age");
+    provider2.bindStream("person#1");
+    draw(name2); // values drawn by another generator must not make a difference
+    draw(provider2);
+    assertArrayEquals(values1, draw(age2));
+  }
+
+  @Test
+  public void testDerivedStreamFollowsBinding() {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    RandomProvider derived = provider.derive("person.age");
+    provider.bindStream("person#1");
+    long[] values1 = draw(derived);
+    provider.bindStream("person#2");
+    long[] values2 = draw(derived);
+    assertFalse(Arrays.equals(values1, values2));
+    SplittableRandomProvider reference = new SplittableRandomProvider(42);
+    RandomProvider referenceDerived = reference.derive("person.age");
+    reference.bindStream("person#2");
+    assertArrayEquals(values2, draw(referenceDerived));
+  }
+
+  @Test
+  public void testResetStreams() {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    provider.bindStream("person#1");
+    long[] values1 = draw(provider);
+    provider.resetStreams();
+    provider.bindStream("person#1"); // after a reset, a repeated binding gets the same stream again
+    assertArrayEquals(values1, draw(provider));
+  }
+
+  @Test
+  public void testCreateWithRandomStream() {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    DefaultBeneratorFactory factory = new DefaultBeneratorFactory(provider, new DefaultXMLModule());
+    RandomProvider derived = factory.createWithRandomStream("person.age", factory::getRandomProvider);
+    assertNotSame(provider, derived);
+    assertSame(provider, factory.getRandomProvider());
+    assertSame(provider, factory.getSharedRandomProvider());
+    provider.bindStream("person#1");
+    long[] values = draw(derived);
+    SplittableRandomProvider reference = new SplittableRandomProvider(42);
+    RandomProvider referenceDerived = reference.derive("person.age");
+    reference.bindStream("person#1");
+    assertArrayEquals(draw(referenceDerived), values);
+  }
+
+  @Test
+  public void testFillLongs() {
+    SplittableRandomProvider provider = new SplittableRandomProvider(42);
+    long[] values = new long[1000];
+    provider.fillLongs(values, -3, 3);
+    for (long value : values) {
+      assertTrue(value >= -3 && value <= 3);
+    }
+    provider.fillLongs(values, Long.MAX_VALUE - 1, Long.MAX_VALUE);
+    for (long value : values) {
+      assertTrue(value >= Long.MAX_VALUE - 1);
+    }
+    provider.fillLongs(values, Long.MIN_VALUE, Long.MAX_VALUE); // must not overflow
+  }
+
+  @Test
+  public void testFillDoubles() {
+    double[] values = new double[1000];
+    new SplittableRandomProvider(42).fillDoubles(values);
+    for (double value : values) {
+      assertTrue(value >= 0 && value < 1);
+    }
+  }
+
+  @Test
+  public void testConfiguredSeed() {
+    BeneratorOpts.setSeed(4711L);
+    try {
+      assertEquals(4711L, new SplittableRandomProvider().getSeed());
+      assertEquals(BeneratorOpts.RANDOM_PROVIDER_SPLITTABLE, BeneratorOpts.getRandomProvider());
+    } finally {
+      BeneratorOpts.setSeed(null);
+    }
+    assertEquals(BeneratorOpts.RANDOM_PROVIDER_DEFAULT, BeneratorOpts.getRandomProvider());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static long[] draw(RandomProvider provider) {
+    long[] result = new long[20];
+    provider.fillLongs(result, 0, 1000000);
+    return result;
+  }
+
+}
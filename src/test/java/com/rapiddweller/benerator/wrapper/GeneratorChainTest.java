@@ -29,6 +29,7 @@
 import com.rapiddweller.benerator.SequenceTestGenerator;
 import com.rapiddweller.benerator.sample.OneShotGenerator;
 import com.rapiddweller.benerator.test.GeneratorTest;
+import com.rapiddweller.benerator.util.FingerprintUniquenessTracker;
 import org.junit.Test;
 
 /**
@@ -52,6 +53,17 @@ public void testUnique() {
     expectGeneratedSequence(chain, 2, 3, 1).withCeasedAvailability();
   }
 
+  @Test
+  public void testUnique_fingerprint() {
+    GeneratorChain<Integer> chain = new GeneratorChain<>(Integer.class,
+        new FingerprintUniquenessTracker<>(Integer.class),
+        new SequenceTestGenerator<>(2, 3),
+        new SequenceTestGenerator<>(1, 2));
+    chain.init(context);
+    expectGeneratedSequence(chain, 2, 3, 1).withCeasedAvailability();
+    chain.close();
+  }
+
   /**
    * Test non unique.
    */
@@ -0,0 +1,80 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.model.data;
+
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the throughput of creating, filling and reading {@link Entity} objects
+ * in map and in compact representation.
+ * Each invocation processes {@value #ROWS} entities.<br/><br/>
+ * Created: 27.03.2023 11:05:48
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class EntityPerfTest {
+
+  private static final int ROWS = 1000;
+  private static final String[] NAMES = { "id", "name", "age", "score", "city" };
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private ComplexTypeDescriptor type;
+  private ComponentSlots slots;
+
+  @Before
+  public void setUp() {
+    DescriptorProvider dp = new DefaultDescriptorProvider("test", new DataModel());
+    type = new ComplexTypeDescriptor("person", dp);
+    type.setComponent(new PartDescriptor("id", dp, "long"));
+    type.setComponent(new PartDescriptor("name", dp, "string"));
+    type.setComponent(new PartDescriptor("age", dp, "int"));
+    type.setComponent(new PartDescriptor("score", dp, "double"));
+    type.setComponent(new PartDescriptor("city", dp, "string"));
+    slots = new ComponentSlots(NAMES);
+  }
+
+  /** Verifies that at least 100,000 entities per second are processed in map representation */
+  @Test
+  @PerfTest(invocations = 500)
+  @Required(throughput = 100)
+  public void testMapRepresentation() {
+    process(false);
+  }
+
+  /** Verifies that at least 200,000 entities per second are processed in compact representation */
+  @Test
+  @PerfTest(invocations = 500)
+  @Required(throughput = 200)
+  public void testCompactRepresentation() {
+    process(true);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void process(boolean compact) {
+    int count = 0;
+    for (int i = 0; i < ROWS; i++) {
+      Entity entity = (compact ? new Entity(type.getSchema()) : new Entity(type));
+      entity.set("id", (long) i);
+      entity.set("name", "Person");
+      entity.set("age", 20 + i % 60);
+      entity.set("score", i * 0.5);
+      entity.set("city", "Munich");
+      int[] entitySlots = slots.slotsOf(entity);
+      for (int j = 0; j < NAMES.length; j++) {
+        count += (slots.get(entity, entitySlots, j) != null ? 1 : 0);
+      }
+    }
+    assertEquals(ROWS * NAMES.length, count);
+  }
+
+}
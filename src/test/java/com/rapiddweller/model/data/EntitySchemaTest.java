@@ -0,0 +1,128 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.model.data;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link EntitySchema}.<br/><br/>
+ * Created: 27.03.2023 10:31:16
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class EntitySchemaTest {
+
+  private DescriptorProvider dp;
+  private ComplexTypeDescriptor personType;
+
+  @Before
+  public void setUp() {
+    this.dp = new DefaultDescriptorProvider("test", new DataModel());
+    this.personType = new ComplexTypeDescriptor("person", dp);
+    personType.setComponent(new PartDescriptor("name", dp, "string"));
+    personType.setComponent(new PartDescriptor("age", dp, "int"));
+    personType.setComponent(new PartDescriptor("score", dp, "double"));
+    personType.setComponent(new PartDescriptor("address", dp, new ComplexTypeDescriptor("address", dp)));
+  }
+
+  @Test
+  public void testSlots() {
+    EntitySchema schema = personType.getSchema();
+    assertSame(personType, schema.getDescriptor());
+    assertEquals(4, schema.size());
+    assertEquals(0, schema.slotOf("name"));
+    assertEquals(1, schema.slotOf("AGE"));
+    assertEquals(-1, schema.slotOf("unknown"));
+    assertArrayEquals(new int[] { 2, -1, 0 }, schema.slotsOf(new String[] { "Score", "x", "name" }));
+    assertEquals("age", schema.nameOf(1));
+  }
+
+  @Test
+  public void testTypes() {
+    EntitySchema schema = personType.getSchema();
+    assertEquals(String.class, schema.javaTypeOf(0));
+    assertEquals(Integer.class, schema.javaTypeOf(1));
+    assertEquals(Double.class, schema.javaTypeOf(2));
+    assertNull(schema.javaTypeOf(3));
+    assertEquals(EntitySchema.OBJECT, schema.kindOf(0));
+    assertTrue(schema.isIntegral(1));
+    assertTrue(schema.isFloatingPoint(2));
+    assertFalse(schema.isIntegral(3));
+  }
+
+  @Test
+  public void testConvert() {
+    EntitySchema schema = personType.getSchema();
+    assertEquals(23, schema.convert(1, "23"));
+    Integer age = 42;
+    assertSame(age, schema.convert(1, age));
+    assertEquals(1.5, schema.convert(2, "1.5"));
+    assertNull(schema.convert(1, null));
+  }
+
+  @Test
+  public void testInvalidation() {
+    EntitySchema schema = personType.getSchema();
+    assertSame(schema, personType.getSchema());
+    personType.setComponent(new PartDescriptor("rank", dp, "long"));
+    EntitySchema newSchema = personType.getSchema();
+    assertNotSame(schema, newSchema);
+    assertEquals(5, newSchema.size());
+    assertTrue(newSchema.isIntegral(newSchema.slotOf("rank")));
+  }
+
+  @Test
+  public void testInvalidationByComponentType() {
+    EntitySchema schema = personType.getSchema();
+    assertTrue(schema.isIntegral(1));
+    personType.getComponent("age").setType("double");
+    EntitySchema newSchema = personType.getSchema();
+    assertNotSame(schema, newSchema);
+    assertTrue(newSchema.isFloatingPoint(1));
+    personType.getComponent("age").setLocalType(new SimpleTypeDescriptor("age", dp, "string"));
+    assertEquals(String.class, personType.getSchema().javaTypeOf(1));
+  }
+
+  @Test
+  public void testInvalidationByParentType() {
+    ComplexTypeDescriptor employeeType = new ComplexTypeDescriptor("employee", dp, personType);
+    employeeType.setComponent(new PartDescriptor("salary", dp, "double"));
+    EntitySchema schema = employeeType.getSchema();
+    assertEquals(5, schema.size());
+    personType.setComponent(new PartDescriptor("rank", dp, "long"));
+    EntitySchema newSchema = employeeType.getSchema();
+    assertNotSame(schema, newSchema);
+    assertEquals(6, newSchema.size());
+  }
+
+  @Test
+  public void testComponentSlots() {
+    ComponentSlots slots = new ComponentSlots("score", "name", "unknown");
+    Entity compact = new Entity(personType.getSchema());
+    compact.set("name", "Alice");
+    compact.set("score", 2.5);
+    Entity map = new Entity(personType, "name", "Bob", "score", 3.5);
+    int[] compactSlots = slots.slotsOf(compact);
+    assertArrayEquals(new int[] { 2, 0, -1 }, compactSlots);
+    assertEquals(2.5, slots.get(compact, compactSlots, 0));
+    assertEquals("Alice", slots.get(compact, compactSlots, 1));
+    assertNull(slots.get(compact, compactSlots, 2));
+    int[] mapSlots = slots.slotsOf(map);
+    assertSame(compactSlots, mapSlots);
+    assertEquals(3.5, slots.get(map, mapSlots, 0));
+    assertEquals("Bob", slots.get(map, mapSlots, 1));
+    Entity untyped = new Entity((ComplexTypeDescriptor) null, "name", "Charly");
+    assertNull(slots.slotsOf(untyped));
+    assertEquals("Charly", slots.get(untyped, null, 1));
+  }
+
+}
@@ -13,6 +13,7 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -128,9 +129,115 @@ public void testCopyConstructor() {
     // check Entity.equals()
   }
 
+  @Test
+  public void testCompact_accessors() {
+    ComplexTypeDescriptor type = createPersonType();
+    Entity entity = new Entity(type.getSchema());
+    assertTrue(entity.isCompact());
+    assertFalse(entity.componentIsSet(NAME_ATTRIB));
+    entity.set("NAME", ALICE);
+    entity.set("age", "23");
+    assertTrue(entity.componentIsSet(NAME_ATTRIB));
+    assertEquals(ALICE, entity.get(NAME_ATTRIB));
+    assertEquals(AGE, entity.get("Age"));
+    entity.set("score", null);
+    assertTrue(entity.componentIsSet("score"));
+    assertNull(entity.get("score"));
+    entity.remove(NAME_ATTRIB);
+    assertFalse(entity.componentIsSet(NAME_ATTRIB));
+    assertNull(entity.get(NAME_ATTRIB));
+    assertTrue(entity.isCompact());
+  }
+
+  @Test
+  public void testCompact_primitives() {
+    ComplexTypeDescriptor type = createPersonType();
+    Entity entity = new Entity(type.getSchema());
+    EntitySchema schema = entity.getSchema();
+    int ageSlot = schema.slotOf("age");
+    int scoreSlot = schema.slotOf("score");
+    entity.setLong(ageSlot, 42);
+    entity.setDouble(scoreSlot, 1.5);
+    assertTrue(entity.isPrimitive(ageSlot));
+    assertTrue(entity.isPrimitive(scoreSlot));
+    assertEquals(42L, entity.getLong(ageSlot));
+    assertEquals(42., entity.getDouble(ageSlot), 0.);
+    assertEquals(1.5, entity.getDouble(scoreSlot), 0.);
+    assertEquals(42, entity.get("age"));
+    assertEquals(1.5, entity.get("score"));
+    entity.setSlotValue(ageSlot, 43);
+    assertFalse(entity.isPrimitive(ageSlot));
+    assertEquals(43L, entity.getLong(ageSlot));
+    // non-compact entities box the values
+    Entity mapEntity = new Entity(type);
+    mapEntity.setLong(ageSlot, 44);
+    assertFalse(mapEntity.isPrimitive(ageSlot));
+    assertEquals(44, mapEntity.get("age"));
+    assertEquals(44, mapEntity.getSlotValue(ageSlot));
+  }
+
+  @Test
+  public void testCompact_inflate() {
+    ComplexTypeDescriptor type = createPersonType();
+    Entity entity = new Entity(type.getSchema());
+    entity.set("age", AGE);
+    entity.set(NAME_ATTRIB, ALICE);
+    entity.set("nickname", "Ally");
+    assertFalse(entity.isCompact());
+    assertEquals(ALICE, entity.get(NAME_ATTRIB));
+    assertEquals(AGE, entity.get("age"));
+    assertEquals("Ally", entity.get("nickname"));
+    // components are ordered by their slots
+    assertArrayEquals(new String[] { NAME_ATTRIB, "age", "nickname" },
+        entity.getComponents().keySet().toArray(new String[0]));
+  }
+
+  @Test
+  public void testCompact_equals() {
+    ComplexTypeDescriptor type = createPersonType();
+    Entity compact = new Entity(type.getSchema());
+    compact.set(NAME_ATTRIB, ALICE);
+    compact.setLong(compact.getSchema().slotOf("age"), AGE);
+    Entity map = new Entity(type, NAME_ATTRIB, ALICE, "age", AGE);
+    assertEquals(compact, map);
+    assertEquals(map, compact);
+    assertEquals(map.hashCode(), compact.hashCode());
+    assertTrue(compact.equalsIgnoringDescriptor(map));
+    map.set("age", 24);
+    assertNotEquals(compact, map);
+    assertTrue(compact.isCompact());
+  }
+
+  @Test
+  public void testCompact_copy() {
+    ComplexTypeDescriptor type = createPersonType();
+    Entity src = new Entity(type.getSchema());
+    src.set(NAME_ATTRIB, ALICE);
+    src.setDouble(src.getSchema().slotOf("score"), 2.5);
+    List<Integer> list = new ArrayList<>();
+    list.add(1);
+    src.set("tags", list);
+    Entity dst = new Entity(src);
+    assertTrue(dst.isCompact());
+    assertEquals(src, dst);
+    assertReused(src.get(NAME_ATTRIB), dst.get(NAME_ATTRIB));
+    assertCopied(src.get("tags"), dst.get("tags"));
+    dst.setDouble(dst.getSchema().slotOf("score"), 3.5);
+    assertEquals(2.5, src.get("score"));
+  }
+
 
   // private helpers -------------------------------------------------------------------------------------------------
 
+  private ComplexTypeDescriptor createPersonType() {
+    ComplexTypeDescriptor type = new ComplexTypeDescriptor(PERSON_TYPE, dp);
+    type.setComponent(new PartDescriptor(NAME_ATTRIB, dp, "string"));
+    type.setComponent(new PartDescriptor("age", dp, "int"));
+    type.setComponent(new PartDescriptor("score", dp, "double"));
+    type.setComponent(new PartDescriptor("tags", dp));
+    return type;
+  }
+
   private Entity createAlice() {
     Entity result = new Entity(PERSON_TYPE, dp);
     result.set(NAME_ATTRIB, ALICE);
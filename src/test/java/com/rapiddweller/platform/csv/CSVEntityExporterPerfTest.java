@@ -0,0 +1,80 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.csv;
+
+import com.rapiddweller.benerator.test.GeneratorTest;
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+
+/**
+ * Tests the throughput of the {@link CSVEntityExporter} in default and in fast mode.
+ * Each invocation exports {@value #ROWS} rows.<br/><br/>
+ * Created: 23.03.2023 10:31:07
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class CSVEntityExporterPerfTest extends GeneratorTest {
+
+  private static final File DEFAULT_FILE = new File("target/CSVEntityExporterPerfTest-default.csv");
+  private static final File FAST_FILE = new File("target/CSVEntityExporterPerfTest-fast.csv");
+  private static final int ROWS = 100;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private Entity[] entities;
+  private CSVEntityExporter defaultExporter;
+  private CSVEntityExporter fastExporter;
+
+  @Before
+  public void setUp() {
+    entities = new Entity[ROWS];
+    for (int i = 0; i < entities.length; i++) {
+      entities[i] = createEntity("Person", "id", i, "name", "Person " + i, "age", 20 + i % 60,
+          "notes", (i % 10 == 0 ? "a, b" : null), "active", i % 2 == 0);
+    }
+    defaultExporter = new CSVEntityExporter(DEFAULT_FILE.getAbsolutePath(), "id,name,age,notes,active");
+    fastExporter = new CSVEntityExporter(FAST_FILE.getAbsolutePath(), "id,name,age,notes,active");
+    fastExporter.setFast(true);
+  }
+
+  @After
+  public void tearDown() {
+    defaultExporter.close();
+    fastExporter.close();
+  }
+
+  /** Verifies that at least 10,000 rows per second are exported in default mode */
+  @Test
+  @PerfTest(invocations = 1000)
+  @Required(throughput = 100)
+  public void testDefault() {
+    export(defaultExporter);
+  }
+
+  /** Verifies that at least 20,000 rows per second are exported in fast mode */
+  @Test
+  @PerfTest(invocations = 1000)
+  @Required(throughput = 200)
+  public void testFast() {
+    export(fastExporter);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void export(CSVEntityExporter exporter) {
+    for (Entity entity : entities) {
+      exporter.startProductConsumption(entity);
+      exporter.finishProductConsumption(entity);
+    }
+  }
+
+}
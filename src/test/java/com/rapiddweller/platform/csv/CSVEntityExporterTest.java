@@ -33,6 +33,7 @@
 import com.rapiddweller.common.SystemInfo;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.EntitySchema;
 import com.rapiddweller.model.data.SimpleTypeDescriptor;
 import org.junit.After;
 import org.junit.Assume;
@@ -47,6 +48,8 @@
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -234,6 +237,86 @@ public void testBinaryContent() throws IOException {
     assertEquals("value\r\nAQIDBAU=", getContent(DEFAULT_FILE));
   }
 
+  @Test
+  public void testFast() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter(CUSTOM_FILE.getAbsolutePath(), descriptor);
+    exporter.setFast(true);
+    consumeAliceBobCharlyAndClose(exporter);
+    assertEquals("name,age,notes\r\nAlice,23,\"\"\"None\"\"\"\r\nBob,34,\r\nCharly,45,\"\"", getContent(CUSTOM_FILE));
+  }
+
+  @Test
+  public void testFast_dontQuoteEmptyAndEndWithNewLine() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter();
+    exporter.setFast(true);
+    exporter.setQuoteEmpty(false);
+    exporter.setEndWithNewLine(true);
+    consumeAliceBobCharlyAndClose(exporter);
+    assertEquals("name,age,notes\r\nAlice,23,\"\"\"None\"\"\"\r\nBob,34,\r\nCharly,45,\r\n", getContent(DEFAULT_FILE));
+  }
+
+  @Test
+  public void testFast_formats() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter(CUSTOM_FILE.getAbsolutePath(), "d,l,b,t");
+    exporter.setFast(true);
+    exporter.setDecimalPattern("0.00");
+    exporter.setDecimalSeparator('.');
+    Entity entity = createEntity("test", "d", 1., "l", Long.MIN_VALUE, "b", true, "t", "a,b\nc");
+    exporter.startProductConsumption(entity);
+    exporter.finishProductConsumption(entity);
+    exporter.close();
+    assertEquals("d,l,b,t\r\n1.00,-9223372036854775808,true,\"a,b\nc\"", getContent(CUSTOM_FILE));
+  }
+
+  @Test
+  public void testFileOfUri() {
+    assertEquals(new File("target/test.csv"), CSVEntityExporter.fileOfUri("target/test.csv"));
+    assertEquals(new File("target/test.csv"), CSVEntityExporter.fileOfUri("file:target/test.csv"));
+    assertEquals(CUSTOM_FILE.getAbsoluteFile(), CSVEntityExporter.fileOfUri(CUSTOM_FILE.toURI().toString()));
+    assertEquals(new File("C:\\test.csv"), CSVEntityExporter.fileOfUri("C:\\test.csv"));
+    assertNull(CSVEntityExporter.fileOfUri("http://localhost/test.csv"));
+  }
+
+  @Test
+  public void testFast_largeFile() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter(CUSTOM_FILE.getAbsolutePath(), "id,name");
+    exporter.setFast(true);
+    exporter.setEncoding("UTF-8");
+    int count = 100000;
+    for (int i = 0; i < count; i++) {
+      Entity entity = createEntity("test", "id", i, "name", "Gr\u00fc\u00dfe " + i);
+      exporter.startProductConsumption(entity);
+      exporter.finishProductConsumption(entity);
+    }
+    exporter.close();
+    ReaderLineIterator iterator = new ReaderLineIterator(IOUtil.getReaderForURI(CUSTOM_FILE.getAbsolutePath(), "UTF-8"));
+    assertEquals("id,name", iterator.next());
+    for (int i = 0; i < count; i++) {
+      assertEquals(i + ",Gr\u00fc\u00dfe " + i, iterator.next());
+    }
+    assertFalse(iterator.hasNext());
+    iterator.close();
+  }
+
+  @Test
+  public void testFast_compactEntities() throws Exception {
+    CSVEntityExporter exporter = new CSVEntityExporter(CUSTOM_FILE.getAbsolutePath(), descriptor);
+    exporter.setFast(true);
+    EntitySchema schema = descriptor.getSchema();
+    for (int i = 0; i < 3; i++) {
+      Entity entity = new Entity(schema);
+      entity.set("name", "N" + i);
+      entity.setLong(schema.slotOf("age"), 20 + i);
+      if (i == 1) {
+        entity.set("notes", "x");
+      }
+      exporter.startProductConsumption(entity);
+      exporter.finishProductConsumption(entity);
+    }
+    exporter.close();
+    assertEquals("name,age,notes\r\nN0,20,\r\nN1,21,x\r\nN2,22,", getContent(CUSTOM_FILE));
+  }
+
   // helper methods --------------------------------------------------------------------------------------------------
 
   private void consumeAliceBobCharlyAndClose(CSVEntityExporter exporter) {
@@ -0,0 +1,105 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.rapiddweller.jdbacl.dialect.H2Util.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the read throughput of entity queries on an in-memory H2 database,
+ * converting each row separately and with a {@link ReadPlan} reused for all rows.
+ * Each invocation reads all {@value #ROWS} rows of the table.<br/><br/>
+ * Created: 28.03.2023 10:21:55
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class DBReadPerfTest {
+
+  private static final int ROWS = 10000;
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private DefaultDBSystem db;
+  private Connection connection;
+  private ComplexTypeDescriptor descriptor;
+
+  @Before
+  public void setUp() throws Exception {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator_read_perf", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    connection = db.createConnection();
+    DBUtil.executeUpdate("drop table PERF_READ if exists", connection);
+    DBUtil.executeUpdate("create table PERF_READ ( "
+            + "ID     bigint,"
+            + "NAME   varchar(30) not null,"
+            + "AGE    int,"
+            + "AMOUNT double,"
+            + "BORN   date,"
+            + "constraint PERF_READ_PK primary key (ID)"
+            + ");",
+        connection);
+    DBUtil.executeUpdate("insert into PERF_READ select X, concat('Name', X), mod(X, 80), X / 100.0, "
+        + "dateadd('DAY', mod(X, 10000), date '1970-01-01') from system_range(1, " + ROWS + ")", connection);
+    db.invalidate();
+    descriptor = (ComplexTypeDescriptor) db.getTypeDescriptor("PERF_READ");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop table PERF_READ", connection);
+    DBUtil.close(connection);
+    db.close();
+  }
+
+  /** Verifies that at least 50,000 rows per second are read when converting row by row */
+  @Test
+  @PerfTest(invocations = 50)
+  @Required(throughput = 5)
+  public void testRowByRow() throws SQLException {
+    read(false);
+  }
+
+  /** Verifies that at least 100,000 rows per second are read with a read plan */
+  @Test
+  @PerfTest(invocations = 50)
+  @Required(throughput = 10)
+  public void testReadPlan() throws SQLException {
+    read(true);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void read(boolean usePlan) throws SQLException {
+    int count = 0;
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("select * from PERF_READ")) {
+      ReadPlan plan = (usePlan ? new ReadPlan(resultSet.getMetaData(), descriptor) : null);
+      while (resultSet.next()) {
+        Entity entity = (usePlan ? plan.read(resultSet) : ResultSet2EntityConverter.convert(resultSet, descriptor));
+        if (entity != null) {
+          count++;
+        }
+      }
+    }
+    assertEquals(ROWS, count);
+  }
+
+}
@@ -0,0 +1,126 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.contiperf.PerfTest;
+import com.rapiddweller.contiperf.Required;
+import com.rapiddweller.contiperf.junit.ContiPerfRule;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.sql.Connection;
+
+import static com.rapiddweller.jdbacl.dialect.H2Util.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the write performance of the {@link DefaultDBSystem} on an in-memory H2 database:
+ * The cost of write plan resolution with and without caching and the insert throughput
+ * of the different insert modes.<br/><br/>
+ * Created: 20.03.2023 10:31:06
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class DBWritePerfTest {
+
+  @Rule
+  public ContiPerfRule rule = new ContiPerfRule();
+
+  private DefaultDBSystem db;
+  private Entity entity;
+  private int nextId;
+
+  @Before
+  public void setUp() throws Exception {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator_perf", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    Connection connection = db.createConnection();
+    try {
+      DBUtil.executeUpdate("drop table PERF if exists", connection);
+      DBUtil.executeUpdate("create table PERF ( "
+              + "ID     int,"
+              + "NAME   varchar(30) not null,"
+              + "AMOUNT decimal(10,2),"
+              + "BORN   date,"
+              + "ACTIVE boolean,"
+              + "constraint PERF_PK primary key (ID)"
+              + ");",
+          connection);
+    } finally {
+      DBUtil.close(connection);
+    }
+    db.invalidate();
+    db.setBatchSize(1000);
+    entity = createEntity(0);
+    nextId = 1;
+  }
+
+  @After
+  public void tearDown() {
+    db.commit();
+    assertEquals(nextId - 1, db.countEntities("PERF"));
+    db.execute("drop table PERF");
+    db.close();
+  }
+
+  /** Verifies that the write columns of an entity are resolved at least 1,000 times per second */
+  @Test
+  @PerfTest(invocations = 10000)
+  @Required(throughput = 1000)
+  public void testWriteColumnResolution() {
+    db.getWriteColumnInfos(entity, true);
+  }
+
+  /** Verifies that a cached write plan is provided at least 20,000 times per second */
+  @Test
+  @PerfTest(invocations = 100000)
+  @Required(throughput = 20000)
+  public void testCachedWritePlan() {
+    db.getWritePlan(entity, true);
+  }
+
+  /** Verifies that at least 1,000 rows per second are inserted with one statement execution per row */
+  @Test
+  @PerfTest(invocations = 5000)
+  @Required(throughput = 1000)
+  public void testStatementInsert() {
+    insert(false, InsertMode.STATEMENT);
+  }
+
+  /** Verifies that at least 2,000 rows per second are inserted with JDBC batches */
+  @Test
+  @PerfTest(invocations = 5000)
+  @Required(throughput = 2000)
+  public void testBatchInsert() {
+    insert(true, InsertMode.STATEMENT);
+  }
+
+  /** Verifies that at least 2,000 rows per second are inserted with multi-row inserts */
+  @Test
+  @PerfTest(invocations = 5000)
+  @Required(throughput = 2000)
+  public void testMultiRowInsert() {
+    insert(false, InsertMode.MULTI_ROW);
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private void insert(boolean batch, InsertMode insertMode) {
+    if (nextId == 1) {
+      db.setBatch(batch);
+      db.setInsertMode(insertMode);
+    }
+    db.store(createEntity(nextId++));
+  }
+
+  private Entity createEntity(int id) {
+    return new Entity("PERF", db, "ID", id, "NAME", "Name" + id, "AMOUNT", id / 100.,
+        "BORN", new java.util.Date(), "ACTIVE", (id % 2 == 0));
+  }
+
+}
@@ -368,6 +368,72 @@ public void testUpdater() throws Exception {
     assertArrayEquals(new Object[] {2, "Otto"}, storedData.get(1));
   }
 
+  @Test
+  public void testMultiRowInsert() {
+    db.setInsertMode(InsertMode.MULTI_ROW);
+    db.setBatchSize(3);
+    for (int i = 1; i <= 7; i++) {
+      db.store(new Entity("TEST", db, "ID", i, "NAME", "N" + i));
+    }
+    // two full buffers of 3 rows have been written, one row is pending
+    assertEquals(6, db.countEntities("TEST"));
+    db.update(new Entity("TEST", db, "ID", 7, "NAME", "Seven"));
+    List<Object[]> storedData = DBUtil.query("select ID, NAME from TEST order by ID", db.getConnection());
+    assertEquals(7, storedData.size());
+    assertArrayEquals(new Object[] {1, "N1"}, storedData.get(0));
+    assertArrayEquals(new Object[] {7, "Seven"}, storedData.get(6));
+  }
+
+  @Test
+  public void testMultiRowInsert_flushedOnCommit() {
+    db.setInsertMode(InsertMode.MULTI_ROW);
+    db.store(new Entity("TEST", db, "ID", 1, "NAME", "Alice"));
+    db.store(new Entity("TEST", db, "ID", 2, "NAME", "Bob"));
+    assertEquals(0, db.countEntities("TEST"));
+    db.commit();
+    assertEquals(2, db.countEntities("TEST"));
+  }
+
+  @Test
+  public void testCopyFallback() {
+    db.setInsertMode(InsertMode.COPY);
+    db.store(new Entity("TEST", db, "ID", 1, "NAME", "Alice"));
+    db.commit();
+    assertEquals(1, db.countEntities("TEST"));
+  }
+
+  @Test
+  public void testBatchSize() {
+    db.setBatch(true);
+    db.setBatchSize(2);
+    db.store(new Entity("TEST", db, "ID", 1, "NAME", "Alice"));
+    db.store(new Entity("TEST", db, "ID", 2, "NAME", "Bob"));
+    db.store(new Entity("TEST", db, "ID", 3, "NAME", "Charly"));
+    db.commit();
+    assertEquals(3, db.countEntities("TEST"));
+  }
+
+  @Test
+  public void testWritePlanCaching() {
+    Entity entity = new Entity("TEST", db, "ID", 1, "NAME", "Alice");
+    WritePlan insertPlan = db.getWritePlan(entity, true);
+    assertSame(insertPlan, db.getWritePlan(entity, true));
+    assertArrayEquals(new Object[] {1, "Alice"}, insertPlan.jdbcValues(entity));
+    WritePlan updatePlan = db.getWritePlan(entity, false);
+    assertNotSame(insertPlan, updatePlan);
+    assertArrayEquals(new Object[] {"Alice", 1}, updatePlan.jdbcValues(entity));
+    db.invalidate();
+    assertNotSame(insertPlan, db.getWritePlan(entity, true));
+  }
+
+  @Test
+  public void testWritePlanConversion() {
+    Entity entity = new Entity("TEST", db, "ID", "3", "NAME", 42);
+    assertArrayEquals(new Object[] {3, "42"}, db.getWritePlan(entity, true).jdbcValues(entity));
+    db.store(entity);
+    assertEquals("TEST[ID=3, NAME=42]", db.queryEntityById("TEST", 3).toString());
+  }
+
   @Test
   public void testTableExists() {
     assertTrue(db.tableExists("TEST"));
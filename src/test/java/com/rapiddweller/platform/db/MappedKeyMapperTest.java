@@ -0,0 +1,45 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.util.MappedStringStore;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link MappedKeyMapper}.<br/><br/>
+ * Created: 21.03.2023 10:41:26
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MappedKeyMapperTest {
+
+  @Test
+  public void testNaturalKeyMapping() {
+    try (MappedStringStore store = new MappedStringStore(null);
+         MappedKeyMapper.NaturalKeyMapping mapping = new MappedKeyMapper.NaturalKeyMapping(null, store)) {
+      for (int i = 0; i < 10000; i++) {
+        String naturalKey = "nk-" + i;
+        mapping.put(naturalKey, store.add(naturalKey), 1000L + i);
+      }
+      for (int i = 0; i < 10000; i++) {
+        assertEquals(1000L + i, mapping.get("nk-" + i));
+      }
+      assertNull(mapping.get("nk-10000"));
+    }
+  }
+
+  @Test
+  public void testNaturalKeyMappingOfNonIntegralIds() {
+    try (MappedStringStore store = new MappedStringStore(null);
+         MappedKeyMapper.NaturalKeyMapping mapping = new MappedKeyMapper.NaturalKeyMapping(null, store)) {
+      mapping.put("Alice", store.add("Alice"), "A-1");
+      mapping.put("Bob", store.add("Bob"), 2);
+      assertEquals("A-1", mapping.get("Alice"));
+      assertEquals(2, mapping.get("Bob"));
+    }
+  }
+
+}
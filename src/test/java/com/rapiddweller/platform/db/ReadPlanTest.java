@@ -0,0 +1,137 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db;
+
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.jdbacl.DBUtil;
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.Entity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.rapiddweller.jdbacl.dialect.H2Util.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ReadPlan}.<br/><br/>
+ * Created: 28.03.2023 09:44:19
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class ReadPlanTest {
+
+  private DefaultDBSystem db;
+  private Connection connection;
+
+  @Before
+  public void setUp() throws Exception {
+    db = new DefaultDBSystem("db", IN_MEMORY_URL_PREFIX + "benerator_read", DRIVER, DEFAULT_USER, DEFAULT_PASSWORD, new DataModel());
+    db.setSchema("PUBLIC");
+    connection = db.createConnection();
+    DBUtil.executeUpdate("drop table READ_TEST if exists", connection);
+    DBUtil.executeUpdate("create table READ_TEST ( "
+            + "ID    bigint,"
+            + "NAME  varchar(30) not null,"
+            + "AGE   int,"
+            + "SCORE double,"
+            + "NOTES varchar(30),"
+            + "constraint READ_TEST_PK primary key (ID)"
+            + ");",
+        connection);
+    DBUtil.executeUpdate("insert into READ_TEST values (1, 'Alice', 23, 1.5, 'x')", connection);
+    DBUtil.executeUpdate("insert into READ_TEST values (2, 'Bob', null, null, null)", connection);
+    db.invalidate();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    DBUtil.executeUpdate("drop table READ_TEST", connection);
+    DBUtil.close(connection);
+    db.close();
+  }
+
+  @Test
+  public void testSelectAll() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("select * from READ_TEST order by ID")) {
+      ReadPlan plan = new ReadPlan(resultSet.getMetaData(), descriptor());
+      assertTrue(plan.isCompact());
+      assertTrue(resultSet.next());
+      Entity alice = plan.read(resultSet);
+      assertTrue(alice.isCompact());
+      assertEquals(1L, alice.get("ID"));
+      assertEquals("Alice", alice.get("NAME"));
+      assertEquals(23, alice.get("AGE"));
+      assertEquals(1.5, alice.get("SCORE"));
+      assertEquals("x", alice.get("NOTES"));
+      assertTrue(resultSet.next());
+      Entity bob = plan.read(resultSet);
+      assertEquals(2L, bob.get("ID"));
+      assertTrue(bob.componentIsSet("AGE"));
+      assertNull(bob.get("AGE"));
+      assertNull(bob.get("SCORE"));
+      assertNull(bob.get("NOTES"));
+      assertFalse(resultSet.next());
+    }
+  }
+
+  @Test
+  public void testOtherColumnOrder() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("select AGE, NAME, 'y' as EXTRA from READ_TEST where ID = 1")) {
+      ReadPlan plan = new ReadPlan(resultSet.getMetaData(), descriptor());
+      assertFalse(plan.isCompact());
+      assertTrue(resultSet.next());
+      Entity entity = plan.read(resultSet);
+      assertArrayEquals(new String[] { "AGE", "NAME", "EXTRA" },
+          entity.getComponents().keySet().toArray(new String[0]));
+      assertEquals(23, entity.get("AGE"));
+      assertEquals("y", entity.get("EXTRA"));
+    }
+  }
+
+  @Test
+  public void testWithoutDescriptor() throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("select ID, AGE from READ_TEST where ID = 1")) {
+      ReadPlan plan = new ReadPlan(resultSet.getMetaData(), null);
+      assertFalse(plan.isCompact());
+      assertTrue(resultSet.next());
+      Entity entity = plan.read(resultSet);
+      assertEquals("1", entity.get("ID"));
+      assertEquals("23", entity.get("AGE"));
+    }
+  }
+
+  @Test
+  public void testQueryEntities() {
+    DataIterator<Entity> iterator = db.queryEntities("READ_TEST", null, new DefaultBeneratorContext()).iterator();
+    DataContainer<Entity> container = new DataContainer<>();
+    assertEquals(new Entity(descriptor(), "ID", 1L, "NAME", "Alice", "AGE", 23, "SCORE", 1.5, "NOTES", "x"),
+        iterator.next(container).getData());
+    assertEquals(new Entity(descriptor(), "ID", 2L, "NAME", "Bob", "AGE", null, "SCORE", null, "NOTES", null),
+        iterator.next(container).getData());
+    assertNull(iterator.next(container));
+    iterator.close();
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private ComplexTypeDescriptor descriptor() {
+    return (ComplexTypeDescriptor) db.getTypeDescriptor("READ_TEST");
+  }
+
+}
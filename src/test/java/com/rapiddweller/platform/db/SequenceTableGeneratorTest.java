@@ -31,6 +31,7 @@
 import com.rapiddweller.benerator.test.ConsumerMock;
 import com.rapiddweller.benerator.test.GeneratorTest;
 import com.rapiddweller.common.IOUtil;
+import com.rapiddweller.jdbacl.DBUtil;
 import com.rapiddweller.jdbacl.dialect.HSQLUtil;
 import com.rapiddweller.model.data.DataModel;
 import com.rapiddweller.model.data.Entity;
@@ -39,10 +40,13 @@
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link SequenceTableGenerator}.<br/><br/>
@@ -156,6 +160,107 @@ public void testParameterizedSelector() {
     }
   }
 
+  @Test
+  public void testBlockMode() {
+    try (SequenceTableGenerator<Integer> generator = new SequenceTableGenerator<>("TT", "value", db)) {
+      generator.setSelector("id1 = 1 and id2 = 2");
+      generator.setAllocationSize(10);
+      generator.init(context);
+      assertEquals(1000, generator.generate().intValue());
+      assertEquals(1010, tableValue(1));
+      for (int i = 1; i < 25; i++) {
+        assertEquals(1000 + i, generator.generate().intValue());
+      }
+      assertEquals(1030, tableValue(1));
+    }
+  }
+
+  @Test
+  public void testBlockMode_increment() {
+    try (SequenceTableGenerator<Integer> generator = new SequenceTableGenerator<>("TT", "value", db)) {
+      generator.setSelector("id1 = 1 and id2 = 2");
+      generator.setIncrement(5);
+      generator.setAllocationSize(3);
+      generator.init(context);
+      for (int i = 0; i < 7; i++) {
+        assertEquals(1000 + i * 5, generator.generate().intValue());
+      }
+      assertEquals(1045, tableValue(1));
+    }
+  }
+
+  @Test
+  public void testBlockMode_concurrentGenerators() {
+    try (SequenceTableGenerator<Integer> generator1 = new SequenceTableGenerator<>("TT", "value", db);
+         SequenceTableGenerator<Integer> generator2 = new SequenceTableGenerator<>("TT", "value", db)) {
+      generator1.setSelector("id1 = 1 and id2 = 2");
+      generator1.setAllocationSize(10);
+      generator1.init(context);
+      generator2.setSelector("id1 = 1 and id2 = 2");
+      generator2.setAllocationSize(10);
+      generator2.init(context);
+      Set<Integer> values = new HashSet<>();
+      for (int i = 0; i < 50; i++) {
+        assertTrue(values.add(generator1.generate().intValue()));
+        assertTrue(values.add(generator2.generate().intValue()));
+      }
+      assertEquals(100, values.size());
+      assertEquals(1100, tableValue(1));
+    }
+  }
+
+  @Test
+  public void testBlockMode_dynamicSelector() {
+    try (SequenceTableGenerator<Integer> generator = new SequenceTableGenerator<>("TT", "value", db)) {
+      generator.setSelector("{'id1 = ' + (1 + (num % 2)) + ' and id2 = ' + (2 + (num % 2))}");
+      generator.setAllocationSize(10);
+      generator.init(context);
+      for (int i = 0; i < 30; ) {
+        context.set("num", i);
+        assertEquals(1000 + i / 2, generator.generate().intValue());
+        i++;
+        context.set("num", i);
+        assertEquals(2000 + i / 2, generator.generate().intValue());
+        i++;
+      }
+      assertEquals(1020, tableValue(1));
+      assertEquals(2020, tableValue(2));
+    }
+  }
+
+  @Test
+  public void testBlockMode_orSelector() {
+    // the selector matches both rows, but only row #1 carries the value which is read and allocated
+    checkOrSelector("id1 = 1 or id2 = 3");
+  }
+
+  @Test
+  public void testBlockMode_dynamicOrSelector() {
+    checkOrSelector("{'id1 = ' + num + ' or id2 = 3'}");
+  }
+
+  @Test
+  public void testBlockMode_parameterizedSelector() {
+    try (SequenceTableGenerator<Integer> generator = new SequenceTableGenerator<>("TT", "value", db, "id1 = ? and id2 = ?")) {
+      generator.setAllocationSize(10);
+      generator.init(context);
+      for (int i = 0; i < 15; i++) {
+        assertEquals(1000 + i, generator.generateWithParams(1, 2).intValue());
+        assertEquals(2000 + i, generator.generateWithParams(2, 3).intValue());
+      }
+      assertEquals(1020, tableValue(1));
+      assertEquals(2020, tableValue(2));
+    }
+  }
+
+  @Test(expected = InvalidGeneratorSetupException.class)
+  public void testBlockMode_illegalAllocationSize() {
+    try (SequenceTableGenerator<Integer> generator = new SequenceTableGenerator<>("TT", "value", db)) {
+      generator.setAllocationSize(0);
+      generator.init(context);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void testIntegration() throws Exception {
@@ -173,4 +278,25 @@ public void testIntegration() throws Exception {
     }
   }
 
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private void checkOrSelector(String selector) {
+    try (SequenceTableGenerator<Integer> generator = new SequenceTableGenerator<>("TT", "value", db)) {
+      generator.setSelector(selector);
+      generator.setAllocationSize(10);
+      generator.init(context);
+      context.set("num", 1);
+      for (int i = 0; i < 15; i++) {
+        assertEquals(1000 + i, generator.generate().intValue());
+      }
+      assertEquals(1020, tableValue(1));
+      assertEquals(2000, tableValue(2));
+    }
+  }
+
+  private static int tableValue(int id1) {
+    List<Object[]> rows = DBUtil.query("select value from TT where id1 = " + id1, db.getConnection());
+    return ((Number) rows.get(0)[0]).intValue();
+  }
+
 }
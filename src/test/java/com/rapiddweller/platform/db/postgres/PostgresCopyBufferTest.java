@@ -0,0 +1,57 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.db.postgres;
+
+import com.rapiddweller.jdbacl.ColumnInfo;
+import org.junit.Test;
+
+import java.sql.Types;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the CSV rendering of the {@link PostgresCopyBuffer}.<br/><br/>
+ * Created: 19.03.2023 14:20:07
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class PostgresCopyBufferTest {
+
+  @Test
+  public void testRenderCopySql() {
+    assertEquals("COPY public.person (\"id\", \"name\") FROM STDIN WITH (FORMAT csv)",
+        PostgresCopyBuffer.renderCopySql("public.person", Arrays.asList(
+            new ColumnInfo("id", Types.INTEGER, Integer.class),
+            new ColumnInfo("name", Types.VARCHAR, String.class))));
+  }
+
+  @Test
+  public void testAppendCsvValue() {
+    assertEquals("", csv(null));
+    assertEquals("42", csv(42));
+    assertEquals("1.5", csv(1.5));
+    assertEquals("true", csv(true));
+    assertEquals("\"Alice\"", csv("Alice"));
+    assertEquals("\"\"", csv(""));
+    assertEquals("\"say \"\"hi\"\", Bob\"", csv("say \"hi\", Bob"));
+    assertEquals("\"a\nb\"", csv("a\nb"));
+    assertEquals("\\x00ff10", csv(new byte[] { 0, -1, 16 }));
+  }
+
+  @Test
+  public void testAppendCsvRow() {
+    StringBuilder builder = new StringBuilder();
+    PostgresCopyBuffer.appendCsvRow(new Object[] { 1, null, "x" }, builder);
+    assertEquals("1,,\"x\"\n", builder.toString());
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private static String csv(Object value) {
+    StringBuilder builder = new StringBuilder();
+    PostgresCopyBuffer.appendCsvValue(value, builder);
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,101 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.memstore;
+
+import com.rapiddweller.model.data.ComplexTypeDescriptor;
+import com.rapiddweller.model.data.DataModel;
+import com.rapiddweller.model.data.DefaultDescriptorProvider;
+import com.rapiddweller.model.data.Entity;
+import com.rapiddweller.model.data.PartDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link EntityIndex}.<br/><br/>
+ * Created: 21.03.2023 10:12:38
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class EntityIndexTest {
+
+  private ComplexTypeDescriptor type;
+
+  @Before
+  public void setUp() {
+    type = new ComplexTypeDescriptor("item", new DefaultDescriptorProvider("test", new DataModel()));
+  }
+
+  @Test
+  public void testLookup() {
+    EntityIndex index = new EntityIndex("name");
+    Entity alice1 = new Entity(type, "name", "Alice");
+    Entity bob = new Entity(type, "name", "Bob");
+    Entity alice2 = new Entity(type, "name", "Alice");
+    Entity nobody = new Entity(type, "name", null);
+    index.add(alice1);
+    index.add(bob);
+    index.add(alice2);
+    index.add(nobody);
+    assertEquals(3, index.size());
+    assertEquals(Arrays.asList(alice1, alice2), index.lookup("Alice"));
+    assertEquals(Collections.singletonList(bob), index.lookup("Bob"));
+    assertEquals(Collections.emptyList(), index.lookup("Charly"));
+    index.remove(alice1);
+    assertEquals(Collections.singletonList(alice2), index.lookup("Alice"));
+    index.remove(nobody);
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  public void testNumbers() {
+    EntityIndex index = new EntityIndex("rank");
+    Entity e1 = new Entity(type, "rank", 1);
+    Entity e2 = new Entity(type, "rank", 2L);
+    Entity e3 = new Entity(type, "rank", 2.5);
+    index.add(e1);
+    index.add(e2);
+    index.add(e3);
+    assertEquals(Collections.singletonList(e1), index.lookup(1L));
+    assertEquals(Collections.singletonList(e1), index.lookup(1.0));
+    assertEquals(Collections.singletonList(e2), index.lookup(2));
+    assertEquals(Collections.singletonList(e2), index.lookup(new BigDecimal("2.00")));
+    assertEquals(Collections.singletonList(e3), index.lookup(2.5f));
+  }
+
+  @Test
+  public void testCanLookup() {
+    EntityIndex index = new EntityIndex("value");
+    index.add(new Entity(type, "value", 1));
+    assertTrue(index.canLookup(1));
+    assertFalse(index.canLookup("1"));
+    assertFalse(index.canLookup(null));
+    index.add(new Entity(type, "value", "x"));
+    assertFalse(index.canLookup(1));
+    assertFalse(index.canLookup("x"));
+  }
+
+  @Test
+  public void testCompactEntities() {
+    DefaultDescriptorProvider dp = new DefaultDescriptorProvider("test", new DataModel());
+    ComplexTypeDescriptor rankedType = new ComplexTypeDescriptor("ranked", dp);
+    rankedType.setComponent(new PartDescriptor("name", dp, "string"));
+    rankedType.setComponent(new PartDescriptor("rank", dp, "long"));
+    EntityIndex index = new EntityIndex("RANK");
+    Entity e1 = new Entity(rankedType.getSchema());
+    e1.setLong(1, 1);
+    Entity e2 = new Entity(rankedType, "name", "two", "rank", 2);
+    index.add(e1);
+    index.add(e2);
+    assertEquals(Collections.singletonList(e1), index.lookup(1));
+    assertEquals(Collections.singletonList(e2), index.lookup(2L));
+  }
+
+}
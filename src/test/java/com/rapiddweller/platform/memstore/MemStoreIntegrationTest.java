@@ -28,12 +28,18 @@
 
 import com.rapiddweller.benerator.test.AbstractBeneratorIntegrationTest;
 import com.rapiddweller.benerator.test.ConsumerMock;
+import com.rapiddweller.benerator.util.FilterExDataSource;
 import com.rapiddweller.common.exception.IllegalArgumentError;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.DataIterator;
+import com.rapiddweller.format.DataSource;
+import com.rapiddweller.format.util.DataSourceFromIterable;
 import com.rapiddweller.model.data.ComplexTypeDescriptor;
 import com.rapiddweller.model.data.Entity;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -51,6 +57,7 @@
 public class MemStoreIntegrationTest extends AbstractBeneratorIntegrationTest {
 
   private MemStore dst;
+  private ComplexTypeDescriptor customerType;
   private ConsumerMock consumer;
 
   /**
@@ -328,4 +335,93 @@ public void testIntegration() {
     }
   }
 
+  @Test
+  public void testIndexedQuery() {
+    MemStore mem = createCustomerStore(true);
+    context.set("c", "B");
+    DataSource<Entity> result = mem.queryEntities("customer", "_candidate.city == c", context);
+    assertTrue(result instanceof IndexLookupDataSource);
+    assertIds(result, 2, 4, 6);
+    context.set("c", "A");
+    assertIds(result, 1, 3, 5);
+    assertIds(mem.queryEntities("customer", "_candidate.city == 'X'", context));
+    assertIds(mem.queryEntities("customer", "_candidate.rank == 3", context), 3);
+  }
+
+  @Test
+  public void testUnindexedQuery() {
+    MemStore mem = createCustomerStore(false);
+    DataSource<Entity> result = mem.queryEntities("customer", "_candidate.city == 'B'", context);
+    assertTrue(result instanceof FilterExDataSource);
+    assertIds(result, 2, 4, 6);
+  }
+
+  @Test
+  public void testIndexUpdate() {
+    MemStore mem = createCustomerStore(true);
+    mem.update(new Entity(customerType, "id", 2, "city", "A", "rank", 2));
+    assertIds(mem.queryEntities("customer", "_candidate.city == 'A'", context), 1, 3, 5, 2);
+    assertIds(mem.queryEntities("customer", "_candidate.city == 'B'", context), 4, 6);
+  }
+
+  @Test
+  public void testFilter() {
+    MemStore mem = createCustomerStore(true);
+    ComplexTypeDescriptor cityType = createComplexType("city");
+    List<Entity> cities = new ArrayList<>();
+    cities.add(new Entity(cityType, "city", "B"));
+    mem.filter("customer", "city", new DataSourceFromIterable<>(cities, Entity.class));
+    assertEquals(3, mem.entityCount("customer"));
+    assertIds(mem.queryEntities("customer", "_candidate.city == 'B'", context), 2, 4, 6);
+    assertIds(mem.queryEntities("customer", "_candidate.city == 'A'", context));
+  }
+
+  @Test
+  public void testIndexesAttribute() {
+    parseAndExecuteXmlString(
+        "<setup>" +
+            "	<import platforms='memstore'/>" +
+            "	<memstore id='store' indexes='product.name'/>" +
+            "	<generate type='product' count='10' consumer='store'>" +
+            "		<id name='id' type='int' />" +
+            "		<attribute name='name' values=\"'x','y'\" />" +
+            "	</generate>" +
+            "</setup>"
+    );
+    MemStore store = (MemStore) context.get("store");
+    DataSource<Entity> result = store.queryEntities("product", "_candidate.name == 'x'", context);
+    assertTrue(result instanceof IndexLookupDataSource);
+  }
+
+  // private helpers -------------------------------------------------------------------------------------------------
+
+  private MemStore createCustomerStore(boolean indexed) {
+    MemStore mem = new MemStore("mem", dataModel);
+    if (indexed) {
+      mem.addIndex("customer", "city");
+      mem.addIndex("customer", "rank");
+    }
+    customerType = createComplexType("customer");
+    customerType.setComponent(createId("id", "int"));
+    for (int i = 1; i <= 6; i++) {
+      mem.store(new Entity(customerType, "id", i, "city", (i % 2 == 1 ? "A" : "B"), "rank", i));
+    }
+    return mem;
+  }
+
+  private static void assertIds(DataSource<Entity> source, int... expectedIds) {
+    List<Object> ids = new ArrayList<>();
+    DataIterator<Entity> iterator = source.iterator();
+    DataContainer<Entity> container = new DataContainer<>();
+    while ((container = iterator.next(container)) != null) {
+      ids.add(container.getData().get("id"));
+    }
+    iterator.close();
+    List<Object> expected = new ArrayList<>();
+    for (int id : expectedIds) {
+      expected.add(id);
+    }
+    assertEquals(expected, ids);
+  }
+
 }
@@ -0,0 +1,160 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.mongodb.client;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the {@link MongoDBBulkWriter} with mocked collections in the role of a MongoDB server.<br/><br/>
+ * Created: 05.04.2023 10:37:52
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class MongoDBBulkWriterTest {
+
+  private MongoCollection<Document> persons;
+  private MongoCollection<Document> orders;
+  private Map<String, MongoCollection<Document>> collections;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    persons = mock(MongoCollection.class);
+    orders = mock(MongoCollection.class);
+    collections = new HashMap<>();
+    collections.put("person", persons);
+    collections.put("order", orders);
+  }
+
+  @Test
+  public void testInsertBatches() {
+    MongoDBBulkWriter writer = new MongoDBBulkWriter(collections::get, 3);
+    for (int i = 0; i < 7; i++) {
+      writer.insert("person", document(i));
+    }
+    List<List<Document>> bulks = captureInserts(persons, 2);
+    assertEquals(3, bulks.get(0).size());
+    assertEquals(3, bulks.get(1).size());
+    assertEquals(1, writer.pendingCount());
+    writer.flush();
+    assertEquals(1, captureInserts(persons, 3).get(2).size());
+    assertEquals(0, writer.pendingCount());
+    verify(persons, never()).insertOne(any());
+  }
+
+  @Test
+  public void testSingleWrites() {
+    MongoDBBulkWriter writer = new MongoDBBulkWriter(collections::get, 1);
+    writer.insert("person", document(1));
+    writer.insert("person", document(2));
+    writer.replace("person", 1, document(1));
+    assertEquals(0, writer.pendingCount());
+    verify(persons, times(2)).insertOne(any());
+    verify(persons, times(1)).replaceOne(any(), any(Document.class));
+    verify(persons, never()).insertMany(anyList(), any(InsertManyOptions.class));
+  }
+
+  @Test
+  public void testReplacementsAfterInserts() {
+    MongoDBBulkWriter writer = new MongoDBBulkWriter(collections::get, 10);
+    writer.insert("person", document(1));
+    writer.insert("person", document(2));
+    writer.replace("person", 1, document(1));
+    assertEquals(2, captureInserts(persons, 1).get(0).size());
+    assertEquals(1, writer.pendingCount());
+    writer.flush();
+    assertEquals(1, captureReplacements(persons, 1).get(0).size());
+  }
+
+  @Test
+  public void testRepeatedReplacement() {
+    MongoDBBulkWriter writer = new MongoDBBulkWriter(collections::get, 10);
+    writer.replace("person", 1, document(1));
+    writer.replace("person", 2, document(2));
+    writer.replace("person", 1, document(1));
+    assertEquals(2, captureReplacements(persons, 1).get(0).size());
+    writer.flush();
+    assertEquals(1, captureReplacements(persons, 2).get(1).size());
+  }
+
+  @Test
+  public void testCollections() {
+    MongoDBBulkWriter writer = new MongoDBBulkWriter(collections::get, 10);
+    writer.insert("person", document(1));
+    writer.insert("order", document(2));
+    writer.insert("person", document(3));
+    writer.close();
+    assertEquals(2, captureInserts(persons, 1).get(0).size());
+    assertEquals(1, captureInserts(orders, 1).get(0).size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPartialFailure() {
+    MongoBulkWriteException exception = mock(MongoBulkWriteException.class);
+    when(exception.getWriteErrors()).thenReturn(
+        List.of(new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1)));
+    doThrow(exception).when(persons).insertMany(anyList(), any(InsertManyOptions.class));
+    MongoDBBulkWriter writer = new MongoDBBulkWriter(collections::get, 10);
+    writer.insert("person", document(1));
+    writer.insert("person", document(1));
+    writer.insert("person", document(2));
+    writer.insert("order", document(3));
+    try {
+      writer.flush();
+      fail("Exception expected");
+    } catch (RuntimeException e) {
+      assertTrue(e.getMessage(), e.getMessage().contains("failed for 1 of 3 documents"));
+    }
+    verify(orders).insertMany(anyList(), any(InsertManyOptions.class));
+    assertEquals(0, writer.pendingCount());
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static Document document(int id) {
+    return new Document("_id", id).append("name", "name" + id);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<List<Document>> captureInserts(MongoCollection<Document> collection, int expectedCalls) {
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(collection, times(expectedCalls)).insertMany(captor.capture(), any(InsertManyOptions.class));
+    return (List) captor.getAllValues();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static List<List<WriteModel<Document>>> captureReplacements(
+      MongoCollection<Document> collection, int expectedCalls) {
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(collection, times(expectedCalls)).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+    return (List) captor.getAllValues();
+  }
+
+}
@@ -29,11 +29,12 @@
 import com.rapiddweller.benerator.factory.BeneratorExceptionFactory;
 import com.rapiddweller.common.ArrayUtil;
 import com.rapiddweller.common.FileUtil;
-import org.apache.poi.hssf.usermodel.HSSFCell;
-import org.apache.poi.hssf.usermodel.HSSFRow;
-import org.apache.poi.hssf.usermodel.HSSFSheet;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.junit.Test;
 
 import java.io.File;
@@ -65,6 +66,10 @@ public class XLSEntityExporterTest extends XLSTest {
    * The constant CUSTOM_FILE.
    */
   protected static final File CUSTOM_FILE = new File("target", XLSEntityExporterTest.class.getSimpleName() + ".xls");
+  /**
+   * The constant XLSX_FILE.
+   */
+  protected static final File XLSX_FILE = new File("target", XLSEntityExporterTest.class.getSimpleName() + ".xlsx");
 
   // tests -----------------------------------------------------------------------------------------------------------
 
@@ -124,6 +129,106 @@ public void testTwoEntities() throws Exception {
     }
   }
 
+  /**
+   * Test roll-over to a new sheet in XLS format.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void testRollOver() throws Exception {
+    try {
+      XLSEntityExporter exporter = new XLSEntityExporter(CUSTOM_FILE.getAbsolutePath());
+      exporter.setMaxRowsPerSheet(2);
+      consumeProducts(exporter);
+      consumePersons(exporter);
+      exporter.close();
+      assertRolledOverContent(CUSTOM_FILE);
+    } finally {
+      if (CLEAN_UP) {
+        FileUtil.deleteIfExists(CUSTOM_FILE);
+      }
+    }
+  }
+
+  /**
+   * Test empty XLSX file.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void testXlsxEmpty() throws Exception {
+    try {
+      XLSEntityExporter exporter = new XLSEntityExporter(XLSX_FILE.getAbsolutePath());
+      exporter.close();
+      assertTrue(XLSX_FILE.exists());
+      try (Workbook workbook = WorkbookFactory.create(XLSX_FILE)) {
+        assertEquals(0, workbook.getNumberOfSheets());
+      }
+    } finally {
+      if (CLEAN_UP) {
+        FileUtil.deleteIfExists(XLSX_FILE);
+      }
+    }
+  }
+
+  /**
+   * Test two entities in XLSX streaming mode.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void testXlsxTwoEntities() throws Exception {
+    try {
+      XLSEntityExporter exporter = new XLSEntityExporter(XLSX_FILE.getAbsolutePath());
+      exporter.setRowWindow(1);
+      consumeProducts(exporter);
+      consumePersons(exporter);
+      exporter.close();
+      assertTrue(XLSX_FILE.exists());
+      try (Workbook workbook = WorkbookFactory.create(XLSX_FILE)) {
+        assertEquals(2, workbook.getNumberOfSheets());
+        Sheet sheet = workbook.getSheet("Product");
+        checkCells(sheet.getRow(0), "ean", "price", "date", "avail", "updated", null);
+        checkCells(sheet.getRow(1), EAN1, PRICE1, DATE1, AVAIL1, UPDATED1, null);
+        checkCells(sheet.getRow(2), EAN2, PRICE2, DATE2, AVAIL2, UPDATED2, null);
+        checkCells(sheet.getRow(3));
+        // cell styles are shared among the rows of a column
+        assertEquals(sheet.getRow(1).getCell(1).getCellStyle().getIndex(),
+            sheet.getRow(2).getCell(1).getCellStyle().getIndex());
+        assertEquals("#,##0.##", sheet.getRow(1).getCell(1).getCellStyle().getDataFormatString());
+        Sheet personSheet = workbook.getSheet("Person");
+        checkCells(personSheet.getRow(0), "name", "age", null);
+        checkCells(personSheet.getRow(1), PERSON1_NAME, PERSON1_AGE, null);
+      }
+    } finally {
+      if (CLEAN_UP) {
+        FileUtil.deleteIfExists(XLSX_FILE);
+      }
+    }
+  }
+
+  /**
+   * Test roll-over to a new sheet in XLSX streaming mode.
+   *
+   * @throws Exception the exception
+   */
+  @Test
+  public void testXlsxRollOver() throws Exception {
+    try {
+      XLSEntityExporter exporter = new XLSEntityExporter(XLSX_FILE.getAbsolutePath());
+      exporter.setMaxRowsPerSheet(2);
+      exporter.setCompressTempFiles(false);
+      consumeProducts(exporter);
+      consumePersons(exporter);
+      exporter.close();
+      assertRolledOverContent(XLSX_FILE);
+    } finally {
+      if (CLEAN_UP) {
+        FileUtil.deleteIfExists(XLSX_FILE);
+      }
+    }
+  }
+
   // helpers ---------------------------------------------------------------------------------------------------------
 
   private static void consumeProducts(XLSEntityExporter exporter) {
@@ -140,25 +245,44 @@ private static void consumePersons(XLSEntityExporter exporter) {
 
   private static void assertFullContent(File file) throws IOException {
     assertTrue(file.exists());
-    HSSFSheet sheet = readFirstSheetOf(CUSTOM_FILE);
+    Sheet sheet = readFirstSheetOf(CUSTOM_FILE);
     checkCells(sheet.getRow(0), "ean", "price", "date", "avail", "updated", null);
     checkCells(sheet.getRow(1), EAN1, PRICE1, DATE1, AVAIL1, UPDATED1, null);
     checkCells(sheet.getRow(2), EAN2, PRICE2, DATE2, AVAIL2, UPDATED2, null);
     checkCells(sheet.getRow(3));
   }
 
-  private static HSSFSheet readFirstSheetOf(File file) throws IOException {
-    HSSFWorkbook wb = new HSSFWorkbook(new FileInputStream(file));
+  private static void assertRolledOverContent(File file) throws IOException {
+    assertTrue(file.exists());
+    try (Workbook workbook = WorkbookFactory.create(file)) {
+      assertEquals(3, workbook.getNumberOfSheets());
+      assertEquals("Product", workbook.getSheetName(0));
+      assertEquals("Product_2", workbook.getSheetName(1));
+      assertEquals("Person", workbook.getSheetName(2));
+      Sheet sheet = workbook.getSheetAt(0);
+      checkCells(sheet.getRow(0), "ean", "price", "date", "avail", "updated", null);
+      checkCells(sheet.getRow(1), EAN1, PRICE1, DATE1, AVAIL1, UPDATED1, null);
+      checkCells(sheet.getRow(2));
+      sheet = workbook.getSheetAt(1);
+      checkCells(sheet.getRow(0), "ean", "price", "date", "avail", "updated", null);
+      checkCells(sheet.getRow(1), EAN2, PRICE2, DATE2, AVAIL2, UPDATED2, null);
+      checkCells(sheet.getRow(2));
+      checkCells(workbook.getSheetAt(2).getRow(1), PERSON1_NAME, PERSON1_AGE, null);
+    }
+  }
+
+  private static Sheet readFirstSheetOf(File file) throws IOException {
+    Workbook wb = WorkbookFactory.create(new FileInputStream(file));
     return wb.getSheetAt(0);
   }
 
-  private static void checkCells(HSSFRow row, Object... values) {
+  private static void checkCells(Row row, Object... values) {
     if (ArrayUtil.isEmpty(values)) {
       assertNull(row);
     }
     for (int i = 0; i < values.length; i++) {
       assert row != null;
-      HSSFCell cell = row.getCell(i);
+      Cell cell = row.getCell(i);
       Object expectedContent = values[i];
       if (expectedContent == null) {
         assertNull(cell);
@@ -0,0 +1,92 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.common.converter.CaseConverter;
+import com.rapiddweller.format.DataContainer;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link XLSXRowIterator}.<br/><br/>
+ * Created: 29.03.2023 10:02:48
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class XLSXRowIteratorTest {
+
+  private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+      + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>";
+  private static final String FOOTER = "</sheetData></worksheet>";
+
+  @Test
+  public void testCellTypes() throws Exception {
+    XLSXRowIterator iterator = iterator(
+        "<row r=\"1\">"
+            + "<c r=\"A1\" t=\"s\"><v>0</v></c>"
+            + "<c r=\"B1\"><v>1.5</v></c>"
+            + "<c r=\"C1\" t=\"b\"><v>1</v></c>"
+            + "<c r=\"D1\" t=\"inlineStr\"><is><r><t>in</t></r><r><t>line</t></r></is></c>"
+            + "<c r=\"E1\" t=\"str\"><f>A1&amp;A1</f><v>xx</v></c>"
+            + "<c r=\"F1\" t=\"e\"><v>#DIV/0!</v></c>"
+            + "</row>", null, null);
+    assertNextRow(iterator, "Alice", 1.5, true, "inline", "xx", "#DIV/0!");
+    assertEnd(iterator);
+  }
+
+  @Test
+  public void testGaps() throws Exception {
+    XLSXRowIterator iterator = iterator(
+        "<row r=\"2\"><c r=\"B2\" t=\"s\"><v>0</v></c><c r=\"D2\"><v>3</v></c></row>"
+            + "<row r=\"5\"><c r=\"A5\"/><c r=\"B5\" t=\"s\"><v>1</v></c></row>"
+            + "<row><c t=\"s\"><v>0</v></c></row>", null, null);
+    assertNextRow(iterator, null, "Alice", null, 3.);
+    assertNextRow(iterator);
+    assertNextRow(iterator);
+    assertNextRow(iterator, null, "Bob");
+    assertNextRow(iterator, "Alice");
+    assertEnd(iterator);
+  }
+
+  @Test
+  public void testEmptyMarkerAndPreprocessor() throws Exception {
+    XLSXRowIterator iterator = iterator(
+        "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"inlineStr\"><is><t>-</t></is></c></row>",
+        new CaseConverter(true), "-");
+    assertNextRow(iterator, "ALICE", "");
+    assertEnd(iterator);
+  }
+
+  @Test
+  public void testEmptySheet() throws Exception {
+    assertEnd(iterator("", null, null));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static XLSXRowIterator iterator(String rows, CaseConverter preprocessor, String emptyMarker)
+      throws Exception {
+    SharedStringsTable sharedStrings = new SharedStringsTable();
+    sharedStrings.addSharedStringItem(new XSSFRichTextString("Alice"));
+    sharedStrings.addSharedStringItem(new XSSFRichTextString("Bob"));
+    byte[] xml = (HEADER + rows + FOOTER).getBytes(StandardCharsets.UTF_8);
+    return new XLSXRowIterator(new ByteArrayInputStream(xml), sharedStrings, null, false, preprocessor, emptyMarker);
+  }
+
+  private static void assertNextRow(XLSXRowIterator iterator, Object... expected) {
+    assertArrayEquals(expected, iterator.next(new DataContainer<>()).getData());
+  }
+
+  private static void assertEnd(XLSXRowIterator iterator) {
+    assertNull(iterator.next(new DataContainer<>()));
+    iterator.close();
+  }
+
+}
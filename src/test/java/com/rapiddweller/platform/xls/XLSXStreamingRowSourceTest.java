@@ -0,0 +1,184 @@
+/* (c) Copyright 2023 by Volker Bergmann. All rights reserved. */
+
+package com.rapiddweller.platform.xls;
+
+import com.rapiddweller.benerator.engine.BeneratorOpts;
+import com.rapiddweller.benerator.engine.DefaultBeneratorContext;
+import com.rapiddweller.common.FileUtil;
+import com.rapiddweller.format.DataContainer;
+import com.rapiddweller.format.util.DataUtil;
+import com.rapiddweller.model.data.Entity;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link XLSXStreamingRowSource} and verifies that the entity iterators
+ * map the rows of XLSX files the same way in streaming and in in-memory mode.<br/><br/>
+ * Created: 29.03.2023 10:31:15
+ * @author Volker Bergmann
+ * @since 3.2.0
+ */
+public class XLSXStreamingRowSourceTest extends XLSTest {
+
+  private static final File FILE = new File("target", XLSXStreamingRowSourceTest.class.getSimpleName() + ".xlsx");
+
+  @Before
+  public void setUp() throws Exception {
+    FILE.getParentFile().mkdirs();
+    try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(FILE)) {
+      CellStyle dateStyle = workbook.createCellStyle();
+      dateStyle.setDataFormat(workbook.createDataFormat().getFormat("m/d/yy"));
+      CellStyle timestampStyle = workbook.createCellStyle();
+      timestampStyle.setDataFormat(workbook.createDataFormat().getFormat("m/d/yy h:mm"));
+      Sheet products = workbook.createSheet("Product");
+      addRow(products, 0, "ean", "price", "date", "avail", "updated");
+      addProductRow(products, 1, PROD1, dateStyle, timestampStyle);
+      addProductRow(products, 2, PROD2, dateStyle, timestampStyle);
+      Sheet persons = workbook.createSheet("Person");
+      addRow(persons, 0, "name", "age", "tags");
+      addRow(persons, 1, PERSON1_NAME, PERSON1_AGE, "tab:Tag");
+      Sheet tags = workbook.createSheet("Tag");
+      addRow(tags, 0, "name");
+      addRow(tags, 1, "first");
+      addRow(tags, 2, "second");
+      workbook.write(out);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    BeneratorOpts.setStreamingXlsx(true);
+    FileUtil.deleteIfExists(FILE);
+  }
+
+  @Test
+  public void testSheetNames() {
+    try (XLSXStreamingRowSource source = new XLSXStreamingRowSource(FILE.getPath())) {
+      assertArrayEquals(new String[] { "Product", "Person", "Tag" }, source.getSheetNames());
+    }
+  }
+
+  @Test
+  public void testRows() {
+    try (XLSXStreamingRowSource source = new XLSXStreamingRowSource(FILE.getPath())) {
+      try (XLSXRowIterator iterator = (XLSXRowIterator) source.rowIterator("Product", false, null, null)) {
+        assertArrayEquals(new Object[] { "ean", "price", "date", "avail", "updated" },
+            iterator.next(new DataContainer<>()).getData());
+        Object[] row = iterator.next(new DataContainer<>()).getData();
+        assertEquals(EAN1, row[0]);
+        assertEquals(PRICE1.doubleValue(), (Double) row[1], 0.000001);
+        assertEquals(DATE1, row[2]);
+        assertEquals(AVAIL1, row[3]);
+        assertEquals(UPDATED1.getTime(), ((Date) row[4]).getTime());
+      }
+      try (XLSXRowIterator iterator = (XLSXRowIterator) source.rowIterator("Product", true, null, null)) {
+        iterator.next(new DataContainer<>());
+        Object[] row = iterator.next(new DataContainer<>()).getData();
+        assertEquals(EAN1, row[0]);
+        assertEquals("TRUE", row[3]);
+      }
+      try (XLSXRowIterator iterator = (XLSXRowIterator) source.rowIterator("Person", false, null, null)) {
+        iterator.next(new DataContainer<>());
+        assertEquals(PERSON1_AGE, iterator.next(new DataContainer<>()).getData()[1]);
+      }
+    }
+  }
+
+  @Test
+  public void testSingleSheetMappingEqualsInMemoryMapping() throws Exception {
+    assertSameMapping("Product");
+    assertSameMapping("Tag");
+  }
+
+  @Test
+  public void testSingleSheetIterator() throws Exception {
+    try (SingleSheetXLSEntityIterator iterator = new SingleSheetXLSEntityIterator(
+        FILE.getPath(), "Product", null, null, new DefaultBeneratorContext(), true, false, null)) {
+      assertProduct(PROD1, DataUtil.nextNotNullData(iterator));
+      assertProduct(PROD2, DataUtil.nextNotNullData(iterator));
+      assertNull(iterator.next(new DataContainer<>()));
+    }
+  }
+
+  @Test
+  public void testCollectionMapping() throws Exception {
+    try (SingleSheetXLSEntityIterator iterator = new SingleSheetXLSEntityIterator(
+        FILE.getPath(), "Person", null, null, new DefaultBeneratorContext(), true, false, null)) {
+      Entity person = DataUtil.nextNotNullData(iterator);
+      assertPerson(PERSON1, person);
+      Entity[] tags = (Entity[]) person.get("tags");
+      assertEquals(2, tags.length);
+      assertEquals("first", tags[0].get("name"));
+      assertEquals("second", tags[1].get("name"));
+      assertNull(iterator.next(new DataContainer<>()));
+    }
+  }
+
+  @Test
+  public void testAllSheetsIterator() throws Exception {
+    List<Entity> entities = AllSheetsXLSEntityIterator.parseAll(FILE.getPath(), null, false);
+    assertEquals(5, entities.size());
+    assertProduct(PROD1, entities.get(0));
+    assertProduct(PROD2, entities.get(1));
+    assertPerson(PERSON1, entities.get(2));
+  }
+
+  // helpers ---------------------------------------------------------------------------------------------------------
+
+  private static void assertSameMapping(String sheetName) throws Exception {
+    List<Entity> streamed = SingleSheetXLSEntityIterator.parseAll(
+        FILE.getPath(), sheetName, null, null, new DefaultBeneratorContext(), true, false, null);
+    BeneratorOpts.setStreamingXlsx(false);
+    List<Entity> loaded = SingleSheetXLSEntityIterator.parseAll(
+        FILE.getPath(), sheetName, null, null, new DefaultBeneratorContext(), true, false, null);
+    BeneratorOpts.setStreamingXlsx(true);
+    assertEquals(loaded.size(), streamed.size());
+    for (int i = 0; i < loaded.size(); i++) {
+      Entity expected = loaded.get(i);
+      Entity actual = streamed.get(i);
+      assertEquals(expected.type(), actual.type());
+      assertEquals(expected.getComponents().keySet(), actual.getComponents().keySet());
+      for (String name : expected.getComponents().keySet()) {
+        assertEquals(expected.get(name), actual.get(name));
+      }
+    }
+  }
+
+  private static void addProductRow(Sheet sheet, int rowIndex, Entity product,
+                                    CellStyle dateStyle, CellStyle timestampStyle) {
+    Row row = addRow(sheet, rowIndex, product.get("ean"), product.get("price"));
+    row.createCell(2).setCellValue((Date) product.get("date"));
+    row.getCell(2).setCellStyle(dateStyle);
+    row.createCell(3).setCellValue((Boolean) product.get("avail"));
+    row.createCell(4).setCellValue((Date) product.get("updated"));
+    row.getCell(4).setCellStyle(timestampStyle);
+  }
+
+  private static Row addRow(Sheet sheet, int rowIndex, Object... values) {
+    Row row = sheet.createRow(rowIndex);
+    for (int i = 0; i < values.length; i++) {
+      Object value = values[i];
+      if (value instanceof Number) {
+        row.createCell(i).setCellValue(((Number) value).doubleValue());
+      } else {
+        row.createCell(i).setCellValue((String) value);
+      }
+    }
+    return row;
+  }
+
+}
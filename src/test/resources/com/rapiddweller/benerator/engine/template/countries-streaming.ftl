@@ -0,0 +1,5 @@
+Countries
+<#-- @record -->
+${record.name}:<#list record.states as state> ${state.name}</#list>
+<#-- @footer -->
+${recordCount} countries